@@ -0,0 +1,120 @@
+package ua.ithillel.lms.matrix.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.ithillel.lms.matrix.ExecutionMode;
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.MatrixBatch;
+import ua.ithillel.lms.matrix.MatrixLayout;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many small square matrices: MatrixBatch against loop over separate Matrix objects
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dua.ithillel.lms.matrix.logLevel=OFF")
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+    @Param({"2", "3", "4"})
+    int size;
+
+    @Param({"100000"})
+    int count;
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    ExecutionMode mode;
+
+    Matrix[] matrices;
+    MatrixBatch batch;
+
+    /**
+     * Makes separate matrices forget cached determinant and invert before every invocation, so loops calculate
+     * them like the batch does
+     */
+    @State(Scope.Thread)
+    public static class Fresh {
+        @Setup(Level.Invocation)
+        public void forget(BatchBenchmark benchmark) throws MatrixException {
+            for (Matrix matrix : benchmark.matrices) {
+                Matrices.forgetCached(matrix);
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() throws MatrixException {
+        Random random = new Random(Matrices.SEED);
+        matrices = new Matrix[count];
+        for (int i = 0; i < count; i++) {
+            double[][] elements = Matrices.random(size, size, random);
+            for (int j = 0; j < size; j++) {
+                elements[j][j] += size;
+            }
+            matrices[i] = new Matrix(elements, MatrixLayout.FLAT);
+        }
+        batch = MatrixBatch.of(matrices);
+    }
+
+    @Benchmark
+    public MatrixBatch batchMul() throws MatrixException {
+        return batch.mul(batch, mode);
+    }
+
+    @Benchmark
+    public double[] batchDet() throws MatrixException {
+        return batch.det(mode);
+    }
+
+    @Benchmark
+    public MatrixBatch batchInv() throws MatrixException {
+        return batch.inv(mode);
+    }
+
+    @Benchmark
+    public MatrixBatch batchSolve() throws MatrixException {
+        return batch.solve(batch, mode);
+    }
+
+    @Benchmark
+    public Matrix[] loopMul() throws MatrixException {
+        Matrix[] result = new Matrix[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = matrices[i].mul(matrices[i], mode);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] loopDet(Fresh fresh) throws MatrixException {
+        double[] result = new double[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = matrices[i].det();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Matrix[] loopInv(Fresh fresh) throws MatrixException {
+        Matrix[] result = new Matrix[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = matrices[i].inv();
+        }
+        return result;
+    }
+}
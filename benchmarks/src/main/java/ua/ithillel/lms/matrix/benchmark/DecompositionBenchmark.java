@@ -0,0 +1,146 @@
+package ua.ithillel.lms.matrix.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.ithillel.lms.matrix.LUDecomposition;
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.MatrixLayout;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations of square matrix, which factorize it: determinant, invert, power and systems of linear equations
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dua.ithillel.lms.matrix.logLevel=OFF")
+@State(Scope.Benchmark)
+public class DecompositionBenchmark {
+    static final int RIGHT_HAND_SIDES = 16;
+
+    @Param({"4", "16", "64", "256", "1024", "2048"})
+    int size;
+
+    @Param({"GENERAL", "DIAGONALLY_DOMINANT", "SYMMETRIC_POSITIVE_DEFINITE", "UPPER_TRIANGULAR", "TRIDIAGONAL"})
+    Matrices.Structure structure;
+
+    @Param({"FLAT"})
+    MatrixLayout layout;
+
+    Matrix a;
+    Matrix augmented;
+    Matrix rightHandSides;
+    LUDecomposition lu;
+
+    /**
+     * Makes matrix forget cached results before every invocation, so det, lu, inv and pow(-n) are calculated
+     * instead of being read from cache
+     */
+    @State(Scope.Thread)
+    public static class Fresh {
+        @Setup(Level.Invocation)
+        public void forget(DecompositionBenchmark benchmark) throws MatrixException {
+            Matrices.forgetCached(benchmark.a);
+        }
+    }
+
+    @Setup
+    public void setUp() throws MatrixException {
+        a = Matrices.square(structure, size, layout);
+        double[][] elements = new double[size][size + 1];
+        double[] b = Matrices.vector(size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                elements[i][j] = a.get(i, j);
+            }
+            elements[i][size] = b[i];
+        }
+        augmented = new Matrix(elements, layout);
+        rightHandSides = new Matrix(Matrices.random(size, RIGHT_HAND_SIDES, new Random(Matrices.SEED)), layout);
+        lu = a.lu();
+    }
+
+    @Benchmark
+    public double det(Fresh fresh) throws MatrixException {
+        return a.det();
+    }
+
+    @Benchmark
+    public double detCached() throws MatrixException {
+        return a.det();
+    }
+
+    @Benchmark
+    public LUDecomposition lu(Fresh fresh) throws MatrixException {
+        return a.lu();
+    }
+
+    @Benchmark
+    public Matrix inv(Fresh fresh) throws MatrixException {
+        return a.inv();
+    }
+
+    @Benchmark
+    public Matrix invCached() throws MatrixException {
+        return a.inv();
+    }
+
+    @Benchmark
+    public Matrix adj() throws MatrixException {
+        return a.adj();
+    }
+
+    @Benchmark
+    public double minor() throws MatrixException {
+        return a.minor(0, 0);
+    }
+
+    @Benchmark
+    public double algAdd() throws MatrixException {
+        return a.algAdd(size - 1, 0);
+    }
+
+    @Benchmark
+    public Matrix pow() throws MatrixException {
+        return a.pow(8);
+    }
+
+    @Benchmark
+    public Matrix powNegative(Fresh fresh) throws MatrixException {
+        return a.pow(-2);
+    }
+
+    @Benchmark
+    public Matrix resolveSLAE() throws MatrixException {
+        return Matrix.resolveSLAE(augmented);
+    }
+
+    @Benchmark
+    public Matrix resolveSLAEMultiple() throws MatrixException {
+        return Matrix.resolveSLAE(a, rightHandSides);
+    }
+
+    @Benchmark
+    public Matrix luSolve() throws MatrixException {
+        return lu.solve(rightHandSides);
+    }
+
+    @Benchmark
+    public boolean isInvCorrect(Fresh fresh) throws MatrixException {
+        return a.isInvCorrect();
+    }
+}
@@ -0,0 +1,180 @@
+package ua.ithillel.lms.matrix.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.MatrixLayout;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O(n^2) operations of square matrix: element-wise arithmetic, transposition, norms and comparison
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dua.ithillel.lms.matrix.logLevel=OFF")
+@State(Scope.Benchmark)
+public class ElementWiseBenchmark {
+    @Param({"4", "16", "64", "256", "1024", "2048"})
+    int size;
+
+    @Param({"ARRAY", "FLAT"})
+    MatrixLayout layout;
+
+    Matrix a;
+    Matrix b;
+    Matrix dest;
+
+    /**
+     * Makes matrix forget cached norms and hash code before every invocation, so they are calculated instead of
+     * being read from cache. Setup of every invocation takes timer calls, which are noticeable for the smallest
+     * sizes.
+     */
+    @State(Scope.Thread)
+    public static class Fresh {
+        @Setup(Level.Invocation)
+        public void forget(ElementWiseBenchmark benchmark) throws MatrixException {
+            Matrices.forgetCached(benchmark.a);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        a = Matrices.random(size, size, layout);
+        b = Matrices.random(size, size, layout).mulByNumber(0.5);
+        dest = new Matrix(size, size, layout);
+    }
+
+    @Benchmark
+    public Matrix add() throws MatrixException {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public Matrix sub() throws MatrixException {
+        return a.sub(b);
+    }
+
+    @Benchmark
+    public Matrix mulByNumber() {
+        return a.mulByNumber(1.5);
+    }
+
+    @Benchmark
+    public Matrix mulNumberByMatrix() {
+        return Matrix.mulNumberByMatrix(1.5, a);
+    }
+
+    @Benchmark
+    public Matrix divByNumber() {
+        return a.divByNumber(1.5);
+    }
+
+    @Benchmark
+    public Matrix abs() {
+        return a.abs();
+    }
+
+    @Benchmark
+    public Matrix transpose() {
+        return a.transpose();
+    }
+
+    @Benchmark
+    public double mNorm(Fresh fresh) {
+        return a.mNorm();
+    }
+
+    @Benchmark
+    public double lNorm(Fresh fresh) {
+        return a.lNorm();
+    }
+
+    @Benchmark
+    public double kNorm(Fresh fresh) {
+        return a.kNorm();
+    }
+
+    @Benchmark
+    public double kNormCached() {
+        return a.kNorm();
+    }
+
+    @Benchmark
+    public Matrix addInto() throws MatrixException {
+        return a.addInto(b, dest);
+    }
+
+    @Benchmark
+    public Matrix subInto() throws MatrixException {
+        return a.subInto(b, dest);
+    }
+
+    @Benchmark
+    public Matrix mulByNumberInto() throws MatrixException {
+        return a.mulByNumberInto(1.5, dest);
+    }
+
+    @Benchmark
+    public Matrix absInto() throws MatrixException {
+        return a.absInto(dest);
+    }
+
+    @Benchmark
+    public Matrix transposeInto() throws MatrixException {
+        return a.transposeInto(dest);
+    }
+
+    @Benchmark
+    public Matrix scaleInPlace() {
+        return dest.scaleInPlace(1.0);
+    }
+
+    @Benchmark
+    public Matrix expression() throws MatrixException {
+        return Matrix.expr(a).add(b).scale(2).abs().evaluate();
+    }
+
+    @Benchmark
+    public Matrix chain() throws MatrixException {
+        return a.add(b).mulByNumber(2).abs();
+    }
+
+    @Benchmark
+    public Matrix identity() {
+        return a.identity();
+    }
+
+    @Benchmark
+    public boolean equalsMatrix() {
+        return a.equals(b);
+    }
+
+    @Benchmark
+    public int hashCodeMatrix(Fresh fresh) {
+        return a.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeMatrixCached() {
+        return a.hashCode();
+    }
+
+    @Benchmark
+    public Matrix deleteRowColumn() throws MatrixException {
+        return a.deleteRowColumn(size / 2, size / 2);
+    }
+}
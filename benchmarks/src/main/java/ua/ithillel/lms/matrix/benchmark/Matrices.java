@@ -0,0 +1,173 @@
+package ua.ithillel.lms.matrix.benchmark;
+
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.MatrixLayout;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+import ua.ithillel.lms.matrix.sparse.CooBuilder;
+import ua.ithillel.lms.matrix.sparse.CsrMatrix;
+
+import java.util.Random;
+
+/**
+ * Generators of benchmark operands. Every generator uses fixed seed, so all runs measure the same matrices.
+ */
+final class Matrices {
+    static final long SEED = 20240101L;
+
+    private Matrices() {
+    }
+
+    /**
+     * Structure of square matrix
+     */
+    enum Structure {
+        /**
+         * Elements are uniformly distributed in [-1, 1)
+         */
+        GENERAL,
+        /**
+         * Random matrix with diagonal elements greater than sum of other elements of row
+         */
+        DIAGONALLY_DOMINANT,
+        /**
+         * Random symmetric positive definite matrix
+         */
+        SYMMETRIC_POSITIVE_DEFINITE,
+        /**
+         * Random upper triangular matrix with dominant diagonal
+         */
+        UPPER_TRIANGULAR,
+        /**
+         * Random tridiagonal matrix with dominant diagonal
+         */
+        TRIDIAGONAL
+    }
+
+    /**
+     * Shape of operands of multiplication: left one is rows x depth, right one is depth x columns.
+     * Sizes are given in quarters of benchmark size, every shape needs size^3 multiply-add operations.
+     */
+    enum Shape {
+        SQUARE(4, 4, 4),
+        TALL(8, 1, 8),
+        WIDE(2, 16, 2);
+
+        private final int rows;
+        private final int depth;
+        private final int columns;
+
+        Shape(int rows, int depth, int columns) {
+            this.rows = rows;
+            this.depth = depth;
+            this.columns = columns;
+        }
+
+        int rows(int size) {
+            return Math.max(1, size * rows / 4);
+        }
+
+        int depth(int size) {
+            return Math.max(1, size * depth / 4);
+        }
+
+        int columns(int size) {
+            return Math.max(1, size * columns / 4);
+        }
+    }
+
+    static double[][] random(int rows, int columns, Random random) {
+        double[][] elements = new double[rows][columns];
+        for (double[] row : elements) {
+            for (int j = 0; j < columns; j++) {
+                row[j] = random.nextDouble() * 2 - 1;
+            }
+        }
+        return elements;
+    }
+
+    static Matrix random(int rows, int columns, MatrixLayout layout) {
+        return new Matrix(random(rows, columns, new Random(SEED)), layout);
+    }
+
+    static Matrix square(Structure structure, int size, MatrixLayout layout) {
+        Random random = new Random(SEED);
+        double[][] elements = random(size, size, random);
+        switch (structure) {
+            case DIAGONALLY_DOMINANT:
+                makeDominant(elements);
+                break;
+            case SYMMETRIC_POSITIVE_DEFINITE:
+                for (int i = 0; i < size; i++) {
+                    for (int j = 0; j < i; j++) {
+                        elements[i][j] = elements[j][i];
+                    }
+                }
+                makeDominant(elements);
+                break;
+            case UPPER_TRIANGULAR:
+                for (int i = 0; i < size; i++) {
+                    for (int j = 0; j < i; j++) {
+                        elements[i][j] = 0;
+                    }
+                }
+                makeDominant(elements);
+                break;
+            case TRIDIAGONAL:
+                for (int i = 0; i < size; i++) {
+                    for (int j = 0; j < size; j++) {
+                        if (Math.abs(i - j) > 1) {
+                            elements[i][j] = 0;
+                        }
+                    }
+                }
+                makeDominant(elements);
+                break;
+            default:
+                break;
+        }
+        return new Matrix(elements, layout);
+    }
+
+    /**
+     * Returns square matrix with unit diagonal and random elements in given share of other positions
+     */
+    static CsrMatrix sparse(int size, double density) throws MatrixException {
+        Random random = new Random(SEED);
+        long nonZeros = Math.max(size, (long) (density * size * size));
+        CooBuilder builder = new CooBuilder(size, size);
+        for (int i = 0; i < size; i++) {
+            builder.add(i, i, size);
+        }
+        for (long k = size; k < nonZeros; k++) {
+            builder.add(random.nextInt(size), random.nextInt(size), random.nextDouble() * 2 - 1);
+        }
+        return builder.buildCsr();
+    }
+
+    static double[] vector(int size) {
+        Random random = new Random(SEED);
+        double[] vector = new double[size];
+        for (int i = 0; i < size; i++) {
+            vector[i] = random.nextDouble() * 2 - 1;
+        }
+        return vector;
+    }
+
+    /**
+     * Writes the first row of matrix into itself, so Matrix forgets determinant, LU decomposition, invert, norms
+     * and hash code, which it keeps while its elements are not changed
+     */
+    static void forgetCached(Matrix matrix) throws MatrixException {
+        matrix.row(0).scaleInPlace(1);
+    }
+
+    private static void makeDominant(double[][] elements) {
+        for (int i = 0; i < elements.length; i++) {
+            double sum = 0;
+            for (int j = 0; j < elements[i].length; j++) {
+                sum += Math.abs(elements[i][j]);
+            }
+            elements[i][i] = sum + 1;
+        }
+    }
+}
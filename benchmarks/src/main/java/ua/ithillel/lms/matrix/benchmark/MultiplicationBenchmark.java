@@ -0,0 +1,91 @@
+package ua.ithillel.lms.matrix.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.ithillel.lms.matrix.ExecutionMode;
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.MatrixLayout;
+import ua.ithillel.lms.matrix.MultiplicationAlgorithm;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matrix products. Every shape needs size^3 multiply-add operations, so scores of shapes are comparable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dua.ithillel.lms.matrix.logLevel=OFF")
+@State(Scope.Benchmark)
+public class MultiplicationBenchmark {
+    @Param({"4", "16", "64", "256", "1024", "2048"})
+    int size;
+
+    @Param({"SQUARE", "TALL", "WIDE"})
+    Matrices.Shape shape;
+
+    @Param({"ARRAY", "FLAT"})
+    MatrixLayout layout;
+
+    Matrix left;
+    Matrix right;
+    Matrix rightTransposed;
+    Matrix dest;
+
+    @Setup
+    public void setUp() {
+        int rows = shape.rows(size);
+        int depth = shape.depth(size);
+        int columns = shape.columns(size);
+        left = Matrices.random(rows, depth, layout);
+        right = Matrices.random(depth, columns, layout).mulByNumber(0.5);
+        rightTransposed = right.transpose();
+        dest = new Matrix(rows, columns, layout);
+    }
+
+    @Benchmark
+    public Matrix mul() throws MatrixException {
+        return left.mul(right, ExecutionMode.SEQUENTIAL);
+    }
+
+    @Benchmark
+    public Matrix mulParallel() throws MatrixException {
+        return left.mul(right, ExecutionMode.PARALLEL);
+    }
+
+    @Benchmark
+    public Matrix mulStrassen() throws MatrixException {
+        return left.mul(right, MultiplicationAlgorithm.STRASSEN_WINOGRAD, ExecutionMode.SEQUENTIAL);
+    }
+
+    @Benchmark
+    public Matrix mulStrassenParallel() throws MatrixException {
+        return left.mul(right, MultiplicationAlgorithm.STRASSEN_WINOGRAD, ExecutionMode.PARALLEL);
+    }
+
+    @Benchmark
+    public Matrix mulTransposed() throws MatrixException {
+        return left.mulTransposed(rightTransposed);
+    }
+
+    @Benchmark
+    public Matrix mulInto() throws MatrixException {
+        return left.mulInto(right, dest);
+    }
+
+    @Benchmark
+    public Matrix div() throws MatrixException {
+        return left.div(right);
+    }
+}
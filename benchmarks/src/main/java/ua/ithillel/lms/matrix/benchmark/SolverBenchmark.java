@@ -0,0 +1,114 @@
+package ua.ithillel.lms.matrix.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+import ua.ithillel.lms.matrix.solver.BiCgStab;
+import ua.ithillel.lms.matrix.solver.ConjugateGradient;
+import ua.ithillel.lms.matrix.solver.GaussSeidel;
+import ua.ithillel.lms.matrix.solver.Gmres;
+import ua.ithillel.lms.matrix.solver.Ilu0Preconditioner;
+import ua.ithillel.lms.matrix.solver.IterativeSolver;
+import ua.ithillel.lms.matrix.solver.JacobiPreconditioner;
+import ua.ithillel.lms.matrix.solver.LinearOperator;
+import ua.ithillel.lms.matrix.solver.SolverResult;
+import ua.ithillel.lms.matrix.sparse.SparseMatrix;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterative solvers of sparse symmetric positive definite system compared with dense LU decomposition
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dua.ithillel.lms.matrix.logLevel=OFF")
+@State(Scope.Benchmark)
+public class SolverBenchmark {
+    @Param({"64", "256", "1024", "2048"})
+    int size;
+
+    @Param({"0.001", "0.01"})
+    double density;
+
+    LinearOperator operator;
+    Matrix dense;
+    Matrix column;
+    double[] b;
+    IterativeSolver conjugateGradient;
+    IterativeSolver conjugateGradientIlu0;
+    IterativeSolver biCgStab;
+    IterativeSolver gmres;
+    IterativeSolver gaussSeidel;
+
+    /**
+     * Makes dense matrix forget cached LU decomposition before every invocation, so it is calculated like
+     * iterative solvers calculate their solution
+     */
+    @State(Scope.Thread)
+    public static class Fresh {
+        @Setup(Level.Invocation)
+        public void forget(SolverBenchmark benchmark) throws MatrixException {
+            Matrices.forgetCached(benchmark.dense);
+        }
+    }
+
+    @Setup
+    public void setUp() throws MatrixException {
+        SparseMatrix a = Matrices.sparse(size, density);
+        SparseMatrix symmetric = a.add(a.transpose());
+        operator = LinearOperator.of(symmetric);
+        dense = symmetric.toMatrix();
+        b = Matrices.vector(size);
+        column = new Matrix(new double[][]{b}).transpose();
+        conjugateGradient = new ConjugateGradient();
+        conjugateGradientIlu0 = new ConjugateGradient();
+        conjugateGradientIlu0.setPreconditioner(new Ilu0Preconditioner(operator));
+        biCgStab = new BiCgStab();
+        biCgStab.setPreconditioner(new JacobiPreconditioner(operator));
+        gmres = new Gmres();
+        gaussSeidel = new GaussSeidel();
+    }
+
+    @Benchmark
+    public SolverResult conjugateGradient() throws MatrixException {
+        return conjugateGradient.solve(operator, b);
+    }
+
+    @Benchmark
+    public SolverResult conjugateGradientIlu0() throws MatrixException {
+        return conjugateGradientIlu0.solve(operator, b);
+    }
+
+    @Benchmark
+    public SolverResult biCgStab() throws MatrixException {
+        return biCgStab.solve(operator, b);
+    }
+
+    @Benchmark
+    public SolverResult gmres() throws MatrixException {
+        return gmres.solve(operator, b);
+    }
+
+    @Benchmark
+    public SolverResult gaussSeidel() throws MatrixException {
+        return gaussSeidel.solve(operator, b);
+    }
+
+    @Benchmark
+    public Matrix denseLu(Fresh fresh) throws MatrixException {
+        return dense.lu().solve(column);
+    }
+}
@@ -0,0 +1,117 @@
+package ua.ithillel.lms.matrix.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.MatrixLayout;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+import ua.ithillel.lms.matrix.sparse.CscMatrix;
+import ua.ithillel.lms.matrix.sparse.CsrMatrix;
+import ua.ithillel.lms.matrix.sparse.SparseMatrix;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations of sparse matrices in compressed formats compared with the same dense products
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dua.ithillel.lms.matrix.logLevel=OFF")
+@State(Scope.Benchmark)
+public class SparseBenchmark {
+    static final int DENSE_COLUMNS = 16;
+
+    @Param({"256", "1024", "2048"})
+    int size;
+
+    @Param({"0.001", "0.01", "0.1"})
+    double density;
+
+    CsrMatrix csr;
+    CscMatrix csc;
+    SparseMatrix other;
+    Matrix dense;
+    Matrix denseRight;
+    double[] vector;
+
+    @Setup
+    public void setUp() throws MatrixException {
+        csr = Matrices.sparse(size, density);
+        csc = csr.toCsc();
+        other = csr.transpose().toCsr();
+        dense = csr.toMatrix();
+        denseRight = Matrices.random(size, DENSE_COLUMNS, MatrixLayout.FLAT);
+        vector = Matrices.vector(size);
+    }
+
+    @Benchmark
+    public double[] csrMulVector() throws MatrixException {
+        return csr.mul(vector);
+    }
+
+    @Benchmark
+    public double[] cscMulVector() throws MatrixException {
+        return csc.mul(vector);
+    }
+
+    @Benchmark
+    public Matrix csrMulMatrix() throws MatrixException {
+        return csr.mul(denseRight);
+    }
+
+    @Benchmark
+    public Matrix denseMulMatrix() throws MatrixException {
+        return dense.mul(denseRight);
+    }
+
+    @Benchmark
+    public SparseMatrix add() throws MatrixException {
+        return csr.add(other);
+    }
+
+    @Benchmark
+    public SparseMatrix transpose() {
+        return csr.transpose();
+    }
+
+    @Benchmark
+    public CscMatrix toCsc() {
+        return csr.toCsc();
+    }
+
+    @Benchmark
+    public CsrMatrix fromMatrix() {
+        return SparseMatrix.fromMatrix(dense);
+    }
+
+    @Benchmark
+    public Matrix toMatrix() {
+        return csr.toMatrix();
+    }
+
+    @Benchmark
+    public double mNorm() {
+        return csr.mNorm();
+    }
+
+    @Benchmark
+    public double lNorm() {
+        return csr.lNorm();
+    }
+
+    @Benchmark
+    public double kNorm() {
+        return csr.kNorm();
+    }
+}
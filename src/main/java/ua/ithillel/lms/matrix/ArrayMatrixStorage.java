@@ -0,0 +1,47 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Storage of Matrix as array of rows
+ */
+class ArrayMatrixStorage extends MatrixStorage {
+    private final double[][] matrix;
+
+    ArrayMatrixStorage(double[][] matrix) {
+        this.matrix = matrix;
+    }
+
+    @Override
+    MatrixLayout layout() {
+        return MatrixLayout.ARRAY;
+    }
+
+    @Override
+    double get(int rn, int cn) {
+        return matrix[rn][cn];
+    }
+
+    @Override
+    void set(int rn, int cn, double value) {
+        matrix[rn][cn] = value;
+    }
+
+    @Override
+    void copyRow(int rn, double[] dest, int offset, int columnsQuantity) {
+        System.arraycopy(matrix[rn], 0, dest, offset, columnsQuantity);
+    }
+
+    @Override
+    void setRow(int rn, double[] src, int offset, int columnsQuantity) {
+        System.arraycopy(src, offset, matrix[rn], 0, columnsQuantity);
+    }
+
+    @Override
+    double[] rowArray(int rn) {
+        return matrix[rn];
+    }
+
+    @Override
+    Object memory() {
+        return matrix;
+    }
+}
@@ -0,0 +1,152 @@
+package ua.ithillel.lms.matrix;
+
+import ua.ithillel.lms.logger.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Appender, which passes messages to shared logger in background thread. Messages are queued without waiting,
+ * when queue is full message is dropped. Messages are queued already built, so background thread never reads
+ * state of caller. Thread is started with the first message and writes messages by batches. Messages, which
+ * logger failed to write or create, are counted instead of being reported to the console, and thread goes on with
+ * next batch.
+ */
+class AsyncLogAppender {
+    private static final int CAPACITY = 8192;
+    private static final int BATCH = 256;
+
+    private final Supplier<Logger> loggers;
+    private final BlockingQueue<Record> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong appended = new AtomicLong();
+    private final Object writtenLock = new Object();
+    private volatile Thread worker;
+    private long written;
+
+    AsyncLogAppender() {
+        this(MatrixLogger::get);
+    }
+
+    /**
+     * Creates appender, which writes messages to logger returned by loggers for every batch
+     *
+     * @param loggers source of logger
+     */
+    AsyncLogAppender(Supplier<Logger> loggers) {
+        this.loggers = loggers;
+    }
+
+    void append(MatrixLogger.Level level, String message) {
+        if (worker == null) {
+            start();
+        }
+        if (queue.offer(new Record(level, message))) {
+            appended.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    long getDroppedQuantity() {
+        return dropped.get();
+    }
+
+    long getFailedQuantity() {
+        return failed.get();
+    }
+
+    void flush() {
+        long target = appended.get();
+        synchronized (writtenLock) {
+            while (written < target && worker != null && worker.isAlive()) {
+                try {
+                    writtenLock.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "matrix-logger");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "matrix-logger-flush"));
+        worker = thread;
+    }
+
+    private void run() {
+        List<Record> batch = new ArrayList<>(BATCH);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Record first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                synchronized (writtenLock) {
+                    written += batch.size();
+                    writtenLock.notifyAll();
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Record> batch) {
+        Logger logger;
+        try {
+            logger = loggers.get();
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            return;
+        }
+        for (Record record : batch) {
+            try {
+                String message = record.message;
+                switch (record.level) {
+                    case DEBUG:
+                        logger.debug(message);
+                        break;
+                    case INFO:
+                        logger.info(message);
+                        break;
+                    case WARN:
+                        logger.warn(message);
+                        break;
+                    default:
+                        logger.error(message);
+                }
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+            }
+        }
+    }
+
+    private static class Record {
+        private final MatrixLogger.Level level;
+        private final String message;
+
+        Record(MatrixLogger.Level level, String message) {
+            this.level = level;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ua.ithillel.lms.matrix;
+
+import java.nio.Buffer;
+import java.nio.DoubleBuffer;
+
+/**
+ * Storage of Matrix in DoubleBuffer row after row, e.g. over mapped file. Element (rn, cn) is
+ * buffer.get(offset + rn * stride + cn). Elements are not copied to heap.
+ */
+class BufferMatrixStorage extends MatrixStorage {
+    private final DoubleBuffer buffer;
+    private final int offset;
+    private final int stride;
+
+    BufferMatrixStorage(DoubleBuffer buffer, int offset, int stride) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.stride = stride;
+    }
+
+    @Override
+    MatrixLayout layout() {
+        return MatrixLayout.FLAT;
+    }
+
+    @Override
+    double get(int rn, int cn) {
+        return buffer.get(offset + rn * stride + cn);
+    }
+
+    @Override
+    void set(int rn, int cn, double value) {
+        buffer.put(offset + rn * stride + cn, value);
+    }
+
+    @Override
+    void copyRow(int rn, double[] dest, int offset, int columnsQuantity) {
+        DoubleBuffer row = buffer.duplicate();
+        ((Buffer) row).position(this.offset + rn * stride);
+        row.get(dest, offset, columnsQuantity);
+    }
+
+    @Override
+    void setRow(int rn, double[] src, int offset, int columnsQuantity) {
+        DoubleBuffer row = buffer.duplicate();
+        ((Buffer) row).position(this.offset + rn * stride);
+        row.put(src, offset, columnsQuantity);
+    }
+
+    @Override
+    MatrixStorage subStorage(int firstRow, int firstColumn) {
+        BufferMatrixStorage view = new BufferMatrixStorage(buffer, offset + firstRow * stride + firstColumn, stride);
+        view.shareVersion(this);
+        return view;
+    }
+
+    @Override
+    Object memory() {
+        return buffer;
+    }
+}
@@ -0,0 +1,66 @@
+package ua.ithillel.lms.matrix;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Releases memory of direct ByteBuffer at once instead of waiting for garbage collector. Java 9 and newer have
+ * sun.misc.Unsafe.invokeCleaner, Java 8 has cleaner of the buffer itself; both are reached by reflection.
+ * When neither is accessible, memory is released by garbage collector.
+ */
+final class DirectMemory {
+    private static final Releaser RELEASER = findReleaser();
+
+    private DirectMemory() {
+    }
+
+    /**
+     * Releases memory of direct buffer, which must not be used after that. Caller must make sure, that no other
+     * thread reads the buffer or its views, because access to released memory crashes JVM.
+     *
+     * @param buffer direct buffer created by ByteBuffer.allocateDirect or FileChannel.map, not its slice or view
+     */
+    static void release(ByteBuffer buffer) {
+        if (RELEASER == null || !buffer.isDirect()) {
+            return;
+        }
+        try {
+            RELEASER.release(buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            MatrixLogger.warn(() -> "Unable to release direct memory: " + e + ". It will be released by GC.");
+        }
+    }
+
+    private interface Releaser {
+        void release(ByteBuffer buffer) throws ReflectiveOperationException;
+    }
+
+    private static Releaser findReleaser() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            return buffer -> invokeCleaner.invoke(unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 8 has no invokeCleaner
+        }
+        try {
+            Method cleanerMethod = ByteBuffer.allocateDirect(1).getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            clean.setAccessible(true);
+            return buffer -> {
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    clean.invoke(cleaner);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            MatrixLogger.warn(() -> "Direct memory cannot be released explicitly: " + e + ". It will be released by GC.");
+            return null;
+        }
+    }
+}
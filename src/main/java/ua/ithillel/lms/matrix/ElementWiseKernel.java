@@ -0,0 +1,131 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Kernels of element-wise operations over parts of arrays. Implementation is chosen once by {@link KernelSelector}:
+ * scalar loops on every Java version or SIMD loops of Java Vector API, which multi-release jar provides for
+ * Java 17 and newer. Use system property {@value #KERNEL_PROPERTY} (scalar or vector) to choose it.
+ */
+abstract class ElementWiseKernel {
+    static final String KERNEL_PROPERTY = "ua.ithillel.lms.matrix.kernel";
+    static final ElementWiseKernel INSTANCE = KernelSelector.select();
+
+    /**
+     * Returns name of implementation
+     */
+    abstract String name();
+
+    /**
+     * Calculates c[cOffset + i] = a[aOffset + i] + b[bOffset + i] for i from 0 to length
+     */
+    abstract void add(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length);
+
+    /**
+     * Calculates c[cOffset + i] = a[aOffset + i] - b[bOffset + i] for i from 0 to length
+     */
+    abstract void sub(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length);
+
+    /**
+     * Calculates c[cOffset + i] = a[aOffset + i] * number for i from 0 to length
+     */
+    abstract void scale(double[] a, int aOffset, double number, double[] c, int cOffset, int length);
+
+    /**
+     * Calculates c[cOffset + i] = |a[aOffset + i]| for i from 0 to length
+     */
+    abstract void abs(double[] a, int aOffset, double[] c, int cOffset, int length);
+
+    /**
+     * Calculates sum of a[offset + i]^2 for i from 0 to length
+     */
+    abstract double sumOfSquares(double[] a, int offset, int length);
+
+    /**
+     * Calculates y[yOffset + i] += alpha * x[xOffset + i] for i from 0 to length
+     */
+    abstract void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length);
+
+    /**
+     * Calculates y0[i] += alpha0 * x[i], ..., y3[i] += alpha3 * x[i] for four parts of array y, so every
+     * element of x is read once for four rows of product
+     */
+    abstract void axpy4(double alpha0, double alpha1, double alpha2, double alpha3, double[] x, int xOffset,
+                        double[] y, int y0, int y1, int y2, int y3, int length);
+
+    /**
+     * Adds row rn of a and b into row rn of c
+     */
+    static void add(MatrixStorage a, MatrixStorage b, MatrixStorage c, int rn, int columnsQuantity) {
+        double[] x = a.rowArray(rn);
+        double[] y = b.rowArray(rn);
+        double[] z = c.rowArray(rn);
+        if (x != null && y != null && z != null) {
+            INSTANCE.add(x, a.rowOffset(rn), y, b.rowOffset(rn), z, c.rowOffset(rn), columnsQuantity);
+            return;
+        }
+        for (int j = 0; j < columnsQuantity; j++) {
+            c.set(rn, j, a.get(rn, j) + b.get(rn, j));
+        }
+    }
+
+    /**
+     * Subtracts row rn of b from row rn of a into row rn of c
+     */
+    static void sub(MatrixStorage a, MatrixStorage b, MatrixStorage c, int rn, int columnsQuantity) {
+        double[] x = a.rowArray(rn);
+        double[] y = b.rowArray(rn);
+        double[] z = c.rowArray(rn);
+        if (x != null && y != null && z != null) {
+            INSTANCE.sub(x, a.rowOffset(rn), y, b.rowOffset(rn), z, c.rowOffset(rn), columnsQuantity);
+            return;
+        }
+        for (int j = 0; j < columnsQuantity; j++) {
+            c.set(rn, j, a.get(rn, j) - b.get(rn, j));
+        }
+    }
+
+    /**
+     * Multiplies row rn of a by number into row rn of c
+     */
+    static void scale(MatrixStorage a, double number, MatrixStorage c, int rn, int columnsQuantity) {
+        double[] x = a.rowArray(rn);
+        double[] z = c.rowArray(rn);
+        if (x != null && z != null) {
+            INSTANCE.scale(x, a.rowOffset(rn), number, z, c.rowOffset(rn), columnsQuantity);
+            return;
+        }
+        for (int j = 0; j < columnsQuantity; j++) {
+            c.set(rn, j, a.get(rn, j) * number);
+        }
+    }
+
+    /**
+     * Writes absolute values of row rn of a into row rn of c
+     */
+    static void abs(MatrixStorage a, MatrixStorage c, int rn, int columnsQuantity) {
+        double[] x = a.rowArray(rn);
+        double[] z = c.rowArray(rn);
+        if (x != null && z != null) {
+            INSTANCE.abs(x, a.rowOffset(rn), z, c.rowOffset(rn), columnsQuantity);
+            return;
+        }
+        for (int j = 0; j < columnsQuantity; j++) {
+            c.set(rn, j, Math.abs(a.get(rn, j)));
+        }
+    }
+
+    /**
+     * Calculates sum of squares of elements of row rn of a
+     */
+    static double sumOfSquares(MatrixStorage a, int rn, int columnsQuantity) {
+        double[] x = a.rowArray(rn);
+        if (x != null) {
+            return INSTANCE.sumOfSquares(x, a.rowOffset(rn), columnsQuantity);
+        }
+        double S = 0;
+        for (int j = 0; j < columnsQuantity; j++) {
+            double element = a.get(rn, j);
+            S = S + element * element;
+        }
+        return S;
+    }
+}
@@ -0,0 +1,19 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Mode of execution of Matrix operation
+ */
+public enum ExecutionMode {
+    /**
+     * Operation runs in calling thread
+     */
+    SEQUENTIAL,
+    /**
+     * Operation is split into row blocks, which run in pool of {@link MatrixParallelism}, when it is large enough
+     */
+    PARALLEL,
+    /**
+     * Operation follows global switch {@link MatrixParallelism#isEnabled()}
+     */
+    DEFAULT
+}
@@ -0,0 +1,72 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Storage of Matrix in one array row after row. Element (rn, cn) is data[offset + rn * stride + cn].
+ */
+class FlatMatrixStorage extends MatrixStorage {
+    private final double[] data;
+    private final int offset;
+    private final int stride;
+
+    FlatMatrixStorage(double[] data, int offset, int stride) {
+        this.data = data;
+        this.offset = offset;
+        this.stride = stride;
+    }
+
+    @Override
+    MatrixLayout layout() {
+        return MatrixLayout.FLAT;
+    }
+
+    @Override
+    double get(int rn, int cn) {
+        return data[offset + rn * stride + cn];
+    }
+
+    @Override
+    void set(int rn, int cn, double value) {
+        data[offset + rn * stride + cn] = value;
+    }
+
+    @Override
+    void copyRow(int rn, double[] dest, int offset, int columnsQuantity) {
+        System.arraycopy(data, this.offset + rn * stride, dest, offset, columnsQuantity);
+    }
+
+    @Override
+    void setRow(int rn, double[] src, int offset, int columnsQuantity) {
+        System.arraycopy(src, offset, data, this.offset + rn * stride, columnsQuantity);
+    }
+
+    @Override
+    double[] rowArray(int rn) {
+        return data;
+    }
+
+    @Override
+    int rowOffset(int rn) {
+        return offset + rn * stride;
+    }
+
+    @Override
+    double[] contiguous(int rowsQuantity, int columnsQuantity) {
+        if (offset == 0 && (stride == columnsQuantity || rowsQuantity == 1)
+                && data.length == rowsQuantity * columnsQuantity) {
+            return data;
+        }
+        return null;
+    }
+
+    @Override
+    MatrixStorage subStorage(int firstRow, int firstColumn) {
+        FlatMatrixStorage view = new FlatMatrixStorage(data, offset + firstRow * stride + firstColumn, stride);
+        view.shareVersion(this);
+        return view;
+    }
+
+    @Override
+    Object memory() {
+        return data;
+    }
+}
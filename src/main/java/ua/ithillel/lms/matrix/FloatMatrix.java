@@ -0,0 +1,622 @@
+package ua.ithillel.lms.matrix;
+
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+/**
+ * Matrix of single precision elements stored row by row in one float array. It takes half of memory of
+ * {@link Matrix}, so operations limited by memory bandwidth (large products, element-wise operations) run up to
+ * two times faster. Elements are accumulated in float, so results have about 7 significant digits; norms are
+ * accumulated in double.
+ */
+public class FloatMatrix {
+    private final int rowsQuantity;
+    private final int columnsQuantity;
+    private final float[] data;
+
+    static final float accuracy = 0.00001f;
+
+    /**
+     * Creates zero filled FloatMatrix
+     *
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     */
+    public FloatMatrix(int rowsQuantity, int columnsQuantity) {
+        if (rowsQuantity <= 0) {
+            MatrixLogger.warn("Invalid rows quantity of matrix. Matrix will have 1 row (default value)");
+            rowsQuantity = 1;
+        }
+        if (columnsQuantity <= 0) {
+            MatrixLogger.warn("Invalid columns quantity of matrix. Matrix will have 1 row (default value)");
+            columnsQuantity = 1;
+        }
+        this.rowsQuantity = rowsQuantity;
+        this.columnsQuantity = columnsQuantity;
+        this.data = new float[rowsQuantity * columnsQuantity];
+    }
+
+    /**
+     * Creates FloatMatrix, which elements are copied from matrix
+     *
+     * @param matrix elements of matrix
+     */
+    public FloatMatrix(float[][] matrix) {
+        this.rowsQuantity = matrix.length;
+        this.columnsQuantity = (matrix.length > 0) ? matrix[0].length : 0;
+        for (float[] row : matrix) {
+            if (row.length != this.columnsQuantity) {
+                MatrixLogger.warn("The library is unable to work with gear matrix. Matrix will get the 1st raw columns count.");
+                break;
+            }
+        }
+        this.data = new float[this.rowsQuantity * this.columnsQuantity];
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            System.arraycopy(matrix[i], 0, data, i * columnsQuantity, columnsQuantity);
+        }
+    }
+
+    private FloatMatrix(int rowsQuantity, int columnsQuantity, float[] data) {
+        this.rowsQuantity = rowsQuantity;
+        this.columnsQuantity = columnsQuantity;
+        this.data = data;
+    }
+
+    /**
+     * Converts Matrix to single precision. Elements are rounded to the nearest float.
+     *
+     * @param matrix Matrix to convert
+     * @return FloatMatrix with the same elements
+     */
+    public static FloatMatrix fromMatrix(Matrix matrix) {
+        double[] source = matrix.rowMajor();
+        float[] result = new float[source.length];
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (float) source[i];
+        }
+        return new FloatMatrix(matrix.getRowsQuantity(), matrix.getColumnsQuantity(), result);
+    }
+
+    /**
+     * Converts FloatMatrix to double precision
+     *
+     * @return Matrix with the same elements
+     */
+    public Matrix toMatrix() {
+        return toMatrix(MatrixLayout.ARRAY);
+    }
+
+    /**
+     * Converts FloatMatrix to double precision
+     *
+     * @param layout layout of elements of result
+     * @return Matrix with the same elements
+     */
+    public Matrix toMatrix(MatrixLayout layout) {
+        double[] result = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            result[i] = data[i];
+        }
+        return Matrix.fromRowMajor(rowsQuantity, columnsQuantity, result, layout);
+    }
+
+    public int getRowsQuantity() {
+        return rowsQuantity;
+    }
+
+    public int getColumnsQuantity() {
+        return columnsQuantity;
+    }
+
+    /**
+     * Returns element, which row is rn (from 0) and column is cn (from 0)
+     *
+     * @param rn number of row (from 0)
+     * @param cn number of column (from 0)
+     * @return float element
+     */
+    public float get(int rn, int cn) {
+        return data[rn * columnsQuantity + cn];
+    }
+
+    /**
+     * Sets matrix to memory reserved by Constructor
+     *
+     * @param matrix matrix you are going to set as a property of this object
+     */
+    public void setMatrix(float[][] matrix) {
+        if (matrix.length < rowsQuantity || matrix[0].length < columnsQuantity) {
+            MatrixLogger.error(() -> "Matrix you transferred is " + matrix.length + " x " + matrix[0].length +
+                    ", but before you defined " + rowsQuantity + " x " + columnsQuantity +
+                    " . Matrix will not be changed.");
+            return;
+        }
+        for (int i = 0; i < rowsQuantity; i++) {
+            System.arraycopy(matrix[i], 0, data, i * columnsQuantity, columnsQuantity);
+        }
+    }
+
+    /**
+     * Returns FloatMatrix, which is sum of matrices (this FloatMatrix, which is left, and the right one)
+     *
+     * @param right right operand of addition
+     * @return FloatMatrix sum of matrices (this and right operand)
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public FloatMatrix add(FloatMatrix right) throws MatrixException {
+        return add(right, ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Returns FloatMatrix, which is sum of matrices (this FloatMatrix, which is left, and the right one)
+     *
+     * @param right right operand of addition
+     * @param mode  mode of execution
+     * @return FloatMatrix sum of matrices (this and right operand)
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public FloatMatrix add(FloatMatrix right, ExecutionMode mode) throws MatrixException {
+        checkSameSize(right, "Unable to add matrices which have different rows and/or columns quantity.");
+        float[] c = new float[data.length];
+        MatrixParallelism.forEachRowBlock(mode, rowsQuantity, data.length, (from, to) -> {
+            for (int i = from * columnsQuantity; i < to * columnsQuantity; i++) {
+                c[i] = data[i] + right.data[i];
+            }
+        });
+        return new FloatMatrix(rowsQuantity, columnsQuantity, c);
+    }
+
+    /**
+     * Returns FloatMatrix, which is difference between this FloatMatrix, which is left, and transferred
+     *
+     * @param right right operand of subtraction
+     * @return FloatMatrix difference between matrices (this and right operand)
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public FloatMatrix sub(FloatMatrix right) throws MatrixException {
+        return sub(right, ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Returns FloatMatrix, which is difference between this FloatMatrix, which is left, and transferred
+     *
+     * @param right right operand of subtraction
+     * @param mode  mode of execution
+     * @return FloatMatrix difference between matrices (this and right operand)
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public FloatMatrix sub(FloatMatrix right, ExecutionMode mode) throws MatrixException {
+        checkSameSize(right, "Unable to subtract matrices which have different rows and/or columns quantity.");
+        float[] c = new float[data.length];
+        MatrixParallelism.forEachRowBlock(mode, rowsQuantity, data.length, (from, to) -> {
+            for (int i = from * columnsQuantity; i < to * columnsQuantity; i++) {
+                c[i] = data[i] - right.data[i];
+            }
+        });
+        return new FloatMatrix(rowsQuantity, columnsQuantity, c);
+    }
+
+    /**
+     * Multiplies FloatMatrix by number. Returns FloatMatrix
+     *
+     * @param number number, which you would like to multiply by
+     * @return FloatMatrix this multiplied by number
+     */
+    public FloatMatrix mulByNumber(float number) {
+        float[] c = new float[data.length];
+        for (int i = 0; i < data.length; i++) {
+            c[i] = data[i] * number;
+        }
+        return new FloatMatrix(rowsQuantity, columnsQuantity, c);
+    }
+
+    /**
+     * Divides FloatMatrix by number. Returns FloatMatrix
+     *
+     * @param number number, which you would like to divide by
+     * @return FloatMatrix this divided by number
+     */
+    public FloatMatrix divByNumber(float number) {
+        if (Math.abs(number) < accuracy) {
+            MatrixLogger.warn("Division by zero. Result contains infinite and/or NaN values.");
+        }
+        float[] c = new float[data.length];
+        for (int i = 0; i < data.length; i++) {
+            c[i] = data[i] / number;
+        }
+        return new FloatMatrix(rowsQuantity, columnsQuantity, c);
+    }
+
+    /**
+     * Multiplies this matrix, which is left, to the right one. Returns FloatMatrix
+     *
+     * @param right right operand of multiplication operation
+     * @return FloatMatrix this multiplied by right operand
+     * @throws MatrixException when tha columns number in left matrix does not equal to the rows number in right matrix
+     */
+    public FloatMatrix mul(FloatMatrix right) throws MatrixException {
+        return mul(right, ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Multiplies this matrix, which is left, to the right one. Returns FloatMatrix
+     *
+     * @param right right operand of multiplication operation
+     * @param mode  mode of execution
+     * @return FloatMatrix this multiplied by right operand
+     * @throws MatrixException when tha columns number in left matrix does not equal to the rows number in right matrix
+     */
+    public FloatMatrix mul(FloatMatrix right, ExecutionMode mode) throws MatrixException {
+        if (this.columnsQuantity != right.rowsQuantity) {
+            String message = "Unable to multiply matrices, because of count of left matrix columns is " +
+                    this.columnsQuantity + " and count of right matrix rows is " + right.rowsQuantity +
+                    ". They are non-equal.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        float[] c = new float[this.rowsQuantity * right.columnsQuantity];
+        long work = (long) this.rowsQuantity * this.columnsQuantity * right.columnsQuantity;
+        MatrixParallelism.forEachRowBlock(mode, this.rowsQuantity, work, (from, to) ->
+                MultiplicationKernel.multiplyRows(this.data, right.data, c, from, to, this.columnsQuantity,
+                        right.columnsQuantity));
+        return new FloatMatrix(this.rowsQuantity, right.columnsQuantity, c);
+    }
+
+    /**
+     * Takes absolute value of every element
+     *
+     * @return FloatMatrix absolute value
+     */
+    public FloatMatrix abs() {
+        float[] c = new float[data.length];
+        for (int i = 0; i < data.length; i++) {
+            c[i] = Math.abs(data[i]);
+        }
+        return new FloatMatrix(rowsQuantity, columnsQuantity, c);
+    }
+
+    /**
+     * Transposes FloatMatrix
+     *
+     * @return FloatMatrix transposed (rows in this matrix are columns in returned one)
+     */
+    public FloatMatrix transpose() {
+        float[] c = new float[data.length];
+        for (int i = 0; i < rowsQuantity; i++) {
+            int row = i * columnsQuantity;
+            for (int j = 0; j < columnsQuantity; j++) {
+                c[j * rowsQuantity + i] = data[row + j];
+            }
+        }
+        return new FloatMatrix(columnsQuantity, rowsQuantity, c);
+    }
+
+    /**
+     * Calculates m-norm (maximal sum of absolute values of row elements) of FloatMatrix
+     *
+     * @return float m-norm of matrix
+     */
+    public float mNorm() {
+        double result = 0;
+        for (int i = 0; i < rowsQuantity; i++) {
+            double S = 0;
+            for (int j = i * columnsQuantity; j < (i + 1) * columnsQuantity; j++) {
+                S = S + Math.abs(data[j]);
+            }
+            result = Math.max(result, S);
+        }
+        return (float) result;
+    }
+
+    /**
+     * Calculates l-norm (maximal sum of absolute values of column elements) of FloatMatrix
+     *
+     * @return float l-norm of matrix
+     */
+    public float lNorm() {
+        double[] sums = new double[columnsQuantity];
+        for (int i = 0; i < rowsQuantity; i++) {
+            int row = i * columnsQuantity;
+            for (int j = 0; j < columnsQuantity; j++) {
+                sums[j] += Math.abs(data[row + j]);
+            }
+        }
+        double result = 0;
+        for (double S : sums) {
+            result = Math.max(result, S);
+        }
+        return (float) result;
+    }
+
+    /**
+     * Calculates k-norm (square root of sum of squares of elements) of FloatMatrix
+     *
+     * @return float k-norm of matrix
+     */
+    public float kNorm() {
+        double S = 0;
+        for (float element : data) {
+            S = S + (double) element * element;
+        }
+        return (float) Math.sqrt(S);
+    }
+
+    /**
+     * Calculates determinant of the square matrix by LU decomposition
+     *
+     * @return float determinant of square matrix
+     * @throws MatrixException when the matrix is not square
+     */
+    public float det() throws MatrixException {
+        checkSquare("Unable to calculate matrix determinant.");
+        float[] lu = data.clone();
+        int[] pivot = new int[rowsQuantity];
+        double result = decompose(lu, rowsQuantity, pivot);
+        for (int i = 0; i < rowsQuantity; i++) {
+            result *= lu[i * rowsQuantity + i];
+        }
+        return (float) result;
+    }
+
+    /**
+     * Calculates an invert FloatMatrix
+     *
+     * @return FloatMatrix invert
+     * @throws MatrixException when matrix is not square or its determinant is equal to 0
+     */
+    public FloatMatrix inv() throws MatrixException {
+        checkSquare("The matrix does not have invert one.");
+        int size = rowsQuantity;
+        float[] lu = data.clone();
+        int[] pivot = factorize(lu, size, "The matrix does not have invert one, because its determinant is equal to 0");
+        float[] x = new float[size * size];
+        for (int i = 0; i < size; i++) {
+            x[i * size + pivot[i]] = 1;
+        }
+        substitute(lu, size, x, size);
+        return new FloatMatrix(size, size, x);
+    }
+
+    /**
+     * Returns an identity FloatMatrix
+     *
+     * @return FloatMatrix identity
+     */
+    public FloatMatrix identity() {
+        float[] c = new float[rowsQuantity * rowsQuantity];
+        for (int i = 0; i < rowsQuantity; i++) {
+            c[i * rowsQuantity + i] = 1;
+        }
+        return new FloatMatrix(rowsQuantity, rowsQuantity, c);
+    }
+
+    /**
+     * Resolves the system of linear algebraic equation (SLAE)
+     *
+     * @param a FloatMatrix, which size must be rowsQuantity x (rowsQuantity+1)
+     * @return FloatMatrix , which is column of X values
+     * @throws MatrixException when columns quantity is not rows quantity + 1, or system matrix is singular
+     */
+    public static FloatMatrix resolveSLAE(FloatMatrix a) throws MatrixException {
+        if (a.columnsQuantity != a.rowsQuantity + 1) {
+            String message = "Unable to resolve system, because augmented matrix has size " + a.rowsQuantity +
+                    " x " + a.columnsQuantity + ", but system of " + a.rowsQuantity + " equations needs " +
+                    (a.rowsQuantity + 1) + " columns";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        int m = a.rowsQuantity;
+        float[] coefficients = new float[m * m];
+        float[] b = new float[m];
+        for (int i = 0; i < m; i++) {
+            System.arraycopy(a.data, i * (m + 1), coefficients, i * m, m);
+            b[i] = a.data[i * (m + 1) + m];
+        }
+        return solve(coefficients, m, new FloatMatrix(m, 1, b));
+    }
+
+    /**
+     * Resolves systems of linear algebraic equations A * X = B for all columns of B at once
+     *
+     * @param a square FloatMatrix of coefficients
+     * @param b FloatMatrix of right-hand sides, which rows quantity must be equal to the rows quantity of A
+     * @return FloatMatrix , which columns are X values for corresponding columns of B
+     * @throws MatrixException when A is not square, is singular or rows quantity of B does not match
+     */
+    public static FloatMatrix resolveSLAE(FloatMatrix a, FloatMatrix b) throws MatrixException {
+        a.checkSquare("Unable to resolve system.");
+        if (b.rowsQuantity != a.rowsQuantity) {
+            String message = "Unable to resolve system, because rows quantity of right-hand sides is " +
+                    b.rowsQuantity + " and size of matrix is " + a.rowsQuantity;
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        return solve(a.data.clone(), a.rowsQuantity, b);
+    }
+
+    /**
+     * Checks if left matrix (this) equals to right with float tolerance
+     *
+     * @param right FloatMatrix to compare to
+     * @return boolean true, when equals and false otherwise
+     */
+    public boolean isLeftEqual(FloatMatrix right) {
+        if (this.rowsQuantity != right.rowsQuantity || this.columnsQuantity != right.columnsQuantity) {
+            return false;
+        }
+        for (int i = 0; i < data.length; i++) {
+            if (Math.abs(data[i] - right.data[i]) >= accuracy) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return isLeftEqual((FloatMatrix) o);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 * rowsQuantity + columnsQuantity;
+        for (float element : data) {
+            result = 31 * result + Float.floatToIntBits(element);
+        }
+        return result;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            for (int j = 0; j < this.columnsQuantity; j++) {
+                sb.append(data[i * columnsQuantity + j]);
+                sb.append(" ");
+            }
+            sb.append("\n");
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    private void checkSameSize(FloatMatrix right, String message) throws MatrixException {
+        if (this.rowsQuantity != right.rowsQuantity || this.columnsQuantity != right.columnsQuantity) {
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+    }
+
+    private void checkSquare(String action) throws MatrixException {
+        if (rowsQuantity != columnsQuantity) {
+            String message = action + " It is not square: rows quantity is " + rowsQuantity +
+                    " and columns quantity is " + columnsQuantity;
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+    }
+
+    /**
+     * Resolves A * X = B, where A (size x size) is stored row by row in lu and is overwritten by factors
+     */
+    private static FloatMatrix solve(float[] lu, int size, FloatMatrix b) throws MatrixException {
+        int[] pivot = factorize(lu, size, "Unable to resolve system, because its matrix determinant is equal to 0");
+        int columns = b.columnsQuantity;
+        float[] x = new float[size * columns];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(b.data, pivot[i] * columns, x, i * columns, columns);
+        }
+        substitute(lu, size, x, columns);
+        return new FloatMatrix(size, columns, x);
+    }
+
+    /**
+     * Factorizes lu in place and checks that factorized matrix is not singular by criterion of
+     * {@link LUDecomposition#isSingular(double[], int)} with float epsilon
+     *
+     * @return int[] row permutation
+     */
+    private static int[] factorize(float[] lu, int size, String message) throws MatrixException {
+        int[] pivot = new int[size];
+        decompose(lu, size, pivot);
+        for (int i = 0; i < size; i++) {
+            float scale = 0;
+            for (int j = 0; j <= i; j++) {
+                scale = Math.max(scale, Math.abs(lu[j * size + i]));
+            }
+            if (Math.abs(lu[i * size + i]) <= size * Math.ulp(1.0f) * scale) {
+                MatrixLogger.error(message);
+                throw new MatrixException(message);
+            }
+        }
+        return pivot;
+    }
+
+    /**
+     * Solves L * U * X = B in place, where B is already permuted and stored row by row, see
+     * {@link LUDecomposition#substitute(double[], int)}
+     */
+    private static void substitute(float[] lu, int size, float[] x, int columns) {
+        for (int k = 0; k < size; k++) {
+            int rowK = k * columns;
+            for (int i = k + 1; i < size; i++) {
+                float factor = lu[i * size + k];
+                if (factor != 0) {
+                    int rowI = i * columns;
+                    for (int j = 0; j < columns; j++) {
+                        x[rowI + j] -= factor * x[rowK + j];
+                    }
+                }
+            }
+        }
+        for (int k = size - 1; k >= 0; k--) {
+            int rowK = k * columns;
+            float diagonal = lu[k * size + k];
+            for (int j = 0; j < columns; j++) {
+                x[rowK + j] /= diagonal;
+            }
+            for (int i = 0; i < k; i++) {
+                float factor = lu[i * size + k];
+                if (factor != 0) {
+                    int rowI = i * columns;
+                    for (int j = 0; j < columns; j++) {
+                        x[rowI + j] -= factor * x[rowK + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Factorizes n x n matrix, stored row by row in lu, in place with partial pivoting, see
+     * {@link LUDecomposition#decompose(double[], int, int[])}
+     *
+     * @return int sign of row permutation (1 or -1)
+     */
+    private static int decompose(float[] lu, int n, int[] pivot) {
+        int sign = 1;
+        for (int i = 0; i < n; i++) {
+            pivot[i] = i;
+        }
+        for (int k = 0; k < n; k++) {
+            int p = k;
+            float max = Math.abs(lu[k * n + k]);
+            for (int i = k + 1; i < n; i++) {
+                float value = Math.abs(lu[i * n + k]);
+                if (value > max) {
+                    max = value;
+                    p = i;
+                }
+            }
+            if (p != k) {
+                int rowP = p * n;
+                int rowK = k * n;
+                for (int j = 0; j < n; j++) {
+                    float temp = lu[rowP + j];
+                    lu[rowP + j] = lu[rowK + j];
+                    lu[rowK + j] = temp;
+                }
+                int temp = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = temp;
+                sign = -sign;
+            }
+            float diagonal = lu[k * n + k];
+            if (diagonal == 0) {
+                continue;
+            }
+            int rowK = k * n;
+            for (int i = k + 1; i < n; i++) {
+                int rowI = i * n;
+                float factor = lu[rowI + k] / diagonal;
+                lu[rowI + k] = factor;
+                if (factor != 0) {
+                    for (int j = k + 1; j < n; j++) {
+                        lu[rowI + j] -= factor * lu[rowK + j];
+                    }
+                }
+            }
+        }
+        return sign;
+    }
+}
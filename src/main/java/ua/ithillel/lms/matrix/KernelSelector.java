@@ -0,0 +1,15 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Chooses implementation of element-wise kernels. Java 8 has scalar kernels only; multi-release jar replaces
+ * this class for Java 17 and newer by one, which can choose kernels of Java Vector API.
+ */
+final class KernelSelector {
+
+    private KernelSelector() {
+    }
+
+    static ElementWiseKernel select() {
+        return new ScalarKernel();
+    }
+}
@@ -0,0 +1,332 @@
+package ua.ithillel.lms.matrix;
+
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+/**
+ * LU decomposition of the square matrix with partial (row) pivoting: P * A = L * U, where L is lower triangular
+ * with unit diagonal and U is upper triangular. Factors are calculated once in O(n^3) and kept, so they can be
+ * reused for determinant and further calculations.
+ */
+public class LUDecomposition {
+    /**
+     * Distance from 1 to the next double, relative rounding error of arithmetic operations
+     */
+    static final double EPSILON = Math.ulp(1.0);
+
+    private final int size;
+    private final double[] lu;
+    private final int[] pivot;
+    private final int pivotSign;
+    private final MatrixLayout layout;
+
+    /**
+     * Factorizes square matrix
+     *
+     * @param a Matrix you are going to factorize
+     * @throws MatrixException when the matrix is not square
+     */
+    public LUDecomposition(Matrix a) throws MatrixException {
+        if (a.getRowsQuantity() != a.getColumnsQuantity()) {
+            String message = "Unable to factorize matrix. It is not square: rows quantity is " +
+                    a.getRowsQuantity() + " and columns quantity is " + a.getColumnsQuantity();
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        this.size = a.getRowsQuantity();
+        this.lu = a.toRowMajor();
+        this.pivot = new int[size];
+        this.pivotSign = decompose(lu, size, pivot);
+        this.layout = a.getLayout();
+    }
+
+    /**
+     * Factorizes n x n matrix, stored row by row in lu, in place. After return lu holds the multipliers of L
+     * below the diagonal and U on and above it, pivot holds the original number of every row.
+     *
+     * @param lu    matrix stored row by row, is overwritten by factors
+     * @param n     size of matrix
+     * @param pivot array of n elements to store row permutation
+     * @return int sign of row permutation (1 or -1)
+     */
+    static int decompose(double[] lu, int n, int[] pivot) {
+        int sign = 1;
+        for (int i = 0; i < n; i++) {
+            pivot[i] = i;
+        }
+        for (int k = 0; k < n; k++) {
+            int p = k;
+            double max = Math.abs(lu[k * n + k]);
+            for (int i = k + 1; i < n; i++) {
+                double value = Math.abs(lu[i * n + k]);
+                if (value > max) {
+                    max = value;
+                    p = i;
+                }
+            }
+            if (p != k) {
+                int rowP = p * n;
+                int rowK = k * n;
+                for (int j = 0; j < n; j++) {
+                    double temp = lu[rowP + j];
+                    lu[rowP + j] = lu[rowK + j];
+                    lu[rowK + j] = temp;
+                }
+                int temp = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = temp;
+                sign = -sign;
+            }
+            double diagonal = lu[k * n + k];
+            if (diagonal == 0) {
+                continue;
+            }
+            int rowK = k * n;
+            for (int i = k + 1; i < n; i++) {
+                int rowI = i * n;
+                double factor = lu[rowI + k] / diagonal;
+                lu[rowI + k] = factor;
+                if (factor != 0) {
+                    for (int j = k + 1; j < n; j++) {
+                        lu[rowI + j] -= factor * lu[rowK + j];
+                    }
+                }
+            }
+        }
+        return sign;
+    }
+
+    /**
+     * Returns size of factorized matrix
+     *
+     * @return int rows (columns) quantity of factorized matrix
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Calculates determinant of factorized matrix as product of U diagonal
+     *
+     * @return double determinant of factorized matrix
+     */
+    public double det() {
+        double result = pivotSign;
+        for (int i = 0; i < size; i++) {
+            result *= lu[i * size + i];
+        }
+        return result;
+    }
+
+    /**
+     * Checks if factorized matrix is singular, i.e. U has diagonal element equal to 0 up to rounding errors
+     *
+     * @return boolean true if matrix is singular and false otherwise
+     */
+    public boolean isSingular() {
+        return isSingular(lu, size);
+    }
+
+    /**
+     * Checks if U factor calculated by {@link #decompose(double[], int, int[])} has diagonal element equal to 0 up
+     * to rounding errors, see {@link #isNegligible(double, double, int)}. Diagonal element is compared with the
+     * largest element of its column of U, so criterion does not depend on scale of matrix: 1e-3 * E and
+     * diag(1e-9, 1e10) are not singular, while pivot left by rounding instead of 0 is found.
+     *
+     * @param lu   factors of n x n matrix
+     * @param size size of matrix
+     * @return boolean true if matrix is singular and false otherwise
+     */
+    static boolean isSingular(double[] lu, int size) {
+        for (int i = 0; i < size; i++) {
+            double scale = 0;
+            for (int j = 0; j <= i; j++) {
+                scale = Math.max(scale, Math.abs(lu[j * size + i]));
+            }
+            if (isNegligible(lu[i * size + i], scale, size)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if diagonal element of factor of n x n matrix is 0 up to rounding errors of factorization, i.e. it
+     * does not exceed n * epsilon * scale, where scale is the largest element of the same column (row) of factor
+     *
+     * @param diagonal diagonal element
+     * @param scale    the largest absolute value of elements of its column (row), including diagonal one
+     * @param size     size of matrix
+     * @return boolean true if element is negligible
+     */
+    static boolean isNegligible(double diagonal, double scale, int size) {
+        return Math.abs(diagonal) <= size * EPSILON * scale;
+    }
+
+    /**
+     * Calculates invert of factorized matrix by solving L * U * X = P * E
+     *
+     * @return Matrix invert
+     * @throws MatrixException when the matrix is singular
+     */
+    public Matrix inverse() throws MatrixException {
+        return Matrix.fromRowMajor(size, size, inverseRowMajor(), layout);
+    }
+
+    /**
+     * Calculates invert of factorized matrix
+     *
+     * @return double[] elements of invert matrix, row after row
+     * @throws MatrixException when the matrix is singular
+     */
+    double[] inverseRowMajor() throws MatrixException {
+        checkNonSingular("The matrix does not have invert one, because its determinant is equal to 0");
+        double[] x = new double[size * size];
+        for (int i = 0; i < size; i++) {
+            x[i * size + pivot[i]] = 1;
+        }
+        substitute(x, size);
+        return x;
+    }
+
+    /**
+     * Resolves systems of linear algebraic equations A * X = B for every column of B using forward and back
+     * substitution. Each right-hand side costs O(n^2), so keep the decomposition to resolve further ones.
+     *
+     * @param b Matrix of right-hand sides, which rows quantity must be equal to the size of factorized matrix
+     * @return Matrix , which columns are X values for corresponding columns of B
+     * @throws MatrixException when rows quantity of B does not match or factorized matrix is singular
+     */
+    public Matrix solve(Matrix b) throws MatrixException {
+        if (b.getRowsQuantity() != size) {
+            String message = "Unable to resolve system, because rows quantity of right-hand sides is " +
+                    b.getRowsQuantity() + " and size of matrix is " + size;
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        checkNonSingular("Unable to resolve system, because its matrix determinant is equal to 0");
+        int columns = b.getColumnsQuantity();
+        double[] source = b.toRowMajor();
+        double[] x = new double[size * columns];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(source, pivot[i] * columns, x, i * columns, columns);
+        }
+        substitute(x, columns);
+        return Matrix.fromRowMajor(size, columns, x, layout);
+    }
+
+    /**
+     * Resolves systems of linear algebraic equations A * X = B for every column of B
+     *
+     * @param b right-hand sides, which rows quantity must be equal to the size of factorized matrix
+     * @return Matrix , which columns are X values for corresponding columns of B
+     * @throws MatrixException when rows quantity of B does not match or factorized matrix is singular
+     */
+    public Matrix solve(double[][] b) throws MatrixException {
+        return solve(new Matrix(b));
+    }
+
+    /**
+     * Solves L * U * X = B in place, where B is already permuted and stored row by row
+     *
+     * @param x       right-hand sides (size x columns), overwritten by solution
+     * @param columns quantity of right-hand sides
+     */
+    void substitute(double[] x, int columns) {
+        substitute(lu, size, x, columns);
+    }
+
+    /**
+     * Solves L * U * X = B in place for factors calculated by {@link #decompose(double[], int, int[])}
+     *
+     * @param lu      factors of n x n matrix
+     * @param size    size of matrix
+     * @param x       right-hand sides (size x columns), already permuted, overwritten by solution
+     * @param columns quantity of right-hand sides
+     */
+    static void substitute(double[] lu, int size, double[] x, int columns) {
+        for (int k = 0; k < size; k++) {
+            int rowK = k * columns;
+            for (int i = k + 1; i < size; i++) {
+                double factor = lu[i * size + k];
+                if (factor != 0) {
+                    int rowI = i * columns;
+                    for (int j = 0; j < columns; j++) {
+                        x[rowI + j] -= factor * x[rowK + j];
+                    }
+                }
+            }
+        }
+        for (int k = size - 1; k >= 0; k--) {
+            int rowK = k * columns;
+            double diagonal = lu[k * size + k];
+            for (int j = 0; j < columns; j++) {
+                x[rowK + j] /= diagonal;
+            }
+            for (int i = 0; i < k; i++) {
+                double factor = lu[i * size + k];
+                if (factor != 0) {
+                    int rowI = i * columns;
+                    for (int j = 0; j < columns; j++) {
+                        x[rowI + j] -= factor * x[rowK + j];
+                    }
+                }
+            }
+        }
+    }
+
+    private void checkNonSingular(String message) throws MatrixException {
+        if (isSingular()) {
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+    }
+
+    /**
+     * Returns lower triangular factor
+     *
+     * @return Matrix L with unit diagonal
+     */
+    public Matrix getL() {
+        double[][] l = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(lu, i * size, l[i], 0, i);
+            l[i][i] = 1;
+        }
+        return new Matrix(l, layout);
+    }
+
+    /**
+     * Returns upper triangular factor
+     *
+     * @return Matrix U
+     */
+    public Matrix getU() {
+        double[][] u = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(lu, i * size + i, u[i], i, size - i);
+        }
+        return new Matrix(u, layout);
+    }
+
+    /**
+     * Returns row permutation: element i is the number of row of source matrix, which became row i
+     *
+     * @return int[] row permutation
+     */
+    public int[] getPivot() {
+        return pivot.clone();
+    }
+
+    /**
+     * Returns permutation matrix P, so P * A = L * U
+     *
+     * @return Matrix P
+     */
+    public Matrix getP() {
+        double[][] p = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            p[i][pivot[i]] = 1;
+        }
+        return new Matrix(p, layout);
+    }
+}
@@ -0,0 +1,570 @@
+package ua.ithillel.lms.matrix;
+
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.Buffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Matrix stored in file, which may be larger than heap. File holds elements row after row as little-endian
+ * doubles. File is mapped to memory by bands of rows; at most working set bytes of bands are mapped at the same
+ * time, least recently used band is dropped when other one is needed. Operations stream tiles (tile size x tile
+ * size elements) through heap, so they need only few tiles of heap and do not load whole matrix.
+ * <p>
+ * Changes are written to file by {@link #flush()} and, for band being dropped, before it is unmapped: writes to
+ * mapping are not covered by force of file channel, so every mapped band is forced on its own.
+ * Dropped bands and all bands on {@link #close()} are unmapped at once by {@link DirectMemory#release}, so address
+ * space and file handles are not kept until garbage collection. Access to unmapped band crashes JVM, so
+ * MappedMatrix is not thread-safe and must not be used after it is closed.
+ */
+public class MappedMatrix implements Closeable {
+    static final long DEFAULT_WORKING_SET = 256L << 20;
+    static final int DEFAULT_TILE_SIZE = 512;
+    static final long BAND_BYTES = 64L << 20;
+    /**
+     * Quantity of bands, which working set holds at least, so reading across boundary of bands does not remap
+     */
+    static final int MIN_BANDS = 4;
+
+    private final int rowsQuantity;
+    private final int columnsQuantity;
+    private final long dataOffset;
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final int bandRows;
+    private final LinkedHashMap<Integer, Band> bands;
+    private int tileSize = DEFAULT_TILE_SIZE;
+
+    private MappedMatrix(RandomAccessFile file, int rowsQuantity, int columnsQuantity, long dataOffset,
+                         long workingSet) {
+        this.rowsQuantity = rowsQuantity;
+        this.columnsQuantity = columnsQuantity;
+        this.dataOffset = dataOffset;
+        this.file = file;
+        this.channel = file.getChannel();
+        long rowBytes = (long) columnsQuantity * Double.BYTES;
+        long bandBytes = Math.min(BAND_BYTES, workingSet / MIN_BANDS);
+        this.bandRows = (int) Math.max(1, Math.min(rowsQuantity, bandBytes / rowBytes));
+        int maxBands = (int) Math.max(1, workingSet / (rowBytes * bandRows));
+        this.bands = new LinkedHashMap<Integer, Band>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Band> eldest) {
+                if (size() <= maxBands) {
+                    return false;
+                }
+                eldest.getValue().unmap();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Creates zero filled file of rows quantity x columns quantity elements
+     *
+     * @param path            file, which is created or replaced
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     * @return MappedMatrix backed by file
+     * @throws MatrixException when sizes are not positive or row does not fit one mapping (2 GB)
+     * @throws IOException     when file cannot be created
+     */
+    public static MappedMatrix create(Path path, int rowsQuantity, int columnsQuantity)
+            throws MatrixException, IOException {
+        return create(path, rowsQuantity, columnsQuantity, DEFAULT_WORKING_SET);
+    }
+
+    /**
+     * Creates zero filled file of rows quantity x columns quantity elements
+     *
+     * @param path            file, which is created or replaced
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     * @param workingSet      maximal quantity of bytes mapped at the same time
+     * @return MappedMatrix backed by file
+     * @throws MatrixException when sizes are not positive or row does not fit one mapping (2 GB)
+     * @throws IOException     when file cannot be created
+     */
+    public static MappedMatrix create(Path path, int rowsQuantity, int columnsQuantity, long workingSet)
+            throws MatrixException, IOException {
+        checkSize(rowsQuantity, columnsQuantity);
+        RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+        try {
+            file.setLength(0);
+            file.setLength((long) rowsQuantity * columnsQuantity * Double.BYTES);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(file, e);
+            throw e;
+        }
+        return new MappedMatrix(file, rowsQuantity, columnsQuantity, 0, workingSet);
+    }
+
+    /**
+     * Opens existing file of rows quantity x columns quantity elements for reading and writing
+     *
+     * @param path            file of elements
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     * @return MappedMatrix backed by file
+     * @throws MatrixException when sizes are not positive or file is shorter than matrix
+     * @throws IOException     when file cannot be opened
+     */
+    public static MappedMatrix open(Path path, int rowsQuantity, int columnsQuantity)
+            throws MatrixException, IOException {
+        return open(path, rowsQuantity, columnsQuantity, 0, DEFAULT_WORKING_SET);
+    }
+
+    /**
+     * Opens existing file, which holds rows quantity x columns quantity elements after data offset bytes
+     *
+     * @param path            file of elements
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     * @param dataOffset      position of the first element in file
+     * @param workingSet      maximal quantity of bytes mapped at the same time
+     * @return MappedMatrix backed by file
+     * @throws MatrixException when sizes are not positive or file is shorter than matrix
+     * @throws IOException     when file cannot be opened
+     */
+    public static MappedMatrix open(Path path, int rowsQuantity, int columnsQuantity, long dataOffset,
+                                    long workingSet) throws MatrixException, IOException {
+        checkSize(rowsQuantity, columnsQuantity);
+        RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+        long expected = dataOffset + (long) rowsQuantity * columnsQuantity * Double.BYTES;
+        long length;
+        try {
+            length = file.length();
+        } catch (IOException e) {
+            closeQuietly(file, e);
+            throw e;
+        }
+        if (length < expected) {
+            file.close();
+            String message = "Unable to open matrix " + rowsQuantity + " x " + columnsQuantity + ", because file " +
+                    path + " has " + length + " bytes instead of " + expected;
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        return new MappedMatrix(file, rowsQuantity, columnsQuantity, dataOffset, workingSet);
+    }
+
+    /**
+     * Writes Matrix into new file
+     *
+     * @param matrix Matrix to write
+     * @param path   file, which is created or replaced
+     * @return MappedMatrix backed by file
+     * @throws IOException when file cannot be created
+     */
+    public static MappedMatrix fromMatrix(Matrix matrix, Path path) throws IOException {
+        MappedMatrix result;
+        try {
+            result = create(path, matrix.getRowsQuantity(), matrix.getColumnsQuantity());
+        } catch (MatrixException e) {
+            throw new IllegalStateException(e);
+        }
+        double[] row = new double[matrix.getColumnsQuantity()];
+        for (int i = 0; i < matrix.getRowsQuantity(); i++) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = matrix.get(i, j);
+            }
+            result.writeTile(i, 0, 1, row.length, row);
+        }
+        return result;
+    }
+
+    /**
+     * Closes file, which failed to be prepared, keeping the failure as the primary exception
+     */
+    private static void closeQuietly(RandomAccessFile file, Exception failure) {
+        try {
+            file.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static void checkSize(int rowsQuantity, int columnsQuantity) throws MatrixException {
+        if (rowsQuantity <= 0 || columnsQuantity <= 0 || (long) columnsQuantity * Double.BYTES > Integer.MAX_VALUE) {
+            String message = "Unable to map matrix " + rowsQuantity + " x " + columnsQuantity +
+                    ". Sizes must be positive and row must be less than 2 GB.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+    }
+
+    public int getRowsQuantity() {
+        return rowsQuantity;
+    }
+
+    public int getColumnsQuantity() {
+        return columnsQuantity;
+    }
+
+    /**
+     * Returns side of square tiles, which operations read and write
+     *
+     * @return int tile size
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Sets side of square tiles, which operations read and write. Operations keep up to four tiles in heap.
+     *
+     * @param tileSize tile size
+     */
+    public void setTileSize(int tileSize) {
+        this.tileSize = Math.max(tileSize, 1);
+    }
+
+    /**
+     * Returns element, which row is rn (from 0) and column is cn (from 0)
+     *
+     * @param rn number of row (from 0)
+     * @param cn number of column (from 0)
+     * @return double element of matrix
+     * @throws IOException when band of rows cannot be mapped
+     */
+    public double get(int rn, int cn) throws IOException {
+        return band(rn).get(index(rn, cn));
+    }
+
+    /**
+     * Sets element, which row is rn (from 0) and column is cn (from 0)
+     *
+     * @param rn    number of row (from 0)
+     * @param cn    number of column (from 0)
+     * @param value new value of element
+     * @throws IOException when band of rows cannot be mapped
+     */
+    public void set(int rn, int cn, double value) throws IOException {
+        band(rn).put(index(rn, cn), value);
+    }
+
+    /**
+     * Copies tile of rows x columns elements, which starts at (rn, cn), into dest row after row
+     *
+     * @param rn      the first row of tile
+     * @param cn      the first column of tile
+     * @param rows    rows quantity of tile
+     * @param columns columns quantity of tile
+     * @param dest    array of at least rows x columns elements
+     * @throws IOException when band of rows cannot be mapped
+     */
+    public void readTile(int rn, int cn, int rows, int columns, double[] dest) throws IOException {
+        for (int i = 0; i < rows; i++) {
+            DoubleBuffer buffer = band(rn + i).duplicate();
+            ((Buffer) buffer).position(index(rn + i, cn));
+            buffer.get(dest, i * columns, columns);
+        }
+    }
+
+    /**
+     * Writes tile of rows x columns elements, stored row after row in src, to position (rn, cn)
+     *
+     * @param rn      the first row of tile
+     * @param cn      the first column of tile
+     * @param rows    rows quantity of tile
+     * @param columns columns quantity of tile
+     * @param src     array of at least rows x columns elements
+     * @throws IOException when band of rows cannot be mapped
+     */
+    public void writeTile(int rn, int cn, int rows, int columns, double[] src) throws IOException {
+        for (int i = 0; i < rows; i++) {
+            DoubleBuffer buffer = band(rn + i).duplicate();
+            ((Buffer) buffer).position(index(rn + i, cn));
+            buffer.put(src, i * columns, columns);
+        }
+    }
+
+    /**
+     * Loads whole matrix into heap
+     *
+     * @param layout layout of elements of result
+     * @return Matrix with the same elements
+     * @throws IOException     when band of rows cannot be mapped
+     * @throws MatrixException when matrix has more than 2^31 - 1 elements
+     */
+    public Matrix toMatrix(MatrixLayout layout) throws IOException, MatrixException {
+        long elements = (long) rowsQuantity * columnsQuantity;
+        if (elements > Integer.MAX_VALUE - 8) {
+            String message = "Unable to load matrix " + rowsQuantity + " x " + columnsQuantity + " into heap.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        double[] data = new double[(int) elements];
+        readTile(0, 0, rowsQuantity, columnsQuantity, data);
+        return Matrix.fromRowMajor(rowsQuantity, columnsQuantity, data, layout);
+    }
+
+    /**
+     * Multiplies this matrix, which is left, to the right one tile by tile. Every tile of result is accumulated
+     * in heap from products of tiles of row band of left operand and column band of right one.
+     *
+     * @param right right operand of multiplication operation
+     * @param path  file of result, which is created or replaced
+     * @return MappedMatrix this multiplied by right operand
+     * @throws MatrixException when tha columns number in left matrix does not equal to the rows number in right matrix
+     * @throws IOException     when file of result cannot be created or band cannot be mapped
+     */
+    public MappedMatrix mul(MappedMatrix right, Path path) throws MatrixException, IOException {
+        if (this.columnsQuantity != right.rowsQuantity) {
+            String message = "Unable to multiply matrices, because of count of left matrix columns is " +
+                    this.columnsQuantity + " and count of right matrix rows is " + right.rowsQuantity +
+                    ". They are non-equal.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        MappedMatrix c = create(path, this.rowsQuantity, right.columnsQuantity);
+        int t = tileSize;
+        double[] a = new double[t * t];
+        double[] b = new double[t * t];
+        double[] sum = new double[t * t];
+        for (int i0 = 0; i0 < this.rowsQuantity; i0 += t) {
+            int rows = Math.min(t, this.rowsQuantity - i0);
+            for (int j0 = 0; j0 < right.columnsQuantity; j0 += t) {
+                int columns = Math.min(t, right.columnsQuantity - j0);
+                Arrays.fill(sum, 0, rows * columns, 0);
+                for (int k0 = 0; k0 < this.columnsQuantity; k0 += t) {
+                    int depth = Math.min(t, this.columnsQuantity - k0);
+                    this.readTile(i0, k0, rows, depth, a);
+                    right.readTile(k0, j0, depth, columns, b);
+                    MultiplicationKernel.multiply(a, b, sum, rows, depth, columns);
+                }
+                c.writeTile(i0, j0, rows, columns, sum);
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Transposes matrix tile by tile
+     *
+     * @param path file of result, which is created or replaced
+     * @return MappedMatrix transposed (rows in this matrix are columns in returned one)
+     * @throws IOException when file of result cannot be created or band cannot be mapped
+     */
+    public MappedMatrix transpose(Path path) throws IOException {
+        MappedMatrix c;
+        try {
+            c = create(path, columnsQuantity, rowsQuantity);
+        } catch (MatrixException e) {
+            throw new IllegalStateException(e);
+        }
+        int t = tileSize;
+        double[] tile = new double[t * t];
+        double[] transposed = new double[t * t];
+        for (int i0 = 0; i0 < rowsQuantity; i0 += t) {
+            int rows = Math.min(t, rowsQuantity - i0);
+            for (int j0 = 0; j0 < columnsQuantity; j0 += t) {
+                int columns = Math.min(t, columnsQuantity - j0);
+                readTile(i0, j0, rows, columns, tile);
+                for (int i = 0; i < rows; i++) {
+                    for (int j = 0; j < columns; j++) {
+                        transposed[j * rows + i] = tile[i * columns + j];
+                    }
+                }
+                c.writeTile(j0, i0, columns, rows, transposed);
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Adds right matrix to this one tile by tile
+     *
+     * @param right right operand of addition
+     * @param path  file of result, which is created or replaced
+     * @return MappedMatrix sum of matrices (this and right operand)
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     * @throws IOException     when file of result cannot be created or band cannot be mapped
+     */
+    public MappedMatrix add(MappedMatrix right, Path path) throws MatrixException, IOException {
+        return combine(right, path, false, "Unable to add matrices which have different rows and/or columns quantity.");
+    }
+
+    /**
+     * Subtracts right matrix from this one tile by tile
+     *
+     * @param right right operand of subtraction
+     * @param path  file of result, which is created or replaced
+     * @return MappedMatrix difference between matrices (this and right operand)
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     * @throws IOException     when file of result cannot be created or band cannot be mapped
+     */
+    public MappedMatrix sub(MappedMatrix right, Path path) throws MatrixException, IOException {
+        return combine(right, path, true,
+                "Unable to subtract matrices which have different rows and/or columns quantity.");
+    }
+
+    private MappedMatrix combine(MappedMatrix right, Path path, boolean subtract, String message)
+            throws MatrixException, IOException {
+        if (this.rowsQuantity != right.rowsQuantity || this.columnsQuantity != right.columnsQuantity) {
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        MappedMatrix c = create(path, rowsQuantity, columnsQuantity);
+        int rows = rowsPerStep();
+        double[] x = new double[rows * columnsQuantity];
+        double[] y = new double[rows * columnsQuantity];
+        for (int i0 = 0; i0 < rowsQuantity; i0 += rows) {
+            int count = Math.min(rows, rowsQuantity - i0);
+            int length = count * columnsQuantity;
+            this.readTile(i0, 0, count, columnsQuantity, x);
+            right.readTile(i0, 0, count, columnsQuantity, y);
+            if (subtract) {
+                ElementWiseKernel.INSTANCE.sub(x, 0, y, 0, x, 0, length);
+            } else {
+                ElementWiseKernel.INSTANCE.add(x, 0, y, 0, x, 0, length);
+            }
+            c.writeTile(i0, 0, count, columnsQuantity, x);
+        }
+        return c;
+    }
+
+    /**
+     * Calculates m-norm (maximal sum of absolute values of row elements) reading rows one after another
+     *
+     * @return double m-norm of matrix
+     * @throws IOException when band cannot be mapped
+     */
+    public double mNorm() throws IOException {
+        double result = 0;
+        double[] row = new double[columnsQuantity];
+        for (int i = 0; i < rowsQuantity; i++) {
+            readTile(i, 0, 1, columnsQuantity, row);
+            double S = 0;
+            for (double element : row) {
+                S = S + Math.abs(element);
+            }
+            result = Math.max(result, S);
+        }
+        return result;
+    }
+
+    /**
+     * Calculates l-norm (maximal sum of absolute values of column elements) reading rows one after another
+     *
+     * @return double l-norm of matrix
+     * @throws IOException when band cannot be mapped
+     */
+    public double lNorm() throws IOException {
+        double[] sums = new double[columnsQuantity];
+        double[] row = new double[columnsQuantity];
+        for (int i = 0; i < rowsQuantity; i++) {
+            readTile(i, 0, 1, columnsQuantity, row);
+            for (int j = 0; j < columnsQuantity; j++) {
+                sums[j] += Math.abs(row[j]);
+            }
+        }
+        double result = 0;
+        for (double S : sums) {
+            result = Math.max(result, S);
+        }
+        return result;
+    }
+
+    /**
+     * Calculates k-norm (square root of sum of squares of elements) reading rows one after another
+     *
+     * @return double k-norm of matrix
+     * @throws IOException when band cannot be mapped
+     */
+    public double kNorm() throws IOException {
+        double S = 0;
+        double[] row = new double[columnsQuantity];
+        for (int i = 0; i < rowsQuantity; i++) {
+            readTile(i, 0, 1, columnsQuantity, row);
+            S = S + ElementWiseKernel.INSTANCE.sumOfSquares(row, 0, columnsQuantity);
+        }
+        return Math.sqrt(S);
+    }
+
+    /**
+     * Writes changed elements to file
+     *
+     * @throws IOException when file cannot be written
+     */
+    public void flush() throws IOException {
+        for (Band band : bands.values()) {
+            band.mapping.force();
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            for (Band band : bands.values()) {
+                band.unmap();
+            }
+            bands.clear();
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Returns quantity of rows, which element-wise operations process at once, so step takes about one tile
+     */
+    private int rowsPerStep() {
+        return (int) Math.max(1, Math.min(rowsQuantity, (long) tileSize * tileSize / columnsQuantity));
+    }
+
+    private int index(int rn, int cn) {
+        return (rn % bandRows) * columnsQuantity + cn;
+    }
+
+    private DoubleBuffer band(int rn) throws IOException {
+        if (rn < 0 || rn >= rowsQuantity) {
+            throw new IndexOutOfBoundsException("Row#" + (rn + 1) + " is absent in matrix.");
+        }
+        int number = rn / bandRows;
+        Band band = bands.get(number);
+        if (band == null) {
+            int first = number * bandRows;
+            int rows = Math.min(bandRows, rowsQuantity - first);
+            long rowBytes = (long) columnsQuantity * Double.BYTES;
+            band = new Band(channel.map(FileChannel.MapMode.READ_WRITE, dataOffset + first * rowBytes,
+                    rows * rowBytes));
+            bands.put(number, band);
+        }
+        return band.elements;
+    }
+
+    int getMappedBandsQuantity() {
+        return bands.size();
+    }
+
+    /**
+     * Mapping of band of rows and view of its elements
+     */
+    private static final class Band {
+        private final MappedByteBuffer mapping;
+        private final DoubleBuffer elements;
+
+        private Band(MappedByteBuffer mapping) {
+            this.mapping = mapping;
+            this.elements = mapping.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+
+        /**
+         * Writes changed elements of band to file and unmaps it
+         */
+        private void unmap() {
+            mapping.force();
+            DirectMemory.release(mapping);
+        }
+    }
+}
@@ -1,105 +1,449 @@
 package ua.ithillel.lms.matrix;
 
-import ua.ithillel.lms.logger.Logger;
 import ua.ithillel.lms.matrix.exception.MatrixException;
 
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Objects;
 
 public class Matrix {
     private final int rowsQuantity;
     private final int columnsQuantity;
-    private final double[][] matrix;
-
-    private final Logger logger;
+    private final MatrixStorage storage;
+    private MatrixStructure structure;
+    private long structureVersion;
+    private Derived derived;
 
     static final double accuracy = 0.00000001;
     static final String loggerConfigPath = "./config/log.properties";
 
     public Matrix(int rowsQuantity, int columnsQuantity) {
-        logger = MatrixLogger.create(loggerConfigPath);
+        this(rowsQuantity, columnsQuantity, MatrixLayout.ARRAY);
+    }
+
+    /**
+     * Creates zero filled Matrix, which elements are stored in given layout
+     *
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     * @param layout          layout of elements in memory
+     */
+    public Matrix(int rowsQuantity, int columnsQuantity, MatrixLayout layout) {
         if (rowsQuantity <= 0) {
-            logger.warn("Invalid rows quantity of matrix. Matrix will have 1 row (default value)");
+            MatrixLogger.warn("Invalid rows quantity of matrix. Matrix will have 1 row (default value)");
             rowsQuantity = 1;
         }
         if (columnsQuantity <= 0) {
-            logger.warn("Invalid columns quantity of matrix. Matrix will have 1 row (default value)");
+            MatrixLogger.warn("Invalid columns quantity of matrix. Matrix will have 1 row (default value)");
             columnsQuantity = 1;
         }
         this.rowsQuantity = rowsQuantity;
         this.columnsQuantity = columnsQuantity;
-        this.matrix = new double[rowsQuantity][columnsQuantity];
-        for (int i = 0; i < this.rowsQuantity; i++) {
-            for (int j = 0; j < this.columnsQuantity; j++) {
-                this.matrix[i][j] = 0;
-            }
-        }
+        this.storage = MatrixStorage.create(layout, rowsQuantity, columnsQuantity);
     }
 
     public Matrix(int rowsQuantity, int columnsQuantity, double[][] matrix) {
-        logger = MatrixLogger.create(loggerConfigPath);
         if (rowsQuantity <= 0) {
-            logger.warn("Invalid rows quantity of matrix. Matrix will have 1 row (default value)");
+            MatrixLogger.warn("Invalid rows quantity of matrix. Matrix will have 1 row (default value)");
             rowsQuantity = 1;
         }
         if (columnsQuantity <= 0) {
-            logger.warn("Invalid columns quantity of matrix. Matrix will have 1 row (default value)");
+            MatrixLogger.warn("Invalid columns quantity of matrix. Matrix will have 1 row (default value)");
             columnsQuantity = 1;
         }
         if (matrix.length < rowsQuantity) {
-            logger.warn("Real rows quantity of matrix does not match parameter. Real rows quantity will be used");
+            MatrixLogger.warn("Real rows quantity of matrix does not match parameter. Real rows quantity will be used");
             rowsQuantity = matrix.length;
         }
         for (int i = 0; i < matrix[0].length; i++) {
             if (matrix[0].length < columnsQuantity) {
-                logger.warn("Real columns quantity of matrix does not match parameter. Real columns quantity will be used");
+                MatrixLogger.warn("Real columns quantity of matrix does not match parameter. Real columns quantity will be used");
                 rowsQuantity = matrix.length;
             }
         }
         this.rowsQuantity = rowsQuantity;
         this.columnsQuantity = columnsQuantity;
-        this.matrix = new double[rowsQuantity][columnsQuantity];
+        this.storage = MatrixStorage.create(MatrixLayout.ARRAY, rowsQuantity, columnsQuantity);
         for (int i = 0; i < this.rowsQuantity; i++) {
-            System.arraycopy(matrix[i], 0, this.matrix[i], 0, this.columnsQuantity);
+            storage.setRow(i, matrix[i], 0, this.columnsQuantity);
         }
     }
 
     public Matrix(double[][] matrix) {
-        logger = MatrixLogger.create(loggerConfigPath);
+        this(matrix, MatrixLayout.ARRAY);
+    }
+
+    /**
+     * Creates Matrix, which elements are copied from matrix and stored in given layout
+     *
+     * @param matrix elements of matrix
+     * @param layout layout of elements in memory
+     */
+    public Matrix(double[][] matrix, MatrixLayout layout) {
         this.rowsQuantity = matrix.length;
         if (Matrix.isGear(matrix)) {
-            logger.warn("The library is unable to work with gear matrix. Matrix will get the 1st raw columns count.");
+            MatrixLogger.warn("The library is unable to work with gear matrix. Matrix will get the 1st raw columns count.");
         }
         this.columnsQuantity = (matrix.length > 0) ? matrix[0].length : 0;
-        this.matrix = new double[this.rowsQuantity][this.columnsQuantity];
+        this.storage = MatrixStorage.create(layout, this.rowsQuantity, this.columnsQuantity);
         for (int i = 0; i < this.rowsQuantity; i++) {
-            System.arraycopy(matrix[i], 0, this.matrix[i], 0, this.columnsQuantity);
+            storage.setRow(i, matrix[i], 0, this.columnsQuantity);
+        }
+    }
+
+    private Matrix(int rowsQuantity, int columnsQuantity, MatrixStorage storage) {
+        this.rowsQuantity = rowsQuantity;
+        this.columnsQuantity = columnsQuantity;
+        this.storage = storage;
+    }
+
+    /**
+     * Creates Matrix in FLAT layout over array data without copying it. Element (rn, cn) of Matrix is
+     * data[offset + rn * stride + cn], so changes of data are visible in Matrix and vice versa. Array may be
+     * changed bypassing Matrix, so determinant, invert, norms and hash code of wrapped Matrix are not cached.
+     *
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     * @param data            array of elements
+     * @param offset          index of the first element in data
+     * @param stride          distance in data between beginnings of neighbour rows
+     * @return Matrix backed by data
+     * @throws MatrixException when sizes are not positive, stride is less than columns quantity or data is too short
+     */
+    public static Matrix wrap(int rowsQuantity, int columnsQuantity, double[] data, int offset, int stride)
+            throws MatrixException {
+        if (rowsQuantity <= 0 || columnsQuantity <= 0 || offset < 0 || stride < columnsQuantity ||
+                (long) offset + (long) (rowsQuantity - 1) * stride + columnsQuantity > data.length) {
+            String message = "Unable to wrap array of " + data.length + " elements as matrix " + rowsQuantity + " x " +
+                    columnsQuantity + " with offset " + offset + " and stride " + stride;
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        FlatMatrixStorage storage = new FlatMatrixStorage(data, offset, stride);
+        storage.untrack();
+        return new Matrix(rowsQuantity, columnsQuantity, storage);
+    }
+
+    /**
+     * Starts lazy expression over Matrix. Element-wise operations of expression are calculated in one pass
+     * by {@link MatrixExpression#evaluate()}, e.g. Matrix.expr(F).add(G).sub(H).scale(1.5).abs().evaluate()
+     *
+     * @param matrix the first operand of expression
+     * @return MatrixExpression expression, which result is equal to matrix
+     */
+    public static MatrixExpression expr(Matrix matrix) {
+        return new MatrixExpression(matrix);
+    }
+
+    /**
+     * Returns rows quantity of Matrix
+     *
+     * @return int rows quantity
+     */
+    public int getRowsQuantity() {
+        return rowsQuantity;
+    }
+
+    /**
+     * Returns columns quantity of Matrix
+     *
+     * @return int columns quantity
+     */
+    public int getColumnsQuantity() {
+        return columnsQuantity;
+    }
+
+    /**
+     * Returns element, which row is rn (from 0) and column is cn (from 0)
+     *
+     * @param rn number of row (from 0)
+     * @param cn number of column (from 0)
+     * @return double element of matrix
+     */
+    public double get(int rn, int cn) {
+        return storage.get(rn, cn);
+    }
+
+    /**
+     * Returns layout of elements of Matrix in memory
+     *
+     * @return MatrixLayout layout
+     */
+    public MatrixLayout getLayout() {
+        return storage.layout();
+    }
+
+    /**
+     * Returns structure of Matrix, which was declared or detected
+     *
+     * @return MatrixStructure structure or {@link MatrixStructure#GENERAL} when it is unknown
+     */
+    public MatrixStructure getStructure() {
+        return (structure != null && structureVersion == storage.version()) ? structure : MatrixStructure.GENERAL;
+    }
+
+    /**
+     * Declares structure of Matrix, so det, inv, mul and resolveSLAE use specialized algorithms. Structure is not
+     * checked, and algorithms read only elements, which it allows to be non-zero. Structure is forgotten, when
+     * elements are changed through this Matrix or its views.
+     *
+     * @param structure structure of matrix
+     * @return Matrix this
+     */
+    public Matrix declareStructure(MatrixStructure structure) {
+        this.structure = structure;
+        this.structureVersion = storage.version();
+        this.derived = null;
+        return this;
+    }
+
+    /**
+     * Finds structure of Matrix in one pass over elements and declares it
+     *
+     * @return MatrixStructure structure found
+     */
+    public MatrixStructure detectStructure() {
+        this.structure = MatrixStructure.detect(this);
+        this.structureVersion = storage.version();
+        return this.structure;
+    }
+
+    /**
+     * Counts change of elements, so structure and cached values of this Matrix and all views sharing its
+     * elements are forgotten
+     */
+    private void modified() {
+        storage.touch();
+    }
+
+    /**
+     * Returns values calculated from current elements, or null when elements may be changed bypassing Matrix
+     */
+    private Derived derived() {
+        long version = storage.version();
+        if (version == MatrixStorage.UNTRACKED) {
+            return null;
+        }
+        Derived d = derived;
+        if (d == null || d.version != version) {
+            d = new Derived(version);
+            derived = d;
+        }
+        return d;
+    }
+
+    /**
+     * Values calculated from elements of Matrix, which stay valid while version of its storage is the same.
+     * Fields are set at most once, so Matrix shared by threads calculates them again at worst. Values are boxed
+     * or immutable, so they are safely published without locks, and elements of invert are published by write of
+     * volatile field after they are filled.
+     */
+    private static final class Derived {
+        private final long version;
+        private Double det;
+        private LUDecomposition lu;
+        private volatile double[] inverse;
+        private Double mNorm;
+        private Double lNorm;
+        private Double kNorm;
+        private Integer hashCode;
+
+        private Derived(long version) {
+            this.version = version;
+        }
+    }
+
+    private void checkSameSize(Matrix right, String message) throws MatrixException {
+        if (this.rowsQuantity != right.rowsQuantity || this.columnsQuantity != right.columnsQuantity) {
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+    }
+
+    private void checkDestination(Matrix dest, int rowsQuantity, int columnsQuantity) throws MatrixException {
+        if (dest.rowsQuantity != rowsQuantity || dest.columnsQuantity != columnsQuantity) {
+            String message = "Unable to write result of size " + rowsQuantity + " x " + columnsQuantity +
+                    " into matrix of size " + dest.rowsQuantity + " x " + dest.columnsQuantity;
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        dest.modified();
+    }
+
+    /**
+     * Checks if dest is not operand itself, but shares elements with it, e.g. is its view, so writing into dest
+     * may overwrite elements of operand, which are not read yet
+     */
+    private static boolean overlaps(Matrix dest, Matrix operand) {
+        return dest.storage != operand.storage && dest.storage.memory() == operand.storage.memory();
+    }
+
+    /**
+     * Calculates result into scratch array borrowed from workspace and copies it into dest, so operation may read
+     * operands sharing elements with dest
+     */
+    private static Matrix throughScratch(Matrix dest, IntoOperation operation) throws MatrixException {
+        MatrixWorkspace workspace = MatrixWorkspace.local();
+        double[] data = workspace.doubles(dest.rowsQuantity * dest.columnsQuantity);
+        try {
+            operation.apply(new Matrix(dest.rowsQuantity, dest.columnsQuantity,
+                    new FlatMatrixStorage(data, 0, dest.columnsQuantity)));
+            for (int i = 0; i < dest.rowsQuantity; i++) {
+                dest.storage.setRow(i, data, i * dest.columnsQuantity, dest.columnsQuantity);
+            }
+            return dest;
+        } finally {
+            workspace.release(data);
+        }
+    }
+
+    private interface IntoOperation {
+        void apply(Matrix scratch) throws MatrixException;
+    }
+
+    private long elementsQuantity() {
+        return (long) rowsQuantity * columnsQuantity;
+    }
+
+    /**
+     * Finishes measurement of element-wise operation, which reads operands of the size of this Matrix and writes
+     * result of the same size
+     */
+    private void recordElementWise(MatrixOperation operation, long start, int operands, int temporaries) {
+        MatrixMetrics.record(operation, start, rowsQuantity, columnsQuantity, elementsQuantity(),
+                Double.BYTES * elementsQuantity() * (operands + 1), temporaries);
+    }
+
+    /**
+     * Returns quantity of arrays, which {@link #rowMajor()} allocates for this Matrix
+     */
+    private int rowMajorCopies() {
+        return (storage.contiguous(rowsQuantity, columnsQuantity) == null) ? 1 : 0;
+    }
+
+    /**
+     * Copies elements of Matrix row by row into one array
+     *
+     * @return double[] elements of matrix, row after row
+     */
+    double[] toRowMajor() {
+        double[] result = new double[rowsQuantity * columnsQuantity];
+        copyRowMajor(result);
+        return result;
+    }
+
+    /**
+     * Copies elements of Matrix row by row into given array
+     *
+     * @param dest array of at least rows quantity * columns quantity elements
+     */
+    void copyRowMajor(double[] dest) {
+        for (int i = 0; i < rowsQuantity; i++) {
+            storage.copyRow(i, dest, i * columnsQuantity, columnsQuantity);
         }
     }
 
+    /**
+     * Returns elements of Matrix row by row in one array. Array is not copied when storage already holds
+     * elements this way, so it must not be changed.
+     *
+     * @return double[] elements of matrix, row after row
+     */
+    double[] rowMajor() {
+        double[] data = storage.contiguous(rowsQuantity, columnsQuantity);
+        return (data != null) ? data : toRowMajor();
+    }
+
+    /**
+     * Creates Matrix in FLAT layout, which takes array data with elements stored row by row as its storage.
+     * Unlike {@link #wrap(int, int, double[], int, int)}, Matrix owns data, which must not be changed bypassing it,
+     * so determinant, invert, norms and hash code are cached as for any other Matrix.
+     *
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     * @param data            elements of matrix, row after row
+     * @return Matrix with given elements
+     * @throws MatrixException when sizes are not positive or length of data does not match them
+     */
+    public static Matrix fromRowMajor(int rowsQuantity, int columnsQuantity, double[] data) throws MatrixException {
+        if (rowsQuantity <= 0 || columnsQuantity <= 0 || (long) rowsQuantity * columnsQuantity != data.length) {
+            String message = "Unable to create matrix " + rowsQuantity + " x " + columnsQuantity + " from array of " +
+                    data.length + " elements";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        return fromRowMajor(rowsQuantity, columnsQuantity, data, MatrixLayout.FLAT);
+    }
+
+    /**
+     * Creates Matrix from elements stored row by row in one array
+     *
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     * @param data            elements of matrix, row after row
+     * @param layout          layout of elements in created matrix. Array data becomes storage of FLAT matrix.
+     * @return Matrix with given elements
+     */
+    static Matrix fromRowMajor(int rowsQuantity, int columnsQuantity, double[] data, MatrixLayout layout) {
+        if (layout == MatrixLayout.FLAT) {
+            return new Matrix(rowsQuantity, columnsQuantity, new FlatMatrixStorage(data, 0, columnsQuantity));
+        }
+        Matrix c = new Matrix(rowsQuantity, columnsQuantity, layout);
+        for (int i = 0; i < rowsQuantity; i++) {
+            c.storage.setRow(i, data, i * columnsQuantity, columnsQuantity);
+        }
+        return c;
+    }
+
+    /**
+     * Creates Matrix over given storage without copying it
+     */
+    static Matrix fromStorage(int rowsQuantity, int columnsQuantity, MatrixStorage storage) {
+        return new Matrix(rowsQuantity, columnsQuantity, storage);
+    }
+
+    /**
+     * Copies row rn into dest
+     */
+    void copyRow(int rn, double[] dest) {
+        storage.copyRow(rn, dest, 0, columnsQuantity);
+    }
+
+    /**
+     * Sets row rn from src
+     */
+    void setRow(int rn, double[] src) {
+        modified();
+        storage.setRow(rn, src, 0, columnsQuantity);
+    }
+
     /**
      * Sets matrix to memory reserved by Constructor
      *
      * @param matrix matrix you are going to set as a property of this object
      */
     public void setMatrix(double[][] matrix) {
-        logger.info("If matrix you transferred has more rows (columns) than you define, redundant will be dropped.");
+        MatrixLogger.info("If matrix you transferred has more rows (columns) than you define, redundant will be dropped.");
         if (matrix.length < rowsQuantity) {
-            logger.error("Rows quantity of matrix you transferred is " + matrix.length + ", but before you defined " +
-                    rowsQuantity + " . Matrix will not be changed.");
+            MatrixLogger.error(() -> "Rows quantity of matrix you transferred is " + matrix.length +
+                    ", but before you defined " + rowsQuantity + " . Matrix will not be changed.");
             return;
         }
         if (matrix[0].length < columnsQuantity) {
-            logger.error("Columns quantity of matrix you transferred is " + matrix.length + ", but before you defined " +
-                    columnsQuantity + " . Matrix will not be changed.");
+            MatrixLogger.error(() -> "Columns quantity of matrix you transferred is " + matrix.length +
+                    ", but before you defined " + columnsQuantity + " . Matrix will not be changed.");
             return;
         }
         if (Matrix.isGear(matrix)) {
-            logger.error("The library is unable to work with gear matrix. Matrix will not be changed.");
+            MatrixLogger.error("The library is unable to work with gear matrix. Matrix will not be changed.");
             return;
         }
+        modified();
         for (int i = 0; i < rowsQuantity; i++) {
-            if (columnsQuantity >= 0) System.arraycopy(matrix[i], 0, this.matrix[i], 0, columnsQuantity);
+            if (columnsQuantity >= 0) storage.setRow(i, matrix[i], 0, columnsQuantity);
         }
     }
 
@@ -111,17 +455,31 @@ public class Matrix {
      * @throws MatrixException when matrices have different rows and/or columns quantity
      */
     public Matrix add(Matrix right) throws MatrixException {
+        return add(right, ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Returns Matrix, which is sum of matrices (this Matrix, which is left, and the right one)
+     *
+     * @param right right operand of addition
+     * @param mode  mode of execution
+     * @return Matrix sum of matrices (this and right operand)
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public Matrix add(Matrix right, ExecutionMode mode) throws MatrixException {
         if (this.rowsQuantity != right.rowsQuantity || this.columnsQuantity != right.columnsQuantity) {
             String message = "Unable to add matrices which have different rows and/or columns quantity.";
-            logger.error(message);
+            MatrixLogger.error(message);
             throw new MatrixException(message);
         }
-        Matrix c = new Matrix(this.rowsQuantity, this.columnsQuantity);
-        for (int i = 0; i < this.rowsQuantity; i++) {
-            for (int j = 0; j < this.columnsQuantity; j++) {
-                c.matrix[i][j] = this.matrix[i][j] + right.matrix[i][j];
+        long start = MatrixMetrics.start();
+        Matrix c = new Matrix(this.rowsQuantity, this.columnsQuantity, this.getLayout());
+        MatrixParallelism.forEachRowBlock(mode, this.rowsQuantity, elementsQuantity(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                ElementWiseKernel.add(this.storage, right.storage, c.storage, i, this.columnsQuantity);
             }
-        }
+        });
+        recordElementWise(MatrixOperation.ADD, start, 2, 1);
         return c;
     }
 
@@ -133,17 +491,31 @@ public class Matrix {
      * @throws MatrixException when matrices have different rows and/or columns quantity
      */
     public Matrix sub(Matrix right) throws MatrixException {
+        return sub(right, ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Returns Matrix, which is difference between this Matrix, which is left, and transferred
+     *
+     * @param right right operand of subtraction
+     * @param mode  mode of execution
+     * @return Matrix difference between matrices (this and right operand)
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public Matrix sub(Matrix right, ExecutionMode mode) throws MatrixException {
         if (this.rowsQuantity != right.rowsQuantity || this.columnsQuantity != right.columnsQuantity) {
             String message = "Unable to subtract matrices which have different rows and/or columns quantity.";
-            logger.error(message);
+            MatrixLogger.error(message);
             throw new MatrixException(message);
         }
-        Matrix c = new Matrix(this.rowsQuantity, this.columnsQuantity);
-        for (int i = 0; i < this.rowsQuantity; i++) {
-            for (int j = 0; j < this.columnsQuantity; j++) {
-                c.matrix[i][j] = this.matrix[i][j] - right.matrix[i][j];
+        long start = MatrixMetrics.start();
+        Matrix c = new Matrix(this.rowsQuantity, this.columnsQuantity, this.getLayout());
+        MatrixParallelism.forEachRowBlock(mode, this.rowsQuantity, elementsQuantity(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                ElementWiseKernel.sub(this.storage, right.storage, c.storage, i, this.columnsQuantity);
             }
-        }
+        });
+        recordElementWise(MatrixOperation.SUB, start, 2, 1);
         return c;
     }
 
@@ -154,12 +526,25 @@ public class Matrix {
      * @return Matrix this multiplied by number
      */
     public Matrix mulByNumber(double number) {
-        Matrix c = new Matrix(this.rowsQuantity, this.columnsQuantity);
-        for (int i = 0; i < this.rowsQuantity; i++) {
-            for (int j = 0; j < this.columnsQuantity; j++) {
-                c.matrix[i][j] = this.matrix[i][j] * number;
+        return mulByNumber(number, ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Multiplies Matrix by number. Returns Matrix
+     *
+     * @param number number, which you would like to multiply by
+     * @param mode   mode of execution
+     * @return Matrix this multiplied by number
+     */
+    public Matrix mulByNumber(double number, ExecutionMode mode) {
+        long start = MatrixMetrics.start();
+        Matrix c = new Matrix(this.rowsQuantity, this.columnsQuantity, this.getLayout());
+        MatrixParallelism.forEachRowBlock(mode, this.rowsQuantity, elementsQuantity(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                ElementWiseKernel.scale(this.storage, number, c.storage, i, this.columnsQuantity);
             }
-        }
+        });
+        recordElementWise(MatrixOperation.SCALE, start, 1, 1);
         return c;
     }
 
@@ -171,192 +556,887 @@ public class Matrix {
      * @return Matrix this multiplied by number
      */
     public static Matrix mulNumberByMatrix(double number, Matrix right) {
-        Matrix c = new Matrix(right.rowsQuantity, right.columnsQuantity);
+        long start = MatrixMetrics.start();
+        Matrix c = new Matrix(right.rowsQuantity, right.columnsQuantity, right.getLayout());
         for (int i = 0; i < right.rowsQuantity; i++) {
-            for (int j = 0; j < right.columnsQuantity; j++) {
-                c.matrix[i][j] = number * right.matrix[i][j];
+            ElementWiseKernel.scale(right.storage, number, c.storage, i, right.columnsQuantity);
+        }
+        right.recordElementWise(MatrixOperation.SCALE, start, 1, 1);
+        return c;
+    }
+
+    /**
+     * Divides Matrix by number. Returns Matrix
+     *
+     * @param number number, which you would like to divide by
+     * @return Matrix this divided by number
+     */
+    public Matrix divByNumber(double number) {
+        long start = MatrixMetrics.start();
+        Matrix c = new Matrix(this.rowsQuantity, this.columnsQuantity, this.getLayout());
+        if (Math.abs(number) < accuracy) {
+            MatrixLogger.warn(() -> "Possible divide by 0 . Matrix will be divided by " + accuracy +
+                    " to avoid abnormal termination.");
+            number = accuracy;
+        }
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            for (int j = 0; j < this.columnsQuantity; j++) {
+                c.storage.set(i, j, this.storage.get(i, j) / number);
             }
         }
+        recordElementWise(MatrixOperation.SCALE, start, 1, 1);
         return c;
     }
 
     /**
-     * Divides Matrix by number. Returns Matrix
+     * Adds right Matrix to this one without creating new Matrix
+     *
+     * @param right right operand of addition
+     * @return Matrix this, which now holds sum
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public Matrix addInPlace(Matrix right) throws MatrixException {
+        return addInto(right, this);
+    }
+
+    /**
+     * Writes sum of this Matrix and right one into dest
+     *
+     * @param right right operand of addition
+     * @param dest  Matrix of the same size, which receives result. It may be one of operands or view sharing their
+     *              elements.
+     * @return Matrix dest
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public Matrix addInto(Matrix right, Matrix dest) throws MatrixException {
+        checkSameSize(right, "Unable to add matrices which have different rows and/or columns quantity.");
+        checkDestination(dest, this.rowsQuantity, this.columnsQuantity);
+        if (overlaps(dest, this) || overlaps(dest, right)) {
+            return throughScratch(dest, scratch -> addInto(right, scratch));
+        }
+        long start = MatrixMetrics.start();
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            ElementWiseKernel.add(this.storage, right.storage, dest.storage, i, this.columnsQuantity);
+        }
+        recordElementWise(MatrixOperation.ADD, start, 2, 0);
+        return dest;
+    }
+
+    /**
+     * Subtracts right Matrix from this one without creating new Matrix
+     *
+     * @param right right operand of subtraction
+     * @return Matrix this, which now holds difference
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public Matrix subInPlace(Matrix right) throws MatrixException {
+        return subInto(right, this);
+    }
+
+    /**
+     * Writes difference between this Matrix and right one into dest
+     *
+     * @param right right operand of subtraction
+     * @param dest  Matrix of the same size, which receives result. It may be one of operands or view sharing their
+     *              elements.
+     * @return Matrix dest
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public Matrix subInto(Matrix right, Matrix dest) throws MatrixException {
+        checkSameSize(right, "Unable to subtract matrices which have different rows and/or columns quantity.");
+        checkDestination(dest, this.rowsQuantity, this.columnsQuantity);
+        if (overlaps(dest, this) || overlaps(dest, right)) {
+            return throughScratch(dest, scratch -> subInto(right, scratch));
+        }
+        long start = MatrixMetrics.start();
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            ElementWiseKernel.sub(this.storage, right.storage, dest.storage, i, this.columnsQuantity);
+        }
+        recordElementWise(MatrixOperation.SUB, start, 2, 0);
+        return dest;
+    }
+
+    /**
+     * Multiplies this Matrix by number without creating new Matrix
+     *
+     * @param number number, which you would like to multiply by
+     * @return Matrix this, which now holds product
+     */
+    public Matrix scaleInPlace(double number) {
+        modified();
+        long start = MatrixMetrics.start();
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            ElementWiseKernel.scale(this.storage, number, this.storage, i, this.columnsQuantity);
+        }
+        recordElementWise(MatrixOperation.SCALE, start, 1, 0);
+        return this;
+    }
+
+    /**
+     * Writes this Matrix multiplied by number into dest
+     *
+     * @param number number, which you would like to multiply by
+     * @param dest   Matrix of the same size, which receives result. It may be this Matrix or view sharing its
+     *               elements.
+     * @return Matrix dest
+     * @throws MatrixException when dest has different rows and/or columns quantity
+     */
+    public Matrix mulByNumberInto(double number, Matrix dest) throws MatrixException {
+        checkDestination(dest, this.rowsQuantity, this.columnsQuantity);
+        if (overlaps(dest, this)) {
+            return throughScratch(dest, scratch -> mulByNumberInto(number, scratch));
+        }
+        long start = MatrixMetrics.start();
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            ElementWiseKernel.scale(this.storage, number, dest.storage, i, this.columnsQuantity);
+        }
+        recordElementWise(MatrixOperation.SCALE, start, 1, 0);
+        return dest;
+    }
+
+    /**
+     * Divides this Matrix by number without creating new Matrix
+     *
+     * @param number number, which you would like to divide by
+     * @return Matrix this, which now holds quotient
+     */
+    public Matrix divByNumberInPlace(double number) {
+        if (Math.abs(number) < accuracy) {
+            MatrixLogger.warn(() -> "Possible divide by 0 . Matrix will be divided by " + accuracy +
+                    " to avoid abnormal termination.");
+            number = accuracy;
+        }
+        return scaleInPlace(1 / number);
+    }
+
+    /**
+     * Writes this Matrix divided by number into dest
+     *
+     * @param number number, which you would like to divide by
+     * @param dest   Matrix of the same size, which receives result. It may be this Matrix or view sharing its
+     *               elements.
+     * @return Matrix dest
+     * @throws MatrixException when dest has different rows and/or columns quantity
+     */
+    public Matrix divByNumberInto(double number, Matrix dest) throws MatrixException {
+        checkDestination(dest, this.rowsQuantity, this.columnsQuantity);
+        if (overlaps(dest, this)) {
+            double divisor = number;
+            return throughScratch(dest, scratch -> divByNumberInto(divisor, scratch));
+        }
+        long start = MatrixMetrics.start();
+        if (Math.abs(number) < accuracy) {
+            MatrixLogger.warn(() -> "Possible divide by 0 . Matrix will be divided by " + accuracy +
+                    " to avoid abnormal termination.");
+            number = accuracy;
+        }
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            for (int j = 0; j < this.columnsQuantity; j++) {
+                dest.storage.set(i, j, this.storage.get(i, j) / number);
+            }
+        }
+        recordElementWise(MatrixOperation.SCALE, start, 1, 0);
+        return dest;
+    }
+
+    /**
+     * Multiplies this matrix, which is left, to the right one. Returns Matrix
+     *
+     * @param right right operand of multiplication operation
+     * @return Matrix this multiplied by right operand
+     * @throws MatrixException when tha columns number in left matrix does not equal to the rows number in right matrix
+     */
+    public Matrix mul(Matrix right) throws MatrixException {
+        return mul(right, ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Multiplies this matrix, which is left, to the right one. Returns Matrix
+     *
+     * @param right right operand of multiplication operation
+     * @param mode  mode of execution
+     * @return Matrix this multiplied by right operand
+     * @throws MatrixException when tha columns number in left matrix does not equal to the rows number in right matrix
+     */
+    public Matrix mul(Matrix right, ExecutionMode mode) throws MatrixException {
+        return mul(right, MultiplicationAlgorithm.CLASSICAL, mode);
+    }
+
+    /**
+     * Multiplies this matrix, which is left, to the right one by given algorithm. Returns Matrix
+     *
+     * @param right     right operand of multiplication operation
+     * @param algorithm algorithm of multiplication
+     * @return Matrix this multiplied by right operand
+     * @throws MatrixException when tha columns number in left matrix does not equal to the rows number in right matrix
+     */
+    public Matrix mul(Matrix right, MultiplicationAlgorithm algorithm) throws MatrixException {
+        return mul(right, algorithm, ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Multiplies this matrix, which is left, to the right one by given algorithm. Returns Matrix.
+     * In parallel mode Strassen-Winograd algorithm calculates its sub-products in parallel.
+     *
+     * @param right     right operand of multiplication operation
+     * @param algorithm algorithm of multiplication
+     * @param mode      mode of execution
+     * @return Matrix this multiplied by right operand
+     * @throws MatrixException when tha columns number in left matrix does not equal to the rows number in right matrix
+     */
+    public Matrix mul(Matrix right, MultiplicationAlgorithm algorithm, ExecutionMode mode) throws MatrixException {
+        if (this.columnsQuantity != right.rowsQuantity) {
+            String message = "Unable to multiply matrices, because of count of left matrix columns is " +
+                    this.columnsQuantity + " and count of right matrix rows is " + right.rowsQuantity +
+                    ". They are non-equal.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        long start = MatrixMetrics.start();
+        Matrix c = multiply(right, algorithm, mode);
+        if (start != MatrixMetrics.OFF) {
+            recordMultiplication(start, right, this.rowMajorCopies() + right.rowMajorCopies() + 1);
+        }
+        return c;
+    }
+
+    /**
+     * Finishes measurement of multiplication of this Matrix by right one
+     */
+    private void recordMultiplication(long start, Matrix right, int temporaries) {
+        long m = this.rowsQuantity;
+        long n = this.columnsQuantity;
+        long p = right.columnsQuantity;
+        MatrixMetrics.record(MatrixOperation.MUL, start, this.rowsQuantity, right.columnsQuantity, 2 * m * n * p,
+                Double.BYTES * (m * n + n * p + m * p), temporaries);
+    }
+
+    private Matrix multiply(Matrix right, MultiplicationAlgorithm algorithm, ExecutionMode mode) {
+        double[] a = this.rowMajor();
+        double[] b = right.rowMajor();
+        long work = (long) this.rowsQuantity * this.columnsQuantity * right.columnsQuantity;
+        if (algorithm == MultiplicationAlgorithm.STRASSEN_WINOGRAD) {
+            double[] c = StrassenMultiplication.multiply(a, b, this.rowsQuantity, this.columnsQuantity,
+                    right.columnsQuantity, MatrixParallelism.isParallel(mode, work));
+            return Matrix.fromRowMajor(this.rowsQuantity, right.columnsQuantity, c, this.getLayout());
+        }
+        double[] c = new double[this.rowsQuantity * right.columnsQuantity];
+        MatrixStructure left = this.getStructure();
+        MatrixStructure rightStructure = right.getStructure();
+        if ((this.rowsQuantity == this.columnsQuantity && left.isBanded(this.rowsQuantity)) ||
+                (right.rowsQuantity == right.columnsQuantity && rightStructure.isBanded(right.rowsQuantity))) {
+            int aLower = Math.min(left.getLowerBandwidth(), this.rowsQuantity - 1);
+            int aUpper = Math.min(left.getUpperBandwidth(), this.columnsQuantity - 1);
+            int bLower = Math.min(rightStructure.getLowerBandwidth(), right.rowsQuantity - 1);
+            int bUpper = Math.min(rightStructure.getUpperBandwidth(), right.columnsQuantity - 1);
+            MatrixParallelism.forEachRowBlock(mode, this.rowsQuantity, work, (from, to) ->
+                    MultiplicationKernel.multiplyBandedRows(a, b, c, from, to, this.columnsQuantity,
+                            right.columnsQuantity, aLower, aUpper, bLower, bUpper));
+            return Matrix.fromRowMajor(this.rowsQuantity, right.columnsQuantity, c, this.getLayout());
+        }
+        MatrixParallelism.forEachRowBlock(mode, this.rowsQuantity, work, (from, to) ->
+                MultiplicationKernel.multiplyRows(a, b, c, from, to, this.columnsQuantity, right.columnsQuantity));
+        return Matrix.fromRowMajor(this.rowsQuantity, right.columnsQuantity, c, this.getLayout());
+    }
+
+    /**
+     * Writes product of this matrix, which is left, and the right one into dest
+     *
+     * @param right right operand of multiplication operation
+     * @param dest  Matrix (rows quantity of this x columns quantity of right), which receives result. It may be
+     *              one of operands or view sharing their elements, then product is calculated into scratch array
+     *              of workspace and copied into dest.
+     * @return Matrix dest
+     * @throws MatrixException when the columns number in left matrix does not equal to the rows number in right
+     *                         matrix or dest has wrong size
+     */
+    public Matrix mulInto(Matrix right, Matrix dest) throws MatrixException {
+        if (this.columnsQuantity != right.rowsQuantity) {
+            String message = "Unable to multiply matrices, because of count of left matrix columns is " +
+                    this.columnsQuantity + " and count of right matrix rows is " + right.rowsQuantity +
+                    ". They are non-equal.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        checkDestination(dest, this.rowsQuantity, right.columnsQuantity);
+        if (dest == this || dest == right || overlaps(dest, this) || overlaps(dest, right)) {
+            return throughScratch(dest, scratch -> mulInto(right, scratch));
+        }
+        long start = MatrixMetrics.start();
+        double[] a = this.storage.contiguous(this.rowsQuantity, this.columnsQuantity);
+        double[] b = right.storage.contiguous(right.rowsQuantity, right.columnsQuantity);
+        double[] c = dest.storage.contiguous(dest.rowsQuantity, dest.columnsQuantity);
+        if (a != null && b != null && c != null && c != a && c != b) {
+            Arrays.fill(c, 0);
+            MultiplicationKernel.multiply(a, b, c, this.rowsQuantity, this.columnsQuantity, right.columnsQuantity);
+            recordMultiplication(start, right, 0);
+            return dest;
+        }
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            for (int j = 0; j < right.columnsQuantity; j++) {
+                dest.storage.set(i, j, 0);
+            }
+            for (int k = 0; k < this.columnsQuantity; k++) {
+                double element = this.storage.get(i, k);
+                for (int j = 0; j < right.columnsQuantity; j++) {
+                    dest.storage.set(i, j, dest.storage.get(i, j) + element * right.storage.get(k, j));
+                }
+            }
+        }
+        recordMultiplication(start, right, 0);
+        return dest;
+    }
+
+    /**
+     * Multiplies this matrix, which is left, to transposed right one without transposing it. Returns Matrix
+     *
+     * @param right right operand of multiplication operation, which is transposed before multiplication
+     * @return Matrix this multiplied by transposed right operand
+     * @throws MatrixException when the columns number in left matrix does not equal to the columns number in right
+     *                         matrix
+     */
+    public Matrix mulTransposed(Matrix right) throws MatrixException {
+        if (this.columnsQuantity != right.columnsQuantity) {
+            String message = "Unable to multiply matrix by transposed one, because of count of left matrix columns is " +
+                    this.columnsQuantity + " and count of right matrix columns is " + right.columnsQuantity +
+                    ". They are non-equal.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        long start = MatrixMetrics.start();
+        double[] a = this.rowMajor();
+        double[] bt = right.rowMajor();
+        double[] c = new double[this.rowsQuantity * right.rowsQuantity];
+        long work = (long) this.rowsQuantity * this.columnsQuantity * right.rowsQuantity;
+        MatrixParallelism.forEachRowBlock(ExecutionMode.DEFAULT, this.rowsQuantity, work, (from, to) ->
+                MultiplicationKernel.multiplyTransposedRows(a, bt, c, from, to, this.columnsQuantity,
+                        right.rowsQuantity));
+        if (start != MatrixMetrics.OFF) {
+            recordMultiplication(start, right.transposedView(), this.rowMajorCopies() + right.rowMajorCopies() + 1);
+        }
+        return Matrix.fromRowMajor(this.rowsQuantity, right.rowsQuantity, c, this.getLayout());
+    }
+
+    /**
+     * Divides this matrix, which is left, to the right one. Returns Matrix
+     *
+     * @param right right operand in division operation
+     * @return Matrix this devided by right operand
+     * @throws MatrixException when tha columns number in left matrix does not equal to the rows number in right matrix
+     */
+    public Matrix div(Matrix right) throws MatrixException {
+        if (this.columnsQuantity != right.rowsQuantity) {
+            String message = "Unable to divide matrices, because of count of left matrix columns is " +
+                    this.columnsQuantity + " and count of right matrix rows is " + right.rowsQuantity +
+                    ". They are non-equal.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        long start = MatrixMetrics.start();
+        Matrix c = new Matrix(this.rowsQuantity, right.columnsQuantity, this.getLayout());
+        boolean divisionByZero = false;
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            for (int j = 0; j < right.columnsQuantity; j++) {
+                double sum = 0;
+                for (int k = 0; k < right.rowsQuantity; k++) {
+                    double divisor = right.storage.get(k, j);
+                    if (Math.abs(divisor) < accuracy) {
+                        divisionByZero = true;
+                        divisor = accuracy;
+                    }
+                    sum += this.storage.get(i, k) / divisor;
+                }
+                c.storage.set(i, j, sum);
+            }
+        }
+        if (divisionByZero) {
+            MatrixLogger.warn(() -> "Possible divide by 0 . Matrix will be divided by " + accuracy +
+                    " to avoid abnormal termination.");
+        }
+        long m = this.rowsQuantity;
+        long n = this.columnsQuantity;
+        long p = right.columnsQuantity;
+        MatrixMetrics.record(MatrixOperation.DIV, start, this.rowsQuantity, right.columnsQuantity, 2 * m * n * p,
+                Double.BYTES * (m * n + n * p + m * p), 1);
+        return c;
+    }
+
+    /**
+     * Exponentiates matrix to the power of n by squaring, so it takes O(log n) multiplications. Negative power is
+     * calculated from invert, which is found by one LU decomposition.
+     *
+     * @param n power, to which you would like to exponentiate
+     * @return Matrix exponentiated to the power of n
+     * @throws MatrixException when matrix is not square or n < 0 and matrix determinant is equal to 0
+     */
+    public Matrix pow(int n) throws MatrixException {
+        return pow(n, MatrixWorkspace.local());
+    }
+
+    /**
+     * Exponentiates matrix to the power of n by squaring. Intermediate powers are kept in arrays borrowed from
+     * workspace, so only result is allocated.
+     *
+     * @param n         power, to which you would like to exponentiate
+     * @param workspace workspace for intermediate powers
+     * @return Matrix exponentiated to the power of n
+     * @throws MatrixException when matrix is not square or n < 0 and matrix determinant is equal to 0
+     */
+    public Matrix pow(int n, MatrixWorkspace workspace) throws MatrixException {
+        if (this.rowsQuantity != this.columnsQuantity) {
+            String message = "Unable to raise a non-square matrix to a power";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        if (n == 0) {
+            return identity();
+        }
+        long start = MatrixMetrics.start();
+        int size = this.rowsQuantity;
+        int length = size * size;
+        double[] base = workspace.doubles(length);
+        double[] scratch = workspace.doubles(length);
+        double[] result = null;
+        try {
+            long flops = 0;
+            int temporaries = 1;
+            Derived d = (n < 0) ? derived() : null;
+            double[] inverse = (d != null) ? d.inverse : null;
+            if (inverse != null) {
+                System.arraycopy(inverse, 0, base, 0, length);
+            } else if (n < 0) {
+                invert(this, scratch, base, workspace,
+                        "Unable to raise matrix, which determinant is equal to 0 to a negative power");
+                flops = 3 * MatrixMetrics.luFlops(size);
+                if (d != null) {
+                    d.inverse = Arrays.copyOf(base, length);
+                    temporaries++;
+                }
+            } else {
+                this.copyRowMajor(base);
+            }
+            long p = Math.abs((long) n);
+            while (p > 0) {
+                if ((p & 1) != 0) {
+                    if (result == null) {
+                        result = workspace.doubles(length);
+                        System.arraycopy(base, 0, result, 0, length);
+                    } else {
+                        multiplySquare(result, base, scratch, size);
+                        double[] temp = result;
+                        result = scratch;
+                        scratch = temp;
+                    }
+                }
+                p >>= 1;
+                if (p > 0) {
+                    multiplySquare(base, base, scratch, size);
+                    double[] temp = base;
+                    base = scratch;
+                    scratch = temp;
+                }
+            }
+            if (start != MatrixMetrics.OFF) {
+                long power = Math.abs((long) n);
+                long multiplications = (63 - Long.numberOfLeadingZeros(power)) + Long.bitCount(power) - 1;
+                flops += multiplications * 2 * size * size * (long) size;
+                MatrixMetrics.record(MatrixOperation.POW, start, size, size, flops,
+                        Double.BYTES * (long) length * (3 * multiplications + 2), temporaries);
+            }
+            return Matrix.fromRowMajor(size, size, Arrays.copyOf(result, length), this.getLayout());
+        } finally {
+            workspace.release(base);
+            workspace.release(scratch);
+            if (result != null) {
+                workspace.release(result);
+            }
+        }
+    }
+
+    private static void multiplySquare(double[] a, double[] b, double[] c, int size) {
+        Arrays.fill(c, 0, size * size, 0);
+        MatrixParallelism.forEachRowBlock(ExecutionMode.DEFAULT, size, (long) size * size * size, (from, to) ->
+                MultiplicationKernel.multiplyRows(a, b, c, from, to, size, size));
+    }
+
+    /**
+     * Calculates absolute value of Matrix
+     *
+     * @return Matrix, each element of which is equal to itself if it was >=0 and (-itself) if it was < 0
+     */
+    public Matrix abs() {
+        long start = MatrixMetrics.start();
+        Matrix c = new Matrix(this.rowsQuantity, this.columnsQuantity, this.getLayout());
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            ElementWiseKernel.abs(this.storage, c.storage, i, this.columnsQuantity);
+        }
+        recordElementWise(MatrixOperation.ABS, start, 1, 1);
+        return c;
+    }
+
+    /**
+     * Replaces every element of this Matrix by its absolute value without creating new Matrix
+     *
+     * @return Matrix this, which now holds absolute value
+     */
+    public Matrix absInPlace() {
+        modified();
+        long start = MatrixMetrics.start();
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            ElementWiseKernel.abs(this.storage, this.storage, i, this.columnsQuantity);
+        }
+        recordElementWise(MatrixOperation.ABS, start, 1, 0);
+        return this;
+    }
+
+    /**
+     * Writes absolute value of this Matrix into dest
+     *
+     * @param dest Matrix of the same size, which receives result. It may be this Matrix or view sharing its
+     *             elements.
+     * @return Matrix dest
+     * @throws MatrixException when dest has different rows and/or columns quantity
+     */
+    public Matrix absInto(Matrix dest) throws MatrixException {
+        checkDestination(dest, this.rowsQuantity, this.columnsQuantity);
+        if (overlaps(dest, this)) {
+            return throughScratch(dest, scratch -> absInto(scratch));
+        }
+        long start = MatrixMetrics.start();
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            ElementWiseKernel.abs(this.storage, dest.storage, i, this.columnsQuantity);
+        }
+        recordElementWise(MatrixOperation.ABS, start, 1, 0);
+        return dest;
+    }
+
+    /**
+     * Calculates m-norm of Matrix
+     *
+     * @return double m-norm of matrix
+     */
+    public double mNorm() {
+        return mNorm(ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Calculates m-norm of Matrix. Result does not depend on mode of execution.
+     *
+     * @param mode mode of execution
+     * @return double m-norm of matrix
+     */
+    public double mNorm(ExecutionMode mode) {
+        long start = MatrixMetrics.start();
+        Derived d = derived();
+        if (d != null && d.mNorm != null) {
+            recordNorm(start, true, 0);
+            return d.mNorm;
+        }
+        double[] sums = new double[this.rowsQuantity];
+        MatrixParallelism.forEachRowBlock(mode, this.rowsQuantity, elementsQuantity(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                double S = 0;
+                for (int j = 0; j < this.columnsQuantity; j++) {
+                    S = S + Math.abs(this.storage.get(i, j));
+                }
+                sums[i] = S;
+            }
+        });
+        double result = 0;
+        for (double S : sums) {
+            if (S > result) {
+                result = S;
+            }
+        }
+        if (d != null) {
+            d.mNorm = result;
+        }
+        recordNorm(start, false, 1);
+        return result;
+    }
+
+    /**
+     * Transposes Matrix
+     *
+     * @return Matrix transposed (rows in this matrix are columns in returned one)
+     */
+    public Matrix transpose() {
+        return transpose(ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Transposes Matrix
+     *
+     * @param mode mode of execution
+     * @return Matrix transposed (rows in this matrix are columns in returned one)
+     */
+    public Matrix transpose(ExecutionMode mode) {
+        long start = MatrixMetrics.start();
+        Matrix c = new Matrix(this.columnsQuantity, this.rowsQuantity, this.getLayout());
+        MatrixParallelism.forEachRowBlock(mode, this.columnsQuantity, elementsQuantity(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                for (int j = 0; j < this.rowsQuantity; j++) {
+                    c.storage.set(i, j, this.storage.get(j, i));
+                }
+            }
+        });
+        recordTransposition(start, 1);
+        return c;
+    }
+
+    /**
+     * Writes transposed Matrix into dest
+     *
+     * @param dest Matrix (columns quantity x rows quantity of this), which receives result. It may be this Matrix,
+     *             when it is square, or view sharing its elements.
+     * @return Matrix dest
+     * @throws MatrixException when dest has wrong rows and/or columns quantity
+     */
+    public Matrix transposeInto(Matrix dest) throws MatrixException {
+        checkDestination(dest, this.columnsQuantity, this.rowsQuantity);
+        if (overlaps(dest, this)) {
+            return throughScratch(dest, scratch -> transposeInto(scratch));
+        }
+        long start = MatrixMetrics.start();
+        if (dest == this) {
+            for (int i = 0; i < this.rowsQuantity; i++) {
+                for (int j = i + 1; j < this.columnsQuantity; j++) {
+                    double temp = this.storage.get(i, j);
+                    this.storage.set(i, j, this.storage.get(j, i));
+                    this.storage.set(j, i, temp);
+                }
+            }
+            recordTransposition(start, 0);
+            return dest;
+        }
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            for (int j = 0; j < this.columnsQuantity; j++) {
+                dest.storage.set(j, i, this.storage.get(i, j));
+            }
+        }
+        recordTransposition(start, 0);
+        return dest;
+    }
+
+    private void recordTransposition(long start, int temporaries) {
+        MatrixMetrics.record(MatrixOperation.TRANSPOSE, start, this.columnsQuantity, this.rowsQuantity, 0,
+                2L * Double.BYTES * elementsQuantity(), temporaries);
+    }
+
+    /**
+     * Calculates l-norm of Matrix
+     *
+     * @return double l-norm of matrix
+     */
+    public double lNorm() {
+        long start = MatrixMetrics.start();
+        Derived d = derived();
+        if (d != null && d.lNorm != null) {
+            recordNorm(start, true, 0);
+            return d.lNorm;
+        }
+        double[] sums = new double[this.columnsQuantity];
+        double[] row = new double[this.columnsQuantity];
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            this.storage.copyRow(i, row, 0, this.columnsQuantity);
+            for (int j = 0; j < this.columnsQuantity; j++) {
+                sums[j] = sums[j] + Math.abs(row[j]);
+            }
+        }
+        double result = 0;
+        for (double S : sums) {
+            if (S > result) {
+                result = S;
+            }
+        }
+        if (d != null) {
+            d.lNorm = result;
+        }
+        recordNorm(start, false, 2);
+        return result;
+    }
+
+    /**
+     * Calculates k-norm of Matrix
+     *
+     * @return double k-norm of matrix
+     */
+    public double kNorm() {
+        return kNorm(ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Calculates k-norm of Matrix. Sums of rows are added in the order of rows, so result does not depend on mode
+     * of execution.
      *
-     * @param number number, which you would like to divide by
-     * @return Matrix this divided by number
+     * @param mode mode of execution
+     * @return double k-norm of matrix
      */
-    public Matrix divByNumber(double number) {
-        Matrix c = new Matrix(this.rowsQuantity, this.columnsQuantity);
-        for (int i = 0; i < this.rowsQuantity; i++) {
-            for (int j = 0; j < this.columnsQuantity; j++) {
-                if (Math.abs(number) < accuracy) {
-                    logger.warn("Possible divide by 0 . Matrix will be divided by " + accuracy +
-                            " to avoid abnormal termination.");
-                }
-                c.matrix[i][j] = (Math.abs(number) < accuracy) ? this.matrix[i][j] / accuracy :
-                        this.matrix[i][j] / number;
+    public double kNorm(ExecutionMode mode) {
+        long start = MatrixMetrics.start();
+        Derived d = derived();
+        if (d != null && d.kNorm != null) {
+            recordNorm(start, true, 0);
+            return d.kNorm;
+        }
+        double[] sums = new double[this.rowsQuantity];
+        MatrixParallelism.forEachRowBlock(mode, this.rowsQuantity, elementsQuantity(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                sums[i] = ElementWiseKernel.sumOfSquares(this.storage, i, this.columnsQuantity);
             }
+        });
+        double S = 0;
+        for (double rowSum : sums) {
+            S = S + rowSum;
         }
-        return c;
+        double result = Math.sqrt(S);
+        if (d != null) {
+            d.kNorm = result;
+        }
+        recordNorm(start, false, 1);
+        return result;
     }
 
     /**
-     * Multiplies this matrix, which is left, to the right one. Returns Matrix
+     * Finishes measurement of norm, which reads every element once unless it was cached
+     */
+    private void recordNorm(long start, boolean cached, int temporaries) {
+        MatrixMetrics.record(MatrixOperation.NORM, start, rowsQuantity, columnsQuantity,
+                cached ? 0 : 2 * elementsQuantity(), cached ? 0 : Double.BYTES * elementsQuantity(), temporaries);
+    }
+
+    /**
+     * Returns view of block of Matrix. View shares elements with this Matrix, so changes of one are visible in
+     * other. Use {@link #copy()} to get independent Matrix.
      *
-     * @param right right operand of multiplication operation
-     * @return Matrix this multiplied by right operand
-     * @throws MatrixException when tha columns number in left matrix does not equal to the rows number in right matrix
+     * @param firstRow        number of the first row of block (from 0)
+     * @param firstColumn     number of the first column of block (from 0)
+     * @param rowsQuantity    rows quantity of block
+     * @param columnsQuantity columns quantity of block
+     * @return Matrix view of block
+     * @throws MatrixException when block is empty or exceeds Matrix
      */
-    public Matrix mul(Matrix right) throws MatrixException {
-        if (this.columnsQuantity != right.rowsQuantity) {
-            String message = "Unable to multiply matrices, because of count of left matrix columns is " +
-                    this.columnsQuantity + " and count of right matrix rows is " + right.rowsQuantity +
-                    ". They are non-equal.";
-            logger.error(message);
+    public Matrix subMatrix(int firstRow, int firstColumn, int rowsQuantity, int columnsQuantity)
+            throws MatrixException {
+        if (firstRow < 0 || firstColumn < 0 || rowsQuantity <= 0 || columnsQuantity <= 0 ||
+                (long) firstRow + rowsQuantity > this.rowsQuantity ||
+                (long) firstColumn + columnsQuantity > this.columnsQuantity) {
+            String message = "Block " + rowsQuantity + " x " + columnsQuantity + " from row#" + (firstRow + 1) +
+                    " and column#" + (firstColumn + 1) + " is absent in matrix " + this.rowsQuantity + " x " +
+                    this.columnsQuantity;
+            MatrixLogger.error(message);
             throw new MatrixException(message);
         }
-        Matrix c = new Matrix(this.rowsQuantity, right.columnsQuantity);
-        for (int i = 0; i < this.rowsQuantity; i++) {
-            for (int j = 0; j < right.columnsQuantity; j++) {
-                for (int k = 0; k < right.rowsQuantity; k++) {
-                    c.matrix[i][j] += (this.matrix[i][k] * right.matrix[k][j]);
-                }
-            }
-        }
-        return c;
+        return new Matrix(rowsQuantity, columnsQuantity, this.storage.subStorage(firstRow, firstColumn));
     }
 
     /**
-     * Divides this matrix, which is left, to the right one. Returns Matrix
+     * Returns view of row rn (from 0) as Matrix 1 x columns quantity, which shares elements with this Matrix
      *
-     * @param right right operand in division operation
-     * @return Matrix this devided by right operand
-     * @throws MatrixException when tha columns number in left matrix does not equal to the rows number in right matrix
+     * @param rn number of row
+     * @return Matrix view of row
+     * @throws MatrixException when the row number is less than 0 or greater than (quantity - 1)
      */
-    public Matrix div(Matrix right) throws MatrixException {
-        if (this.columnsQuantity != right.rowsQuantity) {
-            String message = "Unable to divide matrices, because of count of left matrix columns is " +
-                    this.columnsQuantity + " and count of right matrix rows is " + right.rowsQuantity +
-                    ". They are non-equal.";
-            logger.error(message);
-            throw new MatrixException(message);
-        }
-        Matrix c = new Matrix(this.rowsQuantity, right.columnsQuantity);
-        for (int i = 0; i < this.rowsQuantity; i++) {
-            for (int j = 0; j < right.columnsQuantity; j++) {
-                for (int k = 0; k < right.rowsQuantity; k++) {
-                    if (Math.abs(right.matrix[k][j]) < accuracy) {
-                        logger.warn("Possible divide by 0 . Matrix will be divided by " + accuracy +
-                                " to avoid abnormal termination.");
-                    }
-                    c.matrix[i][j] += ((Math.abs(right.matrix[k][j]) < accuracy) ? this.matrix[i][k] / accuracy :
-                            this.matrix[i][k] / right.matrix[k][j]);
-                }
-            }
-        }
-        return c;
+    public Matrix row(int rn) throws MatrixException {
+        checkRow(rn, "Row#" + (rn + 1) + " is absent in matrix.");
+        return subMatrix(rn, 0, 1, this.columnsQuantity);
     }
 
     /**
-     * Exponentiates matrix to the power of n. Returns Matrix.
+     * Returns view of column cn (from 0) as Matrix rows quantity x 1, which shares elements with this Matrix
      *
-     * @param n power, to which you would like to exponentiate
-     * @return Matrix exponentiated to the power of n
-     * @throws MatrixException when matrix is not square
+     * @param cn number of column
+     * @return Matrix view of column
+     * @throws MatrixException when the column number is less than 0 or greater than (quantity - 1)
      */
-    public Matrix pow(int n) throws MatrixException {
-        if (this.rowsQuantity != this.columnsQuantity) {
-            String message = "Unable to raise a non-square matrix to a power";
-            logger.error(message);
-            throw new MatrixException(message);
-        }
-        if (Math.abs(this.det()) < accuracy && n < 0) {
-            String message = "Unable to raise matrix, which determinant is equal to 0 to a negative power";
-            logger.error(message);
-            throw new MatrixException(message);
-        }
-        Matrix right = (n < 0) ? this.inv() : this;
-        int p = Math.abs(n);
-        Matrix c = identity();
-        for (int i = 0; i < p; i++) {
-            c = c.mul(right);
-        }
-        return c;
+    public Matrix column(int cn) throws MatrixException {
+        checkColumn(cn, "Column#" + (cn + 1) + " is absent in matrix.");
+        return subMatrix(0, cn, this.rowsQuantity, 1);
     }
 
     /**
-     * Calculates absolute value of Matrix
+     * Returns view of Matrix without row rn (from 0). View shares elements with this Matrix.
      *
-     * @return Matrix, each element of which is equal to itself if it was >=0 and (-itself) if it was < 0
+     * @param rn number of row to skip
+     * @return Matrix view without row
+     * @throws MatrixException when the row number is less than 0 or greater than (quantity - 1)
      */
-    public Matrix abs() {
-        Matrix c = new Matrix(this.rowsQuantity, this.columnsQuantity);
-        for (int i = 0; i < this.rowsQuantity; i++) {
-            for (int j = 0; j < this.columnsQuantity; j++) {
-                c.matrix[i][j] = Math.abs(this.matrix[i][j]);
-            }
-        }
-        return c;
+    public Matrix withoutRow(int rn) throws MatrixException {
+        checkRow(rn, "Row#" + (rn + 1) + " is absent in matrix. It will not be deleted.");
+        return new Matrix(this.rowsQuantity - 1, this.columnsQuantity,
+                new SkipMatrixStorage(this.storage, rn, SkipMatrixStorage.NONE));
     }
 
     /**
-     * Calculates m-norm of Matrix
+     * Returns view of Matrix without column cn (from 0). View shares elements with this Matrix.
      *
-     * @return double m-norm of matrix
+     * @param cn number of column to skip
+     * @return Matrix view without column
+     * @throws MatrixException when the column number is less than 0 or greater than (quantity - 1)
      */
-    public double mNorm() {
-        double result = 0, S;
-        for (int i = 0; i < this.rowsQuantity; i++) {
-            S = 0;
-            for (int j = 0; j < this.columnsQuantity; j++) {
-                S = S + Math.abs(this.matrix[i][j]);
-            }
-            if (S > result) {
-                result = S;
-            }
-        }
-        return result;
+    public Matrix withoutColumn(int cn) throws MatrixException {
+        checkColumn(cn, "Column#" + (cn + 1) + " is absent in matrix. It will not be deleted.");
+        return new Matrix(this.rowsQuantity, this.columnsQuantity - 1,
+                new SkipMatrixStorage(this.storage, SkipMatrixStorage.NONE, cn));
     }
 
     /**
-     * Transposes Matrix
+     * Returns view of Matrix without row rn and column cn (from 0). View shares elements with this Matrix.
      *
-     * @return Matrix transposed (rows in this matrix are columns in returned one)
+     * @param rn number of row to skip
+     * @param cn number of column to skip
+     * @return Matrix view without row and column
+     * @throws MatrixException when the row and/or column numbers is less than 0 or greater than (quantity - 1)
      */
-    public Matrix transpose() {
-        Matrix c = new Matrix(this.columnsQuantity, this.rowsQuantity);
-        for (int i = 0; i < this.rowsQuantity; i++) {
-            for (int j = 0; j < this.columnsQuantity; j++) {
-                c.matrix[j][i] = this.matrix[i][j];
-            }
-        }
-        return c;
+    public Matrix withoutRowColumn(int rn, int cn) throws MatrixException {
+        checkRow(rn, "Row#" + (rn + 1) + " is absent in matrix. It will not be deleted.");
+        checkColumn(cn, "Column#" + (cn + 1) + " is absent in matrix. It will not be deleted.");
+        return new Matrix(this.rowsQuantity - 1, this.columnsQuantity - 1,
+                new SkipMatrixStorage(this.storage, rn, cn));
     }
 
     /**
-     * Calculates l-norm of Matrix
+     * Returns transposed view of Matrix: elements are not moved, view reads them by swapped indexes and shares
+     * them with this Matrix
      *
-     * @return double l-norm of matrix
+     * @return Matrix transposed view
      */
-    public double lNorm() {
-        Matrix c = transpose();
-        return c.mNorm();
+    public Matrix transposedView() {
+        return new Matrix(this.columnsQuantity, this.rowsQuantity, this.storage.transposed());
     }
 
     /**
-     * Calculates k-norm of Matrix
+     * Copies Matrix together with its structure. Copy of view does not share elements with viewed Matrix; copy of
+     * off-heap or mapped Matrix is kept in heap.
      *
-     * @return double k-norm of matrix
+     * @return Matrix independent copy in the same layout
      */
-    public double kNorm() {
-        double S = 0;
-        for (int i = 0; i < this.rowsQuantity; i++) {
-            for (int j = 0; j < columnsQuantity; j++) {
-                S = S + Math.pow(Math.abs(this.matrix[i][j]), 2);
+    public Matrix copy() {
+        Matrix c;
+        if (this.getLayout() == MatrixLayout.FLAT) {
+            c = Matrix.fromRowMajor(this.rowsQuantity, this.columnsQuantity, toRowMajor(), MatrixLayout.FLAT);
+        } else {
+            c = new Matrix(this.rowsQuantity, this.columnsQuantity, this.getLayout());
+            for (int i = 0; i < this.rowsQuantity; i++) {
+                this.storage.copyRow(i, c.storage.rowArray(i), c.storage.rowOffset(i), this.columnsQuantity);
             }
         }
-        return Math.sqrt(S);
+        c.structure = (MatrixStructure.GENERAL.equals(this.getStructure())) ? null : this.structure;
+        return c;
+    }
+
+    private void checkRow(int rn, String message) throws MatrixException {
+        if (rn < 0 || rn > this.rowsQuantity - 1) {
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+    }
+
+    private void checkColumn(int cn, String message) throws MatrixException {
+        if (cn < 0 || cn > this.columnsQuantity - 1) {
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
     }
 
     /**
@@ -367,22 +1447,7 @@ public class Matrix {
      * @throws MatrixException when the row number is less than 0 or greater than (quantity - 1)
      */
     public Matrix deleteRow(int rn) throws MatrixException {
-        if (rn < 0 || rn > this.rowsQuantity - 1) {
-            String message = "Row#" + (rn + 1) + " is absent in matrix. It will not be deleted.";
-            logger.error(message);
-            throw new MatrixException(message);
-        }
-        Matrix c = new Matrix(this.rowsQuantity - 1, this.columnsQuantity);
-        for (int i = 0; i < rn; i++) {
-            if (this.columnsQuantity >= 0) {
-                System.arraycopy(this.matrix[i], 0, c.matrix[i], 0, this.columnsQuantity);
-            }
-        }
-        for (int i = rn + 1; i < this.rowsQuantity; i++) {
-            if (this.columnsQuantity >= 0)
-                System.arraycopy(this.matrix[i], 0, c.matrix[i - 1], 0, this.columnsQuantity);
-        }
-        return c;
+        return withoutRow(rn).copy();
     }
 
     /**
@@ -393,19 +1458,7 @@ public class Matrix {
      * @throws MatrixException when the column number is less than 0 or greater than (quantity - 1)
      */
     public Matrix deleteColumn(int cn) throws MatrixException {
-        if (cn < 0 || cn > this.columnsQuantity - 1) {
-            String message = "Column#" + (cn + 1) + " is absent in matrix. It will not be deleted.";
-            logger.error(message);
-            throw new MatrixException(message);
-        }
-        Matrix c = new Matrix(this.rowsQuantity, this.columnsQuantity - 1);
-        for (int i = 0; i < this.rowsQuantity; i++) {
-            System.arraycopy(this.matrix[i], 0, c.matrix[i], 0, cn);
-            if (this.columnsQuantity - (cn + 1) >= 0)
-                System.arraycopy(this.matrix[i], cn + 1, c.matrix[i], cn + 1 - 1,
-                        this.columnsQuantity - (cn + 1));
-        }
-        return c;
+        return withoutColumn(cn).copy();
     }
 
     /**
@@ -417,17 +1470,7 @@ public class Matrix {
      * @throws MatrixException when the row and/or column numbers is less than 0 or greater than (quantity - 1)
      */
     public Matrix deleteRowColumn(int rn, int cn) throws MatrixException {
-        if (rn < 0 || rn > this.rowsQuantity - 1) {
-            String message = "Row#" + (rn + 1) + " is absent in matrix. It will not be deleted.";
-            logger.error(message);
-            throw new MatrixException(message);
-        }
-        if (cn < 0 || cn > this.columnsQuantity - 1) {
-            String message = "Column#" + (cn + 1) + " is absent in matrix. It will not be deleted.";
-            logger.error(message);
-            throw new MatrixException(message);
-        }
-        return this.deleteRow(rn).deleteColumn(cn);
+        return withoutRowColumn(rn, cn).copy();
     }
 
     /**
@@ -437,26 +1480,112 @@ public class Matrix {
      * @throws MatrixException when the matrix is not square
      */
     public double det() throws MatrixException {
+        return det(MatrixWorkspace.local());
+    }
+
+    /**
+     * Calculates determinant of the square matrix. Determinant of triangular or diagonal matrix is product of its
+     * diagonal, other matrices are factorized according to their structure in arrays borrowed from workspace,
+     * so nothing is allocated. Determinant is kept until elements change, so next call returns it at once.
+     *
+     * @param workspace workspace for LU factors
+     * @return double determinant of square matrix
+     * @throws MatrixException when the matrix is not square
+     */
+    public double det(MatrixWorkspace workspace) throws MatrixException {
         if (this.rowsQuantity != this.columnsQuantity) {
             String message = "Unable to calculate matrix determinant. It is not square: rows quantity is " +
                     this.rowsQuantity + " and columns quantity is " + this.columnsQuantity;
-            logger.error(message);
+            MatrixLogger.error(message);
             throw new MatrixException(message);
         }
+        long start = MatrixMetrics.start();
+        long size = this.rowsQuantity;
+        Derived d = derived();
+        if (d != null && d.det == null && d.lu != null) {
+            d.det = d.lu.det();
+        }
+        if (d != null && d.det != null) {
+            MatrixMetrics.record(MatrixOperation.DET, start, this.rowsQuantity, this.columnsQuantity, 0, 0, 0);
+            return d.det;
+        }
+        double result = determinant(workspace);
+        if (d != null) {
+            d.det = result;
+        }
+        MatrixMetrics.record(MatrixOperation.DET, start, this.rowsQuantity, this.columnsQuantity,
+                MatrixMetrics.luFlops(size), Double.BYTES * size * size, 0);
+        return result;
+    }
 
+    private double determinant(MatrixWorkspace workspace) {
         int size = this.rowsQuantity;
+        MatrixStructure structure = this.getStructure();
+        if (structure.isUpperTriangular() || structure.isLowerTriangular()) {
+            double result = 1;
+            for (int i = 0; i < size; i++) {
+                result *= this.storage.get(i, i);
+            }
+            return result;
+        }
+        double[] a = workspace.doubles(size * size);
+        try {
+            if (MatrixStructure.GENERAL.equals(structure)) {
+                this.copyRowMajor(a);
+                return determinant(a, size, workspace);
+            }
+            int[] pivot = workspace.ints(size);
+            try {
+                return StructuredSolver.det(StructuredSolver.factorize(this, structure, a, pivot), a, size);
+            } finally {
+                workspace.release(pivot);
+            }
+        } finally {
+            workspace.release(a);
+        }
+    }
+
+    /**
+     * Calculates determinant of n x n matrix stored row by row, which is overwritten by LU factors
+     */
+    private static double determinant(double[] a, int size, MatrixWorkspace workspace) {
         double result = 0;
         if (size == 1) {
-            result = this.matrix[0][0];
+            result = a[0];
         } else if (size == 2) {
-            result = this.matrix[0][0] * this.matrix[1][1] - this.matrix[0][1] * this.matrix[1][0];
+            result = a[0] * a[3] - a[1] * a[2];
         } else if (size > 2) {
-            int i = 0;
-            for (int j = 0; j < size; j++) {
-                Matrix temp = this.deleteRowColumn(i, j);
-                result = result + (this.matrix[i][j] * Math.pow(-1, i + j + 2) * temp.det());
+            int[] pivot = workspace.ints(size);
+            result = LUDecomposition.decompose(a, size, pivot);
+            for (int i = 0; i < size; i++) {
+                result *= a[i * size + i];
             }
+            workspace.release(pivot);
+        }
+        return result;
+    }
+
+    /**
+     * Calculates LU decomposition of the square matrix with partial pivoting. Factors are kept until elements
+     * change, so next call returns the same decomposition.
+     *
+     * @return LUDecomposition factors of matrix
+     * @throws MatrixException when the matrix is not square
+     */
+    public LUDecomposition lu() throws MatrixException {
+        long start = MatrixMetrics.start();
+        long size = this.rowsQuantity;
+        Derived d = derived();
+        if (d != null && d.lu != null) {
+            MatrixMetrics.record(MatrixOperation.LU, start, this.rowsQuantity, this.columnsQuantity, 0, 0, 0);
+            return d.lu;
+        }
+        LUDecomposition result = new LUDecomposition(this);
+        if (d != null) {
+            d.lu = result;
         }
+        MatrixMetrics.record(MatrixOperation.LU, start, this.rowsQuantity, this.columnsQuantity,
+                MatrixMetrics.luFlops(size), 2 * Double.BYTES * size * size, 2);
         return result;
     }
 
@@ -471,16 +1600,15 @@ public class Matrix {
     public double minor(int rn, int cn) throws MatrixException {
         if (rn < 0 || rn > this.rowsQuantity - 1) {
             String message = "Row#" + (rn + 1) + " is absent in matrix. Minor will not be calculated.";
-            logger.error(message);
+            MatrixLogger.error(message);
             throw new MatrixException(message);
         }
         if (cn < 0 || cn > this.columnsQuantity - 1) {
             String message = "Column#" + (cn + 1) + " is absent in matrix. Minor will not be calculated.";
-            logger.error(message);
+            MatrixLogger.error(message);
             throw new MatrixException(message);
         }
-        Matrix matrixToCalculateMinor = this.deleteRowColumn(rn, cn);
-        return matrixToCalculateMinor.det();
+        return this.withoutRowColumn(rn, cn).det();
     }
 
     /**
@@ -502,10 +1630,16 @@ public class Matrix {
      * @throws MatrixException when the Matrix is not square
      */
     public Matrix adj() throws MatrixException {
-        Matrix c = new Matrix(this.columnsQuantity, this.rowsQuantity);
+        if (this.rowsQuantity == this.columnsQuantity) {
+            LUDecomposition lu = this.lu();
+            if (!lu.isSingular()) {
+                return lu.inverse().mulByNumber(lu.det());
+            }
+        }
+        Matrix c = new Matrix(this.columnsQuantity, this.rowsQuantity, this.getLayout());
         for (int i = 0; i < this.rowsQuantity; i++) {
             for (int j = 0; j < this.columnsQuantity; j++) {
-                c.matrix[j][i] = this.algAdd(i, j);
+                c.storage.set(j, i, this.algAdd(i, j));
             }
         }
         return c;
@@ -515,15 +1649,86 @@ public class Matrix {
      * Calculates an invert Matrix
      *
      * @return Matrix invert
-     * @throws MatrixException when matrix is not square
+     * @throws MatrixException when matrix is not square or its determinant is equal to 0
      */
     public Matrix inv() throws MatrixException {
-        if (Math.abs(this.det()) < accuracy) {
-            String message = "The matrix does not have invert one, because its determinant is equal to 0";
-            logger.error(message);
+        return inv(MatrixWorkspace.local());
+    }
+
+    /**
+     * Calculates an invert Matrix. Matrix is factorized according to its structure in arrays borrowed from
+     * workspace, so only result is allocated. Invert is kept until elements change, and next call returns its copy.
+     *
+     * @param workspace workspace for LU factors
+     * @return Matrix invert
+     * @throws MatrixException when matrix is not square or its determinant is equal to 0
+     */
+    public Matrix inv(MatrixWorkspace workspace) throws MatrixException {
+        int size = checkFactorizable(this);
+        long start = MatrixMetrics.start();
+        long length = (long) size * size;
+        Derived d = derived();
+        double[] inverse = (d != null) ? d.inverse : null;
+        if (inverse != null) {
+            Matrix c = Matrix.fromRowMajor(size, size, inverse.clone(), this.getLayout());
+            MatrixMetrics.record(MatrixOperation.INV, start, size, size, 0, 2 * Double.BYTES * length, 1);
+            return c;
+        }
+        double[] lu = workspace.doubles(size * size);
+        try {
+            double[] x = new double[size * size];
+            invert(this, lu, x, workspace,
+                    "The matrix does not have invert one, because its determinant is equal to 0");
+            if (d != null) {
+                d.inverse = x.clone();
+            }
+            MatrixMetrics.record(MatrixOperation.INV, start, size, size, 3 * MatrixMetrics.luFlops(size),
+                    2 * Double.BYTES * length, (d != null) ? 2 : 1);
+            return Matrix.fromRowMajor(size, size, x, this.getLayout());
+        } finally {
+            workspace.release(lu);
+        }
+    }
+
+    /**
+     * Calculates invert of square matrix, which is factorized according to its structure
+     *
+     * @param a         square matrix
+     * @param f         array of at least n x n elements, which receives factors
+     * @param x         array of at least n x n elements, which receives invert row by row
+     * @param workspace workspace for row permutation
+     * @param message   message of exception thrown when matrix is singular
+     * @throws MatrixException when matrix is singular
+     */
+    private static void invert(Matrix a, double[] f, double[] x, MatrixWorkspace workspace, String message)
+            throws MatrixException {
+        int size = a.rowsQuantity;
+        MatrixStructure structure = a.getStructure();
+        int[] pivot = workspace.ints(size);
+        try {
+            int kind = StructuredSolver.factorize(a, structure, f, pivot);
+            if (StructuredSolver.isSingular(kind, f, size, structure)) {
+                MatrixLogger.error(message);
+                throw new MatrixException(message);
+            }
+            Arrays.fill(x, 0, size * size, 0);
+            for (int i = 0; i < size; i++) {
+                x[i * size + i] = 1;
+            }
+            StructuredSolver.solve(kind, f, size, structure, pivot, x, size);
+        } finally {
+            workspace.release(pivot);
+        }
+    }
+
+    private static int checkFactorizable(Matrix a) throws MatrixException {
+        if (a.rowsQuantity != a.columnsQuantity) {
+            String message = "Unable to factorize matrix. It is not square: rows quantity is " +
+                    a.rowsQuantity + " and columns quantity is " + a.columnsQuantity;
+            MatrixLogger.error(message);
             throw new MatrixException(message);
         }
-        return Matrix.mulNumberByMatrix(1 / this.det(), this.adj());
+        return a.rowsQuantity;
     }
 
     /**
@@ -532,10 +1737,10 @@ public class Matrix {
      * @return Matrix identity
      */
     public Matrix identity() {
-        Matrix c = new Matrix(this.rowsQuantity, this.rowsQuantity);
+        Matrix c = new Matrix(this.rowsQuantity, this.rowsQuantity, this.getLayout());
         for (int i = 0; i < this.rowsQuantity; i++) {
             for (int j = 0; j < this.rowsQuantity; j++) {
-                c.matrix[i][j] = (i == j) ? 1 : 0;
+                c.storage.set(i, j, (i == j) ? 1 : 0);
             }
         }
         return c;
@@ -553,7 +1758,7 @@ public class Matrix {
         }
         for (int i = 0; i < this.rowsQuantity; i++) {
             for (int j = 0; j < columnsQuantity; j++) {
-                if (Math.abs(this.matrix[i][j] - right.matrix[i][j]) >= accuracy) {
+                if (Math.abs(this.storage.get(i, j) - right.storage.get(i, j)) >= accuracy) {
                     return false;
                 }
             }
@@ -571,16 +1776,32 @@ public class Matrix {
 
     @Override
     public int hashCode() {
+        Derived d = derived();
+        if (d != null && d.hashCode != null) {
+            return d.hashCode;
+        }
         int result = Objects.hash(rowsQuantity, columnsQuantity);
-        result = 31 * result + Arrays.deepHashCode(matrix);
+        int elementsHash = 1;
+        for (int i = 0; i < rowsQuantity; i++) {
+            int rowHash = 1;
+            for (int j = 0; j < columnsQuantity; j++) {
+                long bits = Double.doubleToLongBits(storage.get(i, j));
+                rowHash = 31 * rowHash + (int) (bits ^ (bits >>> 32));
+            }
+            elementsHash = 31 * elementsHash + rowHash;
+        }
+        result = 31 * result + elementsHash;
+        if (d != null) {
+            d.hashCode = result;
+        }
         return result;
     }
 
     public String toString() {
         StringBuilder sb = new StringBuilder("[\n");
-        for (double[] rows : this.matrix) {
-            for (int j = 0; j < this.matrix[0].length; j++) {
-                sb.append(rows[j]);
+        for (int i = 0; i < this.rowsQuantity; i++) {
+            for (int j = 0; j < this.columnsQuantity; j++) {
+                sb.append(this.storage.get(i, j));
                 sb.append(" ");
             }
             sb.append("\n");
@@ -589,6 +1810,44 @@ public class Matrix {
         return sb.toString();
     }
 
+    /**
+     * Writes Matrix in binary format: header with magic MTRX, version, type of elements, layout, rows and columns
+     * quantity, then elements row after row as little-endian doubles. Unlike {@link #toString()} it keeps every
+     * element exactly.
+     *
+     * @param channel channel to write to, it is not closed
+     * @throws IOException when channel cannot be written
+     */
+    public void write(WritableByteChannel channel) throws IOException {
+        MatrixFormat.write(this, channel);
+    }
+
+    /**
+     * Reads Matrix written by {@link #write(WritableByteChannel)}. Matrix gets layout, in which it was written.
+     *
+     * @param channel channel to read from, it is not closed
+     * @return Matrix read
+     * @throws IOException     when channel cannot be read or ends before matrix
+     * @throws MatrixException when data is not matrix of supported version and type of elements
+     */
+    public static Matrix read(ReadableByteChannel channel) throws IOException, MatrixException {
+        return MatrixFormat.read(channel);
+    }
+
+    /**
+     * Maps file written by {@link #write(WritableByteChannel)} to memory. Elements are not copied: Matrix reads
+     * them from mapped file, so it is created at once regardless of size. Mapping is read-only, so in-place
+     * operations and setMatrix throw ReadOnlyBufferException; other operations return usual matrices.
+     *
+     * @param path file of matrix, which must be less than 2 GB
+     * @return Matrix backed by file
+     * @throws IOException     when file cannot be mapped
+     * @throws MatrixException when file does not hold matrix of supported version and type of elements
+     */
+    public static Matrix map(Path path) throws IOException, MatrixException {
+        return MatrixFormat.map(path);
+    }
+
     /**
      * Checks if transpose of matrix has been executed correctly
      *
@@ -605,7 +1864,9 @@ public class Matrix {
      * @throws MatrixException when matrix is not square
      */
     public boolean isInvCorrect() throws MatrixException {
-        return (this.mul(this.inv()).equals(identity())) && (this.inv().mul(this).equals(identity()));
+        Matrix inv = this.inv();
+        Matrix identity = identity();
+        return (this.mul(inv).equals(identity)) && (inv.mul(this).equals(identity));
     }
 
     /**
@@ -616,18 +1877,7 @@ public class Matrix {
      * @throws MatrixException when quantity of variables is greater, than quantity of equations
      */
     public static Matrix resolveSLAE(double[][] a) throws MatrixException {
-        Matrix A = new Matrix(a);
-        if (A.columnsQuantity > A.rowsQuantity + 1) {
-            String message = "Unable to resolve system, where quantity of variables is greater than equations quantity";
-            MatrixLogger.get().error(message);
-            throw new MatrixException(message);
-        }
-        int m = A.rowsQuantity;
-        Matrix B = new Matrix(m, 1);
-        for (int i = 0; i < m; i++) {
-            B.matrix[i][0] = A.matrix[i][m];
-        }
-        return A.deleteColumn(m).inv().mul(B);
+        return resolveSLAE(new Matrix(a));
     }
 
     /**
@@ -636,17 +1886,136 @@ public class Matrix {
      * @throws MatrixException when quantity of variables is greater, than quantity of equations
      */
     public static Matrix resolveSLAE(Matrix a) throws MatrixException {
+        return resolveSLAE(a, MatrixWorkspace.local());
+    }
+
+    /**
+     * Resolves the system of linear algebraic equation (SLAE). Coefficients are factorized according to structure
+     * of augmented matrix, like in {@link #resolveSLAEInto}, in arrays borrowed from workspace, so only column of
+     * X values is allocated.
+     *
+     * @param a         Matrix, which size must be rowsQuantity x (rowsQuantity+1)
+     * @param workspace workspace for LU factors
+     * @return Matrix , which is column of X values
+     * @throws MatrixException when quantity of variables is greater, than quantity of equations
+     */
+    public static Matrix resolveSLAE(Matrix a, MatrixWorkspace workspace) throws MatrixException {
         if (a.columnsQuantity > a.rowsQuantity + 1) {
             String message = "Unable to resolve system, where quantity of variables is greater than equations quantity";
-            MatrixLogger.get().error(message);
+            MatrixLogger.error(message);
             throw new MatrixException(message);
         }
+        long start = MatrixMetrics.start();
         int m = a.rowsQuantity;
-        Matrix b = new Matrix(m, 1);
-        for (int i = 0; i < m; i++) {
-            b.matrix[i][0] = a.matrix[i][m];
+        Matrix x = new Matrix(m, 1, a.getLayout());
+        solve(a.subMatrix(0, 0, m, m), a.getStructure(), a.subMatrix(0, m, m, 1), x, workspace);
+        recordSolution(start, m, 1, 1);
+        return x;
+    }
+
+    /**
+     * Resolves systems of linear algebraic equations A * X = B for all columns of B at once. Matrix A is
+     * factorized once, use {@link #lu()} and {@link LUDecomposition#solve(Matrix)} to reuse factors for
+     * further right-hand sides.
+     *
+     * @param a square Matrix of coefficients
+     * @param b Matrix of right-hand sides, which rows quantity must be equal to the rows quantity of A
+     * @return Matrix , which columns are X values for corresponding columns of B
+     * @throws MatrixException when A is not square, is singular or rows quantity of B does not match
+     */
+    public static Matrix resolveSLAE(Matrix a, Matrix b) throws MatrixException {
+        return resolveSLAE(a, b, MatrixWorkspace.local());
+    }
+
+    /**
+     * Resolves systems of linear algebraic equations A * X = B for all columns of B at once. Scratch arrays are
+     * borrowed from workspace, so only X is allocated.
+     *
+     * @param a         square Matrix of coefficients
+     * @param b         Matrix of right-hand sides, which rows quantity must be equal to the rows quantity of A
+     * @param workspace workspace for LU factors
+     * @return Matrix , which columns are X values for corresponding columns of B
+     * @throws MatrixException when A is not square, is singular or rows quantity of B does not match
+     */
+    public static Matrix resolveSLAE(Matrix a, Matrix b, MatrixWorkspace workspace) throws MatrixException {
+        long start = MatrixMetrics.start();
+        Matrix x = new Matrix(a.rowsQuantity, b.columnsQuantity, a.getLayout());
+        solve(a, b, x, workspace);
+        recordSolution(start, a.rowsQuantity, b.columnsQuantity, 1);
+        return x;
+    }
+
+    /**
+     * Resolves systems of linear algebraic equations A * X = B and writes X into dest. A is factorized according
+     * to its structure: triangular one is not factorized at all, symmetric positive definite one is factorized by
+     * Cholesky decomposition, banded one by LU decomposition limited to band. Scratch arrays are borrowed from
+     * workspace, so loop, which resolves systems of the same size, allocates nothing after the
+     * first call.
+     *
+     * @param a         square Matrix of coefficients
+     * @param b         Matrix of right-hand sides, which rows quantity must be equal to the rows quantity of A
+     * @param dest      Matrix of the same size as B, which receives X. It may be B itself.
+     * @param workspace workspace for LU factors
+     * @return Matrix dest
+     * @throws MatrixException when A is not square, is singular, rows quantity of B or size of dest does not match
+     */
+    public static Matrix resolveSLAEInto(Matrix a, Matrix b, Matrix dest, MatrixWorkspace workspace)
+            throws MatrixException {
+        long start = MatrixMetrics.start();
+        solve(a, b, dest, workspace);
+        recordSolution(start, a.rowsQuantity, b.columnsQuantity, 0);
+        return dest;
+    }
+
+    /**
+     * Finishes measurement of solution of n x n system for given quantity of right-hand sides
+     */
+    private static void recordSolution(long start, long size, int columns, int temporaries) {
+        MatrixMetrics.record(MatrixOperation.RESOLVE_SLAE, start, (int) size, columns,
+                MatrixMetrics.luFlops(size) + 2 * size * size * columns,
+                Double.BYTES * (size * size + 2 * size * columns), temporaries);
+    }
+
+    private static void solve(Matrix a, Matrix b, Matrix dest, MatrixWorkspace workspace) throws MatrixException {
+        solve(a, a.getStructure(), b, dest, workspace);
+    }
+
+    /**
+     * Resolves A * X = B, where A is factorized according to given structure
+     */
+    private static void solve(Matrix a, MatrixStructure structure, Matrix b, Matrix dest, MatrixWorkspace workspace)
+            throws MatrixException {
+        int size = checkFactorizable(a);
+        if (b.rowsQuantity != size) {
+            String message = "Unable to resolve system, because rows quantity of right-hand sides is " +
+                    b.rowsQuantity + " and size of matrix is " + size;
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        b.checkDestination(dest, b.rowsQuantity, b.columnsQuantity);
+        int columns = b.columnsQuantity;
+        double[] lu = workspace.doubles(size * size);
+        int[] pivot = workspace.ints(size);
+        double[] x = workspace.doubles(size * columns);
+        try {
+            int kind = StructuredSolver.factorize(a, structure, lu, pivot);
+            if (StructuredSolver.isSingular(kind, lu, size, structure)) {
+                String message = "Unable to resolve system, because its matrix determinant is equal to 0";
+                MatrixLogger.error(message);
+                throw new MatrixException(message);
+            }
+            for (int i = 0; i < size; i++) {
+                b.storage.copyRow(i, x, i * columns, columns);
+            }
+            StructuredSolver.solve(kind, lu, size, structure, pivot, x, columns);
+            for (int i = 0; i < size; i++) {
+                dest.storage.setRow(i, x, i * columns, columns);
+            }
+        } finally {
+            workspace.release(x);
+            workspace.release(pivot);
+            workspace.release(lu);
         }
-        return a.deleteColumn(m).inv().mul(b);
     }
 
     private static boolean isGear(double[][] a) {
@@ -0,0 +1,153 @@
+package ua.ithillel.lms.matrix;
+
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owner of off-heap matrices. Elements of matrices allocated by arena are kept in direct memory, which garbage
+ * collector neither scans nor copies. Use arena in try-with-resources block; matrices of closed arena throw
+ * IllegalStateException on access.
+ * <p>
+ * {@link #close()} frees memory at once. Matrix may still be reachable and other thread may be reading it, and
+ * access to freed memory would crash JVM, so every access to element or row enters arena and leaves it, when it
+ * is done: close() forbids new accesses, waits until accesses already entered are left and only then frees
+ * memory. Entering costs one atomic update, so off-heap matrices are best read by rows. It is the guard, which
+ * shared MemorySegment of java.lang.foreign gives since Java 22, while library runs on Java 8 and 17. When direct
+ * memory cannot be freed explicitly (see {@link DirectMemory}), it is released by garbage collector.
+ * <p>
+ * Off-heap matrices take part in all operations together with usual ones; results of operations are usual
+ * (heap) matrices.
+ */
+public class MatrixArena implements AutoCloseable {
+    static final long BAND_BYTES = 1L << 30;
+
+    private final List<DoubleBuffer[]> matrices = new ArrayList<>();
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private final AtomicInteger accesses = new AtomicInteger();
+    private volatile boolean closed;
+    private long allocatedBytes;
+
+    /**
+     * Allocates zero filled off-heap Matrix
+     *
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     * @return Matrix, which elements are stored off heap until arena is closed
+     * @throws MatrixException when arena is closed or sizes are not positive
+     */
+    public synchronized Matrix allocate(int rowsQuantity, int columnsQuantity) throws MatrixException {
+        if (closed) {
+            String message = "Unable to allocate matrix, because arena is closed.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        if (rowsQuantity <= 0 || columnsQuantity <= 0 || (long) columnsQuantity * Double.BYTES > BAND_BYTES) {
+            String message = "Unable to allocate off-heap matrix " + rowsQuantity + " x " + columnsQuantity;
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        long rowBytes = (long) columnsQuantity * Double.BYTES;
+        int bandRows = (int) Math.min(rowsQuantity, BAND_BYTES / rowBytes);
+        DoubleBuffer[] bands = new DoubleBuffer[(rowsQuantity + bandRows - 1) / bandRows];
+        for (int i = 0; i < bands.length; i++) {
+            int rows = Math.min(bandRows, rowsQuantity - i * bandRows);
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) (rows * rowBytes)).order(ByteOrder.nativeOrder());
+            allocatedBytes += buffer.capacity();
+            buffers.add(buffer);
+            bands[i] = buffer.asDoubleBuffer();
+        }
+        matrices.add(bands);
+        return Matrix.fromStorage(rowsQuantity, columnsQuantity,
+                new OffHeapMatrixStorage(this, bands, bandRows, columnsQuantity));
+    }
+
+    /**
+     * Copies Matrix off heap
+     *
+     * @param matrix Matrix to copy
+     * @return Matrix with the same elements, stored off heap until arena is closed
+     * @throws MatrixException when arena is closed
+     */
+    public Matrix copyOf(Matrix matrix) throws MatrixException {
+        Matrix copy = allocate(matrix.getRowsQuantity(), matrix.getColumnsQuantity());
+        double[] row = new double[matrix.getColumnsQuantity()];
+        for (int i = 0; i < matrix.getRowsQuantity(); i++) {
+            matrix.copyRow(i, row);
+            copy.setRow(i, row);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns quantity of direct memory allocated by arena
+     *
+     * @return long bytes
+     */
+    public synchronized long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Makes all matrices allocated by arena inaccessible, waits until accesses, which other threads have already
+     * started, are finished, and frees memory of matrices. Repeated calls do nothing.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        while (accesses.get() != 0) {
+            Thread.yield();
+        }
+        synchronized (this) {
+            for (DoubleBuffer[] bands : matrices) {
+                Arrays.fill(bands, null);
+            }
+            for (ByteBuffer buffer : buffers) {
+                DirectMemory.release(buffer);
+            }
+            matrices.clear();
+            buffers.clear();
+            allocatedBytes = 0;
+        }
+    }
+
+    /**
+     * Starts access to memory of arena, which must be finished by {@link #leave()}. Access is counted before
+     * arena state is read, so close() either sees the access and waits for it, or the access sees closed arena.
+     *
+     * @throws IllegalStateException when arena is closed
+     */
+    void enter() {
+        accesses.incrementAndGet();
+        if (closed) {
+            accesses.decrementAndGet();
+            throw closedError();
+        }
+    }
+
+    /**
+     * Finishes access started by {@link #enter()}
+     */
+    void leave() {
+        accesses.decrementAndGet();
+    }
+
+    static IllegalStateException closedError() {
+        return new IllegalStateException("Matrix belongs to closed arena, its memory is released.");
+    }
+}
@@ -0,0 +1,547 @@
+package ua.ithillel.lms.matrix;
+
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.util.Arrays;
+
+/**
+ * Batch of matrices of the same size, stored structure-of-arrays: element (rn, cn) of all matrices is kept in one
+ * lane, so element (rn, cn) of matrix number index is data[(rn * columnsQuantity + cn) * count + index].
+ * Operations go over lanes, i.e. over whole batch at once, and have no branches inside loops, so JIT vectorizes
+ * them. Determinant, invert and solution of square matrices 2 x 2, 3 x 3 and 4 x 4 are calculated by unrolled
+ * closed-form formulas, other sizes are factorized one by one. Whether matrix is singular is decided for every
+ * size as by {@link Matrix#inv()}, by diagonal of its LU factorization, so closed-form and factorized sizes reject
+ * the same matrices.
+ * <p>
+ * Operations with {@link ExecutionMode} split batch into blocks of matrices, which run in parallel.
+ */
+public class MatrixBatch {
+    private final int count;
+    private final int rowsQuantity;
+    private final int columnsQuantity;
+    private final double[] data;
+
+    /**
+     * Creates zero filled batch
+     *
+     * @param count           quantity of matrices
+     * @param rowsQuantity    rows quantity of every matrix
+     * @param columnsQuantity columns quantity of every matrix
+     */
+    public MatrixBatch(int count, int rowsQuantity, int columnsQuantity) {
+        if (count < 1) {
+            MatrixLogger.warn("Invalid quantity of matrices in batch. Batch will have 1 matrix (default value)");
+            count = 1;
+        }
+        if (rowsQuantity < 1) {
+            MatrixLogger.warn("Invalid rows quantity of matrix. Matrix will have 1 row (default value)");
+            rowsQuantity = 1;
+        }
+        if (columnsQuantity < 1) {
+            MatrixLogger.warn("Invalid columns quantity of matrix. Matrix will have 1 column (default value)");
+            columnsQuantity = 1;
+        }
+        this.count = count;
+        this.rowsQuantity = rowsQuantity;
+        this.columnsQuantity = columnsQuantity;
+        this.data = new double[count * rowsQuantity * columnsQuantity];
+    }
+
+    /**
+     * Creates batch of copies of matrices
+     *
+     * @param matrices matrices of the same size
+     * @return MatrixBatch batch, which matrix number i is equal to matrices[i]
+     * @throws MatrixException when there are no matrices or they have different sizes
+     */
+    public static MatrixBatch of(Matrix... matrices) throws MatrixException {
+        if (matrices.length == 0) {
+            String message = "Unable to create batch without matrices.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        MatrixBatch batch = new MatrixBatch(matrices.length, matrices[0].getRowsQuantity(),
+                matrices[0].getColumnsQuantity());
+        for (int i = 0; i < matrices.length; i++) {
+            batch.setMatrix(i, matrices[i]);
+        }
+        return batch;
+    }
+
+    /**
+     * Returns quantity of matrices in batch
+     *
+     * @return int quantity of matrices
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns rows quantity of every matrix in batch
+     *
+     * @return int rows quantity
+     */
+    public int getRowsQuantity() {
+        return rowsQuantity;
+    }
+
+    /**
+     * Returns columns quantity of every matrix in batch
+     *
+     * @return int columns quantity
+     */
+    public int getColumnsQuantity() {
+        return columnsQuantity;
+    }
+
+    /**
+     * Returns element (rn, cn) of matrix number index
+     *
+     * @param index number of matrix in batch (from 0)
+     * @param rn    number of row (from 0)
+     * @param cn    number of column (from 0)
+     * @return double element of matrix
+     */
+    public double get(int index, int rn, int cn) {
+        return data[(rn * columnsQuantity + cn) * count + index];
+    }
+
+    /**
+     * Sets element (rn, cn) of matrix number index
+     *
+     * @param index number of matrix in batch (from 0)
+     * @param rn    number of row (from 0)
+     * @param cn    number of column (from 0)
+     * @param value new value of element
+     */
+    public void set(int index, int rn, int cn, double value) {
+        data[(rn * columnsQuantity + cn) * count + index] = value;
+    }
+
+    /**
+     * Copies matrix number index out of batch
+     *
+     * @param index number of matrix in batch (from 0)
+     * @return Matrix copy of matrix
+     */
+    public Matrix getMatrix(int index) {
+        Matrix c = new Matrix(rowsQuantity, columnsQuantity, MatrixLayout.FLAT);
+        double[] row = new double[columnsQuantity];
+        for (int i = 0; i < rowsQuantity; i++) {
+            for (int j = 0; j < columnsQuantity; j++) {
+                row[j] = data[(i * columnsQuantity + j) * count + index];
+            }
+            c.setRow(i, row);
+        }
+        return c;
+    }
+
+    /**
+     * Copies matrix into batch as matrix number index
+     *
+     * @param index  number of matrix in batch (from 0)
+     * @param matrix Matrix of the same size as matrices of batch
+     * @throws MatrixException when matrix has other size
+     */
+    public void setMatrix(int index, Matrix matrix) throws MatrixException {
+        if (matrix.getRowsQuantity() != rowsQuantity || matrix.getColumnsQuantity() != columnsQuantity) {
+            String message = "Unable to put matrix " + matrix.getRowsQuantity() + " x " +
+                    matrix.getColumnsQuantity() + " into batch of matrices " + rowsQuantity + " x " + columnsQuantity;
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        double[] row = new double[columnsQuantity];
+        for (int i = 0; i < rowsQuantity; i++) {
+            matrix.copyRow(i, row);
+            for (int j = 0; j < columnsQuantity; j++) {
+                data[(i * columnsQuantity + j) * count + index] = row[j];
+            }
+        }
+    }
+
+    /**
+     * Multiplies every matrix of batch by matrix of right batch with the same number
+     *
+     * @param right batch of the same quantity of matrices, which rows quantity is equal to columns quantity of this
+     * @return MatrixBatch batch of products
+     * @throws MatrixException when batches have different quantity of matrices or matrices cannot be multiplied
+     */
+    public MatrixBatch mul(MatrixBatch right) throws MatrixException {
+        return mul(right, ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Multiplies every matrix of batch by matrix of right batch with the same number
+     *
+     * @param right batch of the same quantity of matrices, which rows quantity is equal to columns quantity of this
+     * @param mode  mode of execution
+     * @return MatrixBatch batch of products
+     * @throws MatrixException when batches have different quantity of matrices or matrices cannot be multiplied
+     */
+    public MatrixBatch mul(MatrixBatch right, ExecutionMode mode) throws MatrixException {
+        if (right.count != count || right.rowsQuantity != columnsQuantity) {
+            String message = "Unable to multiply batch of " + count + " matrices " + rowsQuantity + " x " +
+                    columnsQuantity + " by batch of " + right.count + " matrices " + right.rowsQuantity + " x " +
+                    right.columnsQuantity;
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        MatrixBatch c = new MatrixBatch(count, rowsQuantity, right.columnsQuantity);
+        long work = (long) count * rowsQuantity * columnsQuantity * right.columnsQuantity;
+        MatrixParallelism.forEachRowBlock(mode, count, work, (from, to) ->
+                multiply(this, right, c, from, to));
+        return c;
+    }
+
+    /**
+     * Multiplies lanes from (inclusive) to (exclusive): every element of product is accumulated over whole
+     * block of matrices at once
+     */
+    private static void multiply(MatrixBatch a, MatrixBatch b, MatrixBatch c, int from, int to) {
+        int n = a.count;
+        int inner = a.columnsQuantity;
+        for (int i = 0; i < c.rowsQuantity; i++) {
+            for (int j = 0; j < c.columnsQuantity; j++) {
+                int lane = (i * c.columnsQuantity + j) * n;
+                for (int l = 0; l < inner; l++) {
+                    int left = (i * inner + l) * n;
+                    int right = (l * b.columnsQuantity + j) * n;
+                    for (int k = from; k < to; k++) {
+                        c.data[lane + k] += a.data[left + k] * b.data[right + k];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Transposes every matrix of batch
+     *
+     * @return MatrixBatch batch of transposed matrices
+     */
+    public MatrixBatch transpose() {
+        MatrixBatch c = new MatrixBatch(count, columnsQuantity, rowsQuantity);
+        for (int i = 0; i < rowsQuantity; i++) {
+            for (int j = 0; j < columnsQuantity; j++) {
+                System.arraycopy(data, (i * columnsQuantity + j) * count, c.data, (j * rowsQuantity + i) * count,
+                        count);
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Calculates determinants of all matrices of batch
+     *
+     * @return double[] determinants, element i is determinant of matrix number i
+     * @throws MatrixException when matrices are not square
+     */
+    public double[] det() throws MatrixException {
+        return det(ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Calculates determinants of all matrices of batch
+     *
+     * @param mode mode of execution
+     * @return double[] determinants, element i is determinant of matrix number i
+     * @throws MatrixException when matrices are not square
+     */
+    public double[] det(ExecutionMode mode) throws MatrixException {
+        checkSquare("Unable to calculate determinants of batch of non-square matrices " + rowsQuantity + " x " +
+                columnsQuantity);
+        double[] result = new double[count];
+        MatrixParallelism.forEachRowBlock(mode, count, work(), (from, to) -> {
+            switch (rowsQuantity) {
+                case 1:
+                    System.arraycopy(data, from, result, from, to - from);
+                    break;
+                case 2:
+                    det2(data, result, count, from, to);
+                    break;
+                case 3:
+                    det3(data, result, count, from, to);
+                    break;
+                case 4:
+                    det4(data, result, count, from, to);
+                    break;
+                default:
+                    factorize(this, null, result, null, from, to);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Calculates inverts of all matrices of batch
+     *
+     * @return MatrixBatch batch of inverts
+     * @throws MatrixException when matrices are not square or some of them has determinant equal to 0
+     */
+    public MatrixBatch inv() throws MatrixException {
+        return inv(ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Calculates inverts of all matrices of batch
+     *
+     * @param mode mode of execution
+     * @return MatrixBatch batch of inverts
+     * @throws MatrixException when matrices are not square or some of them has determinant equal to 0
+     */
+    public MatrixBatch inv(ExecutionMode mode) throws MatrixException {
+        checkSquare("Unable to invert batch of non-square matrices " + rowsQuantity + " x " + columnsQuantity);
+        return invert(mode, "does not have invert one, because its determinant is equal to 0");
+    }
+
+    private MatrixBatch invert(ExecutionMode mode, String reason) throws MatrixException {
+        MatrixBatch c = new MatrixBatch(count, rowsQuantity, columnsQuantity);
+        boolean[] singular = new boolean[count];
+        MatrixParallelism.forEachRowBlock(mode, count, work(), (from, to) -> {
+            switch (rowsQuantity) {
+                case 1:
+                    inv1(data, c.data, from, to);
+                    break;
+                case 2:
+                    inv2(data, c.data, count, from, to);
+                    break;
+                case 3:
+                    inv3(data, c.data, count, from, to);
+                    break;
+                case 4:
+                    inv4(data, c.data, count, from, to);
+                    break;
+                default:
+                    factorize(this, c, null, singular, from, to);
+            }
+            if (rowsQuantity <= 4) {
+                // closed-form determinant is not compared with accuracy, its scale differs from scale of U diagonal
+                factorize(this, null, null, singular, from, to);
+            }
+        });
+        checkNonSingular(singular, reason);
+        return c;
+    }
+
+    /**
+     * Resolves systems of linear algebraic equations A * X = B, where A is every matrix of this batch and B is
+     * matrix of batch b with the same number
+     *
+     * @param b batch of right-hand sides of the same quantity, which rows quantity is equal to size of matrices
+     * @return MatrixBatch batch of X, columns of X are solutions for corresponding columns of B
+     * @throws MatrixException when matrices are not square, some of them is singular or sizes of B do not match
+     */
+    public MatrixBatch solve(MatrixBatch b) throws MatrixException {
+        return solve(b, ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Resolves systems of linear algebraic equations A * X = B, where A is every matrix of this batch and B is
+     * matrix of batch b with the same number. Closed-form invert is multiplied by B, other sizes are factorized.
+     *
+     * @param b    batch of right-hand sides of the same quantity, which rows quantity is equal to size of matrices
+     * @param mode mode of execution
+     * @return MatrixBatch batch of X, columns of X are solutions for corresponding columns of B
+     * @throws MatrixException when matrices are not square, some of them is singular or sizes of B do not match
+     */
+    public MatrixBatch solve(MatrixBatch b, ExecutionMode mode) throws MatrixException {
+        checkSquare("Unable to resolve systems of batch of non-square matrices " + rowsQuantity + " x " +
+                columnsQuantity);
+        if (b.count != count || b.rowsQuantity != rowsQuantity) {
+            String message = "Unable to resolve systems of batch of " + count + " matrices " + rowsQuantity + " x " +
+                    columnsQuantity + " with batch of " + b.count + " right-hand sides " + b.rowsQuantity + " x " +
+                    b.columnsQuantity;
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        return invert(mode, "is singular, so its system cannot be resolved").mul(b, mode);
+    }
+
+    private long work() {
+        return (long) count * rowsQuantity * rowsQuantity * rowsQuantity;
+    }
+
+    private void checkSquare(String message) throws MatrixException {
+        if (rowsQuantity != columnsQuantity) {
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+    }
+
+    private static void checkNonSingular(boolean[] singular, String reason) throws MatrixException {
+        for (int k = 0; k < singular.length; k++) {
+            if (singular[k]) {
+                String message = "Matrix#" + (k + 1) + " of batch " + reason;
+                MatrixLogger.error(message);
+                throw new MatrixException(message);
+            }
+        }
+    }
+
+    private static void det2(double[] a, double[] det, int n, int from, int to) {
+        for (int k = from; k < to; k++) {
+            det[k] = a[k] * a[3 * n + k] - a[n + k] * a[2 * n + k];
+        }
+    }
+
+    private static void det3(double[] a, double[] det, int n, int from, int to) {
+        for (int k = from; k < to; k++) {
+            double m00 = a[k], m01 = a[n + k], m02 = a[2 * n + k];
+            double m10 = a[3 * n + k], m11 = a[4 * n + k], m12 = a[5 * n + k];
+            double m20 = a[6 * n + k], m21 = a[7 * n + k], m22 = a[8 * n + k];
+            det[k] = m00 * (m11 * m22 - m12 * m21) + m01 * (m12 * m20 - m10 * m22) + m02 * (m10 * m21 - m11 * m20);
+        }
+    }
+
+    private static void det4(double[] a, double[] det, int n, int from, int to) {
+        for (int k = from; k < to; k++) {
+            double m00 = a[k], m01 = a[n + k], m02 = a[2 * n + k], m03 = a[3 * n + k];
+            double m10 = a[4 * n + k], m11 = a[5 * n + k], m12 = a[6 * n + k], m13 = a[7 * n + k];
+            double m20 = a[8 * n + k], m21 = a[9 * n + k], m22 = a[10 * n + k], m23 = a[11 * n + k];
+            double m30 = a[12 * n + k], m31 = a[13 * n + k], m32 = a[14 * n + k], m33 = a[15 * n + k];
+            double s0 = m00 * m11 - m01 * m10;
+            double s1 = m00 * m12 - m02 * m10;
+            double s2 = m00 * m13 - m03 * m10;
+            double s3 = m01 * m12 - m02 * m11;
+            double s4 = m01 * m13 - m03 * m11;
+            double s5 = m02 * m13 - m03 * m12;
+            double c5 = m22 * m33 - m23 * m32;
+            double c4 = m21 * m33 - m23 * m31;
+            double c3 = m21 * m32 - m22 * m31;
+            double c2 = m20 * m33 - m23 * m30;
+            double c1 = m20 * m32 - m22 * m30;
+            double c0 = m20 * m31 - m21 * m30;
+            det[k] = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+        }
+    }
+
+    private static void inv1(double[] a, double[] c, int from, int to) {
+        for (int k = from; k < to; k++) {
+            c[k] = 1 / a[k];
+        }
+    }
+
+    private static void inv2(double[] a, double[] c, int n, int from, int to) {
+        for (int k = from; k < to; k++) {
+            double m00 = a[k], m01 = a[n + k];
+            double m10 = a[2 * n + k], m11 = a[3 * n + k];
+            double d = m00 * m11 - m01 * m10;
+            double r = 1 / d;
+            c[k] = m11 * r;
+            c[n + k] = -m01 * r;
+            c[2 * n + k] = -m10 * r;
+            c[3 * n + k] = m00 * r;
+        }
+    }
+
+    private static void inv3(double[] a, double[] c, int n, int from, int to) {
+        for (int k = from; k < to; k++) {
+            double m00 = a[k], m01 = a[n + k], m02 = a[2 * n + k];
+            double m10 = a[3 * n + k], m11 = a[4 * n + k], m12 = a[5 * n + k];
+            double m20 = a[6 * n + k], m21 = a[7 * n + k], m22 = a[8 * n + k];
+            double c00 = m11 * m22 - m12 * m21;
+            double c01 = m12 * m20 - m10 * m22;
+            double c02 = m10 * m21 - m11 * m20;
+            double d = m00 * c00 + m01 * c01 + m02 * c02;
+            double r = 1 / d;
+            c[k] = c00 * r;
+            c[n + k] = (m02 * m21 - m01 * m22) * r;
+            c[2 * n + k] = (m01 * m12 - m02 * m11) * r;
+            c[3 * n + k] = c01 * r;
+            c[4 * n + k] = (m00 * m22 - m02 * m20) * r;
+            c[5 * n + k] = (m02 * m10 - m00 * m12) * r;
+            c[6 * n + k] = c02 * r;
+            c[7 * n + k] = (m01 * m20 - m00 * m21) * r;
+            c[8 * n + k] = (m00 * m11 - m01 * m10) * r;
+        }
+    }
+
+    /**
+     * Inverts 4 x 4 matrices through 2 x 2 minors of the upper (s) and lower (c) pairs of rows
+     */
+    private static void inv4(double[] a, double[] c, int n, int from, int to) {
+        for (int k = from; k < to; k++) {
+            double m00 = a[k], m01 = a[n + k], m02 = a[2 * n + k], m03 = a[3 * n + k];
+            double m10 = a[4 * n + k], m11 = a[5 * n + k], m12 = a[6 * n + k], m13 = a[7 * n + k];
+            double m20 = a[8 * n + k], m21 = a[9 * n + k], m22 = a[10 * n + k], m23 = a[11 * n + k];
+            double m30 = a[12 * n + k], m31 = a[13 * n + k], m32 = a[14 * n + k], m33 = a[15 * n + k];
+            double s0 = m00 * m11 - m01 * m10;
+            double s1 = m00 * m12 - m02 * m10;
+            double s2 = m00 * m13 - m03 * m10;
+            double s3 = m01 * m12 - m02 * m11;
+            double s4 = m01 * m13 - m03 * m11;
+            double s5 = m02 * m13 - m03 * m12;
+            double c5 = m22 * m33 - m23 * m32;
+            double c4 = m21 * m33 - m23 * m31;
+            double c3 = m21 * m32 - m22 * m31;
+            double c2 = m20 * m33 - m23 * m30;
+            double c1 = m20 * m32 - m22 * m30;
+            double c0 = m20 * m31 - m21 * m30;
+            double d = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+            double r = 1 / d;
+            c[k] = (m11 * c5 - m12 * c4 + m13 * c3) * r;
+            c[n + k] = (-m01 * c5 + m02 * c4 - m03 * c3) * r;
+            c[2 * n + k] = (m31 * s5 - m32 * s4 + m33 * s3) * r;
+            c[3 * n + k] = (-m21 * s5 + m22 * s4 - m23 * s3) * r;
+            c[4 * n + k] = (-m10 * c5 + m12 * c2 - m13 * c1) * r;
+            c[5 * n + k] = (m00 * c5 - m02 * c2 + m03 * c1) * r;
+            c[6 * n + k] = (-m30 * s5 + m32 * s2 - m33 * s1) * r;
+            c[7 * n + k] = (m20 * s5 - m22 * s2 + m23 * s1) * r;
+            c[8 * n + k] = (m10 * c4 - m11 * c2 + m13 * c0) * r;
+            c[9 * n + k] = (-m00 * c4 + m01 * c2 - m03 * c0) * r;
+            c[10 * n + k] = (m30 * s4 - m31 * s2 + m33 * s0) * r;
+            c[11 * n + k] = (-m20 * s4 + m21 * s2 - m23 * s0) * r;
+            c[12 * n + k] = (-m10 * c3 + m11 * c1 - m12 * c0) * r;
+            c[13 * n + k] = (m00 * c3 - m01 * c1 + m02 * c0) * r;
+            c[14 * n + k] = (-m30 * s3 + m31 * s1 - m32 * s0) * r;
+            c[15 * n + k] = (m20 * s3 - m21 * s1 + m22 * s0) * r;
+        }
+    }
+
+    /**
+     * Factorizes matrices from (inclusive) to (exclusive) one by one. Determinants are written into det, singular
+     * matrices are marked in singular and inverts of other ones are written into inverse, when they are not null.
+     */
+    private static void factorize(MatrixBatch a, MatrixBatch inverse, double[] det, boolean[] singular, int from,
+                                  int to) {
+        int size = a.rowsQuantity;
+        int n = a.count;
+        MatrixWorkspace workspace = MatrixWorkspace.local();
+        double[] lu = workspace.doubles(size * size);
+        double[] x = workspace.doubles(size * size);
+        int[] pivot = workspace.ints(size);
+        try {
+            for (int k = from; k < to; k++) {
+                for (int e = 0; e < size * size; e++) {
+                    lu[e] = a.data[e * n + k];
+                }
+                double d = LUDecomposition.decompose(lu, size, pivot);
+                if (det != null) {
+                    for (int i = 0; i < size; i++) {
+                        d *= lu[i * size + i];
+                    }
+                    det[k] = d;
+                }
+                if (singular != null && LUDecomposition.isSingular(lu, size)) {
+                    singular[k] = true;
+                    continue;
+                }
+                if (inverse != null) {
+                    Arrays.fill(x, 0, size * size, 0);
+                    for (int i = 0; i < size; i++) {
+                        x[i * size + pivot[i]] = 1;
+                    }
+                    LUDecomposition.substitute(lu, size, x, size);
+                    for (int e = 0; e < size * size; e++) {
+                        inverse.data[e * n + k] = x[e];
+                    }
+                }
+            }
+        } finally {
+            workspace.release(pivot);
+            workspace.release(x);
+            workspace.release(lu);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Publishes measurements of operations as JDK Flight Recorder events. Java 8 has no JFR API, so nothing is
+ * published; multi-release jar replaces this class for Java 17 and newer by one, which commits events.
+ */
+final class MatrixEvents {
+
+    private MatrixEvents() {
+    }
+
+    static boolean isEnabled() {
+        return false;
+    }
+
+    static void commit(MatrixOperation operation, int rowsQuantity, int columnsQuantity, long nanos, long flops,
+                       long bytes, int temporaries) {
+    }
+}
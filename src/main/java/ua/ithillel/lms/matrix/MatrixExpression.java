@@ -0,0 +1,291 @@
+package ua.ithillel.lms.matrix;
+
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+/**
+ * Lazy chain of element-wise Matrix operations. Operations are only recorded, and {@link #evaluate()} calculates
+ * every element of result in one pass, so chain allocates one Matrix instead of one per operation.
+ * Transposition does not move elements, it swaps indexes, by which operands are read.
+ * <p>
+ * Expression is immutable, every operation returns new expression.
+ */
+public class MatrixExpression {
+    private final Node node;
+    private final MatrixLayout layout;
+
+    MatrixExpression(Matrix matrix) {
+        this(new Operand(matrix), matrix.getLayout());
+    }
+
+    private MatrixExpression(Node node, MatrixLayout layout) {
+        this.node = node;
+        this.layout = layout;
+    }
+
+    /**
+     * Returns rows quantity of result
+     *
+     * @return int rows quantity
+     */
+    public int getRowsQuantity() {
+        return node.rowsQuantity();
+    }
+
+    /**
+     * Returns columns quantity of result
+     *
+     * @return int columns quantity
+     */
+    public int getColumnsQuantity() {
+        return node.columnsQuantity();
+    }
+
+    /**
+     * Adds Matrix to expression
+     *
+     * @param right right operand of addition
+     * @return MatrixExpression sum
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public MatrixExpression add(Matrix right) throws MatrixException {
+        return add(new MatrixExpression(right));
+    }
+
+    /**
+     * Adds other expression to expression
+     *
+     * @param right right operand of addition
+     * @return MatrixExpression sum
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public MatrixExpression add(MatrixExpression right) throws MatrixException {
+        checkSize(right, "Unable to add matrices which have different rows and/or columns quantity.");
+        return new MatrixExpression(new Sum(node, right.node), layout);
+    }
+
+    /**
+     * Subtracts Matrix from expression
+     *
+     * @param right right operand of subtraction
+     * @return MatrixExpression difference
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public MatrixExpression sub(Matrix right) throws MatrixException {
+        return sub(new MatrixExpression(right));
+    }
+
+    /**
+     * Subtracts other expression from expression
+     *
+     * @param right right operand of subtraction
+     * @return MatrixExpression difference
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public MatrixExpression sub(MatrixExpression right) throws MatrixException {
+        checkSize(right, "Unable to subtract matrices which have different rows and/or columns quantity.");
+        return new MatrixExpression(new Difference(node, right.node), layout);
+    }
+
+    /**
+     * Multiplies expression by number
+     *
+     * @param number number, which you would like to multiply by
+     * @return MatrixExpression product
+     */
+    public MatrixExpression scale(double number) {
+        return new MatrixExpression(new Scale(node, number), layout);
+    }
+
+    /**
+     * Takes absolute value of every element of expression
+     *
+     * @return MatrixExpression absolute value
+     */
+    public MatrixExpression abs() {
+        return new MatrixExpression(new Abs(node), layout);
+    }
+
+    /**
+     * Transposes expression. No elements are moved, indexes are swapped when result is evaluated.
+     *
+     * @return MatrixExpression transposed
+     */
+    public MatrixExpression transpose() {
+        return new MatrixExpression(new Transpose(node), layout);
+    }
+
+    /**
+     * Calculates expression
+     *
+     * @return Matrix result of expression
+     */
+    public Matrix evaluate() {
+        return evaluate(ExecutionMode.DEFAULT);
+    }
+
+    /**
+     * Calculates expression in one pass over elements
+     *
+     * @param mode mode of execution
+     * @return Matrix result of expression
+     */
+    public Matrix evaluate(ExecutionMode mode) {
+        int rowsQuantity = node.rowsQuantity();
+        int columnsQuantity = node.columnsQuantity();
+        double[] result = new double[rowsQuantity * columnsQuantity];
+        MatrixParallelism.forEachRowBlock(mode, rowsQuantity, (long) rowsQuantity * columnsQuantity, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                int row = i * columnsQuantity;
+                for (int j = 0; j < columnsQuantity; j++) {
+                    result[row + j] = node.get(i, j);
+                }
+            }
+        });
+        return Matrix.fromRowMajor(rowsQuantity, columnsQuantity, result, layout);
+    }
+
+    private void checkSize(MatrixExpression right, String message) throws MatrixException {
+        if (node.rowsQuantity() != right.node.rowsQuantity() ||
+                node.columnsQuantity() != right.node.columnsQuantity()) {
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+    }
+
+    private abstract static class Node {
+        abstract int rowsQuantity();
+
+        abstract int columnsQuantity();
+
+        abstract double get(int rn, int cn);
+    }
+
+    private static class Operand extends Node {
+        private final Matrix matrix;
+
+        Operand(Matrix matrix) {
+            this.matrix = matrix;
+        }
+
+        @Override
+        int rowsQuantity() {
+            return matrix.getRowsQuantity();
+        }
+
+        @Override
+        int columnsQuantity() {
+            return matrix.getColumnsQuantity();
+        }
+
+        @Override
+        double get(int rn, int cn) {
+            return matrix.get(rn, cn);
+        }
+    }
+
+    private abstract static class Unary extends Node {
+        final Node operand;
+
+        Unary(Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        int rowsQuantity() {
+            return operand.rowsQuantity();
+        }
+
+        @Override
+        int columnsQuantity() {
+            return operand.columnsQuantity();
+        }
+    }
+
+    private abstract static class Binary extends Node {
+        final Node left;
+        final Node right;
+
+        Binary(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        int rowsQuantity() {
+            return left.rowsQuantity();
+        }
+
+        @Override
+        int columnsQuantity() {
+            return left.columnsQuantity();
+        }
+    }
+
+    private static class Sum extends Binary {
+        Sum(Node left, Node right) {
+            super(left, right);
+        }
+
+        @Override
+        double get(int rn, int cn) {
+            return left.get(rn, cn) + right.get(rn, cn);
+        }
+    }
+
+    private static class Difference extends Binary {
+        Difference(Node left, Node right) {
+            super(left, right);
+        }
+
+        @Override
+        double get(int rn, int cn) {
+            return left.get(rn, cn) - right.get(rn, cn);
+        }
+    }
+
+    private static class Scale extends Unary {
+        private final double number;
+
+        Scale(Node operand, double number) {
+            super(operand);
+            this.number = number;
+        }
+
+        @Override
+        double get(int rn, int cn) {
+            return operand.get(rn, cn) * number;
+        }
+    }
+
+    private static class Abs extends Unary {
+        Abs(Node operand) {
+            super(operand);
+        }
+
+        @Override
+        double get(int rn, int cn) {
+            return Math.abs(operand.get(rn, cn));
+        }
+    }
+
+    private static class Transpose extends Unary {
+        Transpose(Node operand) {
+            super(operand);
+        }
+
+        @Override
+        int rowsQuantity() {
+            return operand.columnsQuantity();
+        }
+
+        @Override
+        int columnsQuantity() {
+            return operand.rowsQuantity();
+        }
+
+        @Override
+        double get(int rn, int cn) {
+            return operand.get(cn, rn);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package ua.ithillel.lms.matrix;
+
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary format of Matrix. All numbers are little-endian. Header takes 24 bytes, so elements are aligned by 8:
+ * <pre>
+ *     offset size
+ *       0     4   magic "MTRX"
+ *       4     2   version of format (1)
+ *       6     1   type of elements (1 - float64)
+ *       7     1   layout, in which matrix was stored (0 - ARRAY, 1 - FLAT)
+ *       8     4   rows quantity
+ *      12     4   columns quantity
+ *      16     8   reserved, zero
+ *      24         rows quantity x columns quantity elements row after row
+ * </pre>
+ * Methods of buffers are called through {@link Buffer}, so classes compiled by newer JDK still run on Java 8.
+ */
+final class MatrixFormat {
+    static final int MAGIC = 0x5852544D;
+    static final short VERSION = 1;
+    static final byte FLOAT64 = 1;
+    static final int HEADER_SIZE = 24;
+    static final int CHUNK_ELEMENTS = 8192;
+
+    private MatrixFormat() {
+    }
+
+    static void write(Matrix matrix, WritableByteChannel channel) throws IOException {
+        int rows = matrix.getRowsQuantity();
+        int columns = matrix.getColumnsQuantity();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort(VERSION).put(FLOAT64).put((byte) matrix.getLayout().ordinal())
+                .putInt(rows).putInt(columns).putLong(0);
+        ((Buffer) header).flip();
+        writeFully(channel, header);
+        ByteBuffer chunk = ByteBuffer.allocate(Math.max(columns, CHUNK_ELEMENTS) * Double.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        DoubleBuffer elements = chunk.asDoubleBuffer();
+        double[] row = new double[columns];
+        for (int i = 0; i < rows; i++) {
+            matrix.copyRow(i, row);
+            if (elements.remaining() < columns) {
+                flush(channel, chunk, elements);
+            }
+            elements.put(row);
+        }
+        flush(channel, chunk, elements);
+    }
+
+    static Matrix read(ReadableByteChannel channel) throws IOException, MatrixException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, header);
+        ((Buffer) header).flip();
+        int rows = header.getInt(8);
+        int columns = header.getInt(12);
+        MatrixLayout layout = checkHeader(header);
+        Matrix matrix = new Matrix(rows, columns, layout);
+        ByteBuffer chunk = ByteBuffer.allocate(Math.max(columns, CHUNK_ELEMENTS) * Double.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        double[] row = new double[columns];
+        int rowsPerChunk = chunk.capacity() / (columns * Double.BYTES);
+        for (int i = 0; i < rows; i += rowsPerChunk) {
+            int count = Math.min(rowsPerChunk, rows - i);
+            ((Buffer) chunk).clear().limit(count * columns * Double.BYTES);
+            readFully(channel, chunk);
+            ((Buffer) chunk).flip();
+            DoubleBuffer elements = chunk.asDoubleBuffer();
+            for (int k = 0; k < count; k++) {
+                elements.get(row);
+                matrix.setRow(i + k, row);
+            }
+        }
+        return matrix;
+    }
+
+    static Matrix map(Path path) throws IOException, MatrixException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw error("Unable to map file " + path + " of " + size +
+                        " bytes. Use MappedMatrix for matrices larger than 2 GB.");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            ((Buffer) header).limit(HEADER_SIZE);
+            int rows = header.getInt(8);
+            int columns = header.getInt(12);
+            checkHeader(header);
+            if (size < HEADER_SIZE + (long) rows * columns * Double.BYTES) {
+                throw error("File " + path + " is shorter than matrix " + rows + " x " + columns);
+            }
+            ((Buffer) buffer).position(HEADER_SIZE);
+            DoubleBuffer elements = buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            BufferMatrixStorage storage = new BufferMatrixStorage(elements, 0, columns);
+            storage.untrack();
+            return Matrix.fromStorage(rows, columns, storage);
+        }
+    }
+
+    /**
+     * Checks header and returns layout of stored matrix
+     */
+    private static MatrixLayout checkHeader(ByteBuffer header) throws MatrixException {
+        if (header.getInt(0) != MAGIC) {
+            throw error("Unable to read matrix, because data does not start with MTRX.");
+        }
+        short version = header.getShort(4);
+        if (version != VERSION) {
+            throw error("Unable to read matrix of format version " + version + ". Supported version is " + VERSION);
+        }
+        byte type = header.get(6);
+        if (type != FLOAT64) {
+            throw error("Unable to read matrix of element type " + type + ". Supported type is " + FLOAT64);
+        }
+        int rows = header.getInt(8);
+        int columns = header.getInt(12);
+        if (rows <= 0 || columns <= 0 || (long) rows * columns > Integer.MAX_VALUE - 8) {
+            throw error("Unable to read matrix " + rows + " x " + columns);
+        }
+        byte layout = header.get(7);
+        return (layout >= 0 && layout < MatrixLayout.values().length) ? MatrixLayout.values()[layout] :
+                MatrixLayout.ARRAY;
+    }
+
+    private static MatrixException error(String message) {
+        MatrixLogger.error(message);
+        return new MatrixException(message);
+    }
+
+    private static void flush(WritableByteChannel channel, ByteBuffer chunk, DoubleBuffer elements)
+            throws IOException {
+        ((Buffer) chunk).clear().limit(elements.position() * Double.BYTES);
+        writeFully(channel, chunk);
+        ((Buffer) elements).clear();
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of matrix data");
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Layout of Matrix elements in memory
+ */
+public enum MatrixLayout {
+    /**
+     * Array of rows (double[][]), one array per row
+     */
+    ARRAY,
+    /**
+     * Single array (double[]), row after row, with offset of the first element and stride between rows.
+     * Matrices of {@link MatrixArena} and mapped files keep elements row after row outside of heap and report
+     * this layout too.
+     */
+    FLAT
+}
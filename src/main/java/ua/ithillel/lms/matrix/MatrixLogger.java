@@ -7,19 +7,159 @@ import ua.ithillel.lms.logger.file.FileLogger;
 import ua.ithillel.lms.logger.file.FileLoggerConfiguration;
 import ua.ithillel.lms.logger.file.FileLoggerConfigurationLoader;
 
+import java.util.function.Supplier;
+
+/**
+ * Shared logger of the library. Configuration is loaded once, when logger is used the first time.
+ * Messages are checked against level before they are built. Message given as Supplier is built by the calling
+ * thread only when its level is enabled, then it is written by background thread, so logging never waits for file.
+ * <p>
+ * Level is taken from system property {@value #LEVEL_PROPERTY} (DEBUG by default) or set by {@link #setLevel(Level)}.
+ */
 public class MatrixLogger {
+    static final String LEVEL_PROPERTY = "ua.ithillel.lms.matrix.logLevel";
+
+    private static volatile Logger logger;
+    private static volatile Level level = Level.parse(System.getProperty(LEVEL_PROPERTY));
+    private static final AsyncLogAppender appender = new AsyncLogAppender();
 
-    private static Logger logger;
+    /**
+     * Level of message
+     */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF;
 
-    public static Logger create(String path) {
+        static Level parse(String name) {
+            if (name != null) {
+                for (Level value : values()) {
+                    if (value.name().equalsIgnoreCase(name.trim())) {
+                        return value;
+                    }
+                }
+            }
+            return DEBUG;
+        }
+    }
+
+    /**
+     * Loads configuration from path and makes new logger shared
+     *
+     * @param path path to logger configuration
+     * @return Logger shared logger
+     */
+    public static synchronized Logger create(String path) {
         LoggerConfigurationLoader lcl = new FileLoggerConfigurationLoader();
         LoggerConfiguration lc = lcl.load(path);
         logger = new FileLogger((FileLoggerConfiguration) lc);
         return logger;
     }
 
+    /**
+     * Returns shared logger. It is created from default configuration, when it is called the first time.
+     *
+     * @return Logger shared logger
+     */
     public static Logger get() {
-        return logger;
+        Logger result = logger;
+        if (result == null) {
+            synchronized (MatrixLogger.class) {
+                result = logger;
+                if (result == null) {
+                    result = create(Matrix.loggerConfigPath);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns minimal level of messages, which are written
+     *
+     * @return Level minimal level
+     */
+    public static Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Sets minimal level of messages, which are written
+     *
+     * @param level minimal level
+     */
+    public static void setLevel(Level level) {
+        MatrixLogger.level = (level != null) ? level : Level.DEBUG;
+    }
+
+    /**
+     * Checks if messages of given level are written
+     *
+     * @param level level of message
+     * @return boolean true if message of this level is written
+     */
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(MatrixLogger.level) >= 0 && level != Level.OFF;
+    }
+
+    public static void debug(String message) {
+        log(Level.DEBUG, message, null);
+    }
+
+    public static void debug(Supplier<String> message) {
+        log(Level.DEBUG, null, message);
+    }
+
+    public static void info(String message) {
+        log(Level.INFO, message, null);
     }
 
+    public static void info(Supplier<String> message) {
+        log(Level.INFO, null, message);
+    }
+
+    public static void warn(String message) {
+        log(Level.WARN, message, null);
+    }
+
+    public static void warn(Supplier<String> message) {
+        log(Level.WARN, null, message);
+    }
+
+    public static void error(String message) {
+        log(Level.ERROR, message, null);
+    }
+
+    public static void error(Supplier<String> message) {
+        log(Level.ERROR, null, message);
+    }
+
+    /**
+     * Waits until all messages, logged before, are written
+     */
+    public static void flush() {
+        appender.flush();
+    }
+
+    /**
+     * Returns quantity of messages, which were dropped, because queue of messages was full
+     *
+     * @return long quantity of dropped messages
+     */
+    public static long getDroppedQuantity() {
+        return appender.getDroppedQuantity();
+    }
+
+    /**
+     * Returns quantity of messages, which were not written, because logger failed
+     *
+     * @return long quantity of failed messages
+     */
+    public static long getFailedQuantity() {
+        return appender.getFailedQuantity();
+    }
+
+    private static void log(Level level, String message, Supplier<String> supplier) {
+        if (isEnabled(level)) {
+            appender.append(level, (supplier != null) ? supplier.get() : message);
+        }
+    }
 }
@@ -0,0 +1,184 @@
+package ua.ithillel.lms.matrix;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measurements of Matrix operations: calls, latency histogram, estimated FLOPs and bytes and allocated temporaries
+ * of each {@link MatrixOperation}. Measurements are kept in {@link OperationStatistics}, passed to
+ * {@link MatrixMetricsSink sinks} and, on Java 17 and newer, committed as JDK Flight Recorder events
+ * "ua.ithillel.lms.matrix.Operation".
+ * <p>
+ * Metrics are switched off by default and are switched on by system property {@value #ENABLED_PROPERTY}=true or
+ * by {@link #setEnabled(boolean)}. JFR events are committed, while recording is running, regardless of this
+ * switch. When both are off, operation only reads two flags, so metrics may stay in production code.
+ * <p>
+ * FLOPs and bytes are estimated from sizes of operands by dense algorithms, so they do not depend on structure
+ * of matrix or algorithm of multiplication. Operation, which result was cached, reports 0 FLOPs.
+ */
+public final class MatrixMetrics {
+    static final String ENABLED_PROPERTY = "ua.ithillel.lms.matrix.metrics";
+    static final long OFF = Long.MIN_VALUE;
+
+    private static final int BUCKETS = 65;
+    private static final Counters[] counters = new Counters[MatrixOperation.values().length];
+    private static final CopyOnWriteArrayList<MatrixMetricsSink> sinks = new CopyOnWriteArrayList<>();
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    static {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new Counters();
+        }
+        try {
+            for (MatrixMetricsSink sink : ServiceLoader.load(MatrixMetricsSink.class)) {
+                sinks.add(sink);
+            }
+        } catch (ServiceConfigurationError e) {
+            MatrixLogger.warn(() -> "Unable to load metrics sink: " + e.getMessage());
+        }
+    }
+
+    private MatrixMetrics() {
+    }
+
+    /**
+     * Checks if operations are measured
+     *
+     * @return boolean true if metrics are switched on
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches on or off measurement of operations. JFR events do not depend on this switch.
+     *
+     * @param enabled true to measure operations
+     */
+    public static void setEnabled(boolean enabled) {
+        MatrixMetrics.enabled = enabled;
+    }
+
+    /**
+     * Adds sink, which receives measurements of operations, while metrics are switched on
+     *
+     * @param sink receiver of measurements
+     */
+    public static void addSink(MatrixMetricsSink sink) {
+        if (sink != null) {
+            sinks.addIfAbsent(sink);
+        }
+    }
+
+    /**
+     * Removes sink added by {@link #addSink(MatrixMetricsSink)} or found by ServiceLoader
+     *
+     * @param sink receiver of measurements
+     */
+    public static void removeSink(MatrixMetricsSink sink) {
+        sinks.remove(sink);
+    }
+
+    /**
+     * Returns statistics of operation collected since start or last {@link #reset()}
+     *
+     * @param operation measured operation
+     * @return OperationStatistics snapshot of statistics
+     */
+    public static OperationStatistics getStatistics(MatrixOperation operation) {
+        return counters[operation.ordinal()].snapshot(operation);
+    }
+
+    /**
+     * Forgets collected statistics of all operations
+     */
+    public static void reset() {
+        for (Counters c : counters) {
+            c.reset();
+        }
+    }
+
+    /**
+     * Starts measurement of operation
+     *
+     * @return long start time or {@link #OFF}, when nobody needs measurement
+     */
+    static long start() {
+        return (enabled || MatrixEvents.isEnabled()) ? System.nanoTime() : OFF;
+    }
+
+    /**
+     * Finishes measurement of operation started by {@link #start()}
+     */
+    static void record(MatrixOperation operation, long start, int rowsQuantity, int columnsQuantity, long flops,
+                       long bytes, int temporaries) {
+        if (start == OFF) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        if (enabled) {
+            counters[operation.ordinal()].add(nanos, flops, bytes, temporaries);
+            for (MatrixMetricsSink sink : sinks) {
+                try {
+                    sink.record(operation, rowsQuantity, columnsQuantity, nanos, flops, bytes, temporaries);
+                } catch (RuntimeException e) {
+                    MatrixLogger.warn(() -> "Metrics sink " + sink.getClass().getName() + " failed: " + e);
+                }
+            }
+        }
+        MatrixEvents.commit(operation, rowsQuantity, columnsQuantity, nanos, flops, bytes, temporaries);
+    }
+
+    /**
+     * Estimates FLOPs of LU decomposition of n x n matrix
+     */
+    static long luFlops(long n) {
+        return 2 * n * n * n / 3;
+    }
+
+    private static final class Counters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder flops = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder temporaries = new LongAdder();
+        private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        private Counters() {
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        private void add(long nanos, long flops, long bytes, int temporaries) {
+            this.calls.increment();
+            this.nanos.add(nanos);
+            this.flops.add(flops);
+            this.bytes.add(bytes);
+            this.temporaries.add(temporaries);
+            this.histogram[OperationStatistics.bucket(nanos)].increment();
+        }
+
+        private void reset() {
+            calls.reset();
+            nanos.reset();
+            flops.reset();
+            bytes.reset();
+            temporaries.reset();
+            for (LongAdder bucket : histogram) {
+                bucket.reset();
+            }
+        }
+
+        private OperationStatistics snapshot(MatrixOperation operation) {
+            long[] buckets = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = histogram[i].sum();
+            }
+            return new OperationStatistics(operation, calls.sum(), nanos.sum(), flops.sum(), bytes.sum(),
+                    temporaries.sum(), buckets);
+        }
+    }
+}
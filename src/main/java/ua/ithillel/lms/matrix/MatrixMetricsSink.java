@@ -0,0 +1,25 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Receiver of measurements of Matrix operations, e.g. adapter to metrics registry of application. Sinks are
+ * found by {@link java.util.ServiceLoader}, when they are listed in
+ * META-INF/services/ua.ithillel.lms.matrix.MatrixMetricsSink, or added by {@link MatrixMetrics#addSink}.
+ * <p>
+ * Sink is called by thread, which has run operation, so it must be thread-safe and fast.
+ */
+public interface MatrixMetricsSink {
+
+    /**
+     * Receives measurement of one operation
+     *
+     * @param operation       measured operation
+     * @param rowsQuantity    rows quantity of result (of the first operand for det)
+     * @param columnsQuantity columns quantity of result (of the first operand for det)
+     * @param nanos           latency in nanoseconds
+     * @param flops           estimated floating point operations, 0 when result was cached
+     * @param bytes           estimated bytes of elements read and written
+     * @param temporaries     arrays allocated by operation besides ones borrowed from {@link MatrixWorkspace}
+     */
+    void record(MatrixOperation operation, int rowsQuantity, int columnsQuantity, long nanos, long flops, long bytes,
+                int temporaries);
+}
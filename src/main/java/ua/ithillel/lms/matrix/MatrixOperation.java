@@ -0,0 +1,59 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Operation of Matrix, which is measured by {@link MatrixMetrics}
+ */
+public enum MatrixOperation {
+    /**
+     * add, addInto and addInPlace
+     */
+    ADD,
+    /**
+     * sub, subInto and subInPlace
+     */
+    SUB,
+    /**
+     * mulByNumber, mulNumberByMatrix, divByNumber and their Into and InPlace forms
+     */
+    SCALE,
+    /**
+     * abs, absInto and absInPlace
+     */
+    ABS,
+    /**
+     * mul, mulInto and mulTransposed
+     */
+    MUL,
+    /**
+     * div
+     */
+    DIV,
+    /**
+     * transpose and transposeInto
+     */
+    TRANSPOSE,
+    /**
+     * mNorm, lNorm and kNorm
+     */
+    NORM,
+    /**
+     * det
+     */
+    DET,
+    /**
+     * lu
+     */
+    LU,
+    /**
+     * inv
+     */
+    INV,
+    /**
+     * pow
+     */
+    POW,
+    /**
+     * resolveSLAE and resolveSLAEInto
+     */
+    RESOLVE_SLAE
+}
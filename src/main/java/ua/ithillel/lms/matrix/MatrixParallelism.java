@@ -0,0 +1,133 @@
+package ua.ithillel.lms.matrix;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Settings of parallel execution of Matrix operations. Large operations are split into blocks of rows,
+ * which run as fork/join tasks. Operations, which work (count of processed elements or multiply-add operations)
+ * is less than threshold, always run in calling thread.
+ */
+public final class MatrixParallelism {
+    private static volatile ForkJoinPool pool = ForkJoinPool.commonPool();
+    private static volatile boolean enabled = false;
+    private static volatile long threshold = 1 << 18;
+
+    private MatrixParallelism() {
+    }
+
+    /**
+     * Returns pool, which runs parallel operations
+     *
+     * @return ForkJoinPool pool of parallel operations
+     */
+    public static ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Sets pool, which runs parallel operations. Common pool is used by default.
+     *
+     * @param pool pool of parallel operations
+     */
+    public static void setPool(ForkJoinPool pool) {
+        MatrixParallelism.pool = (pool != null) ? pool : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Checks if operations, called in {@link ExecutionMode#DEFAULT} mode, run in parallel
+     *
+     * @return boolean true if parallel execution is switched on globally
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches on or off parallel execution of operations called in {@link ExecutionMode#DEFAULT} mode
+     *
+     * @param enabled true to run operations in parallel
+     */
+    public static void setEnabled(boolean enabled) {
+        MatrixParallelism.enabled = enabled;
+    }
+
+    /**
+     * Returns minimal work of operation, which runs in parallel
+     *
+     * @return long count of processed elements or multiply-add operations
+     */
+    public static long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sets minimal work of operation, which runs in parallel
+     *
+     * @param threshold count of processed elements or multiply-add operations
+     */
+    public static void setThreshold(long threshold) {
+        MatrixParallelism.threshold = Math.max(threshold, 0);
+    }
+
+    /**
+     * Checks if operation of given work should run in parallel in given mode
+     */
+    static boolean isParallel(ExecutionMode mode, long work) {
+        if (mode == ExecutionMode.SEQUENTIAL || (mode == ExecutionMode.DEFAULT && !enabled)) {
+            return false;
+        }
+        return work >= threshold && pool.getParallelism() > 1;
+    }
+
+    /**
+     * Runs block for rows from 0 (inclusive) to rowsQuantity (exclusive), split into row blocks in parallel mode
+     *
+     * @param mode         mode of execution
+     * @param rowsQuantity quantity of rows
+     * @param work         count of processed elements or multiply-add operations
+     * @param block        operation over row block
+     */
+    static void forEachRowBlock(ExecutionMode mode, int rowsQuantity, long work, RowBlock block) {
+        if (rowsQuantity < 2 || !isParallel(mode, work)) {
+            block.apply(0, rowsQuantity);
+            return;
+        }
+        ForkJoinPool p = pool;
+        int grain = Math.max(1, rowsQuantity / (p.getParallelism() * 4));
+        p.invoke(new RowBlockTask(block, 0, rowsQuantity, grain));
+    }
+
+    /**
+     * Operation over rows from (inclusive) to (exclusive)
+     */
+    interface RowBlock {
+        void apply(int from, int to);
+    }
+
+    private static class RowBlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RowBlock block;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        RowBlockTask(RowBlock block, int from, int to, int grain) {
+            this.block = block;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                block.apply(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RowBlockTask(block, from, middle, grain), new RowBlockTask(block, middle, to, grain));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Memory, which holds elements of Matrix. Matrix keeps its sizes, storage only maps (row, column) to element.
+ */
+abstract class MatrixStorage {
+    /**
+     * Version of storage, which elements may be changed bypassing Matrix, e.g. wrapped array
+     */
+    static final long UNTRACKED = -1;
+
+    private Version version = new Version();
+
+    /**
+     * Creates zero filled storage of given layout
+     *
+     * @param layout          layout of elements
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     * @return MatrixStorage new storage
+     */
+    static MatrixStorage create(MatrixLayout layout, int rowsQuantity, int columnsQuantity) {
+        if (layout == MatrixLayout.FLAT) {
+            return new FlatMatrixStorage(new double[rowsQuantity * columnsQuantity], 0, columnsQuantity);
+        }
+        return new ArrayMatrixStorage(new double[rowsQuantity][columnsQuantity]);
+    }
+
+    /**
+     * Returns layout, in which results of operations over this storage are created. Storages without heap array
+     * (direct or mapped buffers) report FLAT as well, so fast paths must take arrays only from
+     * {@link #rowArray(int)} and {@link #contiguous(int, int)}, which return null for them.
+     */
+    abstract MatrixLayout layout();
+
+    abstract double get(int rn, int cn);
+
+    abstract void set(int rn, int cn, double value);
+
+    /**
+     * Copies columns quantity of elements of row rn into dest starting from offset
+     */
+    void copyRow(int rn, double[] dest, int offset, int columnsQuantity) {
+        for (int j = 0; j < columnsQuantity; j++) {
+            dest[offset + j] = get(rn, j);
+        }
+    }
+
+    /**
+     * Sets columns quantity of elements of row rn from src starting from offset
+     */
+    void setRow(int rn, double[] src, int offset, int columnsQuantity) {
+        for (int j = 0; j < columnsQuantity; j++) {
+            set(rn, j, src[offset + j]);
+        }
+    }
+
+    /**
+     * Returns array, which holds elements of row rn one after another starting from {@link #rowOffset(int)},
+     * or null when storage has no such array
+     */
+    double[] rowArray(int rn) {
+        return null;
+    }
+
+    /**
+     * Returns index of the first element of row rn in {@link #rowArray(int)}
+     */
+    int rowOffset(int rn) {
+        return 0;
+    }
+
+    /**
+     * Returns backing array, when it holds exactly rows quantity x columns quantity elements row after row
+     * without gaps, or null otherwise. Returned array must not be changed.
+     */
+    double[] contiguous(int rowsQuantity, int columnsQuantity) {
+        return null;
+    }
+
+    /**
+     * Returns counter of changes made through Matrix, which is shared by storage and all its views, or
+     * {@link #UNTRACKED} when elements may be changed bypassing Matrix
+     */
+    long version() {
+        return version.value;
+    }
+
+    /**
+     * Counts change of elements
+     */
+    void touch() {
+        if (version.value != UNTRACKED) {
+            version.value++;
+        }
+    }
+
+    /**
+     * Marks storage, which elements may be changed bypassing Matrix, so nothing calculated from them is kept
+     */
+    void untrack() {
+        version.value = UNTRACKED;
+    }
+
+    /**
+     * Makes view count changes together with storage it views
+     */
+    void shareVersion(MatrixStorage base) {
+        this.version = base.version;
+    }
+
+    /**
+     * Returns object, which holds elements. Storages, which return the same object, may share elements.
+     */
+    Object memory() {
+        return this;
+    }
+
+    /**
+     * Returns view, which element (rn, cn) is element (firstRow + rn, firstColumn + cn) of this storage
+     */
+    MatrixStorage subStorage(int firstRow, int firstColumn) {
+        return new SubMatrixStorage(this, firstRow, firstColumn);
+    }
+
+    /**
+     * Returns view, which element (rn, cn) is element (cn, rn) of this storage
+     */
+    MatrixStorage transposed() {
+        return new TransposedMatrixStorage(this);
+    }
+
+    private static final class Version {
+        private long value;
+    }
+}
@@ -0,0 +1,208 @@
+package ua.ithillel.lms.matrix;
+
+import java.util.Objects;
+
+/**
+ * Structure of Matrix: symmetry, positive definiteness and bandwidths. Lower bandwidth is the greatest distance
+ * below diagonal, at which elements may be non-zero, upper bandwidth is the same above diagonal, so upper
+ * triangular matrix has lower bandwidth 0 and diagonal matrix has both bandwidths 0.
+ * <p>
+ * Structure is declared by {@link Matrix#declareStructure(MatrixStructure)} or found by
+ * {@link Matrix#detectStructure()}. Known structure lets det, inv, mul and resolveSLAE use specialized algorithms:
+ * substitution for triangular matrices, O(n) for diagonal ones, Cholesky decomposition for symmetric positive
+ * definite and band-limited LU decomposition for banded ones.
+ */
+public final class MatrixStructure {
+    /**
+     * Bandwidth of matrix without band limits
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    /**
+     * Matrix without known structure
+     */
+    public static final MatrixStructure GENERAL = new MatrixStructure(false, false, UNBOUNDED, UNBOUNDED);
+
+    private final boolean symmetric;
+    private final boolean positiveDefinite;
+    private final int lowerBandwidth;
+    private final int upperBandwidth;
+
+    private MatrixStructure(boolean symmetric, boolean positiveDefinite, int lowerBandwidth, int upperBandwidth) {
+        this.symmetric = symmetric;
+        this.positiveDefinite = positiveDefinite;
+        this.lowerBandwidth = lowerBandwidth;
+        this.upperBandwidth = upperBandwidth;
+    }
+
+    /**
+     * Returns structure of symmetric matrix
+     *
+     * @return MatrixStructure symmetric
+     */
+    public static MatrixStructure symmetric() {
+        return new MatrixStructure(true, false, UNBOUNDED, UNBOUNDED);
+    }
+
+    /**
+     * Returns structure of symmetric positive definite matrix, which is factorized by Cholesky decomposition
+     *
+     * @return MatrixStructure symmetric positive definite
+     */
+    public static MatrixStructure symmetricPositiveDefinite() {
+        return new MatrixStructure(true, true, UNBOUNDED, UNBOUNDED);
+    }
+
+    /**
+     * Returns structure of upper triangular matrix
+     *
+     * @return MatrixStructure upper triangular
+     */
+    public static MatrixStructure upperTriangular() {
+        return new MatrixStructure(false, false, 0, UNBOUNDED);
+    }
+
+    /**
+     * Returns structure of lower triangular matrix
+     *
+     * @return MatrixStructure lower triangular
+     */
+    public static MatrixStructure lowerTriangular() {
+        return new MatrixStructure(false, false, UNBOUNDED, 0);
+    }
+
+    /**
+     * Returns structure of diagonal matrix
+     *
+     * @return MatrixStructure diagonal
+     */
+    public static MatrixStructure diagonal() {
+        return new MatrixStructure(true, false, 0, 0);
+    }
+
+    /**
+     * Returns structure of banded matrix, e.g. tridiagonal matrix has both bandwidths 1
+     *
+     * @param lowerBandwidth quantity of non-zero diagonals below main one
+     * @param upperBandwidth quantity of non-zero diagonals above main one
+     * @return MatrixStructure banded
+     */
+    public static MatrixStructure banded(int lowerBandwidth, int upperBandwidth) {
+        return new MatrixStructure(false, false, Math.max(lowerBandwidth, 0), Math.max(upperBandwidth, 0));
+    }
+
+    /**
+     * Returns the same structure, which is also symmetric positive definite
+     *
+     * @return MatrixStructure symmetric positive definite with the same bandwidths
+     */
+    public MatrixStructure positiveDefinite() {
+        int bandwidth = Math.min(lowerBandwidth, upperBandwidth);
+        return new MatrixStructure(true, true, bandwidth, bandwidth);
+    }
+
+    /**
+     * Finds structure of Matrix in one pass over elements. Positive definiteness is not checked: symmetric
+     * matrix with positive diagonal is factorized by Cholesky decomposition, which falls back to LU one, when
+     * matrix appears indefinite.
+     *
+     * @param matrix Matrix to examine
+     * @return MatrixStructure structure of matrix
+     */
+    static MatrixStructure detect(Matrix matrix) {
+        int rowsQuantity = matrix.getRowsQuantity();
+        int columnsQuantity = matrix.getColumnsQuantity();
+        int lower = 0;
+        int upper = 0;
+        double[] row = new double[columnsQuantity];
+        for (int i = 0; i < rowsQuantity; i++) {
+            matrix.copyRow(i, row);
+            for (int j = 0; j < columnsQuantity; j++) {
+                if (row[j] != 0) {
+                    lower = Math.max(lower, i - j);
+                    upper = Math.max(upper, j - i);
+                }
+            }
+        }
+        boolean symmetric = rowsQuantity == columnsQuantity && lower == upper;
+        for (int i = 0; symmetric && i < rowsQuantity; i++) {
+            for (int j = Math.max(0, i - lower); j < i; j++) {
+                if (matrix.get(i, j) != matrix.get(j, i)) {
+                    symmetric = false;
+                    break;
+                }
+            }
+        }
+        return new MatrixStructure(symmetric, false, (lower < rowsQuantity - 1) ? lower : UNBOUNDED,
+                (upper < columnsQuantity - 1) ? upper : UNBOUNDED);
+    }
+
+    public boolean isSymmetric() {
+        return symmetric;
+    }
+
+    public boolean isPositiveDefinite() {
+        return positiveDefinite;
+    }
+
+    public boolean isUpperTriangular() {
+        return lowerBandwidth == 0;
+    }
+
+    public boolean isLowerTriangular() {
+        return upperBandwidth == 0;
+    }
+
+    public boolean isDiagonal() {
+        return lowerBandwidth == 0 && upperBandwidth == 0;
+    }
+
+    /**
+     * Checks if matrix of given size has band narrower than itself
+     *
+     * @param size rows (columns) quantity of matrix
+     * @return boolean true when at least one bandwidth is less than size - 1
+     */
+    public boolean isBanded(int size) {
+        return lowerBandwidth < size - 1 || upperBandwidth < size - 1;
+    }
+
+    /**
+     * Returns lower bandwidth
+     *
+     * @return int quantity of diagonals below main one, which may be non-zero, or {@link #UNBOUNDED}
+     */
+    public int getLowerBandwidth() {
+        return lowerBandwidth;
+    }
+
+    /**
+     * Returns upper bandwidth
+     *
+     * @return int quantity of diagonals above main one, which may be non-zero, or {@link #UNBOUNDED}
+     */
+    public int getUpperBandwidth() {
+        return upperBandwidth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MatrixStructure that = (MatrixStructure) o;
+        return symmetric == that.symmetric && positiveDefinite == that.positiveDefinite &&
+                lowerBandwidth == that.lowerBandwidth && upperBandwidth == that.upperBandwidth;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(symmetric, positiveDefinite, lowerBandwidth, upperBandwidth);
+    }
+
+    @Override
+    public String toString() {
+        return "MatrixStructure{symmetric=" + symmetric + ", positiveDefinite=" + positiveDefinite +
+                ", lowerBandwidth=" + (lowerBandwidth == UNBOUNDED ? "unbounded" : lowerBandwidth) +
+                ", upperBandwidth=" + (upperBandwidth == UNBOUNDED ? "unbounded" : upperBandwidth) + "}";
+    }
+}
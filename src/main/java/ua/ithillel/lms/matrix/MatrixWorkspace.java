@@ -0,0 +1,153 @@
+package ua.ithillel.lms.matrix;
+
+import java.util.ArrayDeque;
+
+/**
+ * Pool of scratch arrays for temporaries of det, inv, pow, minor and resolveSLAE. Arrays are grouped in size
+ * classes (powers of two), so array borrowed by one call is reused by next call of similar size, and loop,
+ * which repeats the same operation, allocates nothing after first iteration.
+ * <p>
+ * Workspace is not thread-safe. Operations without workspace argument use {@link #local()} workspace of
+ * calling thread; pass own workspace to keep scratch arrays of particular loop apart.
+ */
+public final class MatrixWorkspace {
+    static final long DEFAULT_RETAINED_BYTES = 64L << 20;
+    private static final int CLASSES = 31;
+    private static final int MAX_POOLED = 1 << (CLASSES - 1);
+    private static final int ARRAYS_PER_CLASS = 4;
+    private static final ThreadLocal<MatrixWorkspace> LOCAL = ThreadLocal.withInitial(MatrixWorkspace::new);
+
+    private final long maxRetainedBytes;
+    private final ArrayDeque<double[]>[] doubles = newPools();
+    private final ArrayDeque<int[]>[] ints = newPools();
+    private long retainedBytes;
+
+    /**
+     * Creates workspace, which keeps up to 64 MB of scratch arrays
+     */
+    public MatrixWorkspace() {
+        this(DEFAULT_RETAINED_BYTES);
+    }
+
+    /**
+     * Creates workspace
+     *
+     * @param maxRetainedBytes maximal size of arrays kept between calls; larger arrays are left to GC
+     */
+    public MatrixWorkspace(long maxRetainedBytes) {
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    /**
+     * Returns workspace of calling thread
+     *
+     * @return MatrixWorkspace thread-local workspace
+     */
+    public static MatrixWorkspace local() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Returns size of arrays kept by workspace
+     *
+     * @return long bytes
+     */
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * Drops all kept arrays
+     */
+    public void clear() {
+        for (int i = 0; i < CLASSES; i++) {
+            doubles[i].clear();
+            ints[i].clear();
+        }
+        retainedBytes = 0;
+    }
+
+    /**
+     * Borrows array of at least length elements. Content of array is undefined. New array is rounded up to its
+     * size class only when workspace may keep it.
+     *
+     * @param length minimal length
+     * @return double[] array, which must be given back by {@link #release(double[])}
+     */
+    double[] doubles(int length) {
+        if (length > MAX_POOLED) {
+            return new double[length];
+        }
+        int sizeClass = sizeClass(length);
+        double[] array = doubles[sizeClass].poll();
+        if (array == null) {
+            return new double[isRetainable(sizeClass, Double.BYTES) ? 1 << sizeClass : length];
+        }
+        retainedBytes -= (long) array.length * Double.BYTES;
+        return array;
+    }
+
+    /**
+     * Borrows array of at least length elements. Content of array is undefined. New array is rounded up to its
+     * size class only when workspace may keep it.
+     *
+     * @param length minimal length
+     * @return int[] array, which must be given back by {@link #release(int[])}
+     */
+    int[] ints(int length) {
+        if (length > MAX_POOLED) {
+            return new int[length];
+        }
+        int sizeClass = sizeClass(length);
+        int[] array = ints[sizeClass].poll();
+        if (array == null) {
+            return new int[isRetainable(sizeClass, Integer.BYTES) ? 1 << sizeClass : length];
+        }
+        retainedBytes -= (long) array.length * Integer.BYTES;
+        return array;
+    }
+
+    void release(double[] array) {
+        if (array.length > MAX_POOLED || Integer.bitCount(array.length) != 1) {
+            return;
+        }
+        long bytes = (long) array.length * Double.BYTES;
+        ArrayDeque<double[]> pool = doubles[sizeClass(array.length)];
+        if (pool.size() < ARRAYS_PER_CLASS && retainedBytes + bytes <= maxRetainedBytes) {
+            pool.push(array);
+            retainedBytes += bytes;
+        }
+    }
+
+    void release(int[] array) {
+        if (array.length > MAX_POOLED || Integer.bitCount(array.length) != 1) {
+            return;
+        }
+        long bytes = (long) array.length * Integer.BYTES;
+        ArrayDeque<int[]> pool = ints[sizeClass(array.length)];
+        if (pool.size() < ARRAYS_PER_CLASS && retainedBytes + bytes <= maxRetainedBytes) {
+            pool.push(array);
+            retainedBytes += bytes;
+        }
+    }
+
+    /**
+     * Checks if array of size class may be kept, otherwise it is allocated with exact length
+     */
+    private boolean isRetainable(int sizeClass, int elementBytes) {
+        return ((long) elementBytes << sizeClass) <= maxRetainedBytes;
+    }
+
+    private static int sizeClass(int length) {
+        return (length <= 1) ? 0 : 32 - Integer.numberOfLeadingZeros(length - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ArrayDeque<T>[] newPools() {
+        ArrayDeque<T>[] pools = (ArrayDeque<T>[]) new ArrayDeque<?>[CLASSES];
+        for (int i = 0; i < CLASSES; i++) {
+            pools[i] = new ArrayDeque<>(ARRAYS_PER_CLASS);
+        }
+        return pools;
+    }
+}
@@ -0,0 +1,15 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Algorithm of matrix multiplication
+ */
+public enum MultiplicationAlgorithm {
+    /**
+     * Classical O(n^3) algorithm with cache-blocked kernel
+     */
+    CLASSICAL,
+    /**
+     * Strassen-Winograd O(n^2.81) algorithm, see {@link StrassenMultiplication} for its accuracy
+     */
+    STRASSEN_WINOGRAD
+}
@@ -0,0 +1,241 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Cache-blocked kernels of matrix multiplication over matrices stored row by row in one array.
+ * Loops are ordered i-k-j, so the right operand and result are read along rows. Block of the right operand
+ * (DEPTH_BLOCK x COLUMNS_BLOCK doubles, 256 KB) stays in L2 cache while all rows of the left operand pass through
+ * it, and four rows of result (4 x COLUMNS_BLOCK doubles, 8 KB) stay in L1 cache.
+ */
+final class MultiplicationKernel {
+    static final int DEPTH_BLOCK = 128;
+    static final int COLUMNS_BLOCK = 256;
+    private static final ElementWiseKernel KERNEL = ElementWiseKernel.INSTANCE;
+
+    private MultiplicationKernel() {
+    }
+
+    /**
+     * Adds product of a (n x m) and b (m x p) to c (n x p)
+     *
+     * @param a left operand, row after row
+     * @param b right operand, row after row
+     * @param c result, row after row
+     * @param n rows quantity of left operand
+     * @param m columns quantity of left operand (rows quantity of right one)
+     * @param p columns quantity of right operand
+     */
+    static void multiply(double[] a, double[] b, double[] c, int n, int m, int p) {
+        multiplyRows(a, b, c, 0, n, m, p);
+    }
+
+    /**
+     * Adds product of rows from (inclusive) to (exclusive) of a and b to the same rows of c
+     *
+     * @param a    left operand, row after row
+     * @param b    right operand, row after row
+     * @param c    result, row after row
+     * @param from the first row of left operand
+     * @param to   row of left operand after the last one
+     * @param m    columns quantity of left operand (rows quantity of right one)
+     * @param p    columns quantity of right operand
+     */
+    static void multiplyRows(double[] a, double[] b, double[] c, int from, int to, int m, int p) {
+        for (int kk = 0; kk < m; kk += DEPTH_BLOCK) {
+            int kEnd = Math.min(kk + DEPTH_BLOCK, m);
+            for (int jj = 0; jj < p; jj += COLUMNS_BLOCK) {
+                int jEnd = Math.min(jj + COLUMNS_BLOCK, p);
+                int i = from;
+                for (; i + 3 < to; i += 4) {
+                    multiplyFourRows(a, b, c, i, m, p, kk, kEnd, jj, jEnd);
+                }
+                for (; i < to; i++) {
+                    multiplyRow(a, b, c, i, m, p, kk, kEnd, jj, jEnd);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds product of rows from (inclusive) to (exclusive) of banded a and banded b to the same rows of c. Only
+     * elements inside bands are read: row i of a is non-zero from column i - aLower to i + aUpper, row k of b
+     * from column k - bLower to k + bUpper.
+     *
+     * @param a      left operand, row after row
+     * @param b      right operand, row after row
+     * @param c      result, row after row
+     * @param from   the first row of left operand
+     * @param to     row of left operand after the last one
+     * @param m      columns quantity of left operand (rows quantity of right one)
+     * @param p      columns quantity of right operand
+     * @param aLower lower bandwidth of left operand, at most its rows quantity - 1
+     * @param aUpper upper bandwidth of left operand, at most m - 1
+     * @param bLower lower bandwidth of right operand, at most m - 1
+     * @param bUpper upper bandwidth of right operand, at most p - 1
+     */
+    static void multiplyBandedRows(double[] a, double[] b, double[] c, int from, int to, int m, int p,
+                                   int aLower, int aUpper, int bLower, int bUpper) {
+        for (int i = from; i < to; i++) {
+            int kEnd = Math.min(m, i + aUpper + 1);
+            for (int k = Math.max(0, i - aLower); k < kEnd; k++) {
+                double aik = a[i * m + k];
+                if (aik == 0) {
+                    continue;
+                }
+                int jFrom = Math.max(0, k - bLower);
+                int jEnd = Math.min(p, k + bUpper + 1);
+                if (jFrom < jEnd) {
+                    KERNEL.axpy(aik, b, k * p + jFrom, c, i * p + jFrom, jEnd - jFrom);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds product of a (n x m) and transposed bt (bt is p x m) to c (n x p). Both operands are read along rows.
+     *
+     * @param a  left operand, row after row
+     * @param bt right operand transposed, row after row
+     * @param c  result, row after row
+     * @param n  rows quantity of left operand
+     * @param m  columns quantity of both operands
+     * @param p  rows quantity of transposed right operand
+     */
+    static void multiplyTransposed(double[] a, double[] bt, double[] c, int n, int m, int p) {
+        multiplyTransposedRows(a, bt, c, 0, n, m, p);
+    }
+
+    /**
+     * Adds product of rows from (inclusive) to (exclusive) of a and transposed bt to the same rows of c
+     *
+     * @param a    left operand, row after row
+     * @param bt   right operand transposed, row after row
+     * @param c    result, row after row
+     * @param from the first row of left operand
+     * @param to   row of left operand after the last one
+     * @param m    columns quantity of both operands
+     * @param p    rows quantity of transposed right operand
+     */
+    static void multiplyTransposedRows(double[] a, double[] bt, double[] c, int from, int to, int m, int p) {
+        for (int kk = 0; kk < m; kk += COLUMNS_BLOCK) {
+            int kEnd = Math.min(kk + COLUMNS_BLOCK, m);
+            for (int jj = 0; jj < p; jj += DEPTH_BLOCK) {
+                int jEnd = Math.min(jj + DEPTH_BLOCK, p);
+                int i = from;
+                for (; i + 1 < to; i += 2) {
+                    int a0 = i * m;
+                    int a1 = a0 + m;
+                    int j = jj;
+                    for (; j + 1 < jEnd; j += 2) {
+                        int b0 = j * m;
+                        int b1 = b0 + m;
+                        double s00 = 0, s01 = 0, s10 = 0, s11 = 0;
+                        for (int k = kk; k < kEnd; k++) {
+                            double x0 = a[a0 + k];
+                            double x1 = a[a1 + k];
+                            double y0 = bt[b0 + k];
+                            double y1 = bt[b1 + k];
+                            s00 += x0 * y0;
+                            s01 += x0 * y1;
+                            s10 += x1 * y0;
+                            s11 += x1 * y1;
+                        }
+                        c[i * p + j] += s00;
+                        c[i * p + j + 1] += s01;
+                        c[(i + 1) * p + j] += s10;
+                        c[(i + 1) * p + j + 1] += s11;
+                    }
+                    for (; j < jEnd; j++) {
+                        c[i * p + j] += dot(a, a0, bt, j * m, kk, kEnd);
+                        c[(i + 1) * p + j] += dot(a, a1, bt, j * m, kk, kEnd);
+                    }
+                }
+                for (; i < to; i++) {
+                    for (int j = jj; j < jEnd; j++) {
+                        c[i * p + j] += dot(a, i * m, bt, j * m, kk, kEnd);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds product of rows from (inclusive) to (exclusive) of single precision a and b to the same rows of c.
+     * Products are accumulated in float.
+     *
+     * @param a    left operand, row after row
+     * @param b    right operand, row after row
+     * @param c    result, row after row
+     * @param from the first row of left operand
+     * @param to   row of left operand after the last one
+     * @param m    columns quantity of left operand (rows quantity of right one)
+     * @param p    columns quantity of right operand
+     */
+    static void multiplyRows(float[] a, float[] b, float[] c, int from, int to, int m, int p) {
+        for (int kk = 0; kk < m; kk += DEPTH_BLOCK) {
+            int kEnd = Math.min(kk + DEPTH_BLOCK, m);
+            for (int jj = 0; jj < p; jj += COLUMNS_BLOCK) {
+                int jEnd = Math.min(jj + COLUMNS_BLOCK, p);
+                int i = from;
+                for (; i + 3 < to; i += 4) {
+                    int c0 = i * p;
+                    int c1 = c0 + p;
+                    int c2 = c1 + p;
+                    int c3 = c2 + p;
+                    for (int k = kk; k < kEnd; k++) {
+                        float a0 = a[i * m + k];
+                        float a1 = a[(i + 1) * m + k];
+                        float a2 = a[(i + 2) * m + k];
+                        float a3 = a[(i + 3) * m + k];
+                        int bk = k * p;
+                        for (int j = jj; j < jEnd; j++) {
+                            float value = b[bk + j];
+                            c[c0 + j] += a0 * value;
+                            c[c1 + j] += a1 * value;
+                            c[c2 + j] += a2 * value;
+                            c[c3 + j] += a3 * value;
+                        }
+                    }
+                }
+                for (; i < to; i++) {
+                    int ci = i * p;
+                    for (int k = kk; k < kEnd; k++) {
+                        float ai = a[i * m + k];
+                        int bk = k * p;
+                        for (int j = jj; j < jEnd; j++) {
+                            c[ci + j] += ai * b[bk + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void multiplyFourRows(double[] a, double[] b, double[] c, int i, int m, int p,
+                                         int kk, int kEnd, int jj, int jEnd) {
+        int c0 = i * p;
+        int c1 = c0 + p;
+        int c2 = c1 + p;
+        int c3 = c2 + p;
+        for (int k = kk; k < kEnd; k++) {
+            int bk = k * p + jj;
+            KERNEL.axpy4(a[i * m + k], a[(i + 1) * m + k], a[(i + 2) * m + k], a[(i + 3) * m + k],
+                    b, bk, c, c0 + jj, c1 + jj, c2 + jj, c3 + jj, jEnd - jj);
+        }
+    }
+
+    private static void multiplyRow(double[] a, double[] b, double[] c, int i, int m, int p,
+                                    int kk, int kEnd, int jj, int jEnd) {
+        int ci = i * p;
+        for (int k = kk; k < kEnd; k++) {
+            KERNEL.axpy(a[i * m + k], b, k * p + jj, c, ci + jj, jEnd - jj);
+        }
+    }
+
+    private static double dot(double[] x, int xOffset, double[] y, int yOffset, int from, int to) {
+        double s = 0;
+        for (int k = from; k < to; k++) {
+            s += x[xOffset + k] * y[yOffset + k];
+        }
+        return s;
+    }
+}
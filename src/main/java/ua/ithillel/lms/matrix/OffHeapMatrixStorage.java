@@ -0,0 +1,88 @@
+package ua.ithillel.lms.matrix;
+
+import java.nio.Buffer;
+import java.nio.DoubleBuffer;
+
+/**
+ * Storage of Matrix in direct memory outside of heap, row after row in bands of rows, so matrix may be larger
+ * than one buffer (2 GB). Memory belongs to {@link MatrixArena}; every access enters arena, so arena is not
+ * closed and memory is not freed while access runs. Storage has no heap array, so it reports FLAT layout only as layout of
+ * heap results and fast paths over arrays skip it.
+ */
+class OffHeapMatrixStorage extends MatrixStorage {
+    private final MatrixArena arena;
+    private final DoubleBuffer[] bands;
+    private final int bandRows;
+    private final int columnsQuantity;
+
+    OffHeapMatrixStorage(MatrixArena arena, DoubleBuffer[] bands, int bandRows, int columnsQuantity) {
+        this.arena = arena;
+        this.bands = bands;
+        this.bandRows = bandRows;
+        this.columnsQuantity = columnsQuantity;
+    }
+
+    @Override
+    MatrixLayout layout() {
+        return MatrixLayout.FLAT;
+    }
+
+    @Override
+    double get(int rn, int cn) {
+        arena.enter();
+        try {
+            return band(rn).get((rn % bandRows) * columnsQuantity + cn);
+        } finally {
+            arena.leave();
+        }
+    }
+
+    @Override
+    void set(int rn, int cn, double value) {
+        arena.enter();
+        try {
+            band(rn).put((rn % bandRows) * columnsQuantity + cn, value);
+        } finally {
+            arena.leave();
+        }
+    }
+
+    @Override
+    void copyRow(int rn, double[] dest, int offset, int columnsQuantity) {
+        arena.enter();
+        try {
+            row(rn).get(dest, offset, columnsQuantity);
+        } finally {
+            arena.leave();
+        }
+    }
+
+    @Override
+    void setRow(int rn, double[] src, int offset, int columnsQuantity) {
+        arena.enter();
+        try {
+            row(rn).put(src, offset, columnsQuantity);
+        } finally {
+            arena.leave();
+        }
+    }
+
+    private DoubleBuffer row(int rn) {
+        DoubleBuffer row = band(rn).duplicate();
+        ((Buffer) row).position((rn % bandRows) * columnsQuantity);
+        return row;
+    }
+
+    /**
+     * Returns band of row rn. It is called only within access entered into arena, so memory of band is not freed
+     * until access is finished.
+     */
+    private DoubleBuffer band(int rn) {
+        return bands[rn / bandRows];
+    }
+
+    @Override
+    Object memory() {
+        return bands;
+    }
+}
@@ -0,0 +1,109 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Statistics of one Matrix operation collected by {@link MatrixMetrics} since start or last reset. Latencies are
+ * counted in histogram of powers of two: bucket 0 holds latencies of 0 ns, bucket i holds latencies from 2^(i-1)
+ * to 2^i - 1 ns.
+ */
+public final class OperationStatistics {
+    private final MatrixOperation operation;
+    private final long calls;
+    private final long totalNanos;
+    private final long flops;
+    private final long bytes;
+    private final long temporaries;
+    private final long[] histogram;
+
+    OperationStatistics(MatrixOperation operation, long calls, long totalNanos, long flops, long bytes,
+                        long temporaries, long[] histogram) {
+        this.operation = operation;
+        this.calls = calls;
+        this.totalNanos = totalNanos;
+        this.flops = flops;
+        this.bytes = bytes;
+        this.temporaries = temporaries;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Returns bucket of latency histogram
+     *
+     * @param nanos latency in nanoseconds
+     * @return int number of bucket
+     */
+    static int bucket(long nanos) {
+        return 64 - Long.numberOfLeadingZeros(Math.max(nanos, 0));
+    }
+
+    public MatrixOperation getOperation() {
+        return operation;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getFlops() {
+        return flops;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getTemporaries() {
+        return temporaries;
+    }
+
+    /**
+     * Returns latency histogram
+     *
+     * @return long[] calls quantity in each of 65 buckets
+     */
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    /**
+     * Returns average latency
+     *
+     * @return double nanoseconds per call, 0 when operation was not called
+     */
+    public double getMeanNanos() {
+        return (calls == 0) ? 0 : (double) totalNanos / calls;
+    }
+
+    /**
+     * Returns upper bound of latency, which is not exceeded by given part of calls, e.g. 0.99 for 99th percentile.
+     * Bound is accurate up to factor of 2, because it is the upper bound of histogram bucket.
+     *
+     * @param quantile part of calls from 0 to 1
+     * @return long nanoseconds, 0 when operation was not called
+     */
+    public long getLatencyPercentile(double quantile) {
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        long rank = (long) Math.ceil(Math.min(Math.max(quantile, 0), 1) * total);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank && seen > 0) {
+                return (i == 0) ? 0 : (i >= 63) ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "OperationStatistics{operation=" + operation + ", calls=" + calls + ", totalNanos=" + totalNanos +
+                ", flops=" + flops + ", bytes=" + bytes + ", temporaries=" + temporaries +
+                ", p50=" + getLatencyPercentile(0.5) + ", p99=" + getLatencyPercentile(0.99) + "}";
+    }
+}
@@ -0,0 +1,69 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Element-wise kernels as plain loops, which work on every Java version and are left to JIT compiler
+ */
+class ScalarKernel extends ElementWiseKernel {
+
+    @Override
+    String name() {
+        return "scalar";
+    }
+
+    @Override
+    void add(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            c[cOffset + i] = a[aOffset + i] + b[bOffset + i];
+        }
+    }
+
+    @Override
+    void sub(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            c[cOffset + i] = a[aOffset + i] - b[bOffset + i];
+        }
+    }
+
+    @Override
+    void scale(double[] a, int aOffset, double number, double[] c, int cOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            c[cOffset + i] = a[aOffset + i] * number;
+        }
+    }
+
+    @Override
+    void abs(double[] a, int aOffset, double[] c, int cOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            c[cOffset + i] = Math.abs(a[aOffset + i]);
+        }
+    }
+
+    @Override
+    double sumOfSquares(double[] a, int offset, int length) {
+        double S = 0;
+        for (int i = 0; i < length; i++) {
+            double element = a[offset + i];
+            S = S + element * element;
+        }
+        return S;
+    }
+
+    @Override
+    void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            y[yOffset + i] += alpha * x[xOffset + i];
+        }
+    }
+
+    @Override
+    void axpy4(double alpha0, double alpha1, double alpha2, double alpha3, double[] x, int xOffset,
+               double[] y, int y0, int y1, int y2, int y3, int length) {
+        for (int i = 0; i < length; i++) {
+            double value = x[xOffset + i];
+            y[y0 + i] += alpha0 * value;
+            y[y1 + i] += alpha1 * value;
+            y[y2 + i] += alpha2 * value;
+            y[y3 + i] += alpha3 * value;
+        }
+    }
+}
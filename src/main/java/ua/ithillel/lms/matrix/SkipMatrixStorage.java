@@ -0,0 +1,95 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * View of other storage without one row and/or one column. Rows after skipped one are shifted up, columns after
+ * skipped one are shifted left, and changes are shared with base storage.
+ */
+class SkipMatrixStorage extends MatrixStorage {
+    static final int NONE = Integer.MAX_VALUE;
+
+    private final MatrixStorage base;
+    private final int skippedRow;
+    private final int skippedColumn;
+
+    /**
+     * Creates view
+     *
+     * @param base          storage to view
+     * @param skippedRow    number of row to skip or {@link #NONE}
+     * @param skippedColumn number of column to skip or {@link #NONE}
+     */
+    SkipMatrixStorage(MatrixStorage base, int skippedRow, int skippedColumn) {
+        this.base = base;
+        shareVersion(base);
+        this.skippedRow = skippedRow;
+        this.skippedColumn = skippedColumn;
+    }
+
+    private int row(int rn) {
+        return (rn < skippedRow) ? rn : rn + 1;
+    }
+
+    private int column(int cn) {
+        return (cn < skippedColumn) ? cn : cn + 1;
+    }
+
+    @Override
+    MatrixLayout layout() {
+        return base.layout();
+    }
+
+    @Override
+    double get(int rn, int cn) {
+        return base.get(row(rn), column(cn));
+    }
+
+    @Override
+    void set(int rn, int cn, double value) {
+        base.set(row(rn), column(cn), value);
+    }
+
+    @Override
+    void copyRow(int rn, double[] dest, int offset, int columnsQuantity) {
+        double[] row = base.rowArray(row(rn));
+        if (row == null) {
+            super.copyRow(rn, dest, offset, columnsQuantity);
+            return;
+        }
+        int rowOffset = base.rowOffset(row(rn));
+        int before = Math.min(skippedColumn, columnsQuantity);
+        System.arraycopy(row, rowOffset, dest, offset, before);
+        if (before < columnsQuantity) {
+            System.arraycopy(row, rowOffset + before + 1, dest, offset + before, columnsQuantity - before);
+        }
+    }
+
+    @Override
+    void setRow(int rn, double[] src, int offset, int columnsQuantity) {
+        double[] row = base.rowArray(row(rn));
+        if (row == null) {
+            super.setRow(rn, src, offset, columnsQuantity);
+            return;
+        }
+        int rowOffset = base.rowOffset(row(rn));
+        int before = Math.min(skippedColumn, columnsQuantity);
+        System.arraycopy(src, offset, row, rowOffset, before);
+        if (before < columnsQuantity) {
+            System.arraycopy(src, offset + before, row, rowOffset + before + 1, columnsQuantity - before);
+        }
+    }
+
+    @Override
+    double[] rowArray(int rn) {
+        return (skippedColumn == NONE) ? base.rowArray(row(rn)) : null;
+    }
+
+    @Override
+    int rowOffset(int rn) {
+        return base.rowOffset(row(rn));
+    }
+
+    @Override
+    Object memory() {
+        return base.memory();
+    }
+}
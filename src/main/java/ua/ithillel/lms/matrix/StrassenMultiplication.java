@@ -0,0 +1,231 @@
+package ua.ithillel.lms.matrix;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Strassen-Winograd multiplication: product of block 2 x 2 matrices needs 7 block products and 15 block
+ * additions instead of 8 products, so n x n product costs O(n^log2(7)) = O(n^2.81) operations.
+ * Recursion stops when any size of operands is not greater than cutoff, then classical kernel is used.
+ * Sizes are padded by zeros to multiple of 2^levels, where levels is quantity of halvings, which brings
+ * the largest size to cutoff, so padding is less than 2^levels elements in every dimension.
+ * <p>
+ * Accuracy. Result is not bitwise equal to classical {@link Matrix#mul(Matrix)}. Classical product satisfies
+ * componentwise bound |C - C'| &lt;= m * u * |A| * |B|, where u = 2^-53 is unit roundoff and m is common size.
+ * Strassen-Winograd satisfies only normwise bound (Higham, Accuracy and Stability of Numerical Algorithms,
+ * section 23.2.3):
+ * <pre>
+ *     max|C - C'| &lt;= ((m / n0)^log2(18) * (n0^2 + 6 * n0) - 6 * m) * u * max|A| * max|B| + O(u^2),
+ * </pre>
+ * where n0 is size of blocks multiplied classically. Every halving multiplies the bound by about 18 instead
+ * of 2, so keep cutoff large: with default cutoff 256 and m = 4096 bound is
+ * (4096 / 256)^log2(18) * (256^2 + 6 * 256) = 18^4 * 67072, i.e. about 7 * 10^9 * u * max|A| * max|B| or about
+ * 8 * 10^-7 relative to max|A| * max|B|, while classical bound is about 5 * 10^-13. Matrices with elements of very
+ * different magnitude lose more accuracy, use classical algorithm for them.
+ */
+public final class StrassenMultiplication {
+    static final int MIN_CUTOFF = 16;
+    /**
+     * Sub-products of recursion levels below this depth run as separate fork/join tasks in parallel mode
+     */
+    private static final int PARALLEL_DEPTH = 2;
+
+    private static volatile int cutoff = 256;
+
+    private StrassenMultiplication() {
+    }
+
+    /**
+     * Returns size, from which classical kernel is used instead of recursion
+     *
+     * @return int cutoff
+     */
+    public static int getCutoff() {
+        return cutoff;
+    }
+
+    /**
+     * Sets size, from which classical kernel is used instead of recursion. Values less than 16 are replaced by 16.
+     *
+     * @param cutoff size of blocks multiplied classically
+     */
+    public static void setCutoff(int cutoff) {
+        StrassenMultiplication.cutoff = Math.max(cutoff, MIN_CUTOFF);
+    }
+
+    /**
+     * Calculates product of a (n x m) and b (m x p)
+     *
+     * @param a        left operand, row after row
+     * @param b        right operand, row after row
+     * @param n        rows quantity of left operand
+     * @param m        columns quantity of left operand (rows quantity of right one)
+     * @param p        columns quantity of right operand
+     * @param parallel true to calculate sub-products of the upper levels in parallel
+     * @return double[] product, row after row
+     */
+    static double[] multiply(double[] a, double[] b, int n, int m, int p, boolean parallel) {
+        int limit = cutoff;
+        int levels = 0;
+        while ((Math.max(n, Math.max(m, p)) >> levels) > limit && (Math.min(n, Math.min(m, p)) >> levels) > 1) {
+            levels++;
+        }
+        if (levels == 0) {
+            double[] c = new double[n * p];
+            MultiplicationKernel.multiply(a, b, c, n, m, p);
+            return c;
+        }
+        int nPadded = pad(n, levels);
+        int mPadded = pad(m, levels);
+        int pPadded = pad(p, levels);
+        double[] aPadded = resize(a, n, m, nPadded, mPadded);
+        double[] bPadded = resize(b, m, p, mPadded, pPadded);
+        double[] c = new double[nPadded * pPadded];
+        Product product = new Product(aPadded, bPadded, c, nPadded, mPadded, pPadded, levels, parallel ? 0 : -1);
+        if (parallel) {
+            MatrixParallelism.getPool().invoke(product);
+        } else {
+            product.compute();
+        }
+        return (nPadded == n && pPadded == p) ? c : resize(c, nPadded, pPadded, n, p);
+    }
+
+    private static int pad(int size, int levels) {
+        int block = 1 << levels;
+        return (size + block - 1) / block * block;
+    }
+
+    /**
+     * Copies matrix to the top left corner of matrix of other size
+     */
+    private static double[] resize(double[] source, int rows, int columns, int newRows, int newColumns) {
+        if (rows == newRows && columns == newColumns) {
+            return source;
+        }
+        double[] result = new double[newRows * newColumns];
+        int copiedRows = Math.min(rows, newRows);
+        int copiedColumns = Math.min(columns, newColumns);
+        for (int i = 0; i < copiedRows; i++) {
+            System.arraycopy(source, i * columns, result, i * newColumns, copiedColumns);
+        }
+        return result;
+    }
+
+    /**
+     * Copies quadrant (half rows x half columns) of matrix, which starts at given row and column
+     */
+    private static double[] quadrant(double[] source, int columns, int row, int column, int rows2, int columns2) {
+        double[] result = new double[rows2 * columns2];
+        for (int i = 0; i < rows2; i++) {
+            System.arraycopy(source, (row + i) * columns + column, result, i * columns2, columns2);
+        }
+        return result;
+    }
+
+    /**
+     * Writes quadrant into matrix at given row and column
+     */
+    private static void place(double[] quadrant, double[] target, int columns, int row, int column,
+                              int rows2, int columns2) {
+        for (int i = 0; i < rows2; i++) {
+            System.arraycopy(quadrant, i * columns2, target, (row + i) * columns + column, columns2);
+        }
+    }
+
+    private static double[] add(double[] x, double[] y) {
+        double[] result = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            result[i] = x[i] + y[i];
+        }
+        return result;
+    }
+
+    private static double[] sub(double[] x, double[] y) {
+        double[] result = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            result[i] = x[i] - y[i];
+        }
+        return result;
+    }
+
+    /**
+     * Product c = a * b of padded matrices, which sizes are divisible by 2^levels.
+     * Depth is recursion depth in parallel mode and -1 in sequential one.
+     */
+    private static class Product extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] a;
+        private final double[] b;
+        private final double[] c;
+        private final int n;
+        private final int m;
+        private final int p;
+        private final int levels;
+        private final int depth;
+
+        Product(double[] a, double[] b, double[] c, int n, int m, int p, int levels, int depth) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.n = n;
+            this.m = m;
+            this.p = p;
+            this.levels = levels;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (levels == 0) {
+                MultiplicationKernel.multiply(a, b, c, n, m, p);
+                return;
+            }
+            int n2 = n / 2;
+            int m2 = m / 2;
+            int p2 = p / 2;
+            double[] a11 = quadrant(a, m, 0, 0, n2, m2);
+            double[] a12 = quadrant(a, m, 0, m2, n2, m2);
+            double[] a21 = quadrant(a, m, n2, 0, n2, m2);
+            double[] a22 = quadrant(a, m, n2, m2, n2, m2);
+            double[] b11 = quadrant(b, p, 0, 0, m2, p2);
+            double[] b12 = quadrant(b, p, 0, p2, m2, p2);
+            double[] b21 = quadrant(b, p, m2, 0, m2, p2);
+            double[] b22 = quadrant(b, p, m2, p2, m2, p2);
+
+            double[] s1 = add(a21, a22);
+            double[] s2 = sub(s1, a11);
+            double[] s3 = sub(a11, a21);
+            double[] s4 = sub(a12, s2);
+            double[] t1 = sub(b12, b11);
+            double[] t2 = sub(b22, t1);
+            double[] t3 = sub(b22, b12);
+            double[] t4 = sub(t2, b21);
+
+            Product[] products = {
+                    child(a11, b11), child(a12, b21), child(s4, b22), child(a22, t4),
+                    child(s1, t1), child(s2, t2), child(s3, t3)
+            };
+            if (depth >= 0 && depth < PARALLEL_DEPTH) {
+                ForkJoinTask.invokeAll(products);
+            } else {
+                for (Product product : products) {
+                    product.compute();
+                }
+            }
+            double[] m1 = products[0].c;
+            double[] u2 = add(m1, products[5].c);
+            double[] u3 = add(u2, products[6].c);
+            double[] u4 = add(u2, products[4].c);
+            place(add(m1, products[1].c), c, p, 0, 0, n2, p2);
+            place(add(u4, products[2].c), c, p, 0, p2, n2, p2);
+            place(sub(u3, products[3].c), c, p, n2, 0, n2, p2);
+            place(add(u3, products[4].c), c, p, n2, p2, n2, p2);
+        }
+
+        private Product child(double[] left, double[] right) {
+            return new Product(left, right, new double[(n / 2) * (p / 2)], n / 2, m / 2, p / 2, levels - 1,
+                    (depth >= 0) ? depth + 1 : -1);
+        }
+    }
+}
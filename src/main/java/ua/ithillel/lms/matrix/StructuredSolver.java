@@ -0,0 +1,305 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Factorization and substitution of square matrices according to their {@link MatrixStructure}. Triangular
+ * matrices need no factorization, symmetric ones with positive diagonal are factorized by Cholesky decomposition
+ * A = L * L^T, others by LU decomposition with partial pivoting, which is limited to band of banded matrices.
+ * Loops of all algorithms skip elements outside of band.
+ */
+final class StructuredSolver {
+    /**
+     * Factors are matrix itself, which is triangular
+     */
+    static final int TRIANGULAR = 0;
+    /**
+     * Factors are L of Cholesky decomposition, stored on and below diagonal
+     */
+    static final int CHOLESKY = 1;
+    /**
+     * Factors are L and U of LU decomposition with even row permutation
+     */
+    static final int LU = 2;
+    /**
+     * Factors are L and U of LU decomposition with odd row permutation
+     */
+    static final int LU_ODD = 3;
+
+    private StructuredSolver() {
+    }
+
+    /**
+     * Copies square matrix into f row by row and factorizes it according to structure
+     *
+     * @param a         square matrix
+     * @param structure structure of matrix
+     * @param f         array of at least n x n elements, which receives factors
+     * @param pivot     array of at least n elements, which receives row interchanges: row k is exchanged with
+     *                  row pivot[k] at step k of LU decomposition (pivot[k] is k unless LU)
+     * @return int kind of factors: {@link #TRIANGULAR}, {@link #CHOLESKY}, {@link #LU} or {@link #LU_ODD}
+     */
+    static int factorize(Matrix a, MatrixStructure structure, double[] f, int[] pivot) {
+        int n = a.getRowsQuantity();
+        int lower = lowerBandwidth(structure, n);
+        int upper = upperBandwidth(structure, n);
+        a.copyRowMajor(f);
+        for (int i = 0; i < n; i++) {
+            pivot[i] = i;
+        }
+        if (lower == 0 || upper == 0) {
+            return TRIANGULAR;
+        }
+        if (structure.isSymmetric() && (structure.isPositiveDefinite() || hasPositiveDiagonal(f, n))) {
+            if (cholesky(f, n, lower)) {
+                return CHOLESKY;
+            }
+            MatrixLogger.debug("Matrix is not positive definite, it is factorized by LU decomposition.");
+            a.copyRowMajor(f);
+        }
+        return (decompose(f, n, pivot, lower, upper) > 0) ? LU : LU_ODD;
+    }
+
+    /**
+     * Calculates determinant from factors
+     */
+    static double det(int kind, double[] f, int n) {
+        double result = (kind == LU_ODD) ? -1 : 1;
+        for (int i = 0; i < n; i++) {
+            double diagonal = f[i * n + i];
+            result *= (kind == CHOLESKY) ? diagonal * diagonal : diagonal;
+        }
+        return result;
+    }
+
+    /**
+     * Checks if factorized matrix is singular, i.e. diagonal of its factors has element equal to 0 up to rounding
+     * errors, see {@link LUDecomposition#isNegligible(double, double, int)}. Diagonal element is compared with
+     * elements of U column (of L row for Cholesky factor and lower triangular matrix) within band.
+     */
+    static boolean isSingular(int kind, double[] f, int n, MatrixStructure structure) {
+        int lower = lowerBandwidth(structure, n);
+        int upper = upperBandwidth(structure, n);
+        int width = (kind == LU || kind == LU_ODD) ? Math.min(n - 1, lower + upper) : upper;
+        for (int i = 0; i < n; i++) {
+            double scale = 0;
+            if (kind != CHOLESKY) {
+                for (int j = Math.max(0, i - width); j <= i; j++) {
+                    scale = Math.max(scale, Math.abs(f[j * n + i]));
+                }
+            }
+            if (kind == CHOLESKY || kind == TRIANGULAR) {
+                for (int j = Math.max(0, i - lower); j <= i; j++) {
+                    scale = Math.max(scale, Math.abs(f[i * n + j]));
+                }
+            }
+            if (LUDecomposition.isNegligible(f[i * n + i], scale, n)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Solves A * X = B in place
+     *
+     * @param kind      kind of factors
+     * @param f         factors
+     * @param n         size of matrix
+     * @param structure structure of matrix
+     * @param pivot     row interchanges of {@link #factorize}
+     * @param x         right-hand sides (n x columns), overwritten by solution
+     * @param columns   quantity of right-hand sides
+     */
+    static void solve(int kind, double[] f, int n, MatrixStructure structure, int[] pivot, double[] x,
+                      int columns) {
+        int lower = lowerBandwidth(structure, n);
+        int upper = upperBandwidth(structure, n);
+        if (kind == TRIANGULAR) {
+            if (upper == 0) {
+                forward(f, n, lower, x, columns);
+            } else {
+                backward(f, n, upper, false, x, columns);
+            }
+        } else if (kind == CHOLESKY) {
+            forward(f, n, lower, x, columns);
+            backward(f, n, lower, true, x, columns);
+        } else {
+            forward(f, n, lower, pivot, x, columns);
+            backward(f, n, Math.min(n - 1, lower + upper), false, x, columns);
+        }
+    }
+
+    static int lowerBandwidth(MatrixStructure structure, int n) {
+        return Math.min(structure.getLowerBandwidth(), n - 1);
+    }
+
+    static int upperBandwidth(MatrixStructure structure, int n) {
+        return Math.min(structure.getUpperBandwidth(), n - 1);
+    }
+
+    private static boolean hasPositiveDiagonal(double[] a, int n) {
+        for (int i = 0; i < n; i++) {
+            if (!(a[i * n + i] > 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calculates Cholesky factor L of symmetric matrix in place using elements on and below diagonal. Elements
+     * above diagonal are not changed.
+     *
+     * @return boolean false when matrix appears not positive definite
+     */
+    private static boolean cholesky(double[] a, int n, int bandwidth) {
+        for (int j = 0; j < n; j++) {
+            int rowJ = j * n;
+            int first = Math.max(0, j - bandwidth);
+            double d = a[rowJ + j];
+            for (int k = first; k < j; k++) {
+                d -= a[rowJ + k] * a[rowJ + k];
+            }
+            if (!(d > 0)) {
+                return false;
+            }
+            d = Math.sqrt(d);
+            a[rowJ + j] = d;
+            int last = Math.min(n - 1, j + bandwidth);
+            for (int i = j + 1; i <= last; i++) {
+                int rowI = i * n;
+                double s = a[rowI + j];
+                for (int k = Math.max(first, i - bandwidth); k < j; k++) {
+                    s -= a[rowI + k] * a[rowJ + k];
+                }
+                a[rowI + j] = s / d;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Factorizes n x n banded matrix, stored row by row in a, in place by LU decomposition with partial pivoting.
+     * Pivot is searched only among lower rows below diagonal, which may be non-zero. Row exchanges widen upper
+     * band to lower + upper, so only columns from diagonal to that band are exchanged, and multipliers of
+     * previous steps stay in place. Decomposition takes O(n * lower * (lower + upper)) instead of O(n^3).
+     *
+     * @return int sign of row permutation (1 or -1)
+     */
+    private static int decompose(double[] a, int n, int[] pivot, int lower, int upper) {
+        int sign = 1;
+        for (int k = 0; k < n; k++) {
+            int last = Math.min(n - 1, k + lower);
+            int right = Math.min(n - 1, k + lower + upper);
+            int rowK = k * n;
+            int p = k;
+            double max = Math.abs(a[rowK + k]);
+            for (int i = k + 1; i <= last; i++) {
+                double value = Math.abs(a[i * n + k]);
+                if (value > max) {
+                    max = value;
+                    p = i;
+                }
+            }
+            pivot[k] = p;
+            if (p != k) {
+                int rowP = p * n;
+                for (int j = k; j <= right; j++) {
+                    double temp = a[rowP + j];
+                    a[rowP + j] = a[rowK + j];
+                    a[rowK + j] = temp;
+                }
+                sign = -sign;
+            }
+            double diagonal = a[rowK + k];
+            if (diagonal == 0) {
+                continue;
+            }
+            for (int i = k + 1; i <= last; i++) {
+                int rowI = i * n;
+                double factor = a[rowI + k] / diagonal;
+                a[rowI + k] = factor;
+                if (factor != 0) {
+                    for (int j = k + 1; j <= right; j++) {
+                        a[rowI + j] -= factor * a[rowK + j];
+                    }
+                }
+            }
+        }
+        return sign;
+    }
+
+    /**
+     * Solves L * X = P * B, where L has unit diagonal and multipliers below diagonal of f, and P is row
+     * interchanges of {@link #decompose}, which are applied to B step by step
+     */
+    private static void forward(double[] f, int n, int bandwidth, int[] pivot, double[] x, int columns) {
+        for (int k = 0; k < n; k++) {
+            int rowK = k * columns;
+            int p = pivot[k];
+            if (p != k) {
+                int rowP = p * columns;
+                for (int j = 0; j < columns; j++) {
+                    double temp = x[rowP + j];
+                    x[rowP + j] = x[rowK + j];
+                    x[rowK + j] = temp;
+                }
+            }
+            int last = Math.min(n - 1, k + bandwidth);
+            for (int i = k + 1; i <= last; i++) {
+                double factor = f[i * n + k];
+                if (factor != 0) {
+                    int rowI = i * columns;
+                    for (int j = 0; j < columns; j++) {
+                        x[rowI + j] -= factor * x[rowK + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves L * X = B, where L is lower part of f including diagonal
+     */
+    private static void forward(double[] f, int n, int bandwidth, double[] x, int columns) {
+        for (int k = 0; k < n; k++) {
+            int rowK = k * columns;
+            double diagonal = f[k * n + k];
+            for (int j = 0; j < columns; j++) {
+                x[rowK + j] /= diagonal;
+            }
+            int last = Math.min(n - 1, k + bandwidth);
+            for (int i = k + 1; i <= last; i++) {
+                double factor = f[i * n + k];
+                if (factor != 0) {
+                    int rowI = i * columns;
+                    for (int j = 0; j < columns; j++) {
+                        x[rowI + j] -= factor * x[rowK + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves U * X = B, where U is upper part of f including diagonal, or L^T * X = B, when transposed is true
+     * and L is lower part of f
+     */
+    private static void backward(double[] f, int n, int bandwidth, boolean transposed, double[] x, int columns) {
+        for (int k = n - 1; k >= 0; k--) {
+            int rowK = k * columns;
+            double diagonal = f[k * n + k];
+            for (int j = 0; j < columns; j++) {
+                x[rowK + j] /= diagonal;
+            }
+            for (int i = Math.max(0, k - bandwidth); i < k; i++) {
+                double factor = transposed ? f[k * n + i] : f[i * n + k];
+                if (factor != 0) {
+                    int rowI = i * columns;
+                    for (int j = 0; j < columns; j++) {
+                        x[rowI + j] -= factor * x[rowK + j];
+                    }
+                }
+            }
+        }
+    }
+}
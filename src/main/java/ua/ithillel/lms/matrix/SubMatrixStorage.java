@@ -0,0 +1,73 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * View of block of other storage. Element (rn, cn) is element (firstRow + rn, firstColumn + cn) of base
+ * storage, so changes are shared with it.
+ */
+class SubMatrixStorage extends MatrixStorage {
+    private final MatrixStorage base;
+    private final int firstRow;
+    private final int firstColumn;
+
+    SubMatrixStorage(MatrixStorage base, int firstRow, int firstColumn) {
+        this.base = base;
+        shareVersion(base);
+        this.firstRow = firstRow;
+        this.firstColumn = firstColumn;
+    }
+
+    @Override
+    MatrixLayout layout() {
+        return base.layout();
+    }
+
+    @Override
+    double get(int rn, int cn) {
+        return base.get(firstRow + rn, firstColumn + cn);
+    }
+
+    @Override
+    void set(int rn, int cn, double value) {
+        base.set(firstRow + rn, firstColumn + cn, value);
+    }
+
+    @Override
+    void copyRow(int rn, double[] dest, int offset, int columnsQuantity) {
+        double[] row = base.rowArray(firstRow + rn);
+        if (row == null) {
+            super.copyRow(rn, dest, offset, columnsQuantity);
+            return;
+        }
+        System.arraycopy(row, rowOffset(rn), dest, offset, columnsQuantity);
+    }
+
+    @Override
+    void setRow(int rn, double[] src, int offset, int columnsQuantity) {
+        double[] row = base.rowArray(firstRow + rn);
+        if (row == null) {
+            super.setRow(rn, src, offset, columnsQuantity);
+            return;
+        }
+        System.arraycopy(src, offset, row, rowOffset(rn), columnsQuantity);
+    }
+
+    @Override
+    double[] rowArray(int rn) {
+        return base.rowArray(firstRow + rn);
+    }
+
+    @Override
+    int rowOffset(int rn) {
+        return base.rowOffset(firstRow + rn) + firstColumn;
+    }
+
+    @Override
+    MatrixStorage subStorage(int firstRow, int firstColumn) {
+        return base.subStorage(this.firstRow + firstRow, this.firstColumn + firstColumn);
+    }
+
+    @Override
+    Object memory() {
+        return base.memory();
+    }
+}
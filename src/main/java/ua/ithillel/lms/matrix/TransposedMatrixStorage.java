@@ -0,0 +1,39 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Transposed view of other storage: element (rn, cn) is element (cn, rn) of base storage. Elements are not
+ * moved, and changes are shared with base storage.
+ */
+class TransposedMatrixStorage extends MatrixStorage {
+    private final MatrixStorage base;
+
+    TransposedMatrixStorage(MatrixStorage base) {
+        this.base = base;
+        shareVersion(base);
+    }
+
+    @Override
+    MatrixLayout layout() {
+        return base.layout();
+    }
+
+    @Override
+    double get(int rn, int cn) {
+        return base.get(cn, rn);
+    }
+
+    @Override
+    void set(int rn, int cn, double value) {
+        base.set(cn, rn, value);
+    }
+
+    @Override
+    MatrixStorage transposed() {
+        return base;
+    }
+
+    @Override
+    Object memory() {
+        return base.memory();
+    }
+}
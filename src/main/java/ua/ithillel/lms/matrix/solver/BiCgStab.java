@@ -0,0 +1,73 @@
+package ua.ithillel.lms.matrix.solver;
+
+/**
+ * Stabilized biconjugate gradient method (BiCGSTAB) with right preconditioning for non-symmetric matrices
+ */
+public class BiCgStab extends IterativeSolver {
+
+    @Override
+    boolean iterate(LinearOperator a, double[] b, double[] x, History history) {
+        int n = b.length;
+        double[] r = new double[n];
+        residual(a, b, x, r);
+        if (history.add(norm(r))) {
+            return true;
+        }
+        double[] rHat = r.clone();
+        double[] p = new double[n];
+        double[] v = new double[n];
+        double[] pHat = new double[n];
+        double[] s = new double[n];
+        double[] sHat = new double[n];
+        double[] t = new double[n];
+        double rho = 1;
+        double alpha = 1;
+        double omega = 1;
+        while (!history.isExhausted()) {
+            double rhoNew = dot(rHat, r);
+            if (rhoNew == 0) {
+                return false;
+            }
+            double beta = (rhoNew / rho) * (alpha / omega);
+            for (int i = 0; i < n; i++) {
+                p[i] = r[i] + beta * (p[i] - omega * v[i]);
+            }
+            getPreconditioner().apply(p, pHat);
+            a.apply(pHat, v);
+            double rHatV = dot(rHat, v);
+            if (rHatV == 0) {
+                return false;
+            }
+            alpha = rhoNew / rHatV;
+            for (int i = 0; i < n; i++) {
+                s[i] = r[i] - alpha * v[i];
+            }
+            double sNorm = norm(s);
+            if (sNorm / norm(b) <= getTolerance()) {
+                for (int i = 0; i < n; i++) {
+                    x[i] += alpha * pHat[i];
+                }
+                return history.add(sNorm);
+            }
+            getPreconditioner().apply(s, sHat);
+            a.apply(sHat, t);
+            double tt = dot(t, t);
+            if (tt == 0) {
+                return false;
+            }
+            omega = dot(t, s) / tt;
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * pHat[i] + omega * sHat[i];
+                r[i] = s[i] - omega * t[i];
+            }
+            rho = rhoNew;
+            if (history.add(norm(r))) {
+                return true;
+            }
+            if (omega == 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package ua.ithillel.lms.matrix.solver;
+
+/**
+ * Preconditioned conjugate gradient method. Matrix and preconditioner must be symmetric positive definite.
+ */
+public class ConjugateGradient extends IterativeSolver {
+
+    @Override
+    boolean iterate(LinearOperator a, double[] b, double[] x, History history) {
+        int n = b.length;
+        double[] r = new double[n];
+        double[] z = new double[n];
+        double[] ap = new double[n];
+        residual(a, b, x, r);
+        if (history.add(norm(r))) {
+            return true;
+        }
+        getPreconditioner().apply(r, z);
+        double[] p = z.clone();
+        double rz = dot(r, z);
+        while (!history.isExhausted()) {
+            a.apply(p, ap);
+            double pap = dot(p, ap);
+            if (pap == 0) {
+                return false;
+            }
+            double alpha = rz / pap;
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * p[i];
+                r[i] -= alpha * ap[i];
+            }
+            if (history.add(norm(r))) {
+                return true;
+            }
+            getPreconditioner().apply(r, z);
+            double rzNew = dot(r, z);
+            double beta = rzNew / rz;
+            rz = rzNew;
+            for (int i = 0; i < n; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+        return false;
+    }
+}
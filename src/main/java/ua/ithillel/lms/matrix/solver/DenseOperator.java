@@ -0,0 +1,62 @@
+package ua.ithillel.lms.matrix.solver;
+
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.sparse.CsrMatrix;
+import ua.ithillel.lms.matrix.sparse.SparseMatrix;
+
+/**
+ * Operator of dense matrix, which elements are copied row by row, so later changes of matrix are not visible
+ */
+class DenseOperator implements ExplicitOperator {
+    private final int rowsQuantity;
+    private final int columnsQuantity;
+    private final double[] data;
+
+    DenseOperator(Matrix matrix) {
+        this.rowsQuantity = matrix.getRowsQuantity();
+        this.columnsQuantity = matrix.getColumnsQuantity();
+        this.data = new double[rowsQuantity * columnsQuantity];
+        for (int i = 0; i < rowsQuantity; i++) {
+            for (int j = 0; j < columnsQuantity; j++) {
+                data[i * columnsQuantity + j] = matrix.get(i, j);
+            }
+        }
+    }
+
+    @Override
+    public int getRowsQuantity() {
+        return rowsQuantity;
+    }
+
+    @Override
+    public int getColumnsQuantity() {
+        return columnsQuantity;
+    }
+
+    @Override
+    public void apply(double[] x, double[] y) {
+        for (int i = 0; i < rowsQuantity; i++) {
+            y[i] = rowDot(i, x);
+        }
+    }
+
+    @Override
+    public double rowDot(int row, double[] x) {
+        int offset = row * columnsQuantity;
+        double S = 0;
+        for (int j = 0; j < columnsQuantity; j++) {
+            S += data[offset + j] * x[j];
+        }
+        return S;
+    }
+
+    @Override
+    public double diagonal(int row) {
+        return data[row * columnsQuantity + row];
+    }
+
+    @Override
+    public CsrMatrix toCsr() {
+        return SparseMatrix.fromRowMajor(rowsQuantity, columnsQuantity, data);
+    }
+}
@@ -0,0 +1,24 @@
+package ua.ithillel.lms.matrix.solver;
+
+import ua.ithillel.lms.matrix.sparse.CsrMatrix;
+
+/**
+ * Operator, which elements are known. Gauss-Seidel method and preconditioners need them.
+ */
+interface ExplicitOperator extends LinearOperator {
+
+    /**
+     * Calculates product of row and vector
+     */
+    double rowDot(int row, double[] x);
+
+    /**
+     * Returns diagonal element of row
+     */
+    double diagonal(int row);
+
+    /**
+     * Returns non-zero elements of operator
+     */
+    CsrMatrix toCsr();
+}
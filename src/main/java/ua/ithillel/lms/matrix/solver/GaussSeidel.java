@@ -0,0 +1,66 @@
+package ua.ithillel.lms.matrix.solver;
+
+import ua.ithillel.lms.matrix.MatrixLogger;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+/**
+ * Gauss-Seidel method with successive over-relaxation (SOR). Relaxation factor 1 gives classical Gauss-Seidel
+ * method. It converges for diagonally dominant and symmetric positive definite matrices.
+ * Method needs elements of matrix, so operator must be created by {@link LinearOperator#of}.
+ */
+public class GaussSeidel extends IterativeSolver {
+    private final double relaxation;
+
+    public GaussSeidel() {
+        this(1);
+    }
+
+    /**
+     * Creates SOR solver
+     *
+     * @param relaxation relaxation factor, from 0 to 2 (exclusive)
+     * @throws IllegalArgumentException when relaxation factor is not greater than 0, not less than 2 or is NaN
+     */
+    public GaussSeidel(double relaxation) {
+        if (!(relaxation > 0 && relaxation < 2)) {
+            String message = "Unable to create SOR solver, because relaxation factor " + relaxation +
+                    " is out of range (0, 2), where method may converge";
+            MatrixLogger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.relaxation = relaxation;
+    }
+
+    public double getRelaxation() {
+        return relaxation;
+    }
+
+    @Override
+    boolean iterate(LinearOperator a, double[] b, double[] x, History history) throws MatrixException {
+        ExplicitOperator explicit = explicit(a, "Gauss-Seidel method");
+        int n = b.length;
+        for (int i = 0; i < n; i++) {
+            if (explicit.diagonal(i) == 0) {
+                String message = "Unable to apply Gauss-Seidel method, because diagonal element#" + (i + 1) +
+                        " is equal to 0";
+                MatrixLogger.error(message);
+                throw new MatrixException(message);
+            }
+        }
+        double[] r = new double[n];
+        residual(a, b, x, r);
+        if (history.add(norm(r))) {
+            return true;
+        }
+        while (!history.isExhausted()) {
+            for (int i = 0; i < n; i++) {
+                x[i] += relaxation * (b[i] - explicit.rowDot(i, x)) / explicit.diagonal(i);
+            }
+            residual(a, b, x, r);
+            if (history.add(norm(r))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
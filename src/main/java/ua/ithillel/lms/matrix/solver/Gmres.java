@@ -0,0 +1,133 @@
+package ua.ithillel.lms.matrix.solver;
+
+import ua.ithillel.lms.matrix.MatrixLogger;
+
+import java.util.Arrays;
+
+/**
+ * Restarted generalized minimal residual method GMRES(m) with right preconditioning. Krylov basis of at most
+ * restart vectors is built, then solution is updated and method starts again from new residual.
+ * Convergence is confirmed by true residual b - A * x, not by its estimate. When Krylov basis can not grow
+ * (breakdown) and true residual is above tolerance, solver stops and reports no convergence.
+ */
+public class Gmres extends IterativeSolver {
+    static final int DEFAULT_RESTART = 30;
+
+    private final int restart;
+
+    public Gmres() {
+        this(DEFAULT_RESTART);
+    }
+
+    /**
+     * Creates solver with given restart
+     *
+     * @param restart quantity of Krylov vectors, after which method restarts
+     */
+    public Gmres(int restart) {
+        this.restart = Math.max(restart, 1);
+    }
+
+    public int getRestart() {
+        return restart;
+    }
+
+    @Override
+    boolean iterate(LinearOperator a, double[] b, double[] x, History history) {
+        int n = b.length;
+        int m = Math.min(restart, n);
+        double[][] v = new double[m + 1][n];
+        double[][] h = new double[m + 1][m];
+        double[] cs = new double[m];
+        double[] sn = new double[m];
+        double[] g = new double[m + 1];
+        double[] w = new double[n];
+        double[] z = new double[n];
+        double[] r = new double[n];
+        residual(a, b, x, r);
+        double bNorm = norm(b);
+        double beta = norm(r);
+        if (history.add(beta)) {
+            return true;
+        }
+        while (!history.isExhausted()) {
+            for (int i = 0; i < n; i++) {
+                v[0][i] = r[i] / beta;
+            }
+            Arrays.fill(g, 0);
+            g[0] = beta;
+            int k = 0;
+            boolean breakdown = false;
+            while (k < m && !history.isExhausted()) {
+                getPreconditioner().apply(v[k], z);
+                a.apply(z, w);
+                for (int i = 0; i <= k; i++) {
+                    h[i][k] = dot(w, v[i]);
+                    for (int l = 0; l < n; l++) {
+                        w[l] -= h[i][k] * v[i][l];
+                    }
+                }
+                h[k + 1][k] = norm(w);
+                breakdown = h[k + 1][k] == 0;
+                if (!breakdown) {
+                    for (int l = 0; l < n; l++) {
+                        v[k + 1][l] = w[l] / h[k + 1][k];
+                    }
+                }
+                for (int i = 0; i < k; i++) {
+                    double temp = cs[i] * h[i][k] + sn[i] * h[i + 1][k];
+                    h[i + 1][k] = -sn[i] * h[i][k] + cs[i] * h[i + 1][k];
+                    h[i][k] = temp;
+                }
+                double rotation = Math.hypot(h[k][k], h[k + 1][k]);
+                cs[k] = (rotation == 0) ? 1 : h[k][k] / rotation;
+                sn[k] = (rotation == 0) ? 0 : h[k + 1][k] / rotation;
+                h[k][k] = rotation;
+                h[k + 1][k] = 0;
+                g[k + 1] = -sn[k] * g[k];
+                g[k] = cs[k] * g[k];
+                k++;
+                if (history.add(Math.abs(g[k])) || breakdown) {
+                    break;
+                }
+            }
+            update(x, v, h, g, k, z);
+            residual(a, b, x, r);
+            beta = norm(r);
+            if (beta / bNorm <= getTolerance()) {
+                return true;
+            }
+            if (breakdown) {
+                double relative = beta / bNorm;
+                MatrixLogger.warn(() -> "GMRES breakdown: Krylov basis can not grow, relative residual is " +
+                        relative);
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds M^-1 * V * y to x, where y solves upper triangular system H * y = g
+     */
+    private void update(double[] x, double[][] v, double[][] h, double[] g, int k, double[] z) {
+        double[] y = new double[k];
+        for (int i = k - 1; i >= 0; i--) {
+            double S = g[i];
+            for (int j = i + 1; j < k; j++) {
+                S -= h[i][j] * y[j];
+            }
+            y[i] = (h[i][i] != 0) ? S / h[i][i] : 0;
+        }
+        double[] combination = new double[x.length];
+        for (int j = 0; j < k; j++) {
+            for (int l = 0; l < x.length; l++) {
+                combination[l] += y[j] * v[j][l];
+            }
+        }
+        getPreconditioner().apply(combination, z);
+        for (int l = 0; l < x.length; l++) {
+            x[l] += z[l];
+        }
+    }
+}
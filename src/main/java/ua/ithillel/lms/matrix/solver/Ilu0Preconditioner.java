@@ -0,0 +1,104 @@
+package ua.ithillel.lms.matrix.solver;
+
+import ua.ithillel.lms.matrix.MatrixLogger;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+import ua.ithillel.lms.matrix.sparse.CsrMatrix;
+
+import java.util.Arrays;
+
+/**
+ * Incomplete LU preconditioner without fill-in (ILU(0)): M = L * U, where L and U have non-zero elements
+ * only where A has them.
+ */
+public class Ilu0Preconditioner implements Preconditioner {
+    private final int size;
+    private final int[] rowPointers;
+    private final int[] columnIndexes;
+    private final double[] values;
+    private final int[] diagonalPositions;
+
+    /**
+     * Factorizes operator made by {@link LinearOperator#of}
+     *
+     * @param a square operator of matrix
+     * @throws MatrixException when operator is matrix-free, is not square or has diagonal element equal to 0
+     */
+    public Ilu0Preconditioner(LinearOperator a) throws MatrixException {
+        ExplicitOperator explicit = IterativeSolver.explicit(a, "ILU(0) preconditioner");
+        IterativeSolver.checkSquare(a);
+        CsrMatrix csr = explicit.toCsr();
+        this.size = a.getRowsQuantity();
+        this.rowPointers = csr.getRowPointers();
+        this.columnIndexes = csr.getColumnIndexes();
+        this.values = csr.getValues();
+        this.diagonalPositions = new int[size];
+        for (int i = 0; i < size; i++) {
+            diagonalPositions[i] = -1;
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                if (columnIndexes[p] == i) {
+                    diagonalPositions[i] = p;
+                }
+            }
+            if (diagonalPositions[i] < 0) {
+                throw zeroPivot(i);
+            }
+        }
+        factorize();
+    }
+
+    private void factorize() throws MatrixException {
+        int[] positions = new int[size];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < size; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                positions[columnIndexes[p]] = p;
+            }
+            for (int p = rowPointers[i]; p < rowPointers[i + 1] && columnIndexes[p] < i; p++) {
+                int k = columnIndexes[p];
+                double pivot = values[diagonalPositions[k]];
+                if (pivot == 0) {
+                    throw zeroPivot(k);
+                }
+                double factor = values[p] / pivot;
+                values[p] = factor;
+                for (int q = diagonalPositions[k] + 1; q < rowPointers[k + 1]; q++) {
+                    int position = positions[columnIndexes[q]];
+                    if (position >= 0) {
+                        values[position] -= factor * values[q];
+                    }
+                }
+            }
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                positions[columnIndexes[p]] = -1;
+            }
+            if (values[diagonalPositions[i]] == 0) {
+                throw zeroPivot(i);
+            }
+        }
+    }
+
+    private MatrixException zeroPivot(int row) {
+        String message = "Unable to build ILU(0) preconditioner, because pivot in row#" + (row + 1) +
+                " is equal to 0";
+        MatrixLogger.error(message);
+        return new MatrixException(message);
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        for (int i = 0; i < size; i++) {
+            double S = r[i];
+            for (int p = rowPointers[i]; p < diagonalPositions[i]; p++) {
+                S -= values[p] * z[columnIndexes[p]];
+            }
+            z[i] = S;
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            double S = z[i];
+            for (int p = diagonalPositions[i] + 1; p < rowPointers[i + 1]; p++) {
+                S -= values[p] * z[columnIndexes[p]];
+            }
+            z[i] = S / values[diagonalPositions[i]];
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package ua.ithillel.lms.matrix.solver;
+
+import ua.ithillel.lms.matrix.MatrixLogger;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.util.Arrays;
+
+/**
+ * Iterative solver of system of linear algebraic equations A * x = b. Solver stops when relative residual
+ * ||b - A * x|| / ||b|| is not greater than tolerance or when iterations limit is reached.
+ */
+public abstract class IterativeSolver {
+    static final double DEFAULT_TOLERANCE = 1e-10;
+    static final int DEFAULT_MAX_ITERATIONS = 1000;
+
+    private double tolerance = DEFAULT_TOLERANCE;
+    private int maxIterations = DEFAULT_MAX_ITERATIONS;
+    private Preconditioner preconditioner = Preconditioner.IDENTITY;
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Sets relative residual, at which solver stops
+     *
+     * @param tolerance relative residual
+     */
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Sets iterations limit
+     *
+     * @param maxIterations maximal quantity of iterations
+     */
+    public void setMaxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+    }
+
+    public Preconditioner getPreconditioner() {
+        return preconditioner;
+    }
+
+    /**
+     * Sets preconditioner. Gauss-Seidel method does not use it.
+     *
+     * @param preconditioner preconditioner, null means none
+     */
+    public void setPreconditioner(Preconditioner preconditioner) {
+        this.preconditioner = (preconditioner != null) ? preconditioner : Preconditioner.IDENTITY;
+    }
+
+    /**
+     * Resolves system A * x = b starting from x = 0
+     *
+     * @param a square operator
+     * @param b right-hand side
+     * @return SolverResult solution and convergence history
+     * @throws MatrixException when operator is not square or length of b does not match
+     */
+    public SolverResult solve(LinearOperator a, double[] b) throws MatrixException {
+        return solve(a, b, new double[b.length]);
+    }
+
+    /**
+     * Resolves system A * x = b starting from x0
+     *
+     * @param a  square operator
+     * @param b  right-hand side
+     * @param x0 initial approximation, it is not changed
+     * @return SolverResult solution and convergence history
+     * @throws MatrixException when operator is not square or lengths of b or x0 do not match
+     */
+    public SolverResult solve(LinearOperator a, double[] b, double[] x0) throws MatrixException {
+        checkSquare(a);
+        if (b.length != a.getRowsQuantity() || x0.length != a.getRowsQuantity()) {
+            String message = "Unable to resolve system, because size of matrix is " + a.getRowsQuantity() +
+                    ", length of right-hand side is " + b.length + " and length of initial approximation is " +
+                    x0.length;
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        double bNorm = norm(b);
+        double[] x = x0.clone();
+        if (bNorm == 0) {
+            Arrays.fill(x, 0);
+            return new SolverResult(x, true, 0, new double[]{0});
+        }
+        History history = new History(bNorm, maxIterations);
+        boolean converged = iterate(a, b, x, history);
+        return new SolverResult(x, converged, history.iterations(), history.toArray());
+    }
+
+    /**
+     * Improves x in place
+     *
+     * @return boolean true if solver converged
+     */
+    abstract boolean iterate(LinearOperator a, double[] b, double[] x, History history) throws MatrixException;
+
+    static void checkSquare(LinearOperator a) throws MatrixException {
+        if (a.getRowsQuantity() != a.getColumnsQuantity()) {
+            String message = "Unable to resolve system, because its matrix is not square: rows quantity is " +
+                    a.getRowsQuantity() + " and columns quantity is " + a.getColumnsQuantity();
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+    }
+
+    static ExplicitOperator explicit(LinearOperator a, String user) throws MatrixException {
+        if (!(a instanceof ExplicitOperator)) {
+            String message = user + " needs elements of matrix. Create operator by LinearOperator.of().";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        return (ExplicitOperator) a;
+    }
+
+    static double dot(double[] x, double[] y) {
+        double S = 0;
+        for (int i = 0; i < x.length; i++) {
+            S += x[i] * y[i];
+        }
+        return S;
+    }
+
+    static double norm(double[] x) {
+        return Math.sqrt(dot(x, x));
+    }
+
+    /**
+     * Calculates r = b - A * x
+     */
+    static void residual(LinearOperator a, double[] b, double[] x, double[] r) {
+        a.apply(x, r);
+        for (int i = 0; i < r.length; i++) {
+            r[i] = b[i] - r[i];
+        }
+    }
+
+    /**
+     * Relative residuals of iterations
+     */
+    final class History {
+        private final double bNorm;
+        private final double[] values;
+        private int size;
+
+        History(double bNorm, int maxIterations) {
+            this.bNorm = bNorm;
+            this.values = new double[Math.max(maxIterations, 0) + 1];
+        }
+
+        /**
+         * Records residual norm
+         *
+         * @return boolean true if tolerance is reached
+         */
+        boolean add(double residualNorm) {
+            double relative = residualNorm / bNorm;
+            values[size++] = relative;
+            return relative <= tolerance;
+        }
+
+        boolean isExhausted() {
+            return size > maxIterations;
+        }
+
+        int iterations() {
+            return size - 1;
+        }
+
+        double[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ua.ithillel.lms.matrix.solver;
+
+import ua.ithillel.lms.matrix.MatrixLogger;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+/**
+ * Jacobi (diagonal) preconditioner: M is diagonal of A
+ */
+public class JacobiPreconditioner implements Preconditioner {
+    private final double[] inverseDiagonal;
+
+    /**
+     * Creates preconditioner of operator made by {@link LinearOperator#of}
+     *
+     * @param a operator of matrix
+     * @throws MatrixException when operator is matrix-free or its diagonal has element equal to 0
+     */
+    public JacobiPreconditioner(LinearOperator a) throws MatrixException {
+        ExplicitOperator explicit = IterativeSolver.explicit(a, "Jacobi preconditioner");
+        int size = Math.min(a.getRowsQuantity(), a.getColumnsQuantity());
+        inverseDiagonal = new double[size];
+        for (int i = 0; i < size; i++) {
+            double diagonal = explicit.diagonal(i);
+            if (diagonal == 0) {
+                String message = "Unable to build Jacobi preconditioner, because diagonal element#" + (i + 1) +
+                        " is equal to 0";
+                MatrixLogger.error(message);
+                throw new MatrixException(message);
+            }
+            inverseDiagonal[i] = 1 / diagonal;
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        for (int i = 0; i < r.length; i++) {
+            z[i] = r[i] * inverseDiagonal[i];
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ua.ithillel.lms.matrix.solver;
+
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.sparse.SparseMatrix;
+
+/**
+ * Linear operator y = A * x. Iterative solvers only need its product with vector, so operator may be given
+ * without matrix at all (matrix-free operator).
+ */
+public interface LinearOperator {
+
+    /**
+     * Creates operator of dense Matrix. Elements are copied, so later changes of matrix are not visible.
+     *
+     * @param matrix dense Matrix
+     * @return LinearOperator operator of matrix
+     */
+    static LinearOperator of(Matrix matrix) {
+        return new DenseOperator(matrix);
+    }
+
+    /**
+     * Creates operator of sparse matrix
+     *
+     * @param matrix sparse matrix
+     * @return LinearOperator operator of matrix
+     */
+    static LinearOperator of(SparseMatrix matrix) {
+        return new SparseOperator(matrix.toCsr());
+    }
+
+    int getRowsQuantity();
+
+    int getColumnsQuantity();
+
+    /**
+     * Calculates y = A * x
+     *
+     * @param x vector, which length is equal to columns quantity
+     * @param y vector, which length is equal to rows quantity, receives result
+     */
+    void apply(double[] x, double[] y);
+}
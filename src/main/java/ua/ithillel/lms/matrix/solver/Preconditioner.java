@@ -0,0 +1,20 @@
+package ua.ithillel.lms.matrix.solver;
+
+/**
+ * Preconditioner M of system A * x = b. It approximates A, and z = M^-1 * r is cheap to calculate.
+ */
+public interface Preconditioner {
+
+    /**
+     * Preconditioner, which does nothing (M = E)
+     */
+    Preconditioner IDENTITY = (r, z) -> System.arraycopy(r, 0, z, 0, r.length);
+
+    /**
+     * Calculates z = M^-1 * r
+     *
+     * @param r vector to precondition
+     * @param z vector of the same length, receives result
+     */
+    void apply(double[] r, double[] z);
+}
@@ -0,0 +1,63 @@
+package ua.ithillel.lms.matrix.solver;
+
+/**
+ * Result of iterative solver
+ */
+public class SolverResult {
+    private final double[] solution;
+    private final boolean converged;
+    private final int iterations;
+    private final double[] residualHistory;
+
+    SolverResult(double[] solution, boolean converged, int iterations, double[] residualHistory) {
+        this.solution = solution;
+        this.converged = converged;
+        this.iterations = iterations;
+        this.residualHistory = residualHistory;
+    }
+
+    /**
+     * Returns the last approximation of x
+     *
+     * @return double[] solution
+     */
+    public double[] getSolution() {
+        return solution;
+    }
+
+    /**
+     * Checks if relative residual reached tolerance
+     *
+     * @return boolean true if solver converged and false if it stopped by iterations limit or breakdown
+     */
+    public boolean isConverged() {
+        return converged;
+    }
+
+    /**
+     * Returns quantity of made iterations
+     *
+     * @return int quantity of iterations
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns relative residual ||b - A * x|| / ||b|| before the first iteration and after every iteration
+     *
+     * @return double[] history of relative residual
+     */
+    public double[] getResidualHistory() {
+        return residualHistory.clone();
+    }
+
+    /**
+     * Returns the last relative residual
+     *
+     * @return double relative residual
+     */
+    public double getResidual() {
+        return residualHistory[residualHistory.length - 1];
+    }
+}
@@ -0,0 +1,56 @@
+package ua.ithillel.lms.matrix.solver;
+
+import ua.ithillel.lms.matrix.sparse.CsrMatrix;
+
+/**
+ * Operator of sparse matrix in CSR format
+ */
+class SparseOperator implements ExplicitOperator {
+    private final CsrMatrix matrix;
+    private final int[] rowPointers;
+    private final int[] columnIndexes;
+    private final double[] values;
+
+    SparseOperator(CsrMatrix matrix) {
+        this.matrix = matrix;
+        this.rowPointers = matrix.getRowPointers();
+        this.columnIndexes = matrix.getColumnIndexes();
+        this.values = matrix.getValues();
+    }
+
+    @Override
+    public int getRowsQuantity() {
+        return matrix.getRowsQuantity();
+    }
+
+    @Override
+    public int getColumnsQuantity() {
+        return matrix.getColumnsQuantity();
+    }
+
+    @Override
+    public void apply(double[] x, double[] y) {
+        for (int i = 0; i < y.length; i++) {
+            y[i] = rowDot(i, x);
+        }
+    }
+
+    @Override
+    public double rowDot(int row, double[] x) {
+        double S = 0;
+        for (int p = rowPointers[row]; p < rowPointers[row + 1]; p++) {
+            S += values[p] * x[columnIndexes[p]];
+        }
+        return S;
+    }
+
+    @Override
+    public double diagonal(int row) {
+        return matrix.get(row, row);
+    }
+
+    @Override
+    public CsrMatrix toCsr() {
+        return matrix;
+    }
+}
@@ -0,0 +1,165 @@
+package ua.ithillel.lms.matrix.sparse;
+
+/**
+ * Compressed arrays of sparse matrix. Line (row for CSR, column for CSC) i keeps its elements from
+ * pointers[i] (inclusive) to pointers[i + 1] (exclusive), indexes hold other coordinate of elements,
+ * sorted inside every line.
+ */
+final class Compressed {
+    final int[] pointers;
+    final int[] indexes;
+    final double[] values;
+
+    Compressed(int[] pointers, int[] indexes, double[] values) {
+        this.pointers = pointers;
+        this.indexes = indexes;
+        this.values = values;
+    }
+
+    int linesQuantity() {
+        return pointers.length - 1;
+    }
+
+    int nonZerosQuantity() {
+        return pointers[linesQuantity()];
+    }
+
+    /**
+     * Returns element, which line is line and index is index
+     */
+    double find(int line, int index) {
+        int low = pointers[line];
+        int high = pointers[line + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (indexes[middle] < index) {
+                low = middle + 1;
+            } else if (indexes[middle] > index) {
+                high = middle - 1;
+            } else {
+                return values[middle];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the same elements compressed in other direction (CSR arrays become CSC arrays and vice versa)
+     *
+     * @param indexesQuantity quantity of lines in result
+     */
+    Compressed swap(int indexesQuantity) {
+        int linesQuantity = linesQuantity();
+        int nonZeros = nonZerosQuantity();
+        int[] resultPointers = new int[indexesQuantity + 1];
+        for (int p = 0; p < nonZeros; p++) {
+            resultPointers[indexes[p] + 1]++;
+        }
+        for (int i = 0; i < indexesQuantity; i++) {
+            resultPointers[i + 1] += resultPointers[i];
+        }
+        int[] next = new int[indexesQuantity];
+        System.arraycopy(resultPointers, 0, next, 0, indexesQuantity);
+        int[] resultIndexes = new int[nonZeros];
+        double[] resultValues = new double[nonZeros];
+        for (int i = 0; i < linesQuantity; i++) {
+            for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                int position = next[indexes[p]]++;
+                resultIndexes[position] = i;
+                resultValues[position] = values[p];
+            }
+        }
+        return new Compressed(resultPointers, resultIndexes, resultValues);
+    }
+
+    /**
+     * Adds elements compressed in the same direction. Sums equal to 0 are dropped.
+     */
+    Compressed add(Compressed right) {
+        int linesQuantity = linesQuantity();
+        int capacity = nonZerosQuantity() + right.nonZerosQuantity();
+        int[] resultPointers = new int[linesQuantity + 1];
+        int[] resultIndexes = new int[capacity];
+        double[] resultValues = new double[capacity];
+        int size = 0;
+        for (int i = 0; i < linesQuantity; i++) {
+            int p = pointers[i];
+            int pEnd = pointers[i + 1];
+            int q = right.pointers[i];
+            int qEnd = right.pointers[i + 1];
+            while (p < pEnd || q < qEnd) {
+                int index;
+                double value;
+                if (q >= qEnd || (p < pEnd && indexes[p] < right.indexes[q])) {
+                    index = indexes[p];
+                    value = values[p++];
+                } else if (p >= pEnd || right.indexes[q] < indexes[p]) {
+                    index = right.indexes[q];
+                    value = right.values[q++];
+                } else {
+                    index = indexes[p];
+                    value = values[p++] + right.values[q++];
+                }
+                if (value != 0) {
+                    resultIndexes[size] = index;
+                    resultValues[size] = value;
+                    size++;
+                }
+            }
+            resultPointers[i + 1] = size;
+        }
+        return new Compressed(resultPointers, trim(resultIndexes, size), trim(resultValues, size));
+    }
+
+    /**
+     * Calculates maximal sum of absolute values in line
+     */
+    double maxLineSum() {
+        double result = 0;
+        for (int i = 0; i < linesQuantity(); i++) {
+            double S = 0;
+            for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                S = S + Math.abs(values[p]);
+            }
+            if (S > result) {
+                result = S;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calculates maximal sum of absolute values with the same index
+     */
+    double maxIndexSum(int indexesQuantity) {
+        double[] sums = new double[indexesQuantity];
+        for (int p = 0; p < nonZerosQuantity(); p++) {
+            sums[indexes[p]] += Math.abs(values[p]);
+        }
+        double result = 0;
+        for (double S : sums) {
+            if (S > result) {
+                result = S;
+            }
+        }
+        return result;
+    }
+
+    static int[] trim(int[] array, int size) {
+        if (array.length == size) {
+            return array;
+        }
+        int[] result = new int[size];
+        System.arraycopy(array, 0, result, 0, size);
+        return result;
+    }
+
+    static double[] trim(double[] array, int size) {
+        if (array.length == size) {
+            return array;
+        }
+        double[] result = new double[size];
+        System.arraycopy(array, 0, result, 0, size);
+        return result;
+    }
+}
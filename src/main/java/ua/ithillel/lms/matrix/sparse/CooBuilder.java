@@ -0,0 +1,162 @@
+package ua.ithillel.lms.matrix.sparse;
+
+import ua.ithillel.lms.matrix.MatrixLogger;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+/**
+ * Builder of sparse matrix from elements in coordinate (COO) format. Elements may be added in any order,
+ * elements with the same row and column are summed, sums equal to 0 are dropped.
+ */
+public class CooBuilder {
+    private final int rowsQuantity;
+    private final int columnsQuantity;
+    private int[] rows;
+    private int[] columns;
+    private double[] values;
+    private int size;
+
+    /**
+     * Creates builder of matrix of given size
+     *
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     */
+    public CooBuilder(int rowsQuantity, int columnsQuantity) {
+        if (rowsQuantity <= 0) {
+            MatrixLogger.warn("Invalid rows quantity of matrix. Matrix will have 1 row (default value)");
+            rowsQuantity = 1;
+        }
+        if (columnsQuantity <= 0) {
+            MatrixLogger.warn("Invalid columns quantity of matrix. Matrix will have 1 row (default value)");
+            columnsQuantity = 1;
+        }
+        this.rowsQuantity = rowsQuantity;
+        this.columnsQuantity = columnsQuantity;
+        this.rows = new int[16];
+        this.columns = new int[16];
+        this.values = new double[16];
+    }
+
+    /**
+     * Adds element to matrix
+     *
+     * @param rn    number of row (from 0)
+     * @param cn    number of column (from 0)
+     * @param value value of element, which is added to value added before for the same row and column
+     * @return CooBuilder this builder
+     * @throws MatrixException when row or column is absent in matrix
+     */
+    public CooBuilder add(int rn, int cn, double value) throws MatrixException {
+        if (rn < 0 || rn > rowsQuantity - 1) {
+            String message = "Row#" + (rn + 1) + " is absent in matrix. Element will not be added.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        if (cn < 0 || cn > columnsQuantity - 1) {
+            String message = "Column#" + (cn + 1) + " is absent in matrix. Element will not be added.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+        put(rn, cn, value);
+        return this;
+    }
+
+    /**
+     * Returns quantity of added elements (including elements with the same row and column)
+     *
+     * @return int quantity of added elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Builds matrix in CSR format
+     *
+     * @return CsrMatrix sparse matrix
+     */
+    public CsrMatrix buildCsr() {
+        return new CsrMatrix(rowsQuantity, columnsQuantity, compress(rows, columns, rowsQuantity, columnsQuantity));
+    }
+
+    /**
+     * Builds matrix in CSC format
+     *
+     * @return CscMatrix sparse matrix
+     */
+    public CscMatrix buildCsc() {
+        return new CscMatrix(rowsQuantity, columnsQuantity, compress(columns, rows, columnsQuantity, rowsQuantity));
+    }
+
+    void put(int rn, int cn, double value) {
+        if (size == values.length) {
+            int capacity = size * 2;
+            int[] newRows = new int[capacity];
+            int[] newColumns = new int[capacity];
+            double[] newValues = new double[capacity];
+            System.arraycopy(rows, 0, newRows, 0, size);
+            System.arraycopy(columns, 0, newColumns, 0, size);
+            System.arraycopy(values, 0, newValues, 0, size);
+            rows = newRows;
+            columns = newColumns;
+            values = newValues;
+        }
+        rows[size] = rn;
+        columns[size] = cn;
+        values[size] = value;
+        size++;
+    }
+
+    /**
+     * Sorts elements by line and index with two stable counting sorts, then sums duplicates
+     */
+    private Compressed compress(int[] lines, int[] indexes, int linesQuantity, int indexesQuantity) {
+        int[] byIndex = countingSort(indexes, identity(size), indexesQuantity);
+        int[] order = countingSort(lines, byIndex, linesQuantity);
+        int[] pointers = new int[linesQuantity + 1];
+        int[] resultIndexes = new int[size];
+        double[] resultValues = new double[size];
+        int count = 0;
+        int p = 0;
+        for (int line = 0; line < linesQuantity; line++) {
+            while (p < size && lines[order[p]] == line) {
+                int index = indexes[order[p]];
+                double value = 0;
+                while (p < size && lines[order[p]] == line && indexes[order[p]] == index) {
+                    value += values[order[p]];
+                    p++;
+                }
+                if (value != 0) {
+                    resultIndexes[count] = index;
+                    resultValues[count] = value;
+                    count++;
+                }
+            }
+            pointers[line + 1] = count;
+        }
+        return new Compressed(pointers, Compressed.trim(resultIndexes, count), Compressed.trim(resultValues, count));
+    }
+
+    private static int[] identity(int size) {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+
+    private int[] countingSort(int[] keys, int[] order, int keysQuantity) {
+        int[] counts = new int[keysQuantity + 1];
+        for (int i = 0; i < size; i++) {
+            counts[keys[order[i]] + 1]++;
+        }
+        for (int i = 0; i < keysQuantity; i++) {
+            counts[i + 1] += counts[i];
+        }
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[counts[keys[order[i]]]++] = order[i];
+        }
+        return result;
+    }
+}
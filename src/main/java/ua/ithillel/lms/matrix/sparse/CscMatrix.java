@@ -0,0 +1,135 @@
+package ua.ithillel.lms.matrix.sparse;
+
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+/**
+ * Sparse matrix in compressed sparse column (CSC) format. Column j keeps its elements from columnPointers[j]
+ * (inclusive) to columnPointers[j + 1] (exclusive) of arrays of row indexes and values.
+ */
+public class CscMatrix extends SparseMatrix {
+    private final Compressed columns;
+
+    CscMatrix(int rowsQuantity, int columnsQuantity, Compressed columns) {
+        super(rowsQuantity, columnsQuantity);
+        this.columns = columns;
+    }
+
+    @Override
+    public int getNonZerosQuantity() {
+        return columns.nonZerosQuantity();
+    }
+
+    @Override
+    public double get(int rn, int cn) {
+        return columns.find(cn, rn);
+    }
+
+    @Override
+    public Matrix mul(Matrix right) throws MatrixException {
+        checkMulSize(right.getRowsQuantity());
+        int resultColumns = right.getColumnsQuantity();
+        double[] b = toRowMajor(right);
+        double[] c = new double[rowsQuantity * resultColumns];
+        for (int k = 0; k < columnsQuantity; k++) {
+            int bk = k * resultColumns;
+            for (int p = columns.pointers[k]; p < columns.pointers[k + 1]; p++) {
+                double value = columns.values[p];
+                int ci = columns.indexes[p] * resultColumns;
+                for (int j = 0; j < resultColumns; j++) {
+                    c[ci + j] += value * b[bk + j];
+                }
+            }
+        }
+        return dense(rowsQuantity, resultColumns, c);
+    }
+
+    @Override
+    public double[] mul(double[] vector) throws MatrixException {
+        checkMulSize(vector.length);
+        double[] result = new double[rowsQuantity];
+        for (int j = 0; j < columnsQuantity; j++) {
+            double x = vector[j];
+            if (x != 0) {
+                for (int p = columns.pointers[j]; p < columns.pointers[j + 1]; p++) {
+                    result[columns.indexes[p]] += columns.values[p] * x;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public CsrMatrix transpose() {
+        return new CsrMatrix(columnsQuantity, rowsQuantity, columns);
+    }
+
+    @Override
+    public CscMatrix add(SparseMatrix right) throws MatrixException {
+        checkAddSize(right);
+        return new CscMatrix(rowsQuantity, columnsQuantity, columns.add(right.toCsc().columns));
+    }
+
+    @Override
+    public CsrMatrix toCsr() {
+        return new CsrMatrix(rowsQuantity, columnsQuantity, columns.swap(rowsQuantity));
+    }
+
+    @Override
+    public CscMatrix toCsc() {
+        return this;
+    }
+
+    @Override
+    public double mNorm() {
+        return columns.maxIndexSum(rowsQuantity);
+    }
+
+    @Override
+    public double lNorm() {
+        return columns.maxLineSum();
+    }
+
+    @Override
+    public Matrix toMatrix() {
+        double[] data = new double[rowsQuantity * columnsQuantity];
+        for (int j = 0; j < columnsQuantity; j++) {
+            for (int p = columns.pointers[j]; p < columns.pointers[j + 1]; p++) {
+                data[columns.indexes[p] * columnsQuantity + j] = columns.values[p];
+            }
+        }
+        return dense(rowsQuantity, columnsQuantity, data);
+    }
+
+    /**
+     * Returns copy of column pointers
+     *
+     * @return int[] columns quantity + 1 pointers
+     */
+    public int[] getColumnPointers() {
+        return columns.pointers.clone();
+    }
+
+    /**
+     * Returns copy of row indexes of non-zero elements
+     *
+     * @return int[] row indexes
+     */
+    public int[] getRowIndexes() {
+        return columns.indexes.clone();
+    }
+
+    /**
+     * Returns copy of values of non-zero elements
+     *
+     * @return double[] values
+     */
+    public double[] getValues() {
+        return columns.values.clone();
+    }
+
+    @Override
+    Compressed compressed() {
+        return columns;
+    }
+}
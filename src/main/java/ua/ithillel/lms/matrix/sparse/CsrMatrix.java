@@ -0,0 +1,134 @@
+package ua.ithillel.lms.matrix.sparse;
+
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+/**
+ * Sparse matrix in compressed sparse row (CSR) format. Row i keeps its elements from rowPointers[i] (inclusive)
+ * to rowPointers[i + 1] (exclusive) of arrays of column indexes and values.
+ */
+public class CsrMatrix extends SparseMatrix {
+    private final Compressed rows;
+
+    CsrMatrix(int rowsQuantity, int columnsQuantity, Compressed rows) {
+        super(rowsQuantity, columnsQuantity);
+        this.rows = rows;
+    }
+
+    @Override
+    public int getNonZerosQuantity() {
+        return rows.nonZerosQuantity();
+    }
+
+    @Override
+    public double get(int rn, int cn) {
+        return rows.find(rn, cn);
+    }
+
+    @Override
+    public Matrix mul(Matrix right) throws MatrixException {
+        checkMulSize(right.getRowsQuantity());
+        int columns = right.getColumnsQuantity();
+        double[] b = toRowMajor(right);
+        double[] c = new double[rowsQuantity * columns];
+        for (int i = 0; i < rowsQuantity; i++) {
+            int ci = i * columns;
+            for (int p = rows.pointers[i]; p < rows.pointers[i + 1]; p++) {
+                double value = rows.values[p];
+                int bk = rows.indexes[p] * columns;
+                for (int j = 0; j < columns; j++) {
+                    c[ci + j] += value * b[bk + j];
+                }
+            }
+        }
+        return dense(rowsQuantity, columns, c);
+    }
+
+    @Override
+    public double[] mul(double[] vector) throws MatrixException {
+        checkMulSize(vector.length);
+        double[] result = new double[rowsQuantity];
+        for (int i = 0; i < rowsQuantity; i++) {
+            double S = 0;
+            for (int p = rows.pointers[i]; p < rows.pointers[i + 1]; p++) {
+                S += rows.values[p] * vector[rows.indexes[p]];
+            }
+            result[i] = S;
+        }
+        return result;
+    }
+
+    @Override
+    public CscMatrix transpose() {
+        return new CscMatrix(columnsQuantity, rowsQuantity, rows);
+    }
+
+    @Override
+    public CsrMatrix add(SparseMatrix right) throws MatrixException {
+        checkAddSize(right);
+        return new CsrMatrix(rowsQuantity, columnsQuantity, rows.add(right.toCsr().rows));
+    }
+
+    @Override
+    public CsrMatrix toCsr() {
+        return this;
+    }
+
+    @Override
+    public CscMatrix toCsc() {
+        return new CscMatrix(rowsQuantity, columnsQuantity, rows.swap(columnsQuantity));
+    }
+
+    @Override
+    public double mNorm() {
+        return rows.maxLineSum();
+    }
+
+    @Override
+    public double lNorm() {
+        return rows.maxIndexSum(columnsQuantity);
+    }
+
+    @Override
+    public Matrix toMatrix() {
+        double[] data = new double[rowsQuantity * columnsQuantity];
+        for (int i = 0; i < rowsQuantity; i++) {
+            for (int p = rows.pointers[i]; p < rows.pointers[i + 1]; p++) {
+                data[i * columnsQuantity + rows.indexes[p]] = rows.values[p];
+            }
+        }
+        return dense(rowsQuantity, columnsQuantity, data);
+    }
+
+    /**
+     * Returns copy of row pointers
+     *
+     * @return int[] rows quantity + 1 pointers
+     */
+    public int[] getRowPointers() {
+        return rows.pointers.clone();
+    }
+
+    /**
+     * Returns copy of column indexes of non-zero elements
+     *
+     * @return int[] column indexes
+     */
+    public int[] getColumnIndexes() {
+        return rows.indexes.clone();
+    }
+
+    /**
+     * Returns copy of values of non-zero elements
+     *
+     * @return double[] values
+     */
+    public double[] getValues() {
+        return rows.values.clone();
+    }
+
+    @Override
+    Compressed compressed() {
+        return rows;
+    }
+}
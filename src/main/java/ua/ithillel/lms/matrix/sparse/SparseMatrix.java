@@ -0,0 +1,211 @@
+package ua.ithillel.lms.matrix.sparse;
+
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.MatrixLogger;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+/**
+ * Sparse matrix, which keeps only non-zero elements. Memory and time of operations depend on quantity
+ * of non-zero elements, not on rows quantity x columns quantity. Sparse matrices are immutable.
+ * Build them by {@link CooBuilder} or convert dense Matrix by {@link #fromMatrix(Matrix)}.
+ */
+public abstract class SparseMatrix {
+    final int rowsQuantity;
+    final int columnsQuantity;
+
+    SparseMatrix(int rowsQuantity, int columnsQuantity) {
+        this.rowsQuantity = rowsQuantity;
+        this.columnsQuantity = columnsQuantity;
+    }
+
+    /**
+     * Converts dense Matrix to sparse one in CSR format. Elements equal to 0 are dropped.
+     *
+     * @param matrix dense Matrix
+     * @return CsrMatrix sparse matrix
+     */
+    public static CsrMatrix fromMatrix(Matrix matrix) {
+        CooBuilder builder = new CooBuilder(matrix.getRowsQuantity(), matrix.getColumnsQuantity());
+        for (int i = 0; i < matrix.getRowsQuantity(); i++) {
+            for (int j = 0; j < matrix.getColumnsQuantity(); j++) {
+                double value = matrix.get(i, j);
+                if (value != 0) {
+                    builder.put(i, j, value);
+                }
+            }
+        }
+        return builder.buildCsr();
+    }
+
+    /**
+     * Converts elements of dense matrix, which are kept row by row in array, to sparse matrix in CSR format.
+     * Elements equal to 0 are dropped.
+     *
+     * @param rowsQuantity    rows quantity
+     * @param columnsQuantity columns quantity
+     * @param data            array of rowsQuantity * columnsQuantity elements, element (rn, cn) is
+     *                        data[rn * columnsQuantity + cn]
+     * @return CsrMatrix sparse matrix
+     */
+    public static CsrMatrix fromRowMajor(int rowsQuantity, int columnsQuantity, double[] data) {
+        CooBuilder builder = new CooBuilder(rowsQuantity, columnsQuantity);
+        for (int i = 0; i < rowsQuantity; i++) {
+            for (int j = 0; j < columnsQuantity; j++) {
+                double value = data[i * columnsQuantity + j];
+                if (value != 0) {
+                    builder.put(i, j, value);
+                }
+            }
+        }
+        return builder.buildCsr();
+    }
+
+    public int getRowsQuantity() {
+        return rowsQuantity;
+    }
+
+    public int getColumnsQuantity() {
+        return columnsQuantity;
+    }
+
+    /**
+     * Returns quantity of kept (non-zero) elements
+     *
+     * @return int quantity of non-zero elements
+     */
+    public abstract int getNonZerosQuantity();
+
+    /**
+     * Returns element, which row is rn (from 0) and column is cn (from 0)
+     *
+     * @param rn number of row (from 0)
+     * @param cn number of column (from 0)
+     * @return double element of matrix
+     */
+    public abstract double get(int rn, int cn);
+
+    /**
+     * Multiplies this sparse matrix, which is left, to the dense right one
+     *
+     * @param right right operand of multiplication operation
+     * @return Matrix dense product
+     * @throws MatrixException when the columns number in left matrix does not equal to the rows number in right
+     *                         matrix
+     */
+    public abstract Matrix mul(Matrix right) throws MatrixException;
+
+    /**
+     * Multiplies this sparse matrix to vector
+     *
+     * @param vector vector, which length is equal to columns quantity
+     * @return double[] product, which length is equal to rows quantity
+     * @throws MatrixException when length of vector does not equal to columns quantity
+     */
+    public abstract double[] mul(double[] vector) throws MatrixException;
+
+    /**
+     * Transposes sparse matrix. Elements are not copied, CSR matrix becomes CSC one and vice versa.
+     *
+     * @return SparseMatrix transposed
+     */
+    public abstract SparseMatrix transpose();
+
+    /**
+     * Adds right sparse matrix to this one
+     *
+     * @param right right operand of addition
+     * @return SparseMatrix sum in format of this matrix
+     * @throws MatrixException when matrices have different rows and/or columns quantity
+     */
+    public abstract SparseMatrix add(SparseMatrix right) throws MatrixException;
+
+    /**
+     * Converts matrix to CSR format
+     *
+     * @return CsrMatrix the same matrix in CSR format
+     */
+    public abstract CsrMatrix toCsr();
+
+    /**
+     * Converts matrix to CSC format
+     *
+     * @return CscMatrix the same matrix in CSC format
+     */
+    public abstract CscMatrix toCsc();
+
+    /**
+     * Calculates m-norm (maximal sum of absolute values in row)
+     *
+     * @return double m-norm of matrix
+     */
+    public abstract double mNorm();
+
+    /**
+     * Calculates l-norm (maximal sum of absolute values in column)
+     *
+     * @return double l-norm of matrix
+     */
+    public abstract double lNorm();
+
+    /**
+     * Calculates k-norm (square root of sum of squares of elements)
+     *
+     * @return double k-norm of matrix
+     */
+    public double kNorm() {
+        double S = 0;
+        for (double value : compressed().values) {
+            S = S + value * value;
+        }
+        return Math.sqrt(S);
+    }
+
+    /**
+     * Converts sparse matrix to dense one
+     *
+     * @return Matrix dense matrix in FLAT layout
+     */
+    public abstract Matrix toMatrix();
+
+    abstract Compressed compressed();
+
+    void checkMulSize(int rightRowsQuantity) throws MatrixException {
+        if (columnsQuantity != rightRowsQuantity) {
+            String message = "Unable to multiply matrices, because of count of left matrix columns is " +
+                    columnsQuantity + " and count of right matrix rows is " + rightRowsQuantity +
+                    ". They are non-equal.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+    }
+
+    void checkAddSize(SparseMatrix right) throws MatrixException {
+        if (rowsQuantity != right.rowsQuantity || columnsQuantity != right.columnsQuantity) {
+            String message = "Unable to add matrices which have different rows and/or columns quantity.";
+            MatrixLogger.error(message);
+            throw new MatrixException(message);
+        }
+    }
+
+    static double[] toRowMajor(Matrix matrix) {
+        int columns = matrix.getColumnsQuantity();
+        double[] data = new double[matrix.getRowsQuantity() * columns];
+        for (int i = 0; i < matrix.getRowsQuantity(); i++) {
+            for (int j = 0; j < columns; j++) {
+                data[i * columns + j] = matrix.get(i, j);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Creates dense Matrix, which owns array data with elements stored row by row
+     */
+    static Matrix dense(int rowsQuantity, int columnsQuantity, double[] data) {
+        try {
+            return Matrix.fromRowMajor(rowsQuantity, columnsQuantity, data);
+        } catch (MatrixException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
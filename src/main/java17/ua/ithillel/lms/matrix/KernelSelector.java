@@ -0,0 +1,34 @@
+package ua.ithillel.lms.matrix;
+
+/**
+ * Chooses implementation of element-wise kernels on Java 17 and newer. Kernels of Java Vector API are used,
+ * when module jdk.incubator.vector is added to runtime (--add-modules jdk.incubator.vector) and system property
+ * {@value ElementWiseKernel#KERNEL_PROPERTY} is not "scalar". Otherwise scalar kernels are used.
+ */
+final class KernelSelector {
+    static final String VECTOR_KERNEL = "ua.ithillel.lms.matrix.VectorKernel";
+
+    private KernelSelector() {
+    }
+
+    static ElementWiseKernel select() {
+        String name = System.getProperty(ElementWiseKernel.KERNEL_PROPERTY, "vector").trim();
+        if ("scalar".equalsIgnoreCase(name)) {
+            return new ScalarKernel();
+        }
+        if (!"vector".equalsIgnoreCase(name)) {
+            MatrixLogger.warn(() -> "Unknown kernel " + name + ". Scalar kernel will be used.");
+            return new ScalarKernel();
+        }
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            MatrixLogger.info("Module jdk.incubator.vector is not added to runtime. Scalar kernel will be used.");
+            return new ScalarKernel();
+        }
+        try {
+            return (ElementWiseKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            MatrixLogger.warn(() -> "Unable to load vector kernel: " + e + ". Scalar kernel will be used.");
+            return new ScalarKernel();
+        }
+    }
+}
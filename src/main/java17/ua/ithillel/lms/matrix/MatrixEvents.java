@@ -0,0 +1,89 @@
+package ua.ithillel.lms.matrix;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Publishes measurements of operations as JDK Flight Recorder events "ua.ithillel.lms.matrix.Operation" on Java 17
+ * and newer. Events are committed, while recording is running, e.g. started by -XX:StartFlightRecording, and may be
+ * switched off by setting ua.ithillel.lms.matrix.Operation#enabled=false of recording. JFR classes are touched only
+ * when module jdk.jfr is present in runtime, so runtime without it publishes nothing.
+ */
+final class MatrixEvents {
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private MatrixEvents() {
+    }
+
+    static boolean isEnabled() {
+        return AVAILABLE && Recorder.TYPE.isEnabled();
+    }
+
+    static void commit(MatrixOperation operation, int rowsQuantity, int columnsQuantity, long nanos, long flops,
+                       long bytes, int temporaries) {
+        if (AVAILABLE) {
+            Recorder.commit(operation, rowsQuantity, columnsQuantity, nanos, flops, bytes, temporaries);
+        }
+    }
+
+    /**
+     * Holder of JFR classes, which is loaded only when module jdk.jfr is present
+     */
+    private static final class Recorder {
+        private static final EventType TYPE = EventType.getEventType(OperationEvent.class);
+
+        private static void commit(MatrixOperation operation, int rowsQuantity, int columnsQuantity, long nanos,
+                                   long flops, long bytes, int temporaries) {
+            OperationEvent event = new OperationEvent();
+            if (!event.isEnabled()) {
+                return;
+            }
+            event.operation = operation.name();
+            event.rowsQuantity = rowsQuantity;
+            event.columnsQuantity = columnsQuantity;
+            event.latency = nanos;
+            event.flops = flops;
+            event.bytes = bytes;
+            event.temporaries = temporaries;
+            event.commit();
+        }
+    }
+
+    @Name("ua.ithillel.lms.matrix.Operation")
+    @Label("Matrix Operation")
+    @Category({"Matrix"})
+    @Description("Operation of ua.ithillel.lms.matrix.Matrix")
+    @StackTrace(false)
+    static final class OperationEvent extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Rows")
+        int rowsQuantity;
+
+        @Label("Columns")
+        int columnsQuantity;
+
+        @Label("Latency")
+        @Timespan(Timespan.NANOSECONDS)
+        long latency;
+
+        @Label("Estimated FLOPs")
+        long flops;
+
+        @Label("Estimated Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Temporaries")
+        @Description("Arrays allocated besides ones borrowed from workspace")
+        int temporaries;
+    }
+}
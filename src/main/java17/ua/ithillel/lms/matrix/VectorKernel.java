@@ -0,0 +1,119 @@
+package ua.ithillel.lms.matrix;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Element-wise kernels of Java Vector API. Loops process the widest vectors, which CPU supports
+ * (4 doubles with AVX2, 8 doubles with AVX-512), and the rest of elements one by one.
+ */
+class VectorKernel extends ElementWiseKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    String name() {
+        return "vector" + SPECIES.length();
+    }
+
+    @Override
+    void add(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, a, aOffset + i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, b, bOffset + i);
+            x.add(y).intoArray(c, cOffset + i);
+        }
+        for (; i < length; i++) {
+            c[cOffset + i] = a[aOffset + i] + b[bOffset + i];
+        }
+    }
+
+    @Override
+    void sub(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, a, aOffset + i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, b, bOffset + i);
+            x.sub(y).intoArray(c, cOffset + i);
+        }
+        for (; i < length; i++) {
+            c[cOffset + i] = a[aOffset + i] - b[bOffset + i];
+        }
+    }
+
+    @Override
+    void scale(double[] a, int aOffset, double number, double[] c, int cOffset, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, aOffset + i).mul(number).intoArray(c, cOffset + i);
+        }
+        for (; i < length; i++) {
+            c[cOffset + i] = a[aOffset + i] * number;
+        }
+    }
+
+    @Override
+    void abs(double[] a, int aOffset, double[] c, int cOffset, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, aOffset + i).abs().intoArray(c, cOffset + i);
+        }
+        for (; i < length; i++) {
+            c[cOffset + i] = Math.abs(a[aOffset + i]);
+        }
+    }
+
+    @Override
+    double sumOfSquares(double[] a, int offset, int length) {
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, a, offset + i);
+            sums = x.fma(x, sums);
+        }
+        double S = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            double element = a[offset + i];
+            S = S + element * element;
+        }
+        return S;
+    }
+
+    @Override
+    void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        int i = 0;
+        DoubleVector factor = DoubleVector.broadcast(SPECIES, alpha);
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector value = DoubleVector.fromArray(SPECIES, x, xOffset + i);
+            value.fma(factor, DoubleVector.fromArray(SPECIES, y, yOffset + i)).intoArray(y, yOffset + i);
+        }
+        for (; i < length; i++) {
+            y[yOffset + i] += alpha * x[xOffset + i];
+        }
+    }
+
+    @Override
+    void axpy4(double alpha0, double alpha1, double alpha2, double alpha3, double[] x, int xOffset,
+               double[] y, int y0, int y1, int y2, int y3, int length) {
+        DoubleVector factor0 = DoubleVector.broadcast(SPECIES, alpha0);
+        DoubleVector factor1 = DoubleVector.broadcast(SPECIES, alpha1);
+        DoubleVector factor2 = DoubleVector.broadcast(SPECIES, alpha2);
+        DoubleVector factor3 = DoubleVector.broadcast(SPECIES, alpha3);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector value = DoubleVector.fromArray(SPECIES, x, xOffset + i);
+            value.fma(factor0, DoubleVector.fromArray(SPECIES, y, y0 + i)).intoArray(y, y0 + i);
+            value.fma(factor1, DoubleVector.fromArray(SPECIES, y, y1 + i)).intoArray(y, y1 + i);
+            value.fma(factor2, DoubleVector.fromArray(SPECIES, y, y2 + i)).intoArray(y, y2 + i);
+            value.fma(factor3, DoubleVector.fromArray(SPECIES, y, y3 + i)).intoArray(y, y3 + i);
+        }
+        for (; i < length; i++) {
+            double value = x[xOffset + i];
+            y[y0 + i] += alpha0 * value;
+            y[y1 + i] += alpha1 * value;
+            y[y2 + i] += alpha2 * value;
+            y[y3 + i] += alpha3 * value;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+public class ElementWiseKernelTest extends TestCase {
+    private static final double DELTA = 1e-12;
+    private static final int LENGTH = 37;
+
+    private static double[] random(int length, long seed) {
+        Random random = new Random(seed);
+        double[] a = new double[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = random.nextDouble() - 0.5;
+        }
+        return a;
+    }
+
+    private static void assertArrayClose(double[] expected, double[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("element#" + i, expected[i], actual[i], DELTA);
+        }
+    }
+
+    public void testKernelIsSelected() {
+        assertNotNull(ElementWiseKernel.INSTANCE);
+        assertNotNull(ElementWiseKernel.INSTANCE.name());
+    }
+
+    public void testKernelsRespectOffsetsAndTail() {
+        ElementWiseKernel kernel = ElementWiseKernel.INSTANCE;
+        double[] a = random(LENGTH + 3, 1);
+        double[] b = random(LENGTH + 5, 2);
+        for (int length : new int[]{0, 1, 3, 4, 7, 8, LENGTH}) {
+            double[] c = new double[LENGTH + 2];
+            double[] expected = new double[LENGTH + 2];
+            kernel.add(a, 3, b, 5, c, 2, length);
+            for (int i = 0; i < length; i++) {
+                expected[2 + i] = a[3 + i] + b[5 + i];
+            }
+            assertArrayClose(expected, c);
+
+            kernel.sub(a, 3, b, 5, c, 2, length);
+            for (int i = 0; i < length; i++) {
+                expected[2 + i] = a[3 + i] - b[5 + i];
+            }
+            assertArrayClose(expected, c);
+
+            kernel.scale(a, 3, -1.5, c, 2, length);
+            for (int i = 0; i < length; i++) {
+                expected[2 + i] = a[3 + i] * -1.5;
+            }
+            assertArrayClose(expected, c);
+
+            kernel.abs(a, 3, c, 2, length);
+            for (int i = 0; i < length; i++) {
+                expected[2 + i] = Math.abs(a[3 + i]);
+            }
+            assertArrayClose(expected, c);
+
+            double sum = 0;
+            for (int i = 0; i < length; i++) {
+                sum += a[3 + i] * a[3 + i];
+            }
+            assertEquals(sum, kernel.sumOfSquares(a, 3, length), DELTA);
+        }
+    }
+
+    public void testAxpyKernels() {
+        ElementWiseKernel kernel = ElementWiseKernel.INSTANCE;
+        double[] x = random(LENGTH + 1, 3);
+        double[] y = random(4 * LENGTH, 4);
+        double[] expected = y.clone();
+        kernel.axpy(2, x, 1, y, 0, LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            expected[i] += 2 * x[1 + i];
+        }
+        assertArrayClose(expected, y);
+
+        kernel.axpy4(1, -1, 0.5, 3, x, 1, y, 0, LENGTH, 2 * LENGTH, 3 * LENGTH, LENGTH);
+        double[] alpha = {1, -1, 0.5, 3};
+        for (int r = 0; r < 4; r++) {
+            for (int i = 0; i < LENGTH; i++) {
+                expected[r * LENGTH + i] += alpha[r] * x[1 + i];
+            }
+        }
+        assertArrayClose(expected, y);
+    }
+
+    public void testSelectedKernelMatchesScalarKernel() {
+        ElementWiseKernel scalar = new ScalarKernel();
+        double[] a = random(LENGTH, 5);
+        double[] b = random(LENGTH, 6);
+        double[] expected = new double[LENGTH];
+        double[] actual = new double[LENGTH];
+        scalar.add(a, 0, b, 0, expected, 0, LENGTH);
+        ElementWiseKernel.INSTANCE.add(a, 0, b, 0, actual, 0, LENGTH);
+        assertArrayClose(expected, actual);
+        assertEquals(scalar.sumOfSquares(a, 0, LENGTH), ElementWiseKernel.INSTANCE.sumOfSquares(a, 0, LENGTH),
+                DELTA);
+    }
+}
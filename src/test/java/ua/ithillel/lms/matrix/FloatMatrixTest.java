@@ -0,0 +1,119 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class FloatMatrixTest extends TestCase {
+    private static final float DELTA = 1e-4f;
+
+    private static void assertClose(Matrix expected, FloatMatrix actual) {
+        assertEquals(expected.getRowsQuantity(), actual.getRowsQuantity());
+        assertEquals(expected.getColumnsQuantity(), actual.getColumnsQuantity());
+        for (int i = 0; i < expected.getRowsQuantity(); i++) {
+            for (int j = 0; j < expected.getColumnsQuantity(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), DELTA);
+            }
+        }
+    }
+
+    public void testConversionKeepsElements() {
+        Matrix dense = MatrixInverseTest.randomMatrix(4, 3, 1, MatrixLayout.ARRAY);
+        FloatMatrix f = FloatMatrix.fromMatrix(dense);
+        assertClose(dense, f);
+        assertClose(f.toMatrix(), f);
+        assertEquals(MatrixLayout.FLAT, f.toMatrix(MatrixLayout.FLAT).getLayout());
+    }
+
+    public void testOperationsMatchDoubleMatrix() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(6, 6, 2, MatrixLayout.ARRAY);
+        Matrix b = MatrixInverseTest.randomMatrix(6, 6, 3, MatrixLayout.ARRAY);
+        FloatMatrix fa = FloatMatrix.fromMatrix(a);
+        FloatMatrix fb = FloatMatrix.fromMatrix(b);
+        assertClose(a.add(b), fa.add(fb));
+        assertClose(a.sub(b), fa.sub(fb));
+        assertClose(a.mul(b), fa.mul(fb));
+        assertClose(a.mul(b), fa.mul(fb, ExecutionMode.PARALLEL));
+        assertClose(a.mulByNumber(2.5), fa.mulByNumber(2.5f));
+        assertClose(a.divByNumber(4), fa.divByNumber(4));
+        assertClose(a.abs(), fa.abs());
+        assertClose(a.transpose(), fa.transpose());
+        assertEquals(a.mNorm(), fa.mNorm(), DELTA);
+        assertEquals(a.lNorm(), fa.lNorm(), DELTA);
+        assertEquals(a.kNorm(), fa.kNorm(), DELTA);
+    }
+
+    public void testDetAndInverse() throws MatrixException {
+        FloatMatrix a = new FloatMatrix(new float[][]{{0, 2, 1}, {1, 1, 1}, {2, 1, 3}});
+        assertEquals(-3, a.det(), DELTA);
+        assertClose(new Matrix(new double[][]{{0, 2, 1}, {1, 1, 1}, {2, 1, 3}}).inv(), a.inv());
+        assertTrue(a.mul(a.inv()).isLeftEqual(a.identity()));
+    }
+
+    public void testResolveSLAE() throws MatrixException {
+        FloatMatrix x = FloatMatrix.resolveSLAE(new FloatMatrix(new float[][]{{0, 2, 1, 7}, {1, 1, 1, 6},
+                {2, 1, 3, 13}}));
+        assertClose(new Matrix(new double[][]{{1}, {2}, {3}}), x);
+        FloatMatrix a = new FloatMatrix(new float[][]{{0, 2, 1}, {1, 1, 1}, {2, 1, 3}});
+        FloatMatrix b = new FloatMatrix(new float[][]{{7, 1}, {6, 1}, {13, 3}});
+        assertClose(new Matrix(new double[][]{{1, 0}, {2, 0}, {3, 1}}), FloatMatrix.resolveSLAE(a, b));
+    }
+
+    public void testResolveSLAEReportsShapeOfAugmentedMatrix() {
+        try {
+            FloatMatrix.resolveSLAE(new FloatMatrix(new float[][]{{1, 2}, {3, 4}}));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("2 x 2"));
+        }
+        try {
+            FloatMatrix.resolveSLAE(new FloatMatrix(new float[][]{{1, 2, 3, 4}, {5, 6, 7, 8}}));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("2 x 4"));
+        }
+    }
+
+    public void testSingularMatrix() {
+        FloatMatrix a = new FloatMatrix(new float[][]{{1, 2}, {2, 4}});
+        try {
+            a.inv();
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            FloatMatrix.resolveSLAE(a, new FloatMatrix(new float[][]{{1}, {2}}));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testSingularityDoesNotDependOnScale() throws MatrixException {
+        FloatMatrix a = new FloatMatrix(new float[][]{{1e-9f, 0}, {0, 1e10f}});
+        FloatMatrix inv = a.inv();
+        assertEquals(1e9, inv.get(0, 0), 1e9 * DELTA);
+        assertEquals(1e-10, inv.get(1, 1), 1e-10 * DELTA);
+        try {
+            new FloatMatrix(new float[][]{{1e-6f, 2e-6f}, {2e-6f, 4e-6f}}).inv();
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testWrongSizesAreRejected() {
+        try {
+            new FloatMatrix(2, 3).add(new FloatMatrix(3, 2));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            new FloatMatrix(2, 3).mul(new FloatMatrix(2, 3));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            new FloatMatrix(2, 3).det();
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class LUDecompositionTest extends TestCase {
+    private static final double DELTA = 1e-9;
+
+    public void testDetOfMatrixWithZeroLeadingElementNeedsPivoting() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{0, 2, 1}, {1, 1, 1}, {2, 1, 3}});
+        assertEquals(-3, a.det(), DELTA);
+        assertEquals(-3, a.lu().det(), DELTA);
+    }
+
+    public void testDetOfPermutationMatrix() throws MatrixException {
+        assertEquals(-1, new Matrix(new double[][]{{0, 1}, {1, 0}}).det(), DELTA);
+        assertEquals(1, new Matrix(new double[][]{{0, 1, 0}, {0, 0, 1}, {1, 0, 0}}).det(), DELTA);
+    }
+
+    public void testFactorsReproducePermutedMatrix() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{0, 2, 1}, {1, 1, 1}, {2, 1, 3}});
+        LUDecomposition lu = a.lu();
+        assertEquals(2, lu.getPivot()[0]);
+        assertTrue(lu.getP().mul(a).equals(lu.getL().mul(lu.getU())));
+    }
+
+    public void testInverseOfMatrixWithZeroLeadingElement() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{0, 2, 1}, {1, 1, 1}, {2, 1, 3}});
+        Matrix expected = new Matrix(new double[][]{
+                {-2.0 / 3, 5.0 / 3, -1.0 / 3},
+                {1.0 / 3, 2.0 / 3, -1.0 / 3},
+                {1.0 / 3, -4.0 / 3, 2.0 / 3}});
+        assertTrue(a.inv().equals(expected));
+        assertTrue(a.lu().inverse().equals(expected));
+        assertTrue(a.isInvCorrect());
+    }
+
+    public void testResolveSLAEWithZeroLeadingElement() throws MatrixException {
+        Matrix x = Matrix.resolveSLAE(new double[][]{{0, 2, 1, 7}, {1, 1, 1, 6}, {2, 1, 3, 13}});
+        assertTrue(x.equals(new Matrix(new double[][]{{1}, {2}, {3}})));
+        Matrix a = new Matrix(new double[][]{{0, 2, 1}, {1, 1, 1}, {2, 1, 3}});
+        Matrix b = new Matrix(new double[][]{{7, 1}, {6, 1}, {13, 3}});
+        Matrix expected = new Matrix(new double[][]{{1, 0}, {2, 0}, {3, 1}});
+        assertTrue(Matrix.resolveSLAE(a, b).equals(expected));
+        assertTrue(a.lu().solve(b).equals(expected));
+    }
+
+    public void testSingularMatrix() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}, {7, 8, 9}});
+        assertEquals(0, a.det(), DELTA);
+        assertTrue(a.lu().isSingular());
+        assertEquals(0, new Matrix(new double[][]{{1, 2}, {2, 4}}).det(), DELTA);
+    }
+
+    public void testSingularMatrixHasNoInverse() {
+        Matrix a = new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}, {7, 8, 9}});
+        try {
+            a.inv();
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            new LUDecomposition(a).inverse();
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testSingularSystemIsNotResolved() {
+        try {
+            Matrix.resolveSLAE(new double[][]{{1, 2, 3}, {2, 4, 6}});
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            Matrix.resolveSLAE(new Matrix(new double[][]{{1, 2}, {2, 4}}), new Matrix(new double[][]{{1}, {2}}));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testOneByOneMatrix() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{5}});
+        assertEquals(5, a.det(), DELTA);
+        assertEquals(5, a.lu().det(), DELTA);
+        assertEquals(0.2, a.inv().get(0, 0), DELTA);
+        assertEquals(2, Matrix.resolveSLAE(new double[][]{{5, 10}}).get(0, 0), DELTA);
+    }
+
+    public void testOneByOneZeroMatrixIsSingular() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{0}});
+        assertEquals(0, a.det(), DELTA);
+        assertTrue(a.lu().isSingular());
+        try {
+            a.inv();
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testNonSquareMatrixIsNotFactorized() {
+        try {
+            new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}}).det();
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            new LUDecomposition(new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}}));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
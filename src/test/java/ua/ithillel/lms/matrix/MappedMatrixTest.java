@@ -0,0 +1,123 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+public class MappedMatrixTest extends TestCase {
+    private static final double DELTA = 1e-9;
+
+    private Path directory;
+
+    @Override
+    protected void setUp() throws IOException {
+        directory = Files.createTempDirectory("mapped");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                Files.delete(iterator.next());
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private static void assertClose(Matrix expected, Matrix actual) {
+        for (int i = 0; i < expected.getRowsQuantity(); i++) {
+            for (int j = 0; j < expected.getColumnsQuantity(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), DELTA);
+            }
+        }
+    }
+
+    public void testRoundTripThroughFile() throws IOException, MatrixException {
+        Matrix dense = MatrixInverseTest.randomMatrix(9, 7, 1, MatrixLayout.ARRAY);
+        try (MappedMatrix mapped = MappedMatrix.fromMatrix(dense, directory.resolve("a.bin"))) {
+            assertEquals(9, mapped.getRowsQuantity());
+            assertEquals(7, mapped.getColumnsQuantity());
+            assertEquals(dense.get(3, 4), mapped.get(3, 4), 0);
+            mapped.set(3, 4, 42);
+            assertEquals(42, mapped.get(3, 4), 0);
+            mapped.flush();
+        }
+        try (MappedMatrix reopened = MappedMatrix.open(directory.resolve("a.bin"), 9, 7)) {
+            assertEquals(42, reopened.get(3, 4), 0);
+            assertEquals(dense.get(8, 6), reopened.toMatrix(MatrixLayout.FLAT).get(8, 6), 0);
+        }
+    }
+
+    public void testTiledOperationsMatchDense() throws IOException, MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(11, 13, 2, MatrixLayout.ARRAY);
+        Matrix b = MatrixInverseTest.randomMatrix(13, 5, 3, MatrixLayout.ARRAY);
+        Matrix c = MatrixInverseTest.randomMatrix(11, 13, 4, MatrixLayout.ARRAY);
+        try (MappedMatrix ma = MappedMatrix.fromMatrix(a, directory.resolve("a.bin"));
+             MappedMatrix mb = MappedMatrix.fromMatrix(b, directory.resolve("b.bin"));
+             MappedMatrix mc = MappedMatrix.fromMatrix(c, directory.resolve("c.bin"))) {
+            ma.setTileSize(4);
+            try (MappedMatrix product = ma.mul(mb, directory.resolve("ab.bin"));
+                 MappedMatrix sum = ma.add(mc, directory.resolve("sum.bin"));
+                 MappedMatrix difference = ma.sub(mc, directory.resolve("difference.bin"));
+                 MappedMatrix transposed = ma.transpose(directory.resolve("t.bin"))) {
+                assertClose(a.mul(b), product.toMatrix(MatrixLayout.ARRAY));
+                assertClose(a.add(c), sum.toMatrix(MatrixLayout.ARRAY));
+                assertClose(a.sub(c), difference.toMatrix(MatrixLayout.ARRAY));
+                assertClose(a.transpose(), transposed.toMatrix(MatrixLayout.ARRAY));
+            }
+            assertEquals(a.mNorm(), ma.mNorm(), DELTA);
+            assertEquals(a.lNorm(), ma.lNorm(), DELTA);
+            assertEquals(a.kNorm(), ma.kNorm(), DELTA);
+        }
+    }
+
+    public void testWorkingSetLimitsMappedBands() throws IOException, MatrixException {
+        int columns = 4;
+        long rowBytes = columns * Double.BYTES;
+        Matrix dense = MatrixInverseTest.randomMatrix(40, columns, 5, MatrixLayout.ARRAY);
+        try (MappedMatrix mapped = MappedMatrix.create(directory.resolve("a.bin"), 40, columns, 8 * rowBytes)) {
+            for (int i = 0; i < 40; i++) {
+                for (int j = 0; j < columns; j++) {
+                    mapped.set(i, j, dense.get(i, j));
+                }
+                assertTrue(mapped.getMappedBandsQuantity() <= MappedMatrix.MIN_BANDS);
+            }
+            assertClose(dense, mapped.toMatrix(MatrixLayout.ARRAY));
+            assertTrue(mapped.getMappedBandsQuantity() <= MappedMatrix.MIN_BANDS);
+            mapped.close();
+            assertEquals(0, mapped.getMappedBandsQuantity());
+        }
+        try (MappedMatrix reopened = MappedMatrix.open(directory.resolve("a.bin"), 40, columns)) {
+            assertClose(dense, reopened.toMatrix(MatrixLayout.ARRAY));
+        }
+    }
+
+    public void testShortFileIsRejected() throws IOException, MatrixException {
+        MappedMatrix.create(directory.resolve("a.bin"), 2, 2).close();
+        try {
+            MappedMatrix.open(directory.resolve("a.bin"), 3, 3);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testWrongSizesAreRejected() throws IOException {
+        try {
+            MappedMatrix.create(directory.resolve("a.bin"), 0, 2);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try (MappedMatrix a = MappedMatrix.create(directory.resolve("b.bin"), 2, 3);
+             MappedMatrix b = MappedMatrix.create(directory.resolve("c.bin"), 2, 3)) {
+            a.mul(b, directory.resolve("d.bin"));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
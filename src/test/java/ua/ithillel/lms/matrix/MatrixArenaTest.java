@@ -0,0 +1,116 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MatrixArenaTest extends TestCase {
+
+    public void testOffHeapMatrixTakesPartInOperations() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(6, 6, 1, MatrixLayout.ARRAY);
+        Matrix b = MatrixInverseTest.randomMatrix(6, 6, 2, MatrixLayout.FLAT);
+        try (MatrixArena arena = new MatrixArena()) {
+            Matrix offHeap = arena.copyOf(a);
+            assertTrue(offHeap.equals(a));
+            assertEquals(MatrixLayout.FLAT, offHeap.getLayout());
+            assertTrue(offHeap.add(b).equals(a.add(b)));
+            assertTrue(offHeap.mul(b).equals(a.mul(b)));
+            assertTrue(b.mul(offHeap).equals(b.mul(a)));
+            assertTrue(offHeap.transpose().equals(a.transpose()));
+            assertTrue(offHeap.inv().equals(a.inv()));
+            assertEquals(a.det(), offHeap.det(), 1e-9);
+            assertTrue(offHeap.subMatrix(1, 2, 3, 3).equals(a.subMatrix(1, 2, 3, 3)));
+        }
+    }
+
+    public void testOffHeapMatrixAsDestination() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(5, 5, 3, MatrixLayout.FLAT);
+        Matrix b = MatrixInverseTest.randomMatrix(5, 5, 4, MatrixLayout.FLAT);
+        try (MatrixArena arena = new MatrixArena()) {
+            Matrix dest = arena.allocate(5, 5);
+            assertTrue(a.mulInto(b, dest).equals(a.mul(b)));
+            assertTrue(a.addInto(b, dest).equals(a.add(b)));
+            assertTrue(dest.mulInto(b, dest).equals(a.add(b).mul(b)));
+            assertEquals(25L * Double.BYTES, arena.getAllocatedBytes());
+        }
+    }
+
+    public void testClosedArenaRejectsAccess() throws MatrixException {
+        MatrixArena arena = new MatrixArena();
+        Matrix offHeap = arena.copyOf(new Matrix(new double[][]{{1, 2}, {3, 4}}));
+        Matrix view = offHeap.transposedView();
+        arena.close();
+        arena.close();
+        assertTrue(arena.isClosed());
+        assertEquals(0, arena.getAllocatedBytes());
+        try {
+            offHeap.get(0, 0);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException expected) {
+        }
+        try {
+            view.add(view);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException expected) {
+        }
+        try {
+            arena.allocate(1, 1);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testCloseWhileOtherThreadReads() throws Exception {
+        MatrixArena arena = new MatrixArena();
+        Matrix offHeap = arena.copyOf(MatrixInverseTest.randomMatrix(64, 64, 5, MatrixLayout.FLAT));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                while (true) {
+                    offHeap.kNorm();
+                    offHeap.copy();
+                }
+            } catch (IllegalStateException expected) {
+                // arena is closed
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        reader.start();
+        Thread.sleep(20);
+        arena.close();
+        reader.join(10000);
+        assertFalse(reader.isAlive());
+        assertNull(failure.get());
+    }
+
+    public void testCloseWaitsForAccessInProgress() throws Exception {
+        MatrixArena arena = new MatrixArena();
+        arena.allocate(2, 2);
+        arena.enter();
+        Thread closer = new Thread(arena::close);
+        closer.start();
+        closer.join(100);
+        assertTrue(closer.isAlive());
+        assertTrue(arena.isClosed());
+        assertTrue(arena.getAllocatedBytes() > 0);
+        arena.leave();
+        closer.join(10000);
+        assertFalse(closer.isAlive());
+        assertEquals(0, arena.getAllocatedBytes());
+        try {
+            arena.enter();
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    public void testWrongSizesAreRejected() {
+        try (MatrixArena arena = new MatrixArena()) {
+            arena.allocate(0, 3);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class MatrixBatchTest extends TestCase {
+    private static final double DELTA = 1e-9;
+    private static final int COUNT = 7;
+
+    private static Matrix[] matrices(int rows, int columns, long seed) {
+        Matrix[] result = new Matrix[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            result[i] = MatrixInverseTest.randomMatrix(rows, columns, seed + i, MatrixLayout.FLAT);
+        }
+        return result;
+    }
+
+    private static void assertClose(Matrix expected, Matrix actual) {
+        for (int i = 0; i < expected.getRowsQuantity(); i++) {
+            for (int j = 0; j < expected.getColumnsQuantity(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), DELTA);
+            }
+        }
+    }
+
+    public void testBatchKeepsMatrices() throws MatrixException {
+        Matrix[] m = matrices(3, 2, 1);
+        MatrixBatch batch = MatrixBatch.of(m);
+        assertEquals(COUNT, batch.getCount());
+        assertEquals(3, batch.getRowsQuantity());
+        assertEquals(2, batch.getColumnsQuantity());
+        for (int i = 0; i < COUNT; i++) {
+            assertTrue(batch.getMatrix(i).equals(m[i]));
+        }
+        batch.set(2, 1, 1, 42);
+        assertEquals(42, batch.get(2, 1, 1), 0);
+        batch.setMatrix(2, m[0]);
+        assertTrue(batch.getMatrix(2).equals(m[0]));
+    }
+
+    public void testMulAndTransposeMatchMatrix() throws MatrixException {
+        Matrix[] a = matrices(3, 4, 10);
+        Matrix[] b = matrices(4, 2, 20);
+        MatrixBatch product = MatrixBatch.of(a).mul(MatrixBatch.of(b));
+        MatrixBatch parallel = MatrixBatch.of(a).mul(MatrixBatch.of(b), ExecutionMode.PARALLEL);
+        MatrixBatch transposed = MatrixBatch.of(a).transpose();
+        for (int i = 0; i < COUNT; i++) {
+            assertClose(a[i].mul(b[i]), product.getMatrix(i));
+            assertClose(a[i].mul(b[i]), parallel.getMatrix(i));
+            assertTrue(transposed.getMatrix(i).equals(a[i].transpose()));
+        }
+    }
+
+    public void testDetInvAndSolveOfEverySize() throws MatrixException {
+        for (int n = 1; n <= 6; n++) {
+            Matrix[] a = matrices(n, n, 100 + n);
+            Matrix[] b = matrices(n, 2, 200 + n);
+            MatrixBatch batch = MatrixBatch.of(a);
+            double[] dets = batch.det();
+            MatrixBatch inverts = batch.inv(ExecutionMode.SEQUENTIAL);
+            MatrixBatch solutions = batch.solve(MatrixBatch.of(b));
+            for (int i = 0; i < COUNT; i++) {
+                assertEquals("size " + n, a[i].det(), dets[i], DELTA * Math.abs(a[i].det()));
+                assertClose(a[i].inv(), inverts.getMatrix(i));
+                assertClose(Matrix.resolveSLAE(a[i], b[i]), solutions.getMatrix(i));
+            }
+        }
+    }
+
+    public void testSingularMatrixInBatch() throws MatrixException {
+        for (int n = 2; n <= 5; n++) {
+            Matrix[] a = matrices(n, n, 300 + n);
+            a[3] = new Matrix(n, n);
+            MatrixBatch batch = MatrixBatch.of(a);
+            assertEquals(0, batch.det()[3], 0);
+            try {
+                batch.inv();
+                fail("MatrixException expected");
+            } catch (MatrixException expected) {
+            }
+        }
+    }
+
+    private static boolean isInvertible(Matrix a) {
+        try {
+            a.inv();
+            return true;
+        } catch (MatrixException e) {
+            return false;
+        }
+    }
+
+    private static boolean isBatchInvertible(Matrix a) throws MatrixException {
+        try {
+            MatrixBatch.of(a).inv();
+            return true;
+        } catch (MatrixException e) {
+            return false;
+        }
+    }
+
+    public void testClosedFormAndFactorizedSizesRejectTheSameMatrices() throws MatrixException {
+        for (int n = 4; n <= 5; n++) {
+            Matrix identity = new Matrix(n, n).identity();
+            Matrix small = identity.mulByNumber(1e-3);
+            MatrixBatch batch = MatrixBatch.of(small, small);
+            assertClose(small.inv(), batch.inv().getMatrix(1));
+            assertClose(small.inv(), batch.solve(MatrixBatch.of(identity, identity)).getMatrix(0));
+            for (double scale : new double[]{1e-3, 1e-9, 1e-12, 0}) {
+                Matrix a = identity.mulByNumber(scale);
+                assertEquals(n + " x " + n + " * " + scale, isInvertible(a), isBatchInvertible(a));
+            }
+        }
+    }
+
+    public void testWrongSizesAreRejected() throws MatrixException {
+        try {
+            MatrixBatch.of(new Matrix(2, 2), new Matrix(2, 3));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        MatrixBatch rectangular = MatrixBatch.of(matrices(2, 3, 400));
+        try {
+            rectangular.det();
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            rectangular.mul(rectangular);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            MatrixBatch.of(matrices(2, 2, 500)).solve(new MatrixBatch(COUNT, 3, 1));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class MatrixCacheTest extends TestCase {
+    private static final double DELTA = 1e-9;
+
+    private boolean enabled;
+
+    @Override
+    protected void setUp() {
+        enabled = MatrixMetrics.isEnabled();
+        MatrixMetrics.setEnabled(true);
+    }
+
+    @Override
+    protected void tearDown() {
+        MatrixMetrics.setEnabled(enabled);
+        MatrixMetrics.reset();
+    }
+
+    /**
+     * Returns FLOPs reported by det, which are 0 when determinant was cached
+     */
+    private static long detFlops(Matrix matrix) throws MatrixException {
+        MatrixMetrics.reset();
+        matrix.det();
+        return MatrixMetrics.getStatistics(MatrixOperation.DET).getFlops();
+    }
+
+    public void testDetIsCachedUntilElementsChange() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(6, 6, 1, MatrixLayout.ARRAY);
+        double det = a.det();
+        assertEquals(0, detFlops(a));
+        a.scaleInPlace(2);
+        assertTrue(detFlops(a) > 0);
+        assertEquals(64 * det, a.det(), DELTA * Math.abs(det) * 64);
+        assertEquals(0, detFlops(a));
+        a.absInPlace();
+        assertTrue(detFlops(a) > 0);
+    }
+
+    public void testNormsAreRecalculatedAfterChange() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(5, 4, 2, MatrixLayout.FLAT);
+        double m = a.mNorm();
+        double l = a.lNorm();
+        double k = a.kNorm();
+        a.divByNumberInPlace(2);
+        assertEquals(m / 2, a.mNorm(), DELTA);
+        assertEquals(l / 2, a.lNorm(), DELTA);
+        assertEquals(k / 2, a.kNorm(), DELTA);
+        int hash = a.hashCode();
+        a.addInPlace(a);
+        assertFalse(hash == a.hashCode());
+        assertEquals(k, a.kNorm(), DELTA);
+    }
+
+    public void testWriteThroughViewForgetsCacheOfViewedMatrix() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(6, 6, 3, MatrixLayout.ARRAY);
+        double det = a.det();
+        double k = a.kNorm();
+        a.row(2).scaleInPlace(3);
+        assertTrue(detFlops(a) > 0);
+        assertEquals(3 * det, a.det(), DELTA * Math.abs(det) * 3);
+        a.subMatrix(0, 0, 6, 6).transposedView().scaleInPlace(0);
+        assertEquals(0, a.det(), 0);
+        assertEquals(0, a.kNorm(), 0);
+        assertTrue(k > 0);
+    }
+
+    public void testIntoDestinationForgetsCache() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(5, 5, 4, MatrixLayout.FLAT);
+        Matrix b = MatrixInverseTest.randomMatrix(5, 5, 5, MatrixLayout.FLAT);
+        Matrix dest = a.copy();
+        dest.det();
+        dest.kNorm();
+        a.addInto(b, dest);
+        assertEquals(a.add(b).det(), dest.det(), DELTA);
+        assertEquals(a.add(b).kNorm(), dest.kNorm(), DELTA);
+        a.mulInto(b, dest);
+        assertEquals(a.mul(b).det(), dest.det(), DELTA * Math.abs(dest.det()));
+    }
+
+    public void testWrappedMatrixIsNotCached() throws MatrixException {
+        double[] data = {4, 7, 2, 6};
+        Matrix wrapped = Matrix.wrap(2, 2, data, 0, 2);
+        assertEquals(10, wrapped.det(), DELTA);
+        assertEquals(Math.sqrt(105), wrapped.kNorm(), DELTA);
+        data[0] = 5;
+        assertEquals(16, wrapped.det(), DELTA);
+        assertEquals(Math.sqrt(114), wrapped.kNorm(), DELTA);
+        assertTrue(detFlops(wrapped) > 0);
+    }
+
+    public void testMatrixOwningArrayIsCached() throws MatrixException {
+        Matrix owner = Matrix.fromRowMajor(2, 2, new double[]{4, 7, 2, 6});
+        assertEquals(MatrixLayout.FLAT, owner.getLayout());
+        assertEquals(10, owner.det(), DELTA);
+        assertEquals(0, detFlops(owner));
+        try {
+            Matrix.fromRowMajor(2, 2, new double[3]);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
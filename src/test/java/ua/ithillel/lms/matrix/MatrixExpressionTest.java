@@ -0,0 +1,53 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class MatrixExpressionTest extends TestCase {
+
+    public void testFusedChainIsEqualToStepByStepOperations() throws MatrixException {
+        Matrix f = MatrixInverseTest.randomMatrix(17, 23, 31, MatrixLayout.FLAT);
+        Matrix g = MatrixInverseTest.randomMatrix(17, 23, 32, MatrixLayout.ARRAY);
+        Matrix h = MatrixInverseTest.randomMatrix(17, 23, 33, MatrixLayout.FLAT);
+        Matrix expected = f.add(g).sub(h).mulByNumber(-1.5).abs();
+        Matrix actual = Matrix.expr(f).add(g).sub(h).scale(-1.5).abs().evaluate();
+        assertEquals(expected, actual);
+        assertEquals(MatrixLayout.FLAT, actual.getLayout());
+    }
+
+    public void testTransposeSwapsIndexes() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}});
+        Matrix b = new Matrix(new double[][]{{10, 40}, {20, 50}, {30, 60}});
+        MatrixExpression expression = Matrix.expr(a).transpose().add(b);
+        assertEquals(3, expression.getRowsQuantity());
+        assertEquals(2, expression.getColumnsQuantity());
+        assertEquals(new Matrix(new double[][]{{11, 44}, {22, 55}, {33, 66}}), expression.evaluate());
+    }
+
+    public void testExpressionsAreCombined() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{1, -2}, {3, -4}});
+        Matrix result = Matrix.expr(a).add(Matrix.expr(a).abs()).scale(0.5).evaluate();
+        assertEquals(new Matrix(new double[][]{{1, 0}, {3, 0}}), result);
+    }
+
+    public void testExpressionIsEvaluatedLazily() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{1, 2}});
+        MatrixExpression expression = Matrix.expr(a).scale(2);
+        a.setMatrix(new double[][]{{3, 4}});
+        assertEquals(new Matrix(new double[][]{{6, 8}}), expression.evaluate());
+    }
+
+    public void testParallelEvaluationIsEqualToSequential() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(300, 300, 34, MatrixLayout.FLAT);
+        MatrixExpression expression = Matrix.expr(a).sub(a.transpose()).abs();
+        assertEquals(expression.evaluate(ExecutionMode.SEQUENTIAL), expression.evaluate(ExecutionMode.PARALLEL));
+    }
+
+    public void testOperandsOfDifferentSizes() {
+        try {
+            Matrix.expr(new Matrix(2, 3)).add(new Matrix(3, 2));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
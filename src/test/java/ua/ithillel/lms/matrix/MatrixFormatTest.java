@@ -0,0 +1,119 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class MatrixFormatTest extends TestCase {
+
+    private static byte[] write(Matrix matrix) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        matrix.write(Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private static Matrix read(byte[] bytes) throws IOException, MatrixException {
+        return Matrix.read(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+
+    public void testHeader() throws IOException {
+        byte[] bytes = write(new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}}, MatrixLayout.FLAT));
+        assertEquals(MatrixFormat.HEADER_SIZE + 6 * Double.BYTES, bytes.length);
+        ByteBuffer header = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals("MTRX", new String(bytes, 0, 4, "US-ASCII"));
+        assertEquals(MatrixFormat.VERSION, header.getShort(4));
+        assertEquals(MatrixFormat.FLOAT64, header.get(6));
+        assertEquals(MatrixLayout.FLAT.ordinal(), header.get(7));
+        assertEquals(2, header.getInt(8));
+        assertEquals(3, header.getInt(12));
+        assertEquals(4, header.getDouble(MatrixFormat.HEADER_SIZE + 3 * Double.BYTES), 0);
+    }
+
+    public void testRoundTripKeepsElementsAndLayout() throws IOException, MatrixException {
+        for (MatrixLayout layout : MatrixLayout.values()) {
+            Matrix matrix = MatrixInverseTest.randomMatrix(5, 7, 1, layout);
+            Matrix copy = read(write(matrix));
+            assertTrue(copy.equals(matrix));
+            assertEquals(layout, copy.getLayout());
+        }
+    }
+
+    public void testRoundTripOfMatrixLargerThanChunk() throws IOException, MatrixException {
+        Matrix matrix = MatrixInverseTest.randomMatrix(300, 70, 2, MatrixLayout.FLAT);
+        assertTrue(read(write(matrix)).equals(matrix));
+        Matrix wide = MatrixInverseTest.randomMatrix(3, MatrixFormat.CHUNK_ELEMENTS + 5, 3, MatrixLayout.ARRAY);
+        assertTrue(read(write(wide)).equals(wide));
+    }
+
+    public void testRoundTripOfView() throws IOException, MatrixException {
+        Matrix matrix = MatrixInverseTest.randomMatrix(6, 6, 4, MatrixLayout.ARRAY);
+        Matrix view = matrix.subMatrix(1, 2, 3, 4).transposedView();
+        assertTrue(read(write(view)).equals(view));
+    }
+
+    public void testMapReadsFile() throws IOException, MatrixException {
+        Path path = Files.createTempFile("matrix", ".mtrx");
+        try {
+            Matrix matrix = MatrixInverseTest.randomMatrix(8, 5, 5, MatrixLayout.ARRAY);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                matrix.write(channel);
+            }
+            Matrix mapped = Matrix.map(path);
+            assertTrue(mapped.equals(matrix));
+            assertEquals(matrix.kNorm(), mapped.kNorm(), 1e-9);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    public void testWrongMagicIsRejected() throws IOException {
+        byte[] bytes = write(new Matrix(new double[][]{{1}}));
+        bytes[0] = 'X';
+        try {
+            read(bytes);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testUnsupportedVersionAndTypeAreRejected() throws IOException {
+        byte[] bytes = write(new Matrix(new double[][]{{1}}));
+        byte[] version = bytes.clone();
+        version[4] = 2;
+        byte[] type = bytes.clone();
+        type[6] = 2;
+        for (byte[] wrong : new byte[][]{version, type}) {
+            try {
+                read(wrong);
+                fail("MatrixException expected");
+            } catch (MatrixException expected) {
+            }
+        }
+    }
+
+    public void testTruncatedDataIsRejected() throws IOException, MatrixException {
+        byte[] bytes = write(new Matrix(new double[][]{{1, 2}, {3, 4}}));
+        try {
+            read(Arrays.copyOf(bytes, bytes.length - 1));
+            fail("EOFException expected");
+        } catch (EOFException expected) {
+        }
+        try {
+            read(Arrays.copyOf(bytes, 10));
+            fail("EOFException expected");
+        } catch (EOFException expected) {
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class MatrixIntoTest extends TestCase {
+    private static final double DELTA = 1e-9;
+
+    public void testIntoMatchesAllocatingOperations() throws MatrixException {
+        for (MatrixLayout layout : MatrixLayout.values()) {
+            Matrix a = MatrixInverseTest.randomMatrix(5, 5, 1, layout);
+            Matrix b = MatrixInverseTest.randomMatrix(5, 5, 2, layout);
+            Matrix dest = new Matrix(5, 5, layout);
+            assertTrue(a.addInto(b, dest).equals(a.add(b)));
+            assertTrue(a.subInto(b, dest).equals(a.sub(b)));
+            assertTrue(a.mulByNumberInto(3, dest).equals(a.mulByNumber(3)));
+            assertTrue(a.divByNumberInto(4, dest).equals(a.divByNumber(4)));
+            assertTrue(a.mulInto(b, dest).equals(a.mul(b)));
+            assertTrue(a.absInto(dest).equals(a.abs()));
+            assertTrue(a.transposeInto(dest).equals(a.transpose()));
+        }
+    }
+
+    public void testInPlaceOperations() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{1, -2}, {-3, 4}});
+        Matrix b = new Matrix(new double[][]{{1, 1}, {1, 1}});
+        assertTrue(a.addInPlace(b).equals(new Matrix(new double[][]{{2, -1}, {-2, 5}})));
+        assertTrue(a.subInPlace(b).equals(new Matrix(new double[][]{{1, -2}, {-3, 4}})));
+        assertTrue(a.scaleInPlace(2).equals(new Matrix(new double[][]{{2, -4}, {-6, 8}})));
+        assertTrue(a.divByNumberInPlace(2).equals(new Matrix(new double[][]{{1, -2}, {-3, 4}})));
+        assertTrue(a.absInPlace().equals(new Matrix(new double[][]{{1, 2}, {3, 4}})));
+        assertTrue(a.transposeInto(a).equals(new Matrix(new double[][]{{1, 3}, {2, 4}})));
+    }
+
+    public void testMulIntoOperand() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        Matrix b = new Matrix(new double[][]{{0, 1}, {1, 0}});
+        Matrix expected = a.mul(b);
+        assertTrue(a.mulInto(b, a).equals(expected));
+        Matrix c = new Matrix(new double[][]{{2, 0}, {1, 1}});
+        expected = c.mul(b);
+        assertTrue(c.mulInto(b, b).equals(expected));
+        Matrix d = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        assertTrue(d.mulInto(d, d).equals(new Matrix(new double[][]{{7, 10}, {15, 22}})));
+    }
+
+    public void testMulIntoViewOfOperand() throws MatrixException {
+        for (MatrixLayout layout : MatrixLayout.values()) {
+            Matrix a = MatrixInverseTest.randomMatrix(4, 4, 3, layout);
+            Matrix b = MatrixInverseTest.randomMatrix(4, 4, 4, layout);
+            Matrix expected = a.mul(b);
+            assertTrue(a.mulInto(b, b.transposedView()).equals(expected));
+            assertTrue(b.equals(expected.transpose()));
+
+            Matrix big = MatrixInverseTest.randomMatrix(4, 4, 5, layout);
+            Matrix left = big.subMatrix(0, 0, 3, 3);
+            Matrix right = big.subMatrix(1, 1, 3, 3);
+            expected = left.mul(right);
+            left.mulInto(right, big.subMatrix(0, 1, 3, 3));
+            assertTrue(big.subMatrix(0, 1, 3, 3).equals(expected));
+        }
+    }
+
+    public void testTransposeIntoViewOfItself() throws MatrixException {
+        for (MatrixLayout layout : MatrixLayout.values()) {
+            Matrix a = MatrixInverseTest.randomMatrix(3, 3, 6, layout);
+            Matrix expected = a.transpose();
+            a.transposeInto(a.transposedView());
+            assertTrue(a.equals(a.transpose().transpose()));
+            assertTrue(a.transposedView().equals(expected));
+
+            Matrix big = MatrixInverseTest.randomMatrix(4, 4, 7, layout);
+            Matrix source = big.subMatrix(0, 0, 3, 3);
+            expected = source.transpose();
+            source.transposeInto(big.subMatrix(1, 1, 3, 3));
+            assertTrue(big.subMatrix(1, 1, 3, 3).equals(expected));
+        }
+    }
+
+    public void testElementWiseIntoShiftedView() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{1, 2, 3, 4}});
+        Matrix source = a.subMatrix(0, 0, 1, 3);
+        source.addInto(source, a.subMatrix(0, 1, 1, 3));
+        assertTrue(a.equals(new Matrix(new double[][]{{1, 2, 4, 6}})));
+
+        Matrix b = new Matrix(new double[][]{{-1, -2, -3, -4}});
+        b.subMatrix(0, 0, 1, 3).absInto(b.subMatrix(0, 1, 1, 3));
+        assertTrue(b.equals(new Matrix(new double[][]{{-1, 1, 2, 3}})));
+
+        Matrix c = new Matrix(new double[][]{{1, 2, 3, 4}});
+        c.subMatrix(0, 0, 1, 3).mulByNumberInto(2, c.subMatrix(0, 1, 1, 3));
+        assertEquals(6, c.get(0, 3), DELTA);
+    }
+
+    public void testWrongDestinationSize() {
+        Matrix a = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        try {
+            a.addInto(a, new Matrix(3, 3));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            a.mulInto(a, new Matrix(2, 3));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.util.Random;
+
+public class MatrixInverseTest extends TestCase {
+    private static final double DELTA = 1e-9;
+
+    static Matrix randomMatrix(int rows, int columns, long seed, MatrixLayout layout) {
+        Random random = new Random(seed);
+        double[][] elements = new double[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                elements[i][j] = random.nextDouble() - 0.5 + ((i == j) ? columns : 0);
+            }
+        }
+        return new Matrix(elements, layout);
+    }
+
+    public void testInverseOfTwoByTwo() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{4, 7}, {2, 6}});
+        assertTrue(a.inv().equals(new Matrix(new double[][]{{0.6, -0.7}, {-0.2, 0.4}})));
+    }
+
+    public void testProductWithInverseIsIdentity() throws MatrixException {
+        for (MatrixLayout layout : MatrixLayout.values()) {
+            Matrix a = randomMatrix(40, 40, 7, layout);
+            Matrix inv = a.inv();
+            assertEquals(layout, inv.getLayout());
+            assertTrue(a.mul(inv).equals(a.identity()));
+            assertTrue(inv.mul(a).equals(a.identity()));
+        }
+    }
+
+    public void testAdjointIsInverseMultipliedByDeterminant() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{2, 0, 1}, {1, 3, 2}, {1, 1, 2}});
+        assertEquals(6, a.det(), DELTA);
+        Matrix adj = a.adj();
+        assertTrue(adj.equals(new Matrix(new double[][]{{4, 1, -3}, {0, 3, -3}, {-2, -2, 6}})));
+        assertTrue(a.mul(adj).equals(a.identity().mulByNumber(6)));
+    }
+
+    public void testAdjointOfSingularMatrixUsesAlgebraicAdditions() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{1, 2}, {2, 4}});
+        assertTrue(a.adj().equals(new Matrix(new double[][]{{4, -2}, {-2, 1}})));
+    }
+
+    public void testSingularityDoesNotDependOnScale() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{1e-9, 0}, {0, 1e10}});
+        for (MatrixStructure structure : new MatrixStructure[]{MatrixStructure.GENERAL,
+                MatrixStructure.banded(0, 0), MatrixStructure.symmetric(), MatrixStructure.banded(1, 1)}) {
+            Matrix inv = a.copy().declareStructure(structure).inv();
+            assertEquals(1e9, inv.get(0, 0), 1e9 * DELTA);
+            assertEquals(1e-10, inv.get(1, 1), 1e-10 * DELTA);
+            assertEquals(0, inv.get(0, 1), 0);
+        }
+        Matrix small = a.identity().mulByNumber(1e-3);
+        Matrix identity = new Matrix(10, 10).identity();
+        assertTrue(identity.mulByNumber(1e-3).inv().equals(identity.mulByNumber(1e3)));
+        assertTrue(small.inv().equals(a.identity().mulByNumber(1e3)));
+        Matrix singular = new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}, {7, 8, 9}});
+        for (double scale : new double[]{1e-12, 1, 1e12}) {
+            try {
+                singular.mulByNumber(scale).inv();
+                fail("MatrixException expected");
+            } catch (MatrixException expected) {
+            }
+        }
+    }
+
+    public void testNonSquareMatrixHasNoInverse() {
+        try {
+            new Matrix(new double[][]{{1, 2, 3}}).inv();
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
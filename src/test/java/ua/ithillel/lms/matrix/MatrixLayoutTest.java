@@ -0,0 +1,57 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class MatrixLayoutTest extends TestCase {
+
+    public void testFlatAndArrayLayoutsGiveTheSameResults() throws MatrixException {
+        double[][] elements = {{1, -2, 3}, {4, 5, -6}, {-7, 8, 10}};
+        Matrix array = new Matrix(elements);
+        Matrix flat = new Matrix(elements, MatrixLayout.FLAT);
+        assertEquals(MatrixLayout.ARRAY, array.getLayout());
+        assertEquals(MatrixLayout.FLAT, flat.getLayout());
+        assertEquals(array, flat);
+        assertEquals(array.hashCode(), flat.hashCode());
+        assertEquals(array.add(array), flat.add(flat));
+        assertEquals(array.mul(array), flat.mul(flat));
+        assertEquals(array.transpose(), flat.transpose());
+        assertEquals(array.det(), flat.det(), 1e-9);
+        assertEquals(array.inv(), flat.inv());
+        assertEquals(array.mNorm(), flat.mNorm(), 0);
+        assertEquals(array.lNorm(), flat.lNorm(), 0);
+        assertEquals(array.kNorm(), flat.kNorm(), 0);
+    }
+
+    public void testResultKeepsLayoutOfLeftOperand() throws MatrixException {
+        Matrix flat = new Matrix(2, 2, MatrixLayout.FLAT);
+        Matrix array = new Matrix(2, 2, MatrixLayout.ARRAY);
+        assertEquals(MatrixLayout.FLAT, flat.add(array).getLayout());
+        assertEquals(MatrixLayout.ARRAY, array.mul(flat).getLayout());
+    }
+
+    public void testWrapSharesArray() throws MatrixException {
+        double[] data = {0, 0, 1, 2, 9, 3, 4, 9};
+        Matrix wrapped = Matrix.wrap(2, 2, data, 2, 3);
+        assertEquals(MatrixLayout.FLAT, wrapped.getLayout());
+        assertEquals(new Matrix(new double[][]{{1, 2}, {3, 4}}), wrapped);
+        data[5] = 5;
+        assertEquals(5, wrapped.get(1, 0), 0);
+        wrapped.scaleInPlace(2);
+        assertEquals(2, data[2], 0);
+        assertEquals(9, data[4], 0);
+    }
+
+    public void testWrapRejectsShortArray() {
+        try {
+            Matrix.wrap(2, 2, new double[5], 2, 2);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            Matrix.wrap(2, 3, new double[6], 0, 2);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.logger.Logger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MatrixLoggerTest extends TestCase {
+    private MatrixLogger.Level level;
+
+    @Override
+    protected void setUp() {
+        level = MatrixLogger.getLevel();
+    }
+
+    @Override
+    protected void tearDown() {
+        MatrixLogger.setLevel(level);
+    }
+
+    public void testSupplierIsBuiltByCallingThread() {
+        MatrixLogger.setLevel(MatrixLogger.Level.DEBUG);
+        Thread[] builder = new Thread[1];
+        MatrixLogger.info(() -> {
+            builder[0] = Thread.currentThread();
+            return "message";
+        });
+        assertSame(Thread.currentThread(), builder[0]);
+        MatrixLogger.flush();
+    }
+
+    public void testSupplierOfDisabledLevelIsNotBuilt() {
+        MatrixLogger.setLevel(MatrixLogger.Level.ERROR);
+        boolean[] built = new boolean[1];
+        MatrixLogger.warn(() -> {
+            built[0] = true;
+            return "message";
+        });
+        assertFalse(built[0]);
+        MatrixLogger.setLevel(MatrixLogger.Level.OFF);
+        MatrixLogger.error(() -> {
+            built[0] = true;
+            return "message";
+        });
+        assertFalse(built[0]);
+    }
+
+    public void testLevelIsParsed() {
+        assertEquals(MatrixLogger.Level.WARN, MatrixLogger.Level.parse(" warn "));
+        assertEquals(MatrixLogger.Level.DEBUG, MatrixLogger.Level.parse("unknown"));
+        assertEquals(MatrixLogger.Level.DEBUG, MatrixLogger.Level.parse(null));
+    }
+
+    public void testMessagesAreWrittenWithoutFailures() {
+        MatrixLogger.setLevel(MatrixLogger.Level.DEBUG);
+        long failed = MatrixLogger.getFailedQuantity();
+        for (int i = 0; i < 10; i++) {
+            int number = i;
+            MatrixLogger.debug(() -> "message " + number);
+        }
+        MatrixLogger.flush();
+        assertEquals(failed, MatrixLogger.getFailedQuantity());
+    }
+
+    public void testFailureToCreateLoggerIsCountedAndWriterKeepsWorking() {
+        List<String> messages = new CopyOnWriteArrayList<>();
+        Logger logger = new Logger() {
+            @Override
+            public void debug(String message) {
+                messages.add(message);
+            }
+
+            @Override
+            public void info(String message) {
+                messages.add(message);
+            }
+
+            @Override
+            public void warn(String message) {
+                messages.add(message);
+            }
+
+            @Override
+            public void error(String message) {
+                messages.add(message);
+            }
+        };
+        AtomicInteger calls = new AtomicInteger();
+        AsyncLogAppender appender = new AsyncLogAppender(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("configuration is absent");
+            }
+            return logger;
+        });
+        appender.append(MatrixLogger.Level.ERROR, "lost");
+        appender.flush();
+        assertEquals(1, appender.getFailedQuantity());
+        appender.append(MatrixLogger.Level.WARN, "written");
+        appender.flush();
+        assertEquals(1, appender.getFailedQuantity());
+        assertEquals(0, appender.getDroppedQuantity());
+        assertTrue(messages.contains("written"));
+    }
+}
@@ -0,0 +1,79 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class MatrixMetricsTest extends TestCase {
+    private boolean enabled;
+
+    @Override
+    protected void setUp() {
+        enabled = MatrixMetrics.isEnabled();
+        MatrixMetrics.setEnabled(true);
+        MatrixMetrics.reset();
+    }
+
+    @Override
+    protected void tearDown() {
+        MatrixMetrics.setEnabled(enabled);
+        MatrixMetrics.reset();
+    }
+
+    private static void assertCalls(MatrixOperation operation, long calls, long flops, long temporaries) {
+        OperationStatistics statistics = MatrixMetrics.getStatistics(operation);
+        assertEquals(operation + " calls", calls, statistics.getCalls());
+        assertEquals(operation + " flops", flops, statistics.getFlops());
+        assertEquals(operation + " temporaries", temporaries, statistics.getTemporaries());
+    }
+
+    public void testScalingOperationsAreMeasured() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(3, 4, 1, MatrixLayout.ARRAY);
+        Matrix dest = new Matrix(3, 4);
+        a.mulByNumber(2);
+        Matrix.mulNumberByMatrix(2, a);
+        a.divByNumber(2);
+        a.divByNumberInto(2, dest);
+        dest.divByNumberInPlace(2);
+        assertCalls(MatrixOperation.SCALE, 5, 5 * 12, 3);
+    }
+
+    public void testAbsIsMeasured() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(3, 4, 2, MatrixLayout.FLAT);
+        a.abs();
+        a.absInto(new Matrix(3, 4));
+        a.absInPlace();
+        assertCalls(MatrixOperation.ABS, 3, 3 * 12, 1);
+        assertEquals(3 * 2 * 12 * Double.BYTES, MatrixMetrics.getStatistics(MatrixOperation.ABS).getBytes());
+    }
+
+    public void testDivIsMeasured() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(3, 4, 3, MatrixLayout.ARRAY);
+        Matrix b = MatrixInverseTest.randomMatrix(4, 5, 4, MatrixLayout.ARRAY);
+        a.div(b);
+        assertCalls(MatrixOperation.DIV, 1, 2 * 3 * 4 * 5, 1);
+        assertCalls(MatrixOperation.MUL, 0, 0, 0);
+    }
+
+    public void testNormsAreMeasuredAndCachedOnesReportNoFlops() {
+        Matrix a = MatrixInverseTest.randomMatrix(3, 4, 5, MatrixLayout.ARRAY);
+        a.mNorm();
+        a.lNorm();
+        a.kNorm();
+        assertCalls(MatrixOperation.NORM, 3, 3 * 2 * 12, 4);
+        a.mNorm();
+        a.lNorm();
+        a.kNorm(ExecutionMode.PARALLEL);
+        assertCalls(MatrixOperation.NORM, 6, 3 * 2 * 12, 4);
+    }
+
+    public void testNothingIsMeasuredWhenMetricsAreOff() {
+        MatrixMetrics.setEnabled(false);
+        Matrix a = MatrixInverseTest.randomMatrix(3, 3, 6, MatrixLayout.ARRAY);
+        a.abs();
+        a.divByNumber(3);
+        a.kNorm();
+        assertCalls(MatrixOperation.ABS, 0, 0, 0);
+        assertCalls(MatrixOperation.SCALE, 0, 0, 0);
+        assertCalls(MatrixOperation.NORM, 0, 0, 0);
+    }
+}
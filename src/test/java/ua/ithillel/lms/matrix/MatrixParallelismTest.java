@@ -0,0 +1,67 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class MatrixParallelismTest extends TestCase {
+    private ForkJoinPool pool;
+    private long threshold;
+
+    @Override
+    protected void setUp() {
+        threshold = MatrixParallelism.getThreshold();
+        pool = new ForkJoinPool(4);
+        MatrixParallelism.setPool(pool);
+        MatrixParallelism.setThreshold(0);
+    }
+
+    @Override
+    protected void tearDown() {
+        MatrixParallelism.setPool(null);
+        MatrixParallelism.setThreshold(threshold);
+        MatrixParallelism.setEnabled(false);
+        pool.shutdown();
+    }
+
+    public void testParallelResultsAreEqualToSequentialOnes() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(97, 83, 5, MatrixLayout.FLAT);
+        Matrix b = MatrixInverseTest.randomMatrix(97, 83, 6, MatrixLayout.ARRAY);
+        Matrix c = MatrixInverseTest.randomMatrix(83, 71, 7, MatrixLayout.FLAT);
+        ExecutionMode p = ExecutionMode.PARALLEL;
+        ExecutionMode s = ExecutionMode.SEQUENTIAL;
+        assertEquals(a.add(b, s), a.add(b, p));
+        assertEquals(a.sub(b, s), a.sub(b, p));
+        assertEquals(a.mulByNumber(3, s), a.mulByNumber(3, p));
+        assertEquals(a.transpose(s), a.transpose(p));
+        assertEquals(a.mul(c, s), a.mul(c, p));
+        assertEquals(a.mNorm(s), a.mNorm(p), 0);
+        assertEquals(a.kNorm(s), a.kNorm(p), 0);
+    }
+
+    public void testDefaultModeFollowsGlobalSwitch() {
+        assertFalse(MatrixParallelism.isParallel(ExecutionMode.DEFAULT, Long.MAX_VALUE));
+        MatrixParallelism.setEnabled(true);
+        assertTrue(MatrixParallelism.isParallel(ExecutionMode.DEFAULT, Long.MAX_VALUE));
+        assertFalse(MatrixParallelism.isParallel(ExecutionMode.SEQUENTIAL, Long.MAX_VALUE));
+    }
+
+    public void testSmallWorkRunsInCallingThread() {
+        MatrixParallelism.setThreshold(1000);
+        assertFalse(MatrixParallelism.isParallel(ExecutionMode.PARALLEL, 999));
+        assertTrue(MatrixParallelism.isParallel(ExecutionMode.PARALLEL, 1000));
+    }
+
+    public void testEveryRowIsProcessedOnce() {
+        int[] visits = new int[1000];
+        MatrixParallelism.forEachRowBlock(ExecutionMode.PARALLEL, visits.length, Long.MAX_VALUE, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                visits[i]++;
+            }
+        });
+        for (int visit : visits) {
+            assertEquals(1, visit);
+        }
+    }
+}
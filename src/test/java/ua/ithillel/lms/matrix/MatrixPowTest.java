@@ -0,0 +1,59 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class MatrixPowTest extends TestCase {
+
+    public void testPowerOfFibonacciMatrix() throws MatrixException {
+        Matrix fibonacci = new Matrix(new double[][]{{1, 1}, {1, 0}});
+        assertEquals(new Matrix(new double[][]{{89, 55}, {55, 34}}), fibonacci.pow(10));
+    }
+
+    public void testPowerIsEqualToRepeatedMultiplication() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(12, 12, 21, MatrixLayout.FLAT).mulByNumber(1.0 / 12);
+        Matrix expected = a;
+        for (int n = 1; n <= 13; n++) {
+            assertEquals("power " + n, expected, a.pow(n));
+            expected = expected.mul(a);
+        }
+    }
+
+    public void testZeroAndFirstPowers() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{2, 3}, {4, 5}});
+        assertEquals(a.identity(), a.pow(0));
+        assertEquals(a, a.pow(1));
+    }
+
+    public void testNegativePowerIsPowerOfInverse() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{2, 1}, {1, 1}});
+        assertEquals(new Matrix(new double[][]{{2, -3}, {-3, 5}}), a.pow(-2));
+        assertEquals(a.inv(), a.pow(-1));
+    }
+
+    public void testWorkspaceIsReusedBetweenCalls() throws MatrixException {
+        MatrixWorkspace workspace = new MatrixWorkspace();
+        Matrix a = new Matrix(new double[][]{{1, 1}, {1, 0}});
+        a.pow(5, workspace);
+        long retained = workspace.getRetainedBytes();
+        assertTrue(retained > 0);
+        assertEquals(a.pow(7), a.pow(7, workspace));
+        assertEquals(retained, workspace.getRetainedBytes());
+    }
+
+    public void testSingularMatrixHasNoNegativePower() {
+        try {
+            new Matrix(new double[][]{{1, 2}, {2, 4}}).pow(-1);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testNonSquareMatrixHasNoPower() {
+        try {
+            new Matrix(2, 3).pow(2);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
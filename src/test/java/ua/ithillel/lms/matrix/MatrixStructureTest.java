@@ -0,0 +1,132 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.util.Random;
+
+public class MatrixStructureTest extends TestCase {
+    private static final double DELTA = 1e-8;
+
+    /**
+     * Returns elements of n x n banded matrix with small diagonal, so LU decomposition exchanges rows
+     */
+    private static double[][] banded(int n, int lower, int upper, long seed) {
+        Random random = new Random(seed);
+        double[][] a = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = Math.max(0, i - lower); j <= Math.min(n - 1, i + upper); j++) {
+                a[i][j] = (i == j) ? 0.01 * random.nextDouble() : random.nextDouble() - 0.5;
+            }
+        }
+        return a;
+    }
+
+    private static double[][] symmetricPositiveDefinite(int n, int bandwidth, long seed) {
+        double[][] a = banded(n, bandwidth, bandwidth, seed);
+        for (int i = 0; i < n; i++) {
+            a[i][i] = 2 * bandwidth + 1;
+            for (int j = 0; j < i; j++) {
+                a[j][i] = a[i][j];
+            }
+        }
+        return a;
+    }
+
+    private static void assertClose(Matrix expected, Matrix actual) {
+        assertEquals(expected.getRowsQuantity(), actual.getRowsQuantity());
+        assertEquals(expected.getColumnsQuantity(), actual.getColumnsQuantity());
+        for (int i = 0; i < expected.getRowsQuantity(); i++) {
+            for (int j = 0; j < expected.getColumnsQuantity(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), DELTA);
+            }
+        }
+    }
+
+    /**
+     * Checks that det, inv and resolveSLAE of matrix with declared structure match ones of general matrix
+     */
+    private static void assertMatchesGeneral(double[][] elements, MatrixStructure structure)
+            throws MatrixException {
+        Matrix general = new Matrix(elements);
+        Matrix structured = new Matrix(elements).declareStructure(structure);
+        int n = elements.length;
+        Matrix b = MatrixInverseTest.randomMatrix(n, 3, 7, MatrixLayout.ARRAY);
+        assertEquals(general.det(), structured.det(), DELTA * Math.max(1, Math.abs(general.det())));
+        assertClose(general.inv(), structured.inv());
+        assertClose(Matrix.resolveSLAE(general, b), Matrix.resolveSLAE(structured, b));
+        assertClose(b, structured.mul(Matrix.resolveSLAE(structured, b)));
+    }
+
+    public void testDetectFindsBandwidthsAndSymmetry() {
+        assertEquals(MatrixStructure.banded(1, 2), new Matrix(banded(6, 1, 2, 1)).detectStructure());
+        MatrixStructure symmetric = new Matrix(symmetricPositiveDefinite(6, 2, 2)).detectStructure();
+        assertTrue(symmetric.isSymmetric());
+        assertEquals(2, symmetric.getLowerBandwidth());
+        assertTrue(new Matrix(banded(5, 0, 4, 3)).detectStructure().isUpperTriangular());
+        assertTrue(new Matrix(banded(5, 4, 0, 4)).detectStructure().isLowerTriangular());
+        assertEquals(MatrixStructure.GENERAL, new Matrix(banded(5, 4, 4, 5)).detectStructure());
+    }
+
+    public void testBandedMatchesGeneral() throws MatrixException {
+        assertMatchesGeneral(banded(20, 1, 1, 6), MatrixStructure.banded(1, 1));
+        assertMatchesGeneral(banded(20, 3, 1, 7), MatrixStructure.banded(3, 1));
+        assertMatchesGeneral(banded(20, 1, 4, 8), MatrixStructure.banded(1, 4));
+        assertMatchesGeneral(banded(9, 2, 2, 9), MatrixStructure.banded(20, 20));
+    }
+
+    public void testTriangularMatchesGeneral() throws MatrixException {
+        double[][] upper = banded(12, 0, 11, 10);
+        double[][] lower = banded(12, 11, 0, 11);
+        double[][] band = banded(12, 0, 2, 12);
+        for (int i = 0; i < 12; i++) {
+            upper[i][i] += 1;
+            lower[i][i] += 1;
+            band[i][i] += 1;
+        }
+        assertMatchesGeneral(upper, MatrixStructure.upperTriangular());
+        assertMatchesGeneral(lower, MatrixStructure.lowerTriangular());
+        assertMatchesGeneral(band, MatrixStructure.banded(0, 2));
+    }
+
+    public void testSymmetricMatchesGeneral() throws MatrixException {
+        assertMatchesGeneral(symmetricPositiveDefinite(15, 2, 13), MatrixStructure.banded(2, 2).positiveDefinite());
+        assertMatchesGeneral(symmetricPositiveDefinite(15, 14, 14), MatrixStructure.symmetric());
+        double[][] indefinite = {{1, 2, 0}, {2, 1, 3}, {0, 3, 1}};
+        assertMatchesGeneral(indefinite, MatrixStructure.symmetric());
+    }
+
+    public void testAugmentedSystemUsesStructure() throws MatrixException {
+        int n = 15;
+        double[][] elements = banded(n, 2, 1, 15);
+        double[][] augmented = new double[n][n + 1];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(elements[i], 0, augmented[i], 0, n);
+            augmented[i][n] = i + 1;
+        }
+        Matrix expected = Matrix.resolveSLAE(augmented);
+        Matrix actual = Matrix.resolveSLAE(new Matrix(augmented).declareStructure(MatrixStructure.banded(2, 1)));
+        assertClose(expected, actual);
+        double[][] b = new double[n][1];
+        for (int i = 0; i < n; i++) {
+            b[i][0] = i + 1;
+        }
+        assertClose(new Matrix(b), new Matrix(elements).mul(actual));
+    }
+
+    public void testSingularBandedMatrixIsRejected() {
+        Matrix a = new Matrix(new double[][]{{1, 2, 0}, {2, 4, 0}, {0, 1, 1}}).declareStructure(
+                MatrixStructure.banded(1, 1));
+        try {
+            a.inv();
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            Matrix.resolveSLAE(new Matrix(new double[][]{{1, 2, 0, 1}, {2, 4, 0, 1}, {0, 1, 1, 1}})
+                    .declareStructure(MatrixStructure.banded(1, 1)));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
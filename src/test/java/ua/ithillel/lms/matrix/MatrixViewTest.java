@@ -0,0 +1,99 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class MatrixViewTest extends TestCase {
+    private static final double DELTA = 1e-9;
+
+    private static Matrix sample(MatrixLayout layout) {
+        return new Matrix(new double[][]{{1, 2, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}}, layout);
+    }
+
+    public void testViewsReadElementsOfMatrix() throws MatrixException {
+        for (MatrixLayout layout : MatrixLayout.values()) {
+            Matrix a = sample(layout);
+            assertTrue(a.subMatrix(1, 1, 2, 2).equals(new Matrix(new double[][]{{6, 7}, {10, 11}})));
+            assertTrue(a.row(2).equals(new Matrix(new double[][]{{9, 10, 11, 12}})));
+            assertTrue(a.column(3).equals(new Matrix(new double[][]{{4}, {8}, {12}})));
+            assertTrue(a.withoutRow(1).equals(new Matrix(new double[][]{{1, 2, 3, 4}, {9, 10, 11, 12}})));
+            assertTrue(a.withoutColumn(0).equals(new Matrix(new double[][]{{2, 3, 4}, {6, 7, 8}, {10, 11, 12}})));
+            assertTrue(a.withoutRowColumn(0, 1).equals(new Matrix(new double[][]{{5, 7, 8}, {9, 11, 12}})));
+            assertTrue(a.transposedView().equals(a.transpose()));
+            assertEquals(layout, a.subMatrix(0, 0, 2, 2).getLayout());
+        }
+    }
+
+    public void testNestedViews() throws MatrixException {
+        Matrix a = sample(MatrixLayout.FLAT);
+        Matrix view = a.transposedView().subMatrix(1, 0, 3, 2).withoutRow(0);
+        assertTrue(view.equals(new Matrix(new double[][]{{3, 7}, {4, 8}})));
+        assertTrue(a.subMatrix(0, 1, 3, 3).subMatrix(1, 1, 2, 2).equals(new Matrix(new double[][]{{7, 8}, {11, 12}})));
+    }
+
+    public void testWritesGoThroughToMatrix() throws MatrixException {
+        for (MatrixLayout layout : MatrixLayout.values()) {
+            Matrix a = sample(layout);
+            a.subMatrix(1, 1, 2, 2).scaleInPlace(10);
+            a.transposedView().row(0).scaleInPlace(-1);
+            a.withoutRowColumn(0, 0).column(2).absInPlace();
+            assertTrue(a.equals(new Matrix(new double[][]{{-1, 2, 3, 4}, {-5, 60, 70, 8}, {-9, 100, 110, 12}})));
+        }
+    }
+
+    public void testCachedResultsFollowWritesThroughView() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{2, 0}, {0, 3}});
+        assertEquals(6, a.det(), DELTA);
+        assertEquals(3, a.mNorm(), DELTA);
+        a.row(0).scaleInPlace(2);
+        assertEquals(12, a.det(), DELTA);
+        assertEquals(4, a.mNorm(), DELTA);
+        a.transposedView().subMatrix(1, 1, 1, 1).scaleInPlace(0);
+        assertEquals(0, a.det(), DELTA);
+    }
+
+    public void testCopyDoesNotShareElements() throws MatrixException {
+        Matrix a = sample(MatrixLayout.ARRAY);
+        Matrix copy = a.subMatrix(0, 0, 2, 2).copy();
+        a.scaleInPlace(2);
+        assertTrue(copy.equals(new Matrix(new double[][]{{1, 2}, {5, 6}})));
+        Matrix transposed = a.transposedView().copy();
+        a.scaleInPlace(0);
+        assertEquals(8, transposed.get(3, 0), DELTA);
+    }
+
+    public void testDeleteReturnsIndependentMatrix() throws MatrixException {
+        Matrix a = sample(MatrixLayout.FLAT);
+        Matrix deleted = a.deleteRowColumn(2, 3);
+        assertTrue(deleted.equals(new Matrix(new double[][]{{1, 2, 3}, {5, 6, 7}})));
+        a.scaleInPlace(0);
+        assertEquals(7, deleted.get(1, 2), DELTA);
+        assertTrue(sample(MatrixLayout.ARRAY).deleteRow(0).equals(sample(MatrixLayout.ARRAY).withoutRow(0)));
+        assertTrue(sample(MatrixLayout.ARRAY).deleteColumn(3).equals(sample(MatrixLayout.ARRAY).withoutColumn(3)));
+    }
+
+    public void testMinorUsesViewWithoutRowAndColumn() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{2, 0, 1}, {1, 3, 2}, {1, 1, 2}});
+        assertEquals(4, a.minor(0, 0), DELTA);
+        assertEquals(a.withoutRowColumn(1, 2).det(), a.minor(1, 2), DELTA);
+    }
+
+    public void testAbsentBlocksAreRejected() {
+        Matrix a = sample(MatrixLayout.ARRAY);
+        try {
+            a.subMatrix(2, 2, 2, 2);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            a.row(3);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            a.withoutColumn(-1);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
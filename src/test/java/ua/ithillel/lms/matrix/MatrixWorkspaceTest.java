@@ -0,0 +1,76 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class MatrixWorkspaceTest extends TestCase {
+
+    public void testReleasedArrayIsReused() {
+        MatrixWorkspace workspace = new MatrixWorkspace();
+        double[] doubles = workspace.doubles(100);
+        assertEquals(128, doubles.length);
+        workspace.release(doubles);
+        assertEquals(128L * Double.BYTES, workspace.getRetainedBytes());
+        assertSame(doubles, workspace.doubles(120));
+        assertEquals(0, workspace.getRetainedBytes());
+        int[] ints = workspace.ints(5);
+        assertEquals(8, ints.length);
+        workspace.release(ints);
+        assertSame(ints, workspace.ints(8));
+    }
+
+    public void testRetainedBytesAreLimited() {
+        MatrixWorkspace workspace = new MatrixWorkspace(64 * Double.BYTES);
+        double[] small = workspace.doubles(64);
+        double[] large = workspace.doubles(128);
+        workspace.release(large);
+        assertEquals(0, workspace.getRetainedBytes());
+        workspace.release(small);
+        assertEquals(64L * Double.BYTES, workspace.getRetainedBytes());
+        workspace.clear();
+        assertEquals(0, workspace.getRetainedBytes());
+    }
+
+    public void testArraysTooLargeToKeepHaveExactLength() {
+        MatrixWorkspace workspace = new MatrixWorkspace(64 * Double.BYTES);
+        assertEquals(64, workspace.doubles(33).length);
+        double[] doubles = workspace.doubles(65);
+        assertEquals(65, doubles.length);
+        assertEquals(128, workspace.ints(100).length);
+        assertEquals(129, workspace.ints(129).length);
+        workspace.release(doubles);
+        assertEquals(0, workspace.getRetainedBytes());
+    }
+
+    public void testForeignArraysAreNotPooled() {
+        MatrixWorkspace workspace = new MatrixWorkspace();
+        workspace.release(new double[100]);
+        workspace.release(new int[3]);
+        assertEquals(0, workspace.getRetainedBytes());
+    }
+
+    public void testLocalWorkspaceBelongsToThread() throws InterruptedException {
+        MatrixWorkspace local = MatrixWorkspace.local();
+        assertSame(local, MatrixWorkspace.local());
+        MatrixWorkspace[] other = new MatrixWorkspace[1];
+        Thread thread = new Thread(() -> other[0] = MatrixWorkspace.local());
+        thread.start();
+        thread.join();
+        assertNotNull(other[0]);
+        assertNotSame(local, other[0]);
+    }
+
+    public void testOperationsWithWorkspaceMatchOperationsWithout() throws MatrixException {
+        MatrixWorkspace workspace = new MatrixWorkspace();
+        Matrix a = MatrixInverseTest.randomMatrix(8, 8, 1, MatrixLayout.FLAT);
+        Matrix b = MatrixInverseTest.randomMatrix(8, 3, 2, MatrixLayout.FLAT);
+        Matrix dest = new Matrix(8, 3, MatrixLayout.FLAT);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(a.det(), a.copy().det(workspace), 1e-9);
+            assertTrue(a.copy().inv(workspace).equals(a.inv()));
+            assertTrue(a.copy().pow(3, workspace).equals(a.mul(a).mul(a)));
+            assertTrue(Matrix.resolveSLAEInto(a, b, dest, workspace).equals(Matrix.resolveSLAE(a, b)));
+        }
+        assertTrue(workspace.getRetainedBytes() > 0);
+    }
+}
@@ -0,0 +1,68 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class MultiplicationTest extends TestCase {
+
+    /**
+     * Multiplies matrices by definition
+     */
+    static Matrix naive(Matrix a, Matrix b) {
+        double[][] c = new double[a.getRowsQuantity()][b.getColumnsQuantity()];
+        for (int i = 0; i < a.getRowsQuantity(); i++) {
+            for (int j = 0; j < b.getColumnsQuantity(); j++) {
+                double sum = 0;
+                for (int k = 0; k < a.getColumnsQuantity(); k++) {
+                    sum += a.get(i, k) * b.get(k, j);
+                }
+                c[i][j] = sum;
+            }
+        }
+        return new Matrix(c);
+    }
+
+    public void testKnownProduct() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}});
+        Matrix b = new Matrix(new double[][]{{7, 8}, {9, 10}, {11, 12}});
+        assertTrue(a.mul(b).equals(new Matrix(new double[][]{{58, 64}, {139, 154}})));
+    }
+
+    public void testProductAcrossBlockBoundaries() throws MatrixException {
+        int n = 131;
+        int m = MultiplicationKernel.DEPTH_BLOCK * 2 + 3;
+        int p = MultiplicationKernel.COLUMNS_BLOCK + 5;
+        for (MatrixLayout layout : MatrixLayout.values()) {
+            Matrix a = MatrixInverseTest.randomMatrix(n, m, 1, layout);
+            Matrix b = MatrixInverseTest.randomMatrix(m, p, 2, layout);
+            Matrix c = a.mul(b);
+            assertEquals(layout, c.getLayout());
+            assertTrue(c.equals(naive(a, b)));
+        }
+    }
+
+    public void testProductOfOneByOne() throws MatrixException {
+        assertEquals(6, new Matrix(new double[][]{{2}}).mul(new Matrix(new double[][]{{3}})).get(0, 0), 0);
+    }
+
+    public void testRowByColumn() throws MatrixException {
+        Matrix row = new Matrix(new double[][]{{1, 2, 3}});
+        Matrix column = new Matrix(new double[][]{{4}, {5}, {6}});
+        assertEquals(32, row.mul(column).get(0, 0), 0);
+        assertTrue(column.mul(row).equals(naive(column, row)));
+    }
+
+    public void testProductByTransposed() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(37, 45, 3, MatrixLayout.FLAT);
+        Matrix b = MatrixInverseTest.randomMatrix(29, 45, 4, MatrixLayout.ARRAY);
+        assertTrue(a.mulTransposed(b).equals(naive(a, b.transpose())));
+    }
+
+    public void testIncompatibleSizes() {
+        try {
+            new Matrix(2, 3).mul(new Matrix(2, 3));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
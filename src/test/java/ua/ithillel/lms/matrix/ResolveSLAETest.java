@@ -0,0 +1,49 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class ResolveSLAETest extends TestCase {
+
+    public void testAugmentedSystem() throws MatrixException {
+        Matrix x = Matrix.resolveSLAE(new double[][]{{2, 1, -1, 8}, {-3, -1, 2, -11}, {-2, 1, 2, -3}});
+        assertTrue(x.equals(new Matrix(new double[][]{{2}, {3}, {-1}})));
+    }
+
+    public void testManyRightHandSidesAtOnce() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(30, 30, 11, MatrixLayout.FLAT);
+        Matrix expected = MatrixInverseTest.randomMatrix(30, 5, 12, MatrixLayout.ARRAY);
+        Matrix b = a.mul(expected);
+        assertTrue(Matrix.resolveSLAE(a, b).equals(expected));
+        assertTrue(a.lu().solve(b).equals(expected));
+    }
+
+    public void testDecompositionIsReusedForFurtherRightHandSides() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{4, 3}, {6, 3}});
+        LUDecomposition lu = a.lu();
+        assertTrue(lu.solve(new double[][]{{10}, {12}}).equals(new Matrix(new double[][]{{1}, {2}})));
+        assertTrue(lu.solve(new double[][]{{7}, {9}}).equals(new Matrix(new double[][]{{1}, {1}})));
+    }
+
+    public void testRightHandSidesOfWrongSize() {
+        Matrix a = new Matrix(new double[][]{{4, 3}, {6, 3}});
+        try {
+            Matrix.resolveSLAE(a, new Matrix(new double[][]{{1}, {2}, {3}}));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            Matrix.resolveSLAE(new Matrix(new double[][]{{1, 2, 3}}), new Matrix(new double[][]{{1}}));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testTooManyVariables() {
+        try {
+            Matrix.resolveSLAE(new double[][]{{1, 2, 3, 4}});
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ua.ithillel.lms.matrix;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+public class StrassenMultiplicationTest extends TestCase {
+    private static final double DELTA = 1e-9;
+
+    private int cutoff;
+
+    @Override
+    protected void setUp() {
+        cutoff = StrassenMultiplication.getCutoff();
+        StrassenMultiplication.setCutoff(StrassenMultiplication.MIN_CUTOFF);
+    }
+
+    @Override
+    protected void tearDown() {
+        StrassenMultiplication.setCutoff(cutoff);
+    }
+
+    private static void assertClose(Matrix expected, Matrix actual) {
+        assertEquals(expected.getRowsQuantity(), actual.getRowsQuantity());
+        assertEquals(expected.getColumnsQuantity(), actual.getColumnsQuantity());
+        for (int i = 0; i < expected.getRowsQuantity(); i++) {
+            for (int j = 0; j < expected.getColumnsQuantity(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), DELTA);
+            }
+        }
+    }
+
+    public void testSquareProductMatchesNaive() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(64, 64, 1, MatrixLayout.ARRAY);
+        Matrix b = MatrixInverseTest.randomMatrix(64, 64, 2, MatrixLayout.FLAT);
+        assertClose(MultiplicationTest.naive(a, b), a.mul(b, MultiplicationAlgorithm.STRASSEN_WINOGRAD));
+    }
+
+    public void testOddAndRectangularProductMatchesNaive() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(45, 37, 3, MatrixLayout.ARRAY);
+        Matrix b = MatrixInverseTest.randomMatrix(37, 51, 4, MatrixLayout.ARRAY);
+        assertClose(MultiplicationTest.naive(a, b), a.mul(b, MultiplicationAlgorithm.STRASSEN_WINOGRAD));
+    }
+
+    public void testParallelProductMatchesSequential() throws MatrixException {
+        Matrix a = MatrixInverseTest.randomMatrix(70, 70, 5, MatrixLayout.FLAT);
+        Matrix b = MatrixInverseTest.randomMatrix(70, 70, 6, MatrixLayout.FLAT);
+        Matrix sequential = a.mul(b, MultiplicationAlgorithm.STRASSEN_WINOGRAD, ExecutionMode.SEQUENTIAL);
+        Matrix parallel = a.mul(b, MultiplicationAlgorithm.STRASSEN_WINOGRAD, ExecutionMode.PARALLEL);
+        assertClose(sequential, parallel);
+        assertClose(a.mul(b, MultiplicationAlgorithm.CLASSICAL), parallel);
+    }
+
+    public void testSmallProductUsesClassicalKernel() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        Matrix b = new Matrix(new double[][]{{5, 6}, {7, 8}});
+        assertTrue(a.mul(b, MultiplicationAlgorithm.STRASSEN_WINOGRAD)
+                .equals(new Matrix(new double[][]{{19, 22}, {43, 50}})));
+    }
+
+    public void testErrorStaysWithinDocumentedBound() throws MatrixException {
+        int m = 256;
+        int n0 = StrassenMultiplication.MIN_CUTOFF;
+        int levels = 4;
+        assertEquals(m, n0 << levels);
+        double u = Math.ulp(1.0) / 2;
+        double bound = (Math.pow(18, levels) * (n0 * n0 + 6 * n0) - 6 * m) * u;
+        Matrix a = MatrixInverseTest.randomMatrix(m, m, 7, MatrixLayout.FLAT);
+        Matrix b = MatrixInverseTest.randomMatrix(m, m, 8, MatrixLayout.FLAT);
+        Matrix expected = MultiplicationTest.naive(a, b);
+        Matrix actual = a.mul(b, MultiplicationAlgorithm.STRASSEN_WINOGRAD);
+        double scale = max(a) * max(b);
+        double error = 0;
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < m; j++) {
+                error = Math.max(error, Math.abs(expected.get(i, j) - actual.get(i, j)));
+            }
+        }
+        // naive product used as reference has its own error up to m * u
+        assertTrue("error " + error / scale + " exceeds bound " + bound, error <= (bound + m * u) * scale);
+    }
+
+    private static double max(Matrix matrix) {
+        double result = 0;
+        for (int i = 0; i < matrix.getRowsQuantity(); i++) {
+            for (int j = 0; j < matrix.getColumnsQuantity(); j++) {
+                result = Math.max(result, Math.abs(matrix.get(i, j)));
+            }
+        }
+        return result;
+    }
+
+    public void testCutoffIsNotLessThanMinimum() {
+        StrassenMultiplication.setCutoff(1);
+        assertEquals(StrassenMultiplication.MIN_CUTOFF, StrassenMultiplication.getCutoff());
+        StrassenMultiplication.setCutoff(100);
+        assertEquals(100, StrassenMultiplication.getCutoff());
+    }
+
+    public void testWrongSizesAreRejected() {
+        try {
+            new Matrix(2, 3).mul(new Matrix(2, 3), MultiplicationAlgorithm.STRASSEN_WINOGRAD);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ua.ithillel.lms.matrix.solver;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+import ua.ithillel.lms.matrix.sparse.SparseMatrix;
+
+public class IterativeSolverTest extends TestCase {
+    private static final int SIZE = 40;
+    private static final double DELTA = 1e-7;
+
+    /**
+     * Symmetric positive definite tridiagonal matrix
+     */
+    private static Matrix laplacian() {
+        double[][] elements = new double[SIZE][SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            elements[i][i] = 4;
+            if (i > 0) {
+                elements[i][i - 1] = -1;
+                elements[i - 1][i] = -1;
+            }
+        }
+        return new Matrix(elements);
+    }
+
+    /**
+     * Non-symmetric diagonally dominant matrix
+     */
+    private static Matrix convection() {
+        double[][] elements = new double[SIZE][SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            elements[i][i] = 5;
+            if (i > 0) {
+                elements[i][i - 1] = -2;
+            }
+            if (i < SIZE - 1) {
+                elements[i][i + 1] = 1;
+            }
+            elements[i][(i * 7) % SIZE] += 0.5;
+        }
+        return new Matrix(elements);
+    }
+
+    private static double[] rightHandSide(Matrix a, double[] x) throws MatrixException {
+        double[][] column = new double[x.length][1];
+        for (int i = 0; i < x.length; i++) {
+            column[i][0] = x[i];
+        }
+        Matrix b = a.mul(new Matrix(column));
+        double[] result = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            result[i] = b.get(i, 0);
+        }
+        return result;
+    }
+
+    private static double[] expected() {
+        double[] x = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            x[i] = Math.sin(i + 1);
+        }
+        return x;
+    }
+
+    private static void assertSolves(IterativeSolver solver, Matrix a, LinearOperator operator)
+            throws MatrixException {
+        double[] x = expected();
+        SolverResult result = solver.solve(operator, rightHandSide(a, x));
+        assertTrue(solver.getClass().getSimpleName() + " did not converge", result.isConverged());
+        assertTrue(result.getResidual() <= solver.getTolerance());
+        assertEquals(result.getIterations() + 1, result.getResidualHistory().length);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(x[i], result.getSolution()[i], DELTA);
+        }
+    }
+
+    public void testConjugateGradientSolvesSymmetricSystem() throws MatrixException {
+        Matrix a = laplacian();
+        assertSolves(new ConjugateGradient(), a, LinearOperator.of(a));
+        assertSolves(new ConjugateGradient(), a, LinearOperator.of(SparseMatrix.fromMatrix(a)));
+        ConjugateGradient preconditioned = new ConjugateGradient();
+        preconditioned.setPreconditioner(new JacobiPreconditioner(LinearOperator.of(a)));
+        assertSolves(preconditioned, a, LinearOperator.of(a));
+    }
+
+    public void testSolversOfNonSymmetricSystem() throws MatrixException {
+        Matrix a = convection();
+        LinearOperator operator = LinearOperator.of(a);
+        assertSolves(new BiCgStab(), a, operator);
+        assertSolves(new Gmres(), a, operator);
+        assertSolves(new Gmres(5), a, operator);
+        assertSolves(new GaussSeidel(), a, operator);
+        assertSolves(new GaussSeidel(1.2), a, operator);
+        Gmres preconditioned = new Gmres(10);
+        preconditioned.setPreconditioner(new Ilu0Preconditioner(operator));
+        assertSolves(preconditioned, a, operator);
+    }
+
+    public void testMatrixFreeOperator() throws MatrixException {
+        Matrix a = laplacian();
+        LinearOperator matrixFree = new LinearOperator() {
+            @Override
+            public int getRowsQuantity() {
+                return SIZE;
+            }
+
+            @Override
+            public int getColumnsQuantity() {
+                return SIZE;
+            }
+
+            @Override
+            public void apply(double[] x, double[] y) {
+                for (int i = 0; i < SIZE; i++) {
+                    y[i] = 4 * x[i] - (i > 0 ? x[i - 1] : 0) - (i < SIZE - 1 ? x[i + 1] : 0);
+                }
+            }
+        };
+        assertSolves(new ConjugateGradient(), a, matrixFree);
+        try {
+            new GaussSeidel().solve(matrixFree, rightHandSide(a, expected()));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testGmresReportsBreakdownOfInconsistentSystem() throws MatrixException {
+        LinearOperator singular = LinearOperator.of(new Matrix(new double[][]{{1, 0}, {0, 0}}));
+        SolverResult result = new Gmres().solve(singular, new double[]{0, 1});
+        assertFalse(result.isConverged());
+        assertEquals(0, result.getSolution()[1], 0);
+    }
+
+    public void testGmresConvergesOnInvariantSubspace() throws MatrixException {
+        LinearOperator diagonal = LinearOperator.of(new Matrix(new double[][]{{2, 0, 0}, {0, 3, 0}, {0, 0, 4}}));
+        SolverResult result = new Gmres().solve(diagonal, new double[]{2, 0, 0});
+        assertTrue(result.isConverged());
+        assertEquals(1, result.getSolution()[0], 1e-12);
+    }
+
+    public void testGaussSeidelRejectsInvalidRelaxation() {
+        for (double relaxation : new double[]{0, -0.5, 2, 2.5, Double.NaN}) {
+            try {
+                new GaussSeidel(relaxation);
+                fail("IllegalArgumentException expected for " + relaxation);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+
+    public void testDenseOperatorCopiesMatrix() throws MatrixException {
+        double[] data = {2, 1, 1, 3};
+        DenseOperator operator = new DenseOperator(Matrix.wrap(2, 2, data, 0, 2));
+        data[1] = 7;
+        double[] y = new double[2];
+        operator.apply(new double[]{1, 1}, y);
+        assertEquals(3, y[0], 0);
+        assertEquals(1, operator.toCsr().get(0, 1), 0);
+    }
+
+    public void testZeroRightHandSide() throws MatrixException {
+        SolverResult result = new ConjugateGradient().solve(LinearOperator.of(laplacian()), new double[SIZE]);
+        assertTrue(result.isConverged());
+        assertEquals(0, result.getIterations());
+    }
+
+    public void testWrongSizes() {
+        try {
+            new ConjugateGradient().solve(LinearOperator.of(new Matrix(2, 3)), new double[2]);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            new BiCgStab().solve(LinearOperator.of(laplacian()), new double[SIZE - 1]);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+}
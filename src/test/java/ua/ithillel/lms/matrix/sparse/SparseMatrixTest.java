@@ -0,0 +1,149 @@
+package ua.ithillel.lms.matrix.sparse;
+
+import junit.framework.TestCase;
+import ua.ithillel.lms.matrix.Matrix;
+import ua.ithillel.lms.matrix.MatrixMetrics;
+import ua.ithillel.lms.matrix.MatrixOperation;
+import ua.ithillel.lms.matrix.exception.MatrixException;
+
+import java.util.Random;
+
+public class SparseMatrixTest extends TestCase {
+    private static final double DELTA = 1e-9;
+
+    private static Matrix sparseDense(int rows, int columns, long seed) {
+        Random random = new Random(seed);
+        double[][] elements = new double[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (random.nextInt(4) == 0) {
+                    elements[i][j] = random.nextDouble() - 0.5;
+                }
+            }
+        }
+        return new Matrix(elements);
+    }
+
+    public void testBuilderSumsDuplicatesAndDropsZeros() throws MatrixException {
+        CsrMatrix csr = new CooBuilder(3, 3)
+                .add(2, 1, 1).add(0, 0, 2).add(2, 1, 3).add(1, 2, 5).add(1, 2, -5)
+                .buildCsr();
+        assertEquals(2, csr.getNonZerosQuantity());
+        assertEquals(2, csr.get(0, 0), DELTA);
+        assertEquals(4, csr.get(2, 1), DELTA);
+        assertEquals(0, csr.get(1, 2), DELTA);
+        assertTrue(csr.toMatrix().equals(new Matrix(new double[][]{{2, 0, 0}, {0, 0, 0}, {0, 4, 0}})));
+    }
+
+    public void testBuilderRejectsAbsentElement() {
+        try {
+            new CooBuilder(2, 2).add(2, 0, 1);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            new CooBuilder(2, 2).add(0, -1, 1);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testConversionsKeepElements() {
+        Matrix dense = sparseDense(7, 5, 1);
+        CsrMatrix csr = SparseMatrix.fromMatrix(dense);
+        CscMatrix csc = csr.toCsc();
+        assertTrue(csr.toMatrix().equals(dense));
+        assertTrue(csc.toMatrix().equals(dense));
+        assertTrue(csc.toCsr().toMatrix().equals(dense));
+        assertEquals(csr.getNonZerosQuantity(), csc.getNonZerosQuantity());
+        for (int i = 0; i < 7; i++) {
+            for (int j = 0; j < 5; j++) {
+                assertEquals(dense.get(i, j), csr.get(i, j), 0);
+                assertEquals(dense.get(i, j), csc.get(i, j), 0);
+            }
+        }
+    }
+
+    public void testProductMatchesDense() throws MatrixException {
+        Matrix dense = sparseDense(6, 8, 2);
+        Matrix right = sparseDense(8, 4, 3);
+        Matrix expected = dense.mul(right);
+        CsrMatrix csr = SparseMatrix.fromMatrix(dense);
+        assertTrue(csr.mul(right).equals(expected));
+        assertTrue(csr.toCsc().mul(right).equals(expected));
+    }
+
+    public void testProductWithVectorMatchesDense() throws MatrixException {
+        Matrix dense = sparseDense(6, 8, 4);
+        double[] vector = new double[8];
+        double[][] column = new double[8][1];
+        for (int i = 0; i < 8; i++) {
+            vector[i] = i - 3;
+            column[i][0] = i - 3;
+        }
+        Matrix expected = dense.mul(new Matrix(column));
+        double[] byCsr = SparseMatrix.fromMatrix(dense).mul(vector);
+        double[] byCsc = SparseMatrix.fromMatrix(dense).toCsc().mul(vector);
+        for (int i = 0; i < 6; i++) {
+            assertEquals(expected.get(i, 0), byCsr[i], DELTA);
+            assertEquals(expected.get(i, 0), byCsc[i], DELTA);
+        }
+    }
+
+    public void testTransposeAndAddMatchDense() throws MatrixException {
+        Matrix a = sparseDense(5, 6, 5);
+        Matrix b = sparseDense(5, 6, 6);
+        CsrMatrix csr = SparseMatrix.fromMatrix(a);
+        assertTrue(csr.transpose().toMatrix().equals(a.transpose()));
+        assertTrue(csr.toCsc().transpose().toMatrix().equals(a.transpose()));
+        assertTrue(csr.add(SparseMatrix.fromMatrix(b)).toMatrix().equals(a.add(b)));
+        assertTrue(csr.toCsc().add(SparseMatrix.fromMatrix(b)).toMatrix().equals(a.add(b)));
+    }
+
+    public void testNormsMatchDense() {
+        Matrix dense = sparseDense(6, 7, 7);
+        CsrMatrix csr = SparseMatrix.fromMatrix(dense);
+        CscMatrix csc = csr.toCsc();
+        assertEquals(dense.mNorm(), csr.mNorm(), DELTA);
+        assertEquals(dense.lNorm(), csr.lNorm(), DELTA);
+        assertEquals(dense.kNorm(), csr.kNorm(), DELTA);
+        assertEquals(dense.mNorm(), csc.mNorm(), DELTA);
+        assertEquals(dense.lNorm(), csc.lNorm(), DELTA);
+        assertEquals(dense.kNorm(), csc.kNorm(), DELTA);
+    }
+
+    public void testProductWithWrongSizeFails() {
+        CsrMatrix csr = SparseMatrix.fromMatrix(sparseDense(3, 4, 8));
+        try {
+            csr.mul(new Matrix(3, 3));
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+        try {
+            csr.toCsc().mul(new double[3]);
+            fail("MatrixException expected");
+        } catch (MatrixException expected) {
+        }
+    }
+
+    public void testDenseResultsKeepCache() throws MatrixException {
+        Matrix dense = sparseDense(5, 5, 9).add(new Matrix(5, 5).identity());
+        CsrMatrix csr = SparseMatrix.fromMatrix(dense);
+        boolean enabled = MatrixMetrics.isEnabled();
+        MatrixMetrics.setEnabled(true);
+        try {
+            for (Matrix result : new Matrix[]{csr.mul(dense), csr.toCsc().mul(dense), csr.toMatrix(),
+                    csr.toCsc().toMatrix()}) {
+                MatrixMetrics.reset();
+                double det = result.det();
+                assertTrue(MatrixMetrics.getStatistics(MatrixOperation.DET).getFlops() > 0);
+                MatrixMetrics.reset();
+                assertEquals(det, result.det(), 0);
+                assertEquals(0, MatrixMetrics.getStatistics(MatrixOperation.DET).getFlops());
+            }
+        } finally {
+            MatrixMetrics.setEnabled(enabled);
+            MatrixMetrics.reset();
+        }
+    }
+}